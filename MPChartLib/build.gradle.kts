@@ -34,6 +34,11 @@ android {
     }
     testOptions {
         unitTests.isReturnDefaultValues = true // this prevents "not mocked" error
+        unitTests.all {
+            // the benchmarks only run with -Pbenchmarks, the test of a 2 GB file with -PmappedLargeFile
+            it.systemProperty("benchmarks", project.hasProperty("benchmarks"))
+            it.systemProperty("mappedLargeFile", project.hasProperty("mappedLargeFile"))
+        }
     }
 }
 
@@ -1,5 +1,7 @@
 package com.github.mikephil.charting.buffer
 
+import kotlin.math.max
+
 /**
  * Buffer class to boost performance while drawing. Concept: Replace instead of recreate.
  *
@@ -10,9 +12,15 @@ abstract class AbstractBuffer<T>(size: Int) {
     @JvmField
     protected var index: Int = 0
 
-    /** float-buffer that holds the data points to draw, order: x,y,x,y,...  */
+    /**
+     * float-buffer that holds the data points to draw, order: x,y,x,y,..., replaced by a
+     * larger array if feed(...) needs more space
+     */
     @JvmField
-    val buffer: FloatArray
+    var buffer: FloatArray
+
+    /** number of values the last feed(...) wrote into the buffer  */
+    protected var count: Int = 0
 
     /** animation phase x-axis  */
     @JvmField
@@ -23,10 +31,12 @@ abstract class AbstractBuffer<T>(size: Int) {
     protected var phaseY: Float = 1f
 
     /** indicates from which x-index the visible data begins  */
-    protected var from: Int = 0
+    var from: Int = 0
+        protected set
 
-    /** indicates to which x-index the visible data ranges  */
-    protected var to: Int = 0
+    /** indicates to which x-index the visible data ranges (inclusive), all data if not limited  */
+    var to: Int = Int.MAX_VALUE
+        protected set
 
     init {
         index = 0
@@ -57,9 +67,19 @@ abstract class AbstractBuffer<T>(size: Int) {
     }
 
     /**
-     * Returns the size (length) of the buffer array.
+     * Returns the number of values the last feed(...) wrote into the buffer array, which
+     * may be larger.
      */
-    fun size() = buffer.size
+    fun size() = count
+
+    /**
+     * Makes sure the buffer array can hold the given number of values, keeping its content.
+     */
+    protected fun ensureCapacity(size: Int) {
+        if (buffer.size < size) {
+            buffer = buffer.copyOf(max(size, buffer.size * 2))
+        }
+    }
 
     /**
      * Set the phases used for animations.
@@ -2,6 +2,8 @@ package com.github.mikephil.charting.buffer
 
 import com.github.mikephil.charting.interfaces.datasets.IBarDataSet
 import kotlin.math.abs
+import kotlin.math.ceil
+import kotlin.math.min
 
 open class BarBuffer(size: Int, dataSetCount: Int, containsStacks: Boolean) : AbstractBuffer<IBarDataSet?>(size) {
     protected var dataSetIndex: Int = 0
@@ -17,6 +19,10 @@ open class BarBuffer(size: Int, dataSetCount: Int, containsStacks: Boolean) : Ab
     @JvmField
     protected var barWidth: Float = 1f
 
+    /** index of the first bar of the last feed(...) among all bars of the DataSet, e.g. for the colors  */
+    var firstBarIndex: Int = 0
+        protected set
+
     init {
         this.dataSetCount = dataSetCount
         this.containsStacks = containsStacks
@@ -35,6 +41,7 @@ open class BarBuffer(size: Int, dataSetCount: Int, containsStacks: Boolean) : Ab
     }
 
     protected fun addBar(left: Float, top: Float, right: Float, bottom: Float) {
+        ensureCapacity(index + 4)
         buffer[index++] = left
         buffer[index++] = top
         buffer[index++] = right
@@ -50,15 +57,52 @@ open class BarBuffer(size: Int, dataSetCount: Int, containsStacks: Boolean) : Ab
                 ", barWidth=" + barWidth +
                 ", buffer=" + buffer.contentToString() +
                 ", index=" + index +
+                ", from=" + from +
+                ", to=" + to +
                 '}'
     }
 
+    /**
+     * Prepares feeding the entries from limitFrom(...) to limitTo(...) of the given
+     * DataSet, of which size (the entry count times phaseX) are fed at most.
+     */
+    protected fun startFeed(data: IBarDataSet?, size: Float) {
+        val stackSize = if (containsStacks && data != null) data.stackSize.coerceAtLeast(1) else 1
+        val entries = (min(ceil(size).toInt() - 1, to) - from + 1).coerceAtLeast(0)
+
+        firstBarIndex = countBars(data, from)
+        ensureCapacity(entries * 4 * stackSize)
+    }
+
+    /**
+     * Returns the number of bars of the first entries of the given DataSet, an entry without
+     * stack values is one bar, a stacked entry one bar per stack value.
+     */
+    private fun countBars(data: IBarDataSet?, entries: Int): Int {
+        if (!containsStacks || data == null)
+            return entries
+
+        var bars = 0
+
+        for (i in 0..<min(entries, data.entryCount)) {
+            val e = data.getEntryForIndex(i) ?: continue
+            bars += e.yVals?.size ?: 1
+        }
+        return bars
+    }
+
+    /**
+     * Builds up the buffer with the bars of the entries from limitFrom(...) to
+     * limitTo(...) of the given DataSet, all entries if not limited.
+     */
     override fun feed(data: IBarDataSet?) {
         val size = (data?.entryCount ?: 0) * phaseX
         val barWidthHalf = barWidth / 2f
 
-        var i = 0
-        while (i < size) {
+        startFeed(data, size)
+
+        var i = from
+        while (i < size && i <= to) {
             val e = data?.getEntryForIndex(i)
 
             if (e == null) {
@@ -135,6 +179,7 @@ open class BarBuffer(size: Int, dataSetCount: Int, containsStacks: Boolean) : Ab
             i++
         }
 
+        count = index
         reset()
     }
 }
@@ -8,8 +8,10 @@ class HorizontalBarBuffer(size: Int, dataSetCount: Int, containsStacks: Boolean)
         val size = (data?.entryCount ?: 0) * phaseX
         val barWidthHalf = barWidth / 2f
 
-        var i = 0
-        while (i < size) {
+        startFeed(data, size)
+
+        var i = from
+        while (i < size && i <= to) {
             val e = data?.getEntryForIndex(i)
 
             if (e == null) {
@@ -80,6 +82,7 @@ class HorizontalBarBuffer(size: Int, dataSetCount: Int, containsStacks: Boolean)
             i++
         }
 
+        count = index
         reset()
     }
 }
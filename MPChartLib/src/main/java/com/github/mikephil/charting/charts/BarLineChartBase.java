@@ -14,6 +14,7 @@ import android.util.AttributeSet;
 import android.util.Log;
 import android.view.MotionEvent;
 
+import com.github.mikephil.charting.components.LegendEntry;
 import com.github.mikephil.charting.components.XAxis.XAxisPosition;
 import com.github.mikephil.charting.components.YAxis;
 import com.github.mikephil.charting.components.YAxis.AxisDependency;
@@ -26,16 +27,23 @@ import com.github.mikephil.charting.interfaces.datasets.IBarLineScatterCandleBub
 import com.github.mikephil.charting.jobs.AnimatedMoveViewJob;
 import com.github.mikephil.charting.jobs.AnimatedZoomJob;
 import com.github.mikephil.charting.jobs.MoveViewJob;
+import com.github.mikephil.charting.jobs.PrepareDataJob;
 import com.github.mikephil.charting.jobs.ZoomJob;
 import com.github.mikephil.charting.listener.BarLineChartTouchListener;
 import com.github.mikephil.charting.listener.OnDrawListener;
 import com.github.mikephil.charting.renderer.XAxisRenderer;
 import com.github.mikephil.charting.renderer.YAxisRenderer;
+import com.github.mikephil.charting.utils.ChartExecutors;
 import com.github.mikephil.charting.utils.MPPointD;
 import com.github.mikephil.charting.utils.MPPointF;
 import com.github.mikephil.charting.utils.Transformer;
 import com.github.mikephil.charting.utils.Utils;
 
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
 import androidx.annotation.NonNull;
 
 /**
@@ -142,8 +150,44 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleBubbleData<
 
     protected XAxisRenderer mXAxisRenderer;
 
-    // /** the approximator object used for data filtering */
-    // private Approximator mApproximator;
+    /**
+     * tolerance in pixels for simplifying lines with the Douglas-Peucker algorithm
+     * before drawing them, 0 if disabled
+     */
+    protected float mLineApproximationTolerance = 0f;
+
+    /**
+     * number of points per pixel of the content width lines are downsampled to with
+     * LTTB, 0 if disabled
+     */
+    protected float mLineDownsamplingFactor = 0f;
+
+    /**
+     * generation of the data of this chart, incremented by every setData(...) and
+     * setDataAsync(...), preparations of older generations are dropped
+     */
+    private final AtomicLong mDataGeneration = new AtomicLong();
+
+    /**
+     * the running preparation of setDataAsync(...), if any
+     */
+    private Future<?> mDataPreparation;
+
+    /**
+     * executor for setDataAsync(...), null to use a shared background thread
+     */
+    private ExecutorService mDataPreparationExecutor;
+
+    /**
+     * legend entries prepared by setDataAsync(...) for the next notifyDataSetChanged()
+     */
+    private List<LegendEntry> mPreparedLegendEntries;
+
+    /**
+     * redraws the chart once DataSets have new entries for the visible range, e.g. run on
+     * the loader thread once a page of a PagedLineDataSet is loaded
+     */
+    private final Runnable mInvalidate = this::postInvalidate;
 
     public BarLineChartBase(Context context, AttributeSet attrs, int defStyle) {
         super(context, attrs, defStyle);
@@ -201,106 +245,115 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleBubbleData<
 
         long starttime = System.currentTimeMillis();
 
-        // execute all drawing commands
-        drawGridBackground(canvas);
+        // lets the DataSets prepare the visible range, e.g. pin the values of concurrently
+        // modified DataSets or request the pages of paged DataSets ahead of a fling
+        mData.onBeginDraw(getLowestVisibleX(), getHighestVisibleX(), getFlingVelocityX(),
+                mInvalidate);
 
-        if (mAutoScaleMinMaxEnabled) {
-            autoScale();
-        }
+        try {
+            // execute all drawing commands
+            drawGridBackground(canvas);
 
-        if (mAxisLeft.isEnabled())
-            mAxisRendererLeft.computeAxis(mAxisLeft.mAxisMinimum, mAxisLeft.mAxisMaximum, mAxisLeft.isInverted());
+            if (mAutoScaleMinMaxEnabled) {
+                autoScale();
+            }
 
-        if (mAxisRight.isEnabled())
-            mAxisRendererRight.computeAxis(mAxisRight.mAxisMinimum, mAxisRight.mAxisMaximum, mAxisRight.isInverted());
+            if (mAxisLeft.isEnabled())
+                mAxisRendererLeft.computeAxis(mAxisLeft.mAxisMinimum, mAxisLeft.mAxisMaximum, mAxisLeft.isInverted());
 
-        if (mXAxis.isEnabled())
-            mXAxisRenderer.computeAxis(mXAxis.mAxisMinimum, mXAxis.mAxisMaximum, false);
+            if (mAxisRight.isEnabled())
+                mAxisRendererRight.computeAxis(mAxisRight.mAxisMinimum, mAxisRight.mAxisMaximum, mAxisRight.isInverted());
 
-        // Y-axis labels could have changed in size affecting the offsets
-        if (mAutoScaleMinMaxEnabled) {
-            calculateOffsets();
-            mViewPortHandler.refresh(mViewPortHandler.getMatrixTouch(), this, false);
-        }
+            if (mXAxis.isEnabled())
+                mXAxisRenderer.computeAxis(mXAxis.mAxisMinimum, mXAxis.mAxisMaximum, false);
 
-        mXAxisRenderer.renderAxisLine(canvas);
-        mAxisRendererLeft.renderAxisLine(canvas);
-        mAxisRendererRight.renderAxisLine(canvas);
+            // Y-axis labels could have changed in size affecting the offsets
+            if (mAutoScaleMinMaxEnabled) {
+                calculateOffsets();
+                mViewPortHandler.refresh(mViewPortHandler.getMatrixTouch(), this, false);
+            }
 
-        if (mXAxis.isDrawGridLinesBehindDataEnabled())
-            mXAxisRenderer.renderGridLines(canvas);
+            mXAxisRenderer.renderAxisLine(canvas);
+            mAxisRendererLeft.renderAxisLine(canvas);
+            mAxisRendererRight.renderAxisLine(canvas);
 
-        if (mAxisLeft.isDrawGridLinesBehindDataEnabled())
-            mAxisRendererLeft.renderGridLines(canvas);
+            if (mXAxis.isDrawGridLinesBehindDataEnabled())
+                mXAxisRenderer.renderGridLines(canvas);
 
-        if (mAxisRight.isDrawGridLinesBehindDataEnabled())
-            mAxisRendererRight.renderGridLines(canvas);
+            if (mAxisLeft.isDrawGridLinesBehindDataEnabled())
+                mAxisRendererLeft.renderGridLines(canvas);
 
-        if (mXAxis.isEnabled() && mXAxis.isDrawLimitLinesBehindDataEnabled())
-            mXAxisRenderer.renderLimitLines(canvas);
+            if (mAxisRight.isDrawGridLinesBehindDataEnabled())
+                mAxisRendererRight.renderGridLines(canvas);
 
-        if (mAxisLeft.isEnabled() && mAxisLeft.isDrawLimitLinesBehindDataEnabled())
-            mAxisRendererLeft.renderLimitLines(canvas);
+            if (mXAxis.isEnabled() && mXAxis.isDrawLimitLinesBehindDataEnabled())
+                mXAxisRenderer.renderLimitLines(canvas);
 
-        if (mAxisRight.isEnabled() && mAxisRight.isDrawLimitLinesBehindDataEnabled())
-            mAxisRendererRight.renderLimitLines(canvas);
+            if (mAxisLeft.isEnabled() && mAxisLeft.isDrawLimitLinesBehindDataEnabled())
+                mAxisRendererLeft.renderLimitLines(canvas);
 
-        int clipRestoreCount = canvas.save();
+            if (mAxisRight.isEnabled() && mAxisRight.isDrawLimitLinesBehindDataEnabled())
+                mAxisRendererRight.renderLimitLines(canvas);
 
-        if (isClipDataToContentEnabled()) {
-            // make sure the data cannot be drawn outside the content-rect
-            canvas.clipRect(mViewPortHandler.getContentRect());
-        }
+            int clipRestoreCount = canvas.save();
 
-        mRenderer.drawData(canvas);
+            if (isClipDataToContentEnabled()) {
+                // make sure the data cannot be drawn outside the content-rect
+                canvas.clipRect(mViewPortHandler.getContentRect());
+            }
 
-        if (!mXAxis.isDrawGridLinesBehindDataEnabled())
-            mXAxisRenderer.renderGridLines(canvas);
+            mRenderer.drawData(canvas);
 
-        if (!mAxisLeft.isDrawGridLinesBehindDataEnabled())
-            mAxisRendererLeft.renderGridLines(canvas);
+            if (!mXAxis.isDrawGridLinesBehindDataEnabled())
+                mXAxisRenderer.renderGridLines(canvas);
 
-        if (!mAxisRight.isDrawGridLinesBehindDataEnabled())
-            mAxisRendererRight.renderGridLines(canvas);
+            if (!mAxisLeft.isDrawGridLinesBehindDataEnabled())
+                mAxisRendererLeft.renderGridLines(canvas);
 
-        // if highlighting is enabled
-        if (valuesToHighlight())
-            mRenderer.drawHighlighted(canvas, mIndicesToHighlight);
+            if (!mAxisRight.isDrawGridLinesBehindDataEnabled())
+                mAxisRendererRight.renderGridLines(canvas);
 
-        // Removes clipping rectangle
-        canvas.restoreToCount(clipRestoreCount);
+            // if highlighting is enabled
+            if (valuesToHighlight())
+                mRenderer.drawHighlighted(canvas, mIndicesToHighlight);
 
-        mRenderer.drawExtras(canvas);
+            // Removes clipping rectangle
+            canvas.restoreToCount(clipRestoreCount);
 
-        if (mXAxis.isEnabled() && !mXAxis.isDrawLimitLinesBehindDataEnabled())
-            mXAxisRenderer.renderLimitLines(canvas);
+            mRenderer.drawExtras(canvas);
 
-        if (mAxisLeft.isEnabled() && !mAxisLeft.isDrawLimitLinesBehindDataEnabled())
-            mAxisRendererLeft.renderLimitLines(canvas);
+            if (mXAxis.isEnabled() && !mXAxis.isDrawLimitLinesBehindDataEnabled())
+                mXAxisRenderer.renderLimitLines(canvas);
 
-        if (mAxisRight.isEnabled() && !mAxisRight.isDrawLimitLinesBehindDataEnabled())
-            mAxisRendererRight.renderLimitLines(canvas);
+            if (mAxisLeft.isEnabled() && !mAxisLeft.isDrawLimitLinesBehindDataEnabled())
+                mAxisRendererLeft.renderLimitLines(canvas);
 
-        mXAxisRenderer.renderAxisLabels(canvas);
-        mAxisRendererLeft.renderAxisLabels(canvas);
-        mAxisRendererRight.renderAxisLabels(canvas);
+            if (mAxisRight.isEnabled() && !mAxisRight.isDrawLimitLinesBehindDataEnabled())
+                mAxisRendererRight.renderLimitLines(canvas);
 
-        if (isClipValuesToContentEnabled()) {
-            clipRestoreCount = canvas.save();
-            canvas.clipRect(mViewPortHandler.getContentRect());
+            mXAxisRenderer.renderAxisLabels(canvas);
+            mAxisRendererLeft.renderAxisLabels(canvas);
+            mAxisRendererRight.renderAxisLabels(canvas);
 
-            mRenderer.drawValues(canvas);
+            if (isClipValuesToContentEnabled()) {
+                clipRestoreCount = canvas.save();
+                canvas.clipRect(mViewPortHandler.getContentRect());
 
-            canvas.restoreToCount(clipRestoreCount);
-        } else {
-            mRenderer.drawValues(canvas);
-        }
+                mRenderer.drawValues(canvas);
+
+                canvas.restoreToCount(clipRestoreCount);
+            } else {
+                mRenderer.drawValues(canvas);
+            }
 
-        mLegendRenderer.renderLegend(canvas);
+            mLegendRenderer.renderLegend(canvas);
 
-        drawDescription(canvas);
+            drawDescription(canvas);
 
-        drawMarkers(canvas);
+            drawMarkers(canvas);
+        } finally {
+            mData.onEndDraw();
+        }
 
         if (mLogEnabled) {
             long drawtime = (System.currentTimeMillis() - starttime);
@@ -364,11 +417,91 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleBubbleData<
         mXAxisRenderer.computeAxis(mXAxis.mAxisMinimum, mXAxis.mAxisMaximum, false);
 
         if (mLegend != null)
-            mLegendRenderer.computeLegend(mData);
+            mLegendRenderer.computeLegend(mData, mPreparedLegendEntries);
+
+        mPreparedLegendEntries = null;
 
         calculateOffsets();
     }
 
+    @Override
+    public void setData(T data) {
+        cancelDataPreparation();
+        super.setData(data);
+    }
+
+    @Override
+    public void clear() {
+        cancelDataPreparation();
+        super.clear();
+    }
+
+    /**
+     * Sets a new data object for the chart like setData(...), but calculates the minimum
+     * and maximum values of all DataSets, their y-range indices and level-of-detail
+     * pyramids, and the entries of the legend on a background thread first. The prepared
+     * data is set on the UI thread with the next frame. The data object must not be
+     * modified until then. Calling setData(...), clear() or setDataAsync(...) again
+     * before cancels the preparation, its data is never shown.
+     *
+     * @param data
+     */
+    public void setDataAsync(T data) {
+        long generation = cancelDataPreparation();
+
+        if (data == null) {
+            setData(null);
+            return;
+        }
+
+        PrepareDataJob<T> job = new PrepareDataJob<>(data, generation, mDataGeneration,
+                mLegend != null ? mLegendRenderer : null,
+                prepared -> postOnAnimation(() -> setPreparedData(prepared)));
+
+        ExecutorService executor = mDataPreparationExecutor != null
+                ? mDataPreparationExecutor
+                : ChartExecutors.getBackgroundExecutor();
+
+        mDataPreparation = executor.submit(job);
+    }
+
+    /**
+     * Sets the executor setDataAsync(...) prepares the data on, null to use the background
+     * thread that is shared by all charts, see ChartExecutors. Default: null
+     *
+     * @param executor
+     */
+    public void setDataPreparationExecutor(ExecutorService executor) {
+        mDataPreparationExecutor = executor;
+    }
+
+    /**
+     * Sets the data of the given preparation, unless a newer data object was set since.
+     */
+    private void setPreparedData(PrepareDataJob<T> job) {
+        if (job.isCancelled())
+            return;
+
+        mPreparedLegendEntries = job.getLegendEntries();
+        setData(job.getData());
+        mPreparedLegendEntries = null;
+
+        invalidate();
+    }
+
+    /**
+     * Cancels the running preparation of setDataAsync(...), if any, and returns the new
+     * generation of the data.
+     */
+    protected long cancelDataPreparation() {
+        if (mDataPreparation != null) {
+            mDataPreparation.cancel(true);
+            mDataPreparation = null;
+        }
+
+        return mDataGeneration.incrementAndGet();
+    }
+
     /**
      * Performs auto scaling of the axis by recalculating the minimum and maximum y-values based on the entries currently in view.
      */
@@ -1299,6 +1432,23 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleBubbleData<
 		return (float) Math.min(mXAxis.mAxisMaximum, posForGetHighestVisibleX.x);
     }
 
+    /**
+     * Returns the x-values per second the visible range moves by because of a fling, 0 if
+     * the chart is not decelerating.
+     */
+    public float getFlingVelocityX() {
+        if (!(mChartTouchListener instanceof BarLineChartTouchListener) || mViewPortHandler.contentWidth() <= 0f)
+            return 0f;
+
+        float pixelsPerSecond = ((BarLineChartTouchListener) mChartTouchListener).getDecelerationVelocityX();
+
+        if (pixelsPerSecond == 0f)
+            return 0f;
+
+        // a fling to the right moves the visible range to lower x-values
+        return -pixelsPerSecond * getVisibleXRange() / mViewPortHandler.contentWidth();
+    }
+
     /**
      * Returns the range visible on the x-axis.
      */
@@ -1474,6 +1624,43 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleBubbleData<
         return mAutoScaleMinMaxEnabled;
     }
 
+    /**
+     * Sets a tolerance in pixels for simplifying the visible part of every line with the
+     * Douglas-Peucker algorithm before drawing it: points closer than this to the
+     * simplified line are left out. The simplified line is only computed again when the
+     * data (notifyDataSetChanged()) or the viewport changes. Stepped lines are not
+     * simplified. Default: 0 (disabled)
+     *
+     * @param pixels
+     */
+    public void setLineApproximationTolerance(float pixels) {
+        mLineApproximationTolerance = Math.max(0f, pixels);
+    }
+
+    @Override
+    public float getLineApproximationTolerance() {
+        return mLineApproximationTolerance;
+    }
+
+    /**
+     * Sets the number of points per pixel of the content width that lines are
+     * downsampled to with the Largest-Triangle-Three-Buckets algorithm. If more entries
+     * are visible, exactly factor * contentWidth of them are drawn, in all line modes.
+     * Values around 1 to 2 keep the shape of dense series. The downsampling reads every
+     * visible entry; takes precedence over the level-of-detail pyramid of the DataSets.
+     * Default: 0 (disabled)
+     *
+     * @param factor
+     */
+    public void setLineDownsamplingFactor(float factor) {
+        mLineDownsamplingFactor = Math.max(0f, factor);
+    }
+
+    @Override
+    public float getLineDownsamplingFactor() {
+        return mLineDownsamplingFactor;
+    }
+
     @Override
     public void setPaint(Paint p, int which) {
         super.setPaint(p, which);
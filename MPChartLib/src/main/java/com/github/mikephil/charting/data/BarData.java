@@ -34,6 +34,7 @@ public class BarData extends BarLineScatterCandleBubbleData<IBarDataSet> {
      * Default 0.85f
      */
     public void setBarWidth(float mBarWidth) {
+        mVersion++;
         this.mBarWidth = mBarWidth;
     }
 
@@ -4,12 +4,13 @@ package com.github.mikephil.charting.data;
 import android.graphics.Color;
 
 import com.github.mikephil.charting.interfaces.datasets.IBarDataSet;
+import com.github.mikephil.charting.interfaces.datasets.IBatchDataSet;
 import com.github.mikephil.charting.utils.Fill;
 
 import java.util.ArrayList;
 import java.util.List;
 
-public class BarDataSet extends BarLineScatterCandleBubbleDataSet<BarEntry> implements IBarDataSet {
+public class BarDataSet extends BarLineScatterCandleBubbleDataSet<BarEntry> implements IBarDataSet, IBatchDataSet<BarEntry> {
 
     /**
      * the maximum number of bars that are stacked upon each other, this value
@@ -52,6 +53,16 @@ public class BarDataSet extends BarLineScatterCandleBubbleDataSet<BarEntry> impl
         calcEntryCountIncludingStacks(yVals);
     }
 
+    @Override
+    public void addEntries(float[] xs, float[] ys, int off, int len) {
+        super.addEntries(xs, ys, off, len);
+    }
+
+    @Override
+    protected BarEntry createEntry(float x, float y) {
+        return new BarEntry(x, y);
+    }
+
     @Override
     public DataSet<BarEntry> copy() {
         List<BarEntry> entries = new ArrayList<>();
@@ -104,6 +115,10 @@ public class BarDataSet extends BarLineScatterCandleBubbleDataSet<BarEntry> impl
      * Sets the start and end color for gradient color, ONLY color that should be used for this DataSet.
      */
     public void setGradientColor(int startColor, int endColor) {
+        incrementVersion();
+        if (mFills == null) {
+            mFills = new ArrayList<>();
+        }
         mFills.clear();
         mFills.add(new Fill(startColor, endColor));
     }
@@ -114,6 +129,7 @@ public class BarDataSet extends BarLineScatterCandleBubbleDataSet<BarEntry> impl
      */
     @Deprecated
     public void setGradientColors(List<Fill> gradientColors) {
+        incrementVersion();
         this.mFills = gradientColors;
     }
 
@@ -121,6 +137,7 @@ public class BarDataSet extends BarLineScatterCandleBubbleDataSet<BarEntry> impl
      * Sets the fills for the bars in this dataset.
      */
     public void setFills(List<Fill> fills) {
+        incrementVersion();
         this.mFills = fills;
     }
 
@@ -206,6 +223,7 @@ public class BarDataSet extends BarLineScatterCandleBubbleDataSet<BarEntry> impl
      * use getResources().getColor(...) to set this. Or Color.rgb(...).
      */
     public void setBarShadowColor(int color) {
+        incrementVersion();
         mBarShadowColor = color;
     }
 
@@ -219,6 +237,7 @@ public class BarDataSet extends BarLineScatterCandleBubbleDataSet<BarEntry> impl
      * If borderWidth == 0, no border will be drawn.
      */
     public void setBarBorderWidth(float width) {
+        incrementVersion();
         mBarBorderWidth = width;
     }
 
@@ -235,6 +254,7 @@ public class BarDataSet extends BarLineScatterCandleBubbleDataSet<BarEntry> impl
      * Sets the color drawing borders around the bars.
      */
     public void setBarBorderColor(int color) {
+        incrementVersion();
         mBarBorderColor = color;
     }
 
@@ -251,6 +271,7 @@ public class BarDataSet extends BarLineScatterCandleBubbleDataSet<BarEntry> impl
      * indicator bar. min = 0 (fully transparent), max = 255 (fully opaque)
      */
     public void setHighLightAlpha(int alpha) {
+        incrementVersion();
         mHighLightAlpha = alpha;
     }
 
@@ -263,6 +284,7 @@ public class BarDataSet extends BarLineScatterCandleBubbleDataSet<BarEntry> impl
      * Sets labels for different values of bar-stacks, in case there are one.
      */
     public void setStackLabels(String[] labels) {
+        incrementVersion();
         mStackLabels = labels;
     }
 
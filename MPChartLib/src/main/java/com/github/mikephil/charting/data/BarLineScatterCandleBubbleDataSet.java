@@ -33,6 +33,7 @@ public abstract class BarLineScatterCandleBubbleDataSet<T extends Entry>
      * @param color
      */
     public void setHighLightColor(int color) {
+        incrementVersion();
         mHighLightColor = color;
     }
 
@@ -84,6 +84,11 @@ abstract class BaseDataSet<T : Entry>() : IDataSet<T> {
      */
     protected var mVisible: Boolean = true
 
+    /**
+     * modification counter, see getVersion()
+     */
+    private var mVersion = 0L
+
     /**
      * Default constructor.
      */
@@ -109,9 +114,22 @@ abstract class BaseDataSet<T : Entry>() : IDataSet<T> {
      * Use this method to tell the data set that the underlying data has changed.
      */
     fun notifyDataSetChanged() {
+        incrementVersion()
         calcMinMax()
     }
 
+    override fun getVersion(): Long {
+        return mVersion
+    }
+
+    /**
+     * Marks this DataSet as modified, to be called by every method that changes the
+     * entries or the styling.
+     */
+    protected fun incrementVersion() {
+        mVersion++
+    }
+
     override fun getColors(): List<Int> {
         return mColors
     }
@@ -140,6 +158,7 @@ abstract class BaseDataSet<T : Entry>() : IDataSet<T> {
      * @param colors
      */
     fun setColors(colors: MutableList<Int>) {
+        incrementVersion()
         this.mColors = colors
     }
 
@@ -153,6 +172,7 @@ abstract class BaseDataSet<T : Entry>() : IDataSet<T> {
      * @param colors
      */
     fun setColors(vararg colors: Int) {
+        incrementVersion()
         this.mColors = ColorTemplate.createColors(colors)
     }
 
@@ -167,6 +187,7 @@ abstract class BaseDataSet<T : Entry>() : IDataSet<T> {
      * @param colors
      */
     fun setColors(colors: IntArray, context: Context) {
+        incrementVersion()
         mColors.clear()
 
         for (color in colors) {
@@ -180,6 +201,7 @@ abstract class BaseDataSet<T : Entry>() : IDataSet<T> {
      * @param color
      */
     fun addColor(color: Int) {
+        incrementVersion()
         mColors.add(color)
     }
 
@@ -190,6 +212,7 @@ abstract class BaseDataSet<T : Entry>() : IDataSet<T> {
      * @param color
      */
     fun setColor(color: Int) {
+        incrementVersion()
         resetColors()
         mColors.add(color)
     }
@@ -201,6 +224,7 @@ abstract class BaseDataSet<T : Entry>() : IDataSet<T> {
      * @param alpha from 0-255
      */
     fun setColor(color: Int, alpha: Int) {
+        incrementVersion()
         setColor(Color.argb(alpha, Color.red(color), Color.green(color), Color.blue(color)))
     }
 
@@ -211,6 +235,7 @@ abstract class BaseDataSet<T : Entry>() : IDataSet<T> {
      * @param alpha
      */
     fun setColors(colors: IntArray, alpha: Int) {
+        incrementVersion()
         resetColors()
         for (color in colors) {
             addColor(Color.argb(alpha, Color.red(color), Color.green(color), Color.blue(color)))
@@ -221,6 +246,7 @@ abstract class BaseDataSet<T : Entry>() : IDataSet<T> {
      * Resets all colors of this DataSet and recreates the colors array.
      */
     fun resetColors() {
+        incrementVersion()
         mColors.clear()
     }
 
@@ -228,6 +254,7 @@ abstract class BaseDataSet<T : Entry>() : IDataSet<T> {
      * ###### ###### OTHER STYLING RELATED METHODS ##### ######
      */
     override fun setLabel(label: String) {
+        incrementVersion()
         mLabel = label
     }
 
@@ -236,6 +263,7 @@ abstract class BaseDataSet<T : Entry>() : IDataSet<T> {
     }
 
     override fun setHighlightEnabled(enabled: Boolean) {
+        incrementVersion()
         mHighlightEnabled = enabled
     }
 
@@ -244,6 +272,7 @@ abstract class BaseDataSet<T : Entry>() : IDataSet<T> {
     }
 
     override fun setValueFormatter(f: IValueFormatter?) {
+        incrementVersion()
         if (f == null) return
         else mValueFormatter = f
     }
@@ -258,19 +287,23 @@ abstract class BaseDataSet<T : Entry>() : IDataSet<T> {
     }
 
     override fun setValueTextColor(color: Int) {
+        incrementVersion()
         mValueColors.clear()
         mValueColors.add(color)
     }
 
     override fun setValueTextColors(colors: MutableList<Int>) {
+        incrementVersion()
         mValueColors = colors
     }
 
     override fun setValueTypeface(tf: Typeface?) {
+        incrementVersion()
         mValueTypeface = tf
     }
 
     override fun setValueTextSize(size: Float) {
+        incrementVersion()
         mValueTextSize = Utils.convertDpToPixel(size)
     }
 
@@ -291,6 +324,7 @@ abstract class BaseDataSet<T : Entry>() : IDataSet<T> {
     }
 
     fun setForm(form: LegendForm) {
+        incrementVersion()
         mForm = form
     }
 
@@ -299,6 +333,7 @@ abstract class BaseDataSet<T : Entry>() : IDataSet<T> {
     }
 
     fun setFormSize(formSize: Float) {
+        incrementVersion()
         mFormSize = formSize
     }
 
@@ -307,6 +342,7 @@ abstract class BaseDataSet<T : Entry>() : IDataSet<T> {
     }
 
     fun setFormLineWidth(formLineWidth: Float) {
+        incrementVersion()
         mFormLineWidth = formLineWidth
     }
 
@@ -315,6 +351,7 @@ abstract class BaseDataSet<T : Entry>() : IDataSet<T> {
     }
 
     fun setFormLineDashEffect(dashPathEffect: DashPathEffect?) {
+        incrementVersion()
         mFormLineDashEffect = dashPathEffect
     }
 
@@ -323,6 +360,7 @@ abstract class BaseDataSet<T : Entry>() : IDataSet<T> {
     }
 
     override fun setDrawValues(enabled: Boolean) {
+        incrementVersion()
         this.mDrawValues = enabled
     }
 
@@ -331,6 +369,7 @@ abstract class BaseDataSet<T : Entry>() : IDataSet<T> {
     }
 
     override fun setDrawIcons(enabled: Boolean) {
+        incrementVersion()
         mDrawIcons = enabled
     }
 
@@ -339,6 +378,7 @@ abstract class BaseDataSet<T : Entry>() : IDataSet<T> {
     }
 
     override fun setIconsOffset(offsetDp: MPPointF) {
+        incrementVersion()
         mIconsOffset.x = offsetDp.x
         mIconsOffset.y = offsetDp.y
     }
@@ -348,6 +388,7 @@ abstract class BaseDataSet<T : Entry>() : IDataSet<T> {
     }
 
     override fun setVisible(visible: Boolean) {
+        incrementVersion()
         mVisible = visible
     }
 
@@ -360,6 +401,7 @@ abstract class BaseDataSet<T : Entry>() : IDataSet<T> {
     }
 
     override fun setAxisDependency(dependency: AxisDependency) {
+        incrementVersion()
         mAxisDependency = dependency
     }
 
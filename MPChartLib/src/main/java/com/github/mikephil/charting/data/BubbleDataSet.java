@@ -20,6 +20,7 @@ public class BubbleDataSet extends BarLineScatterCandleBubbleDataSet<BubbleEntry
 
     @Override
     public void setHighlightCircleWidth(float width) {
+        incrementVersion();
         mHighlightCircleWidth = Utils.convertDpToPixel(width);
     }
 
@@ -66,6 +67,7 @@ public class BubbleDataSet extends BarLineScatterCandleBubbleDataSet<BubbleEntry
     }
 
     public void setNormalizeSizeEnabled(boolean normalizeSize) {
+        incrementVersion();
         mNormalizeSize = normalizeSize;
     }
 }
@@ -138,6 +138,7 @@ public class CandleDataSet extends LineScatterCandleRadarDataSet<CandleEntry> im
      * @param space
      */
     public void setBarSpace(float space) {
+        incrementVersion();
 
         if (space < 0f)
             space = 0f;
@@ -158,6 +159,7 @@ public class CandleDataSet extends LineScatterCandleRadarDataSet<CandleEntry> im
      * @param width
      */
     public void setShadowWidth(float width) {
+        incrementVersion();
         mShadowWidth = Utils.convertDpToPixel(width);
     }
 
@@ -172,6 +174,7 @@ public class CandleDataSet extends LineScatterCandleRadarDataSet<CandleEntry> im
      * @param showCandleBar
      */
     public void setShowCandleBar(boolean showCandleBar) {
+        incrementVersion();
         mShowCandleBar = showCandleBar;
     }
 
@@ -199,6 +202,7 @@ public class CandleDataSet extends LineScatterCandleRadarDataSet<CandleEntry> im
      * @param color
      */
     public void setNeutralColor(int color) {
+        incrementVersion();
         mNeutralColor = color;
     }
 
@@ -214,6 +218,7 @@ public class CandleDataSet extends LineScatterCandleRadarDataSet<CandleEntry> im
      * @param color
      */
     public void setIncreasingColor(int color) {
+        incrementVersion();
         mIncreasingColor = color;
     }
 
@@ -229,6 +234,7 @@ public class CandleDataSet extends LineScatterCandleRadarDataSet<CandleEntry> im
      * @param color
      */
     public void setDecreasingColor(int color) {
+        incrementVersion();
         mDecreasingColor = color;
     }
 
@@ -248,6 +254,7 @@ public class CandleDataSet extends LineScatterCandleRadarDataSet<CandleEntry> im
      * @param paintStyle
      */
     public void setIncreasingPaintStyle(Paint.Style paintStyle) {
+        incrementVersion();
         this.mIncreasingPaintStyle = paintStyle;
     }
 
@@ -262,6 +269,7 @@ public class CandleDataSet extends LineScatterCandleRadarDataSet<CandleEntry> im
      * @param decreasingPaintStyle
      */
     public void setDecreasingPaintStyle(Paint.Style decreasingPaintStyle) {
+        incrementVersion();
         this.mDecreasingPaintStyle = decreasingPaintStyle;
     }
 
@@ -276,6 +284,7 @@ public class CandleDataSet extends LineScatterCandleRadarDataSet<CandleEntry> im
      * @param shadowColor
      */
     public void setShadowColor(int shadowColor) {
+        incrementVersion();
         this.mShadowColor = shadowColor;
     }
 
@@ -290,6 +299,7 @@ public class CandleDataSet extends LineScatterCandleRadarDataSet<CandleEntry> im
      * @param shadowColorSameAsCandle
      */
     public void setShadowColorSameAsCandle(boolean shadowColorSameAsCandle) {
+        incrementVersion();
         this.mShadowColorSameAsCandle = shadowColorSameAsCandle;
     }
 }
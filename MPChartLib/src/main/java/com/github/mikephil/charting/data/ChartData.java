@@ -56,6 +56,22 @@ public abstract class ChartData<T extends IDataSet<? extends Entry>> implements
      */
     protected List<T> mDataSets;
 
+    /**
+     * modification counter of this data object itself, see getVersion()
+     */
+    protected long mVersion = 0;
+
+    /**
+     * the time that has the x-value 0 in all DataSets whose x-values are relative times,
+     * see setXOrigin(...)
+     */
+    protected long mXOrigin = 0L;
+
+    /**
+     * true once the origin is fixed, by setXOrigin(...) or by the first time series
+     */
+    protected boolean mXOriginSet = false;
+
     /**
      * Default constructor.
      */
@@ -101,9 +117,55 @@ public abstract class ChartData<T extends IDataSet<? extends Entry>> implements
      * the contained data has changed.
      */
     public void notifyDataChanged() {
+        mVersion++;
         calcMinMax();
     }
 
+    /**
+     * Returns the modification counter of this data object. It grows with every change
+     * of the data object and with every change of the DataSets it contains (see
+     * IDataSet.getVersion()), so it can be compared instead of the content to find out
+     * if anything changed since it was last read. Returns -1 if any of the DataSets does
+     * not count its modifications.
+     */
+    public long getVersion() {
+
+        long version = mVersion;
+
+        if (mDataSets != null) {
+            for (T set : mDataSets) {
+                long setVersion = set.getVersion();
+
+                if (setVersion < 0)
+                    return -1;
+
+                version += setVersion;
+            }
+        }
+
+        return version;
+    }
+
+    /**
+     * Tells all DataSets that the chart is about to draw a frame, see
+     * IDataSet.onBeginDraw(...). Called by the chart before every frame, and must be
+     * followed by onEndDraw().
+     */
+    public void onBeginDraw(float fromX, float toX, float velocityX, Runnable invalidate) {
+        for (T set : mDataSets) {
+            set.onBeginDraw(fromX, toX, velocityX, invalidate);
+        }
+    }
+
+    /**
+     * Tells all DataSets that the chart has drawn a frame, see IDataSet.onEndDraw().
+     */
+    public void onEndDraw() {
+        for (T set : mDataSets) {
+            set.onEndDraw();
+        }
+    }
+
     /**
      * Calc minimum and maximum y-values over all DataSets.
      * Tell DataSets to recalculate their min and max y-values, this is only needed for autoScaleMinMax.
@@ -121,6 +183,72 @@ public abstract class ChartData<T extends IDataSet<? extends Entry>> implements
         calcMinMax();
     }
 
+    /**
+     * Sets the time that has the x-value 0 in all DataSets of this data object whose
+     * x-values are relative times, e.g. TimeSeriesLineDataSets and RetentionLineDataSets,
+     * in the unit of their times (see IDataSet.applyXOrigin(...)), and
+     * recalculates the minimum and maximum values. If it is never set, the smallest first
+     * time of the time series is used once they have values. Move it towards the visible
+     * data when the float x-values get too imprecise, e.g. when a streamed time series has
+     * moved far away from the origin.
+     */
+    public void setXOrigin(long origin) {
+        mXOrigin = origin;
+        mXOriginSet = true;
+        notifyDataChanged();
+    }
+
+    /**
+     * Returns the time that has the x-value 0 in all DataSets whose x-values are relative
+     * times.
+     */
+    public long getXOrigin() {
+        return mXOrigin;
+    }
+
+    /**
+     * Returns the full precision time the given x-value stands for, e.g. for axis labels
+     * or a highlighted x-value.
+     */
+    public long getTimeForX(float x) {
+        return mXOrigin + Math.round((double) x);
+    }
+
+    /**
+     * Returns the x-value of the given time.
+     */
+    public float getXForTime(long time) {
+        return (float) (time - mXOrigin);
+    }
+
+    /**
+     * Gives all DataSets the origin of this data object, choosing it from their first
+     * times if it is not set yet.
+     */
+    protected void applyXOrigin() {
+
+        if (mDataSets == null)
+            return;
+
+        if (!mXOriginSet) {
+            long origin = Long.MAX_VALUE;
+
+            for (T set : mDataSets) {
+                origin = Math.min(origin, set.getFirstTime());
+            }
+
+            if (origin == Long.MAX_VALUE)
+                return;
+
+            mXOrigin = origin;
+            mXOriginSet = true;
+        }
+
+        for (T set : mDataSets) {
+            set.applyXOrigin(mXOrigin);
+        }
+    }
+
     /**
      * Calc minimum and maximum values (both x and y) over all DataSets.
      */
@@ -129,6 +257,8 @@ public abstract class ChartData<T extends IDataSet<? extends Entry>> implements
         if (mDataSets == null)
             return;
 
+        applyXOrigin();
+
         mYMax = -Float.MAX_VALUE;
         mYMin = Float.MAX_VALUE;
         mXMax = -Float.MAX_VALUE;
@@ -344,9 +474,10 @@ public abstract class ChartData<T extends IDataSet<? extends Entry>> implements
         if (d == null)
             return;
 
-        calcMinMax(d);
-
         mDataSets.add(d);
+        applyXOrigin();
+        calcMinMax(d);
+        mVersion++;
     }
 
     /**
@@ -363,6 +494,8 @@ public abstract class ChartData<T extends IDataSet<? extends Entry>> implements
 
         // if a DataSet was removed
         if (removed) {
+            // keep the version growing although the DataSet no longer counts
+            mVersion += Math.max(d.getVersion(), 0);
             notifyDataChanged();
         }
 
@@ -513,14 +646,22 @@ public abstract class ChartData<T extends IDataSet<? extends Entry>> implements
         if (e == null)
             return null;
 
+        // the DataSet that holds the Entry itself, found by the entry lookup of each set
+        for (int i = 0; i < mDataSets.size(); i++) {
+
+            IDataSet set = mDataSets.get(i);
+
+            if (set.getEntryIndex(e) > -1)
+                return mDataSets.get(i);
+        }
+
+        // otherwise the first DataSet with an Entry of the same values
         for (int i = 0; i < mDataSets.size(); i++) {
 
             T set = mDataSets.get(i);
 
-            for (int j = 0; j < set.getEntryCount(); j++) {
-                if (e.equalTo(set.getEntryForXValue(e.getX(), e.getY())))
-                    return set;
-            }
+            if (e.equalTo(set.getEntryForXValue(e.getX(), e.getY())))
+                return set;
         }
 
         return null;
@@ -680,6 +821,9 @@ public abstract class ChartData<T extends IDataSet<? extends Entry>> implements
      */
     public void clearValues() {
         if (mDataSets != null) {
+            for (T set : mDataSets) {
+                mVersion += set.getVersion();
+            }
             mDataSets.clear();
         }
         notifyDataChanged();
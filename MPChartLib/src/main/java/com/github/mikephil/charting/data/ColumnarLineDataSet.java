@@ -0,0 +1,52 @@
+package com.github.mikephil.charting.data;
+
+/**
+ * LineDataSet that keeps its values in primitive float columns (see {@link EntryColumns})
+ * instead of one Entry object per value. Meant for large data sets (hundreds of thousands
+ * of values and more), where the Entry objects dominate the heap.
+ * <p/>
+ * The renderers read the values through getXForIndex(...) and getYForIndex(...), which
+ * never create objects for this DataSet. Entries returned by getEntryForIndex(...) and
+ * the other lookup methods are created on demand and do not carry data or icons.
+ * Remove single values by index, see removeEntry(int).
+ */
+public class ColumnarLineDataSet extends LineDataSet {
+
+    public ColumnarLineDataSet(String label) {
+        this(new EntryColumns(), label);
+    }
+
+    /**
+     * Creates the DataSet from a copy of the given values, which must be sorted by x.
+     */
+    public ColumnarLineDataSet(float[] xValues, float[] yValues, String label) {
+        this(new EntryColumns(xValues, yValues, xValues.length), label);
+    }
+
+    public ColumnarLineDataSet(EntryColumns columns, String label) {
+        super(columns, label);
+    }
+
+    /**
+     * Returns the columns that hold the values of this DataSet.
+     */
+    public EntryColumns getColumns() {
+        return (EntryColumns) mEntries;
+    }
+
+    /**
+     * Adds the given values to the end of the DataSet, see addEntry(Entry).
+     */
+    public void addEntry(float x, float y) {
+        addEntry(new Entry(x, y));
+    }
+
+    @Override
+    public DataSet<Entry> copy() {
+        EntryColumns columns = getColumns();
+        ColumnarLineDataSet copied = new ColumnarLineDataSet(
+                new EntryColumns(columns.getXValues(), columns.getYValues(), columns.size()), getLabel());
+        copy(copied);
+        return copied;
+    }
+}
@@ -29,30 +29,64 @@ public class CombinedData extends BarLineScatterCandleBubbleData<IBarLineScatter
     }
 
     public void setData(LineData data) {
+        retire(mLineData);
         mLineData = data;
         notifyDataChanged();
     }
 
     public void setData(BarData data) {
+        retire(mBarData);
         mBarData = data;
         notifyDataChanged();
     }
 
     public void setData(ScatterData data) {
+        retire(mScatterData);
         mScatterData = data;
         notifyDataChanged();
     }
 
     public void setData(CandleData data) {
+        retire(mCandleData);
         mCandleData = data;
         notifyDataChanged();
     }
 
     public void setData(BubbleData data) {
+        retire(mBubbleData);
         mBubbleData = data;
         notifyDataChanged();
     }
 
+    /**
+     * Keeps the version growing when a data object is replaced and no longer counts.
+     */
+    private void retire(ChartData data) {
+        if (data != null)
+            mVersion += Math.max(data.getVersion(), 0);
+    }
+
+    /**
+     * Returns the modification counter of this data object, including the counters of
+     * all data objects it combines. Returns -1 if any of them does.
+     */
+    @Override
+    public long getVersion() {
+
+        long version = mVersion;
+
+        for (ChartData data : getAllData()) {
+            long dataVersion = data.getVersion();
+
+            if (dataVersion < 0)
+                return -1;
+
+            version += dataVersion;
+        }
+
+        return version;
+    }
+
     @Override
     public void calcMinMax() {
 
@@ -0,0 +1,284 @@
+package com.github.mikephil.charting.data;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A fixed number of x- and y-values of a {@link CompressedLineDataSet}, encoded like the
+ * Gorilla time series store does it, together with a header of the first and the last
+ * x-value and the minimum and maximum y-value of the block.
+ * <p/>
+ * The x-values are mapped to order preserving ints and stored as the delta of their
+ * deltas, which is 0 (1 bit) for evenly spaced values and small otherwise. The y-values
+ * are stored as the XOR with the previous value, of which only the meaningful bits
+ * between the leading and the trailing zeros are written, reusing the window of the
+ * previous value if they fit. Both are lossless, decoding gives the original bits.
+ */
+final class CompressedBlock implements Serializable {
+
+    final float mFirstX;
+    final float mLastX;
+    final float mYMin;
+    final float mYMax;
+    final int mCount;
+
+    /**
+     * the encoded bits, most significant bit first
+     */
+    private final long[] mBits;
+
+    private CompressedBlock(float firstX, float lastX, float yMin, float yMax, int count, long[] bits) {
+        mFirstX = firstX;
+        mLastX = lastX;
+        mYMin = yMin;
+        mYMax = yMax;
+        mCount = count;
+        mBits = bits;
+    }
+
+    /**
+     * Returns the bytes of the encoded values.
+     */
+    int getByteCount() {
+        return mBits.length * 8;
+    }
+
+    /**
+     * Encodes count values of the given arrays, starting at index 0.
+     */
+    static CompressedBlock encode(float[] xs, float[] ys, int count) {
+        BitWriter writer = new BitWriter(count);
+
+        float yMin = Float.MAX_VALUE;
+        float yMax = -Float.MAX_VALUE;
+
+        long previous = sortable(xs[0]);
+        long previousDelta = 0;
+        writer.write(previous, 32);
+
+        for (int i = 1; i < count; i++) {
+            long value = sortable(xs[i]);
+            long delta = value - previous;
+            long deltaOfDelta = delta - previousDelta;
+
+            if (deltaOfDelta == 0) {
+                writer.write(0, 1);
+            } else if (fits(deltaOfDelta, 7)) {
+                writer.write(0b10, 2);
+                writer.write(deltaOfDelta, 7);
+            } else if (fits(deltaOfDelta, 9)) {
+                writer.write(0b110, 3);
+                writer.write(deltaOfDelta, 9);
+            } else if (fits(deltaOfDelta, 12)) {
+                writer.write(0b1110, 4);
+                writer.write(deltaOfDelta, 12);
+            } else {
+                writer.write(0b1111, 4);
+                writer.write(deltaOfDelta, 34);
+            }
+
+            previous = value;
+            previousDelta = delta;
+        }
+
+        int previousBits = Float.floatToRawIntBits(ys[0]);
+        int leading = -1;
+        int trailing = 0;
+        writer.write(previousBits, 32);
+
+        for (int i = 0; i < count; i++) {
+            float y = ys[i];
+
+            if (y < yMin)
+                yMin = y;
+
+            if (y > yMax)
+                yMax = y;
+
+            if (i == 0)
+                continue;
+
+            int bits = Float.floatToRawIntBits(y);
+            int xor = bits ^ previousBits;
+            previousBits = bits;
+
+            if (xor == 0) {
+                writer.write(0, 1);
+                continue;
+            }
+
+            int newLeading = Math.min(31, Integer.numberOfLeadingZeros(xor));
+            int newTrailing = Integer.numberOfTrailingZeros(xor);
+
+            if (leading >= 0 && newLeading >= leading && newTrailing >= trailing) {
+                // the meaningful bits fit into the window of the previous value
+                writer.write(0b10, 2);
+                writer.write(xor >>> trailing, 32 - leading - trailing);
+            } else {
+                leading = newLeading;
+                trailing = newTrailing;
+                int length = 32 - leading - trailing;
+
+                writer.write(0b11, 2);
+                writer.write(leading, 5);
+                writer.write(length - 1, 5);
+                writer.write(xor >>> trailing, length);
+            }
+        }
+
+        return new CompressedBlock(xs[0], xs[count - 1], yMin, yMax, count, writer.toArray());
+    }
+
+    /**
+     * Decodes the values of this block into the given arrays, starting at offset.
+     */
+    void decode(float[] xs, float[] ys, int offset) {
+        BitReader reader = new BitReader(mBits);
+
+        long previous = reader.read(32);
+        long previousDelta = 0;
+        xs[offset] = unsortable(previous);
+
+        for (int i = 1; i < mCount; i++) {
+            long deltaOfDelta;
+
+            if (reader.read(1) == 0) {
+                deltaOfDelta = 0;
+            } else if (reader.read(1) == 0) {
+                deltaOfDelta = reader.readSigned(7);
+            } else if (reader.read(1) == 0) {
+                deltaOfDelta = reader.readSigned(9);
+            } else if (reader.read(1) == 0) {
+                deltaOfDelta = reader.readSigned(12);
+            } else {
+                deltaOfDelta = reader.readSigned(34);
+            }
+
+            previousDelta += deltaOfDelta;
+            previous += previousDelta;
+            xs[offset + i] = unsortable(previous);
+        }
+
+        int previousBits = (int) reader.read(32);
+        int leading = 0;
+        int trailing = 0;
+        ys[offset] = Float.intBitsToFloat(previousBits);
+
+        for (int i = 1; i < mCount; i++) {
+
+            if (reader.read(1) != 0) {
+
+                if (reader.read(1) != 0) {
+                    leading = (int) reader.read(5);
+                    trailing = 32 - leading - ((int) reader.read(5) + 1);
+                }
+
+                int xor = (int) reader.read(32 - leading - trailing) << trailing;
+                previousBits ^= xor;
+            }
+
+            ys[offset + i] = Float.intBitsToFloat(previousBits);
+        }
+    }
+
+    /**
+     * Maps the bits of a float to an int (as a long) with the same order as the floats.
+     */
+    private static long sortable(float value) {
+        int bits = Float.floatToRawIntBits(value);
+        return bits ^ ((bits >> 31) & 0x7fffffff);
+    }
+
+    private static float unsortable(long value) {
+        int bits = (int) value;
+        return Float.intBitsToFloat(bits ^ ((bits >> 31) & 0x7fffffff));
+    }
+
+    private static boolean fits(long value, int bits) {
+        return value >= -(1L << (bits - 1)) && value < (1L << (bits - 1));
+    }
+
+    /**
+     * Writes values of up to 64 bits into growing words.
+     */
+    private static final class BitWriter {
+
+        private long[] mWords;
+        private int mBitCount = 0;
+
+        BitWriter(int valueCount) {
+            // about 2 bytes per value for slowly varying data
+            mWords = new long[Math.max(2, valueCount / 4)];
+        }
+
+        /**
+         * Writes the lowest bits of the given value.
+         */
+        void write(long value, int bits) {
+            if (bits == 0)
+                return;
+
+            if (bits < 64)
+                value &= (1L << bits) - 1;
+
+            int word = mBitCount >>> 6;
+            int used = mBitCount & 63;
+
+            if (word + 1 >= mWords.length)
+                mWords = Arrays.copyOf(mWords, mWords.length * 2);
+
+            int free = 64 - used;
+
+            if (bits <= free) {
+                mWords[word] |= value << (free - bits);
+            } else {
+                mWords[word] |= value >>> (bits - free);
+                mWords[word + 1] |= value << (64 - (bits - free));
+            }
+
+            mBitCount += bits;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(mWords, (mBitCount + 63) >>> 6);
+        }
+    }
+
+    /**
+     * Reads the values of a BitWriter.
+     */
+    private static final class BitReader {
+
+        private final long[] mWords;
+        private int mPosition = 0;
+
+        BitReader(long[] words) {
+            mWords = words;
+        }
+
+        long read(int bits) {
+            if (bits == 0)
+                return 0;
+
+            int word = mPosition >>> 6;
+            int used = mPosition & 63;
+            int available = 64 - used;
+            long value;
+
+            if (bits <= available) {
+                value = mWords[word] << used >>> (64 - bits);
+            } else {
+                value = (mWords[word] << used >>> (64 - bits))
+                        | (mWords[word + 1] >>> (64 - (bits - available)));
+            }
+
+            mPosition += bits;
+            return value;
+        }
+
+        long readSigned(int bits) {
+            long value = read(bits);
+            return value << (64 - bits) >> (64 - bits);
+        }
+    }
+}
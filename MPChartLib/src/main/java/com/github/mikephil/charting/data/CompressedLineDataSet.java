@@ -0,0 +1,627 @@
+package com.github.mikephil.charting.data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LineDataSet for long histories that keeps its values compressed in memory. The values
+ * are stored in blocks of a fixed number of entries, each encoded like in the Gorilla
+ * time series store (delta-of-delta x-values, XOR encoded y-values, see
+ * {@link CompressedBlock}), with a header that holds the first and the last x-value and
+ * the minimum and maximum y-value of the block. Slowly varying values need 1 - 3 bytes
+ * per entry instead of the 8 bytes of two floats (and the ~28 bytes of an Entry).
+ * <p/>
+ * Lookups binary search the block headers and decode a single block. Before every frame,
+ * onBeginDraw(...) calls decodeRange(...) with the visible range, which decodes only the
+ * blocks that intersect it into a scratch buffer that is
+ * reused for all draw passes and all following frames that show the same blocks. The
+ * minimum and maximum values are taken from the block headers.
+ * <p/>
+ * Values must be appended in ascending x-order, they go to an uncompressed tail block
+ * that is encoded once it is full. Optionally the y-values are quantized to the
+ * precision of a half float (11 significant bits), which makes them compress much
+ * better. Only the newest entry (removeLast()) and whole blocks at the front
+ * (removeFirst(int)) can be removed, the other remove methods return false.
+ */
+public class CompressedLineDataSet extends LineDataSet {
+
+    /**
+     * the default number of entries per block
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    /**
+     * the maximum number of entries decodeRange(...) decodes into the scratch buffer,
+     * larger ranges are decoded block by block on access
+     */
+    private static final int MAX_SCRATCH_SIZE = 1 << 20;
+
+    private final int mBlockSize;
+
+    private final boolean mQuantizeY;
+
+    /**
+     * the encoded blocks, each holds exactly mBlockSize entries
+     */
+    private final ArrayList<CompressedBlock> mBlocks = new ArrayList<>();
+
+    /**
+     * the newest values that do not fill a block yet
+     */
+    private final float[] mTailX;
+    private final float[] mTailY;
+    private int mTailSize = 0;
+
+    /**
+     * the values decoded by decodeRange(...), entries [mScratchFrom, mScratchFrom +
+     * mScratchSize)
+     */
+    private transient float[] mScratchX;
+    private transient float[] mScratchY;
+    private transient int mScratchFrom = 0;
+    private transient int mScratchSize = 0;
+
+    /**
+     * the single block decoded for accesses outside the scratch buffer
+     */
+    private transient float[] mBlockX;
+    private transient float[] mBlockY;
+    private transient int mDecodedBlock = -1;
+
+    public CompressedLineDataSet(String label) {
+        this(label, DEFAULT_BLOCK_SIZE, false);
+    }
+
+    /**
+     * @param label     the label of the DataSet
+     * @param blockSize the number of entries per block. Larger blocks compress slightly
+     *                  better, smaller blocks decode less around the visible range.
+     * @param quantizeY true to round the y-values to the precision of a half float
+     */
+    public CompressedLineDataSet(String label, int blockSize, boolean quantizeY) {
+        super(null, label);
+
+        if (blockSize < 2)
+            throw new IllegalArgumentException("The block size must be >= 2");
+
+        mBlockSize = blockSize;
+        mQuantizeY = quantizeY;
+        mTailX = new float[blockSize];
+        mTailY = new float[blockSize];
+        mEntries = new EntriesView();
+    }
+
+    public int getBlockSize() {
+        return mBlockSize;
+    }
+
+    /**
+     * Returns true if the y-values are rounded to the precision of a half float.
+     */
+    public boolean isYQuantized() {
+        return mQuantizeY;
+    }
+
+    /**
+     * Returns the number of encoded blocks, without the tail block.
+     */
+    public int getBlockCount() {
+        return mBlocks.size();
+    }
+
+    /**
+     * Returns the bytes the values of this DataSet occupy: the encoded bits and headers
+     * of the blocks and the uncompressed tail block. The scratch buffer is not included.
+     */
+    public long getCompressedSizeInBytes() {
+        // x- and y-arrays of the tail, the header and the array of every block
+        long bytes = 8L * mBlockSize;
+
+        for (int i = 0; i < mBlocks.size(); i++) {
+            bytes += mBlocks.get(i).getByteCount() + 40;
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Returns the bytes two float arrays would need for the values divided by
+     * getCompressedSizeInBytes().
+     */
+    public float getCompressionRatio() {
+        return 8f * getEntryCount() / getCompressedSizeInBytes();
+    }
+
+    @Override
+    public int getEntryCount() {
+        return mBlocks.size() * mBlockSize + mTailSize;
+    }
+
+    @Override
+    public float getXForIndex(int index) {
+        int offset = index - mScratchFrom;
+
+        if (offset >= 0 && offset < mScratchSize)
+            return mScratchX[offset];
+
+        int sealed = mBlocks.size() * mBlockSize;
+
+        if (index >= sealed)
+            return mTailX[index - sealed];
+
+        int inBlock = decodeBlockOf(index);
+        return mBlockX[inBlock];
+    }
+
+    @Override
+    public float getYForIndex(int index) {
+        int offset = index - mScratchFrom;
+
+        if (offset >= 0 && offset < mScratchSize)
+            return mScratchY[offset];
+
+        int sealed = mBlocks.size() * mBlockSize;
+
+        if (index >= sealed)
+            return mTailY[index - sealed];
+
+        int inBlock = decodeBlockOf(index);
+        return mBlockY[inBlock];
+    }
+
+    /**
+     * Decodes the block that holds the given index, unless it is decoded already, and
+     * returns the offset of the index within it.
+     */
+    private int decodeBlockOf(int index) {
+        if (index < 0)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + getEntryCount());
+
+        int block = index / mBlockSize;
+
+        if (mBlockX == null || block != mDecodedBlock) {
+            if (mBlockX == null) {
+                mBlockX = new float[mBlockSize];
+                mBlockY = new float[mBlockSize];
+            }
+
+            mBlocks.get(block).decode(mBlockX, mBlockY, 0);
+            mDecodedBlock = block;
+        }
+
+        return index - block * mBlockSize;
+    }
+
+    /**
+     * Decodes the blocks that hold the entries from index from to index to (inclusive)
+     * into the scratch buffer, so that reading them with getXForIndex(...) and
+     * getYForIndex(...) is an array access. Does nothing if they are decoded already.
+     * Called with the visible range before every frame, see onBeginDraw(...).
+     */
+    public void decodeRange(int from, int to) {
+        from = Math.max(0, from);
+        to = Math.min(to, mBlocks.size() * mBlockSize - 1);
+
+        if (to < from)
+            return;
+
+        int firstBlock = from / mBlockSize;
+        int lastBlock = to / mBlockSize;
+        int start = firstBlock * mBlockSize;
+        int size = (lastBlock - firstBlock + 1) * mBlockSize;
+
+        if (start >= mScratchFrom && start + size <= mScratchFrom + mScratchSize)
+            return;
+
+        if (size > MAX_SCRATCH_SIZE)
+            return;
+
+        float[] xs = mScratchX;
+        float[] ys = mScratchY;
+
+        if (xs == null || xs.length < size) {
+            xs = new float[size];
+            ys = new float[size];
+        }
+
+        // when scrolling, the blocks that are decoded already are moved, not decoded again
+        int overlapFrom = Math.max(start, mScratchFrom);
+        int overlapTo = Math.min(start + size, mScratchFrom + mScratchSize);
+
+        if (overlapFrom < overlapTo) {
+            System.arraycopy(mScratchX, overlapFrom - mScratchFrom, xs, overlapFrom - start, overlapTo - overlapFrom);
+            System.arraycopy(mScratchY, overlapFrom - mScratchFrom, ys, overlapFrom - start, overlapTo - overlapFrom);
+        }
+
+        mScratchX = xs;
+        mScratchY = ys;
+        mScratchSize = 0;
+
+        for (int b = firstBlock; b <= lastBlock; b++) {
+            int blockStart = b * mBlockSize;
+
+            if (blockStart >= overlapFrom && blockStart < overlapTo)
+                continue;
+
+            mBlocks.get(b).decode(xs, ys, blockStart - start);
+        }
+
+        mScratchFrom = start;
+        mScratchSize = size;
+    }
+
+    /**
+     * Decodes the blocks of the visible range for all draw passes of the frame, see
+     * decodeRange(...).
+     */
+    @Override
+    public void onBeginDraw(float fromX, float toX, float velocityX, Runnable invalidate) {
+        if (getEntryCount() > 0)
+            decodeRange(getEntryIndex(fromX, Float.NaN, Rounding.DOWN),
+                    getEntryIndex(toX, Float.NaN, Rounding.UP));
+    }
+
+    /**
+     * Finds the index the same way as DataSet.getEntryIndex(...), but binary searches the
+     * block headers first, so that only the block that holds the closest x-value is
+     * decoded.
+     */
+    @Override
+    public int getEntryIndex(float xValue, float closestToY, Rounding rounding) {
+
+        final int count = getEntryCount();
+
+        if (count == 0)
+            return -1;
+
+        // the last block whose first x-value is lower than xValue, the closest x-value
+        // is within it or the first value of the next block
+        int lowBlock = 0;
+        int highBlock = mBlocks.size() - 1;
+        int block = 0;
+
+        while (lowBlock <= highBlock) {
+            int m = (lowBlock + highBlock) >>> 1;
+
+            if (mBlocks.get(m).mFirstX < xValue) {
+                block = m;
+                lowBlock = m + 1;
+            } else {
+                highBlock = m - 1;
+            }
+        }
+
+        if (mTailSize > 0 && !mBlocks.isEmpty() && mTailX[0] < xValue)
+            block = mBlocks.size();
+
+        int low = block * mBlockSize;
+        int high = Math.min(count - 1, low + mBlockSize);
+        int closest = high;
+
+        while (low < high) {
+            int m = low + (high - low) / 2;
+
+            final float d1 = getXForIndex(m) - xValue,
+                        d2 = getXForIndex(m + 1) - xValue,
+                        ad1 = Math.abs(d1),
+                        ad2 = Math.abs(d2);
+
+            if (ad2 < ad1) {
+                low = m + 1;
+            } else if (ad1 < ad2) {
+                high = m;
+            } else {
+                if (d1 >= 0.0) {
+                    high = m;
+                } else {
+                    low = m + 1;
+                }
+            }
+
+            closest = high;
+        }
+
+        float closestXValue = getXForIndex(closest);
+        if (rounding == Rounding.UP) {
+            if (closestXValue < xValue && closest < count - 1) {
+                ++closest;
+            }
+        } else if (rounding == Rounding.DOWN) {
+            if (closestXValue > xValue && closest > 0) {
+                --closest;
+            }
+        }
+
+        if (!Float.isNaN(closestToY)) {
+            float closestYValue = getYForIndex(closest);
+
+            while (closest > 0 && getXForIndex(closest - 1) == closestXValue)
+                closest -= 1;
+
+            int closestYIndex = closest;
+
+            while (true) {
+                closest += 1;
+                if (closest >= count)
+                    break;
+
+                if (getXForIndex(closest) != closestXValue)
+                    break;
+
+                if (Math.abs(getYForIndex(closest) - closestToY) <= Math.abs(closestYValue - closestToY)) {
+                    closestYValue = closestToY;
+                    closestYIndex = closest;
+                }
+            }
+
+            closest = closestYIndex;
+        }
+        return closest;
+    }
+
+    @Override
+    protected void calcMinMaxOfAllEntries() {
+
+        mYMax = -Float.MAX_VALUE;
+        mYMin = Float.MAX_VALUE;
+        mXMax = -Float.MAX_VALUE;
+        mXMin = Float.MAX_VALUE;
+
+        // called from the super constructor
+        if (mTailX == null)
+            return;
+
+        int count = getEntryCount();
+
+        if (count == 0)
+            return;
+
+        mXMin = getXForIndex(0);
+        mXMax = getXForIndex(count - 1);
+
+        for (int i = 0; i < mBlocks.size(); i++) {
+            CompressedBlock block = mBlocks.get(i);
+            mYMin = Math.min(mYMin, block.mYMin);
+            mYMax = Math.max(mYMax, block.mYMax);
+        }
+
+        for (int i = 0; i < mTailSize; i++) {
+            mYMin = Math.min(mYMin, mTailY[i]);
+            mYMax = Math.max(mYMax, mTailY[i]);
+        }
+    }
+
+    /**
+     * Takes the y-range of the blocks that are covered completely from their headers, and
+     * only scans the values of the partially covered blocks at both ends.
+     */
+    @Override
+    public void calcMinMaxY(float fromX, float toX) {
+        mYMax = -Float.MAX_VALUE;
+        mYMin = Float.MAX_VALUE;
+
+        if (getEntryCount() == 0)
+            return;
+
+        int indexFrom = getEntryIndex(fromX, Float.NaN, Rounding.DOWN);
+        int indexTo = getEntryIndex(toX, Float.NaN, Rounding.UP);
+
+        int i = indexFrom;
+
+        while (i <= indexTo) {
+            int block = i / mBlockSize;
+            int blockStart = block * mBlockSize;
+
+            if (i == blockStart && block < mBlocks.size() && blockStart + mBlockSize - 1 <= indexTo) {
+                mYMin = Math.min(mYMin, mBlocks.get(block).mYMin);
+                mYMax = Math.max(mYMax, mBlocks.get(block).mYMax);
+                i += mBlockSize;
+                continue;
+            }
+
+            float y = getYForIndex(i);
+
+            if (y < mYMin)
+                mYMin = y;
+
+            if (y > mYMax)
+                mYMax = y;
+
+            i++;
+        }
+    }
+
+    /**
+     * Appends the given values without creating an Entry. A full tail block is encoded.
+     *
+     * @throws IllegalArgumentException if x is lower than the x-value of the newest entry
+     */
+    public void addEntry(float x, float y) {
+        int count = getEntryCount();
+
+        // the entries are sorted, so the maximum x-value is the one of the newest entry
+        if (count > 0 && x < mXMax)
+            throw new IllegalArgumentException("Values of a CompressedLineDataSet must be added in ascending x-order, "
+                    + x + " < " + mXMax);
+
+        incrementVersion();
+
+        if (mQuantizeY)
+            y = quantize(y);
+
+        mTailX[mTailSize] = x;
+        mTailY[mTailSize] = y;
+        mTailSize++;
+
+        if (count == 0)
+            mXMin = x;
+
+        mXMax = x;
+
+        if (y < mYMin)
+            mYMin = y;
+
+        if (y > mYMax)
+            mYMax = y;
+
+        if (mTailSize == mBlockSize) {
+            mBlocks.add(CompressedBlock.encode(mTailX, mTailY, mTailSize));
+            mTailSize = 0;
+        }
+    }
+
+    @Override
+    public boolean addEntry(Entry entry) {
+        addEntry(entry.getX(), entry.getY());
+        return true;
+    }
+
+    @Override
+    public void addEntryOrdered(Entry entry) {
+        addEntry(entry.getX(), entry.getY());
+    }
+
+    @Override
+    public void addEntries(float[] xs, float[] ys, int off, int len) {
+        checkBatchRange(xs, ys, off, len);
+
+        for (int i = off, end = off + len; i < end; i++) {
+            addEntry(xs[i], ys[i]);
+        }
+    }
+
+    /**
+     * Removes all values and calls notifyDataSetChanged()
+     */
+    @Override
+    public void clear() {
+        mBlocks.clear();
+        mTailSize = 0;
+        mScratchSize = 0;
+        mDecodedBlock = -1;
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Replaces the values with the given entries, which must be sorted by x, and calls
+     * notifyDataSetChanged()
+     */
+    @Override
+    public void setEntries(List<Entry> entries) {
+        mBlocks.clear();
+        mTailSize = 0;
+        mScratchSize = 0;
+        mDecodedBlock = -1;
+
+        if (entries != null) {
+            for (int i = 0; i < entries.size(); i++) {
+                Entry e = entries.get(i);
+                addEntry(e.getX(), e.getY());
+            }
+        }
+
+        notifyDataSetChanged();
+    }
+
+    @Override
+    public boolean removeEntry(Entry entry) {
+        return false;
+    }
+
+    @Override
+    public boolean removeEntry(int index) {
+        return false;
+    }
+
+    /**
+     * Does nothing and returns false, since the first block would have to be encoded
+     * again. Use removeFirst(int) to remove whole blocks.
+     */
+    @Override
+    public boolean removeFirst() {
+        return false;
+    }
+
+    /**
+     * Removes the oldest values in whole blocks, as many blocks as fit into the given
+     * count, and returns the number of removed values. The values of the tail block are
+     * never removed.
+     */
+    public int removeFirst(int count) {
+        int blocks = Math.min(Math.max(0, count) / mBlockSize, mBlocks.size());
+
+        if (blocks == 0)
+            return 0;
+
+        incrementVersion();
+        mBlocks.subList(0, blocks).clear();
+        mScratchSize = 0;
+        mDecodedBlock = -1;
+        calcMinMax();
+        return blocks * mBlockSize;
+    }
+
+    /**
+     * Removes the newest value. If the tail block is empty, the newest block is decoded
+     * back into it first.
+     */
+    @Override
+    public boolean removeLast() {
+        if (getEntryCount() == 0)
+            return false;
+
+        incrementVersion();
+
+        if (mTailSize == 0) {
+            int last = mBlocks.size() - 1;
+            mBlocks.remove(last).decode(mTailX, mTailY, 0);
+            mTailSize = mBlockSize;
+
+            // the scratch buffer only holds encoded blocks
+            mScratchSize = Math.max(0, Math.min(mScratchSize, last * mBlockSize - mScratchFrom));
+
+            if (mDecodedBlock == last)
+                mDecodedBlock = -1;
+        }
+
+        mTailSize--;
+        calcMinMax();
+        return true;
+    }
+
+    @Override
+    public boolean removeEntryByXValue(float xValue) {
+        return false;
+    }
+
+    /**
+     * The copy shares the encoded blocks, they are never modified.
+     */
+    @Override
+    public DataSet<Entry> copy() {
+        CompressedLineDataSet copied = new CompressedLineDataSet(getLabel(), mBlockSize, mQuantizeY);
+        copied.mBlocks.addAll(mBlocks);
+        System.arraycopy(mTailX, 0, copied.mTailX, 0, mTailSize);
+        System.arraycopy(mTailY, 0, copied.mTailY, 0, mTailSize);
+        copied.mTailSize = mTailSize;
+        copied.calcMinMax();
+        copy(copied);
+        return copied;
+    }
+
+    /**
+     * Rounds the given value to the 11 significant bits of a half float (to nearest, ties
+     * to even), keeping the exponent range of a float so that large values do not become
+     * infinite.
+     */
+    static float quantize(float value) {
+        int bits = Float.floatToRawIntBits(value);
+
+        // infinity and NaN
+        if ((bits & 0x7f800000) == 0x7f800000)
+            return value;
+
+        bits = (bits + 0x0fff + ((bits >> 13) & 1)) & ~0x1fff;
+        return Float.intBitsToFloat(bits);
+    }
+}
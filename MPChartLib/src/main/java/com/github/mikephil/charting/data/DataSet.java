@@ -1,9 +1,15 @@
 
 package com.github.mikephil.charting.data;
 
+import com.github.mikephil.charting.utils.EntryXComparator;
+
 import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.RandomAccess;
 
 /**
  * The DataSet class represents one group or type of entries (Entry) in the
@@ -40,6 +46,36 @@ public abstract class DataSet<T extends Entry> extends BaseDataSet<T> implements
      */
     protected float mXMin = Float.MAX_VALUE;
 
+    /**
+     * index over the y-range each entry contributes to calcMinMaxY(fromX, toX), null if
+     * disabled
+     */
+    protected MinMaxRangeIndex mYRangeIndex = null;
+
+    /**
+     * level-of-detail pyramid used by the renderers when zoomed out, null if disabled
+     */
+    protected LodPyramid mLodPyramid = null;
+
+    /**
+     * true if getEntryIndex(Entry) may use the entry lookup, see setEntryLookupEnabled(...)
+     */
+    protected boolean mEntryLookupEnabled = false;
+
+    /**
+     * the version the entry lookup was prepared for, -1 if it needs to be prepared
+     */
+    private transient long mLookupVersion = -1;
+
+    /**
+     * true if the entries were sorted by x when the lookup was prepared
+     */
+    private transient boolean mLookupSorted = false;
+
+    /**
+     * the index of every Entry of an unsorted DataSet, null for sorted DataSets
+     */
+    private transient IdentityHashMap<Entry, Integer> mLookupIndices = null;
 
     /**
      * Creates a new DataSet object with the given values (entries) it represents. Also, a
@@ -58,6 +94,18 @@ public abstract class DataSet<T extends Entry> extends BaseDataSet<T> implements
 
     @Override
     public void calcMinMax() {
+        calcMinMaxOfAllEntries();
+        rebuildYRangeIndex();
+
+        if (mLodPyramid != null)
+            mLodPyramid.invalidate();
+    }
+
+    /**
+     * Calculates the minimum and maximum x and y values by looking at every entry,
+     * without touching the y-range index.
+     */
+    protected void calcMinMaxOfAllEntries() {
 
         mYMax = -Float.MAX_VALUE;
         mYMin = Float.MAX_VALUE;
@@ -67,6 +115,28 @@ public abstract class DataSet<T extends Entry> extends BaseDataSet<T> implements
         if (mEntries == null || mEntries.isEmpty())
             return;
 
+        if (mEntries instanceof EntriesView) {
+            int count = getEntryCount();
+
+            // the values of the view are sorted by x
+            mXMin = getXForIndex(0);
+            mXMax = getXForIndex(count - 1);
+
+            for (int i = 0; i < count; i++) {
+                calcMinMaxY(getYForIndex(i));
+            }
+            return;
+        }
+
+        if (mEntries instanceof EntryValues) {
+            EntryValues values = (EntryValues) mEntries;
+
+            for (int i = 0, count = mEntries.size(); i < count; i++) {
+                calcMinMax(values.getX(i), values.getY(i));
+            }
+            return;
+        }
+
         for (T e : mEntries) {
             calcMinMax(e);
         }
@@ -85,6 +155,21 @@ public abstract class DataSet<T extends Entry> extends BaseDataSet<T> implements
 
         if (indexTo < indexFrom) return;
 
+        if (mYRangeIndex != null && mYRangeIndex.size() == mEntries.size()) {
+            mYMin = mYRangeIndex.getMin(indexFrom, indexTo);
+            mYMax = mYRangeIndex.getMax(indexFrom, indexTo);
+            return;
+        }
+
+        if (mEntries instanceof EntryValues) {
+            EntryValues values = (EntryValues) mEntries;
+
+            for (int i = indexFrom; i <= indexTo; i++) {
+                calcMinMaxY(values.getY(i));
+            }
+            return;
+        }
+
         for (int i = indexFrom; i <= indexTo; i++) {
 
             // only recalculate y
@@ -122,6 +207,152 @@ public abstract class DataSet<T extends Entry> extends BaseDataSet<T> implements
             mYMax = entry.getY();
     }
 
+    /**
+     * Updates the min and max x and y value of this DataSet based on the given plain
+     * values, for entry lists that store values instead of Entry objects.
+     */
+    protected void calcMinMax(float x, float y) {
+
+        if (x < mXMin)
+            mXMin = x;
+
+        if (x > mXMax)
+            mXMax = x;
+
+        calcMinMaxY(y);
+    }
+
+    /**
+     * Updates the min and max y value of this DataSet based on the given plain y-value.
+     */
+    protected void calcMinMaxY(float y) {
+
+        if (y < mYMin)
+            mYMin = y;
+
+        if (y > mYMax)
+            mYMax = y;
+    }
+
+    /**
+     * Enables / disables an index that answers the minimum and maximum y-value of any
+     * range of entries in O(log n). With it, calcMinMaxY(fromX, toX), which the
+     * autoScaleMinMax feature calls on every frame, no longer loops over all visible
+     * entries. The index is updated by addEntry(...), addEntryOrdered(...) and
+     * removeEntry(...), and rebuilt by calcMinMax() / notifyDataSetChanged(). It needs
+     * 16 to 32 bytes per entry. Default: disabled
+     *
+     * @throws IllegalStateException if enabled is true and the DataSet keeps its values in
+     *                               a storage of its own, see EntriesView
+     */
+    public void setYRangeIndexEnabled(boolean enabled) {
+        if (enabled && mEntries instanceof EntriesView)
+            throw new IllegalStateException(getClass().getSimpleName() + " does not support the y-range index");
+
+        if (enabled == (mYRangeIndex != null))
+            return;
+
+        if (enabled) {
+            mYRangeIndex = new MinMaxRangeIndex(getEntryCount());
+            rebuildYRangeIndex();
+        } else {
+            mYRangeIndex = null;
+        }
+    }
+
+    /**
+     * Returns true if the y-range index is enabled, see setYRangeIndexEnabled(...)
+     */
+    public boolean isYRangeIndexEnabled() {
+        return mYRangeIndex != null;
+    }
+
+    /**
+     * Enables / disables the level-of-detail pyramid for this DataSet. With it, renderers
+     * that support it (the LineChartRenderer for single-colored lines) draw only the first,
+     * minimum, maximum and last entry of each bucket of entries that falls on the same
+     * pixel column, instead of every visible entry. The pyramid is extended when entries
+     * are appended and rebuilt after calcMinMax() / notifyDataSetChanged(). It needs about
+     * 1 byte per entry. Default: disabled
+     *
+     * @throws IllegalStateException if enabled is true and the DataSet keeps its values in
+     *                               a storage of its own, see EntriesView
+     */
+    public void setLodEnabled(boolean enabled) {
+        if (enabled && mEntries instanceof EntriesView)
+            throw new IllegalStateException(getClass().getSimpleName() + " does not support the level-of-detail pyramid");
+
+        if (enabled == (mLodPyramid != null))
+            return;
+
+        mLodPyramid = enabled ? new LodPyramid() : null;
+    }
+
+    /**
+     * Returns true if the level-of-detail pyramid is enabled, see setLodEnabled(...)
+     */
+    public boolean isLodEnabled() {
+        return mLodPyramid != null;
+    }
+
+    @Override
+    public LodPyramid getLodPyramid() {
+
+        if (mLodPyramid != null)
+            mLodPyramid.update(this);
+
+        return mLodPyramid;
+    }
+
+    /**
+     * Refills the y-range index (if enabled) from all entries.
+     */
+    protected void rebuildYRangeIndex() {
+
+        if (mYRangeIndex == null)
+            return;
+
+        mYRangeIndex.clear();
+
+        if (mEntries == null)
+            return;
+
+        if (mEntries instanceof EntryValues) {
+            EntryValues values = (EntryValues) mEntries;
+
+            for (int i = 0, count = mEntries.size(); i < count; i++) {
+                mYRangeIndex.add(values.getY(i), values.getY(i));
+            }
+            return;
+        }
+
+        for (int i = 0; i < mEntries.size(); i++) {
+            indexYRange(i, mEntries.get(i));
+        }
+    }
+
+    /**
+     * Inserts the y-range the given Entry contributes to calcMinMaxY(fromX, toX) into the
+     * y-range index at the given position. Goes through calcMinMaxY(T) so that DataSets
+     * with more than one y-value per entry (e.g. candles) are indexed correctly.
+     */
+    protected void indexYRange(int index, T entry) {
+
+        if (mYRangeIndex == null)
+            return;
+
+        float yMin = mYMin;
+        float yMax = mYMax;
+
+        mYMin = Float.MAX_VALUE;
+        mYMax = -Float.MAX_VALUE;
+        calcMinMaxY(entry);
+        mYRangeIndex.insert(index, mYMin, mYMax);
+
+        mYMin = yMin;
+        mYMax = yMax;
+    }
+
     @Override
     public int getEntryCount() {
         return mEntries.size();
@@ -154,9 +385,19 @@ public abstract class DataSet<T extends Entry> extends BaseDataSet<T> implements
 
     /**
      * Sets the array of entries that this DataSet represents, and calls notifyDataSetChanged()
+     * If the entries of this DataSet are {@link EntryColumns}, the x- and y-values of the
+     * given entries are copied into them instead, unless they are EntryColumns as well.
      */
     public void setEntries(List<T> entries) {
-        mEntries = entries;
+        if (mEntries instanceof EntryColumns && !(entries instanceof EntryColumns)) {
+            EntryColumns columns = (EntryColumns) mEntries;
+            columns.clear();
+
+            if (entries != null)
+                columns.addAll(entries);
+        } else {
+            mEntries = entries;
+        }
         notifyDataSetChanged();
     }
 
@@ -218,13 +459,19 @@ public abstract class DataSet<T extends Entry> extends BaseDataSet<T> implements
             mEntries = new ArrayList<>();
         }
 
+        incrementVersion();
         calcMinMax(entry);
 
-        if (!mEntries.isEmpty() && mEntries.get(mEntries.size() - 1).getX() > entry.getX()) {
+        if (!mEntries.isEmpty() && getXForIndex(mEntries.size() - 1) > entry.getX()) {
             int closestIndex = getEntryIndex(entry.getX(), entry.getY(), Rounding.UP);
             mEntries.add(closestIndex, entry);
+            indexYRange(closestIndex, entry);
+
+            if (mLodPyramid != null)
+                mLodPyramid.invalidate();
         } else {
             mEntries.add(entry);
+            indexYRange(mEntries.size() - 1, entry);
         }
     }
 
@@ -241,10 +488,145 @@ public abstract class DataSet<T extends Entry> extends BaseDataSet<T> implements
 			values = new ArrayList<>();
 		}
 
+        long version = getVersion();
+        boolean ordered = values.isEmpty() || getXForIndex(values.size() - 1) <= entry.getX();
+
         calcMinMax(entry);
 
         // add the entry
-        return values.add(entry);
+        boolean added = values.add(entry);
+
+        if (added) {
+            incrementVersion();
+
+            if (ordered)
+                keepSortedEntryLookup(version);
+        }
+
+        if (added && mYRangeIndex != null) {
+            indexYRange(values.size() - 1, entry);
+        }
+
+        return added;
+    }
+
+    /**
+     * Adds len values from the given x- and y-arrays, starting at off, in one batch, see
+     * IBatchDataSet.addEntries(...). DataSets that implement IBatchDataSet make this
+     * public and override createEntry(...) (or appendEntries(...)).
+     */
+    protected void addEntries(float[] xs, float[] ys, int off, int len) {
+
+        checkBatchRange(xs, ys, off, len);
+
+        if (len == 0)
+            return;
+
+        incrementVersion();
+
+        int count = getEntryCount();
+        float lastX = count > 0 ? getXForIndex(count - 1) : -Float.MAX_VALUE;
+        boolean ordered = true;
+
+        float xMin = Float.MAX_VALUE;
+        float xMax = -Float.MAX_VALUE;
+        float yMin = Float.MAX_VALUE;
+        float yMax = -Float.MAX_VALUE;
+
+        // one pass over the batch for the bounds and the order
+        for (int i = off, end = off + len; i < end; i++) {
+            float x = xs[i];
+            float y = ys[i];
+
+            if (x < lastX)
+                ordered = false;
+            lastX = x;
+
+            xMin = Math.min(xMin, x);
+            xMax = Math.max(xMax, x);
+            yMin = Math.min(yMin, y);
+            yMax = Math.max(yMax, y);
+        }
+
+        appendEntries(xs, ys, off, len);
+
+        if (!ordered) {
+            // a stable sort keeps the order of entries with the same x-value
+            Collections.sort(mEntries, new EntryXComparator());
+            calcMinMax();
+            return;
+        }
+
+        if (xMin < mXMin)
+            mXMin = xMin;
+        if (xMax > mXMax)
+            mXMax = xMax;
+        if (yMin < mYMin)
+            mYMin = yMin;
+        if (yMax > mYMax)
+            mYMax = yMax;
+    }
+
+    /**
+     * Throws an IndexOutOfBoundsException if the batch given to addEntries(...) does not
+     * fit into the arrays.
+     */
+    protected static void checkBatchRange(float[] xs, float[] ys, int off, int len) {
+        if (off < 0 || len < 0 || off + len > xs.length || off + len > ys.length)
+            throw new IndexOutOfBoundsException("off: " + off + ", len: " + len
+                    + ", xs: " + xs.length + ", ys: " + ys.length);
+    }
+
+    /**
+     * Appends the given values to the end of the entries without any sorting or
+     * min / max calculation, and adds them to the y-range index if it is enabled.
+     * Used by addEntries(...), DataSets that store their values differently override it.
+     */
+    protected void appendEntries(float[] xs, float[] ys, int off, int len) {
+
+        if (mEntries == null)
+            mEntries = new ArrayList<>(len);
+
+        if (mEntries instanceof EntryColumns) {
+            // copied into the columns directly, without creating entries
+            ((EntryColumns) mEntries).addAll(xs, ys, off, len);
+
+            if (mYRangeIndex != null) {
+                for (int i = off, end = off + len; i < end; i++) {
+                    mYRangeIndex.add(ys[i], ys[i]);
+                }
+            }
+            return;
+        }
+
+        if (mEntries instanceof ArrayList)
+            ((ArrayList<T>) mEntries).ensureCapacity(mEntries.size() + len);
+
+        for (int i = off, end = off + len; i < end; i++) {
+            T entry = createEntry(xs[i], ys[i]);
+            mEntries.add(entry);
+
+            if (mYRangeIndex != null)
+                indexYRange(mEntries.size() - 1, entry);
+        }
+    }
+
+    /**
+     * Creates an Entry of the type this DataSet holds from plain x- and y-values, for
+     * addEntries(...) and the EntriesView. Creates a plain Entry by default, DataSets that
+     * hold a subclass of Entry (like BarDataSet) override it.
+     */
+    @SuppressWarnings("unchecked")
+    protected T createEntry(float x, float y) {
+        return (T) new Entry(x, y);
+    }
+
+    /**
+     * Creates the Entry at the given index for the EntriesView, from getXForIndex(...) and
+     * getYForIndex(...) by default.
+     */
+    protected T createEntryForIndex(int index) {
+        return createEntry(getXForIndex(index), getYForIndex(index));
     }
 
 	@Override
@@ -253,21 +635,201 @@ public abstract class DataSet<T extends Entry> extends BaseDataSet<T> implements
         if (mEntries == null)
             return false;
 
-        // remove the entry
-        boolean removed = mEntries.remove(entry);
+        if (mYRangeIndex == null) {
+
+            // remove the entry
+            boolean removed = mEntries.remove(entry);
+
+            if (removed) {
+                incrementVersion();
+                calcMinMax();
+            }
+
+            return removed;
+        }
+
+        int index = mEntries.indexOf(entry);
+
+        if (index < 0)
+            return false;
+
+        incrementVersion();
+
+        // remove the entry and keep the index up to date instead of rebuilding it
+        mEntries.remove(index);
+        mYRangeIndex.remove(index);
+        calcMinMaxOfAllEntries();
+
+        if (mLodPyramid != null)
+            mLodPyramid.invalidate();
+
+        return true;
+    }
+
+    /**
+     * Removes the entry at the given index, without searching for it like
+     * removeEntry(Entry). This is also the way to remove single values from entry lists
+     * that store plain values, since their entries can only be matched by their values.
+     */
+    @Override
+    public boolean removeEntry(int index) {
+
+        if (mEntries == null || index < 0 || index >= mEntries.size())
+            return false;
+
+        incrementVersion();
+        mEntries.remove(index);
 
-        if (removed) {
+        if (mYRangeIndex != null) {
+            mYRangeIndex.remove(index);
+            calcMinMaxOfAllEntries();
+
+            if (mLodPyramid != null)
+                mLodPyramid.invalidate();
+        } else {
             calcMinMax();
         }
+        return true;
+    }
+
+    @Override
+    public boolean removeFirst() {
+        return removeEntry(0);
+    }
+
+    @Override
+    public boolean removeLast() {
+        return mEntries != null && removeEntry(mEntries.size() - 1);
+    }
+
+    @Override
+    public boolean contains(T entry) {
+        return getEntryIndex(entry) > -1;
+    }
+
+    /**
+     * Enables / disables the entry lookup of getEntryIndex(Entry), which ChartData uses to
+     * find the DataSet of a highlighted Entry. With it, the entries of a DataSet sorted by
+     * x are found with a binary search on the x-value followed by a scan over the entries
+     * with the same x-value, and the entries of an unsorted DataSet with a map from each
+     * Entry to its index, instead of a linear search. Whether the entries are sorted is
+     * checked (and the map is built) once per modification of the DataSet, on the next
+     * lookup. Only enable it if the entries are never changed without calling
+     * notifyDataSetChanged(), an Entry whose x-value was changed is not found any more.
+     * The map of unsorted DataSets needs about 40 bytes per entry.
+     * Default: disabled
+     */
+    public void setEntryLookupEnabled(boolean enabled) {
+        mEntryLookupEnabled = enabled;
+        mLookupVersion = -1;
+        mLookupIndices = null;
+    }
 
-        return removed;
+    /**
+     * Returns true if the entry lookup is enabled, see setEntryLookupEnabled(...)
+     */
+    public boolean isEntryLookupEnabled() {
+        return mEntryLookupEnabled;
     }
 
     @Override
     public int getEntryIndex(Entry entry) {
+
+        if (!mEntryLookupEnabled || entry == null || mEntries == null || mEntries.isEmpty())
+            return mEntries == null ? -1 : mEntries.indexOf(entry);
+
+        prepareEntryLookup();
+
+        if (mLookupSorted) {
+            final int count = getEntryCount();
+            final float x = entry.getX();
+
+            // the first entry with an x-value >= x
+            int low = 0;
+            int high = count;
+
+            while (low < high) {
+                int m = (low + high) >>> 1;
+
+                if (getXForIndex(m) < x)
+                    low = m + 1;
+                else
+                    high = m;
+            }
+
+            for (int i = low; i < count && getXForIndex(i) == x; i++) {
+                if (isEntryAt(i, entry))
+                    return i;
+            }
+
+            return -1;
+        }
+
+        if (mLookupIndices != null) {
+            Integer index = mLookupIndices.get(entry);
+            return index == null ? -1 : index;
+        }
+
         return mEntries.indexOf(entry);
     }
 
+    /**
+     * Checks whether the entries are sorted by x, and builds the map of an unsorted
+     * DataSet, if the DataSet was modified since the last lookup.
+     */
+    private void prepareEntryLookup() {
+
+        if (mLookupVersion == getVersion())
+            return;
+
+        final int count = getEntryCount();
+
+        mLookupSorted = true;
+        mLookupIndices = null;
+
+        for (int i = 1; i < count; i++) {
+            if (getXForIndex(i) < getXForIndex(i - 1)) {
+                mLookupSorted = false;
+                break;
+            }
+        }
+
+        if (!mLookupSorted && !(mEntries instanceof EntryValues)) {
+            mLookupIndices = new IdentityHashMap<>(count);
+
+            // the first index of an Entry that was added more than once, like indexOf(...)
+            for (int i = count - 1; i >= 0; i--) {
+                mLookupIndices.put(mEntries.get(i), i);
+            }
+        }
+
+        mLookupVersion = getVersion();
+    }
+
+    /**
+     * Keeps the entry lookup of a sorted DataSet that was prepared for the given version
+     * valid after a modification that kept the entries sorted (appending in order or
+     * removing at either end), instead of checking the order again on the next lookup.
+     */
+    protected void keepSortedEntryLookup(long previousVersion) {
+
+        if (mLookupVersion == previousVersion && mLookupSorted)
+            mLookupVersion = getVersion();
+    }
+
+    /**
+     * Returns true if the entry at the given index is the given Entry: the same object, or
+     * the same x- and y-value for DataSets that store plain values (like List.indexOf(...)
+     * of their entry lists).
+     */
+    private boolean isEntryAt(int index, Entry entry) {
+
+        if (!(mEntries instanceof EntryValues))
+            return mEntries.get(index) == entry;
+
+        return getXForIndex(index) == entry.getX() && getYForIndex(index) == entry.getY();
+    }
+
     @Override
     public T getEntryForXValue(float xValue, float closestToY, Rounding rounding) {
 
@@ -291,102 +853,102 @@ public abstract class DataSet<T extends Entry> extends BaseDataSet<T> implements
         return mEntries.get(index);
     }
 
+    @Override
+    public float getXForIndex(int index) {
+        if (mEntries instanceof EntryValues)
+            return ((EntryValues) mEntries).getX(index);
+
+        return mEntries.get(index).getX();
+    }
+
+    @Override
+    public float getYForIndex(int index) {
+        if (mEntries instanceof EntryValues)
+            return ((EntryValues) mEntries).getY(index);
+
+        return mEntries.get(index).getY();
+    }
+
     @Override
     public int getEntryIndex(float xValue, float closestToY, Rounding rounding) {
 
-        if (mEntries == null || mEntries.isEmpty())
+        final int count = getEntryCount();
+
+        if (count == 0)
             return -1;
 
         int low = 0;
-        int high = mEntries.size() - 1;
+        int high = count - 1;
         int closest = high;
 
         while (low < high) {
             int m = low + (high - low) / 2;
 
-            Entry currentEntry = mEntries.get(m);
-
-            if (currentEntry != null) {
-                Entry nextEntry = mEntries.get(m + 1);
-
-                if (nextEntry != null) {
-                    final float d1 = currentEntry.getX() - xValue,
-                                d2 = nextEntry.getX() - xValue,
-                                ad1 = Math.abs(d1),
-                                ad2 = Math.abs(d2);
-
-                    if (ad2 < ad1) {
-                        // [m + 1] is closer to xValue
-                        // Search in an higher place
-                        low = m + 1;
-                    } else if (ad1 < ad2) {
-                        // [m] is closer to xValue
-                        // Search in a lower place
-                        high = m;
-                    } else {
-                        // We have multiple sequential x-value with same distance
-
-                        if (d1 >= 0.0) {
-                            // Search in a lower place
-                            high = m;
-                        } else if (d1 < 0.0) {
-                            // Search in an higher place
-                            low = m + 1;
-                        }
-                    }
+            final float d1 = getXForIndex(m) - xValue,
+                        d2 = getXForIndex(m + 1) - xValue,
+                        ad1 = Math.abs(d1),
+                        ad2 = Math.abs(d2);
+
+            if (ad2 < ad1) {
+                // [m + 1] is closer to xValue
+                // Search in an higher place
+                low = m + 1;
+            } else if (ad1 < ad2) {
+                // [m] is closer to xValue
+                // Search in a lower place
+                high = m;
+            } else {
+                // We have multiple sequential x-value with same distance
 
-                    closest = high;
+                if (d1 >= 0.0) {
+                    // Search in a lower place
+                    high = m;
+                } else if (d1 < 0.0) {
+                    // Search in an higher place
+                    low = m + 1;
                 }
             }
-        }
 
-        if (closest != -1) {
-            Entry closestEntry = mEntries.get(closest);
-            if (closestEntry != null) {
-                float closestXValue = closestEntry.getX();
-                if (rounding == Rounding.UP) {
-                    // If rounding up, and found x-value is lower than specified x, and we can go upper...
-                    if (closestXValue < xValue && closest < mEntries.size() - 1) {
-                        ++closest;
-                    }
-                } else if (rounding == Rounding.DOWN) {
-                    // If rounding down, and found x-value is upper than specified x, and we can go lower...
-                    if (closestXValue > xValue && closest > 0) {
-                        --closest;
-                    }
-                }
-
-                // Search by closest to y-value
-                if (!Float.isNaN(closestToY)) {
-                    while (closest > 0 && mEntries.get(closest - 1).getX() == closestXValue)
-                        closest -= 1;
+            closest = high;
+        }
 
-                    float closestYValue = closestEntry.getY();
-                    int closestYIndex = closest;
+        float closestXValue = getXForIndex(closest);
+        if (rounding == Rounding.UP) {
+            // If rounding up, and found x-value is lower than specified x, and we can go upper...
+            if (closestXValue < xValue && closest < count - 1) {
+                ++closest;
+            }
+        } else if (rounding == Rounding.DOWN) {
+            // If rounding down, and found x-value is upper than specified x, and we can go lower...
+            if (closestXValue > xValue && closest > 0) {
+                --closest;
+            }
+        }
 
-                    while (true) {
-                        closest += 1;
-                        if (closest >= mEntries.size())
-                            break;
+        // Search by closest to y-value
+        if (!Float.isNaN(closestToY)) {
+            float closestYValue = getYForIndex(closest);
 
-                        final Entry value = mEntries.get(closest);
+            while (closest > 0 && getXForIndex(closest - 1) == closestXValue)
+                closest -= 1;
 
-                        if (value == null) {
-                            continue;
-                        }
+            int closestYIndex = closest;
 
-                        if (value.getX() != closestXValue)
-                            break;
+            while (true) {
+                closest += 1;
+                if (closest >= count)
+                    break;
 
-                        if (Math.abs(value.getY() - closestToY) <= Math.abs(closestYValue - closestToY)) {
-                            closestYValue = closestToY;
-                            closestYIndex = closest;
-                        }
-                    }
+                if (getXForIndex(closest) != closestXValue)
+                    break;
 
-                    closest = closestYIndex;
+                if (Math.abs(getYForIndex(closest) - closestToY) <= Math.abs(closestYValue - closestToY)) {
+                    closestYValue = closestToY;
+                    closestYIndex = closest;
                 }
             }
+
+            closest = closestYIndex;
         }
         return closest;
     }
@@ -432,6 +994,62 @@ public abstract class DataSet<T extends Entry> extends BaseDataSet<T> implements
         return entries;
     }
 
+    /**
+     * Read-only list view of the values of a DataSet that keeps them in a storage of its
+     * own instead of an entry list. Such a DataSet sets it as mEntries and overrides
+     * getEntryCount(), getXForIndex(...) and getYForIndex(...), which back the view, the
+     * values must be sorted by x. The entries are created on demand by
+     * createEntryForIndex(...). Since DataSet cannot update the y-range index and the
+     * level-of-detail pyramid of such a storage, neither can be enabled.
+     */
+    protected class EntriesView extends AbstractList<T> implements EntryValues, RandomAccess {
+
+        @Override
+        public float getX(int index) {
+            return getXForIndex(index);
+        }
+
+        @Override
+        public float getY(int index) {
+            return getYForIndex(index);
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= size())
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+
+            return createEntryForIndex(index);
+        }
+
+        @Override
+        public int size() {
+            return getEntryCount();
+        }
+
+        /**
+         * A binary search for the x-value, followed by a scan over the values with the
+         * same x-value for the y-value.
+         */
+        @Override
+        public int indexOf(Object o) {
+            if (!(o instanceof Entry) || size() == 0)
+                return -1;
+
+            Entry entry = (Entry) o;
+            int index = getEntryIndex(entry.getX(), Float.NaN, Rounding.CLOSEST);
+
+            while (index > 0 && getXForIndex(index - 1) == entry.getX())
+                index--;
+
+            for (int count = size(); index < count && getXForIndex(index) == entry.getX(); index++) {
+                if (getYForIndex(index) == entry.getY())
+                    return index;
+            }
+            return -1;
+        }
+    }
+
     /**
      * Determines how to round DataSet index values for
      * {@link DataSet#getEntryIndex(float, float, Rounding)} DataSet.getEntryIndex()}
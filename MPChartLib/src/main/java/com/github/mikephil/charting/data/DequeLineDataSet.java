@@ -0,0 +1,174 @@
+package com.github.mikephil.charting.data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LineDataSet that keeps its entries in an {@link EntryDeque}, for sliding-window charts
+ * that append new entries and trim the oldest ones. removeFirst(), removeLast(),
+ * removeEntryByXValue(...) and removeEntry(...) find the entry by its index instead of a
+ * linear search, removing at either end is O(1), and the minimum and maximum values are
+ * updated incrementally.
+ * <p/>
+ * The entries must be sorted by x: the x-range is taken from the first and the last
+ * entry. The y-range index is always enabled, so if the removed entry was one of the
+ * y-extremes, which happens on every removal for a trending signal, the y-range is
+ * answered by the index in O(log n) instead of a scan over all entries.
+ */
+public class DequeLineDataSet extends LineDataSet {
+
+    public DequeLineDataSet(String label) {
+        this(new EntryDeque<Entry>(), label);
+    }
+
+    /**
+     * Creates the DataSet with the given entries, which must be sorted by x. They are
+     * copied into an EntryDeque unless they already are one.
+     */
+    public DequeLineDataSet(List<Entry> entries, String label) {
+        super(toDeque(entries), label);
+        super.setYRangeIndexEnabled(true);
+    }
+
+    private static EntryDeque<Entry> toDeque(List<Entry> entries) {
+
+        if (entries instanceof EntryDeque)
+            return (EntryDeque<Entry>) entries;
+
+        return entries == null ? new EntryDeque<Entry>() : new EntryDeque<>(entries);
+    }
+
+    /**
+     * Returns the deque that holds the entries of this DataSet.
+     */
+    public EntryDeque<Entry> getDeque() {
+        return (EntryDeque<Entry>) mEntries;
+    }
+
+    /**
+     * The y-range index is what keeps removing the y-extremes cheap, it cannot be disabled.
+     *
+     * @throws IllegalStateException if enabled is false
+     */
+    @Override
+    public void setYRangeIndexEnabled(boolean enabled) {
+        if (!enabled)
+            throw new IllegalStateException("DequeLineDataSet always keeps its y-range index");
+    }
+
+    /**
+     * Copies the given entries into an EntryDeque unless they already are one, and calls
+     * notifyDataSetChanged()
+     */
+    @Override
+    public void setEntries(List<Entry> entries) {
+        super.setEntries(toDeque(entries));
+    }
+
+    @Override
+    public boolean removeEntry(Entry entry) {
+        int index = getEntryIndex(entry);
+        return index > -1 && removeEntry(index);
+    }
+
+    /**
+     * Removes the first entry in O(1).
+     */
+    @Override
+    public boolean removeFirst() {
+        return removeEntry(0);
+    }
+
+    /**
+     * Removes the last entry in O(1).
+     */
+    @Override
+    public boolean removeLast() {
+        return removeEntry(mEntries.size() - 1);
+    }
+
+    @Override
+    public boolean removeEntryByXValue(float xValue) {
+        return removeEntry(getEntryIndex(xValue, Float.NaN, Rounding.CLOSEST));
+    }
+
+    /**
+     * Removes the entry at the given index, in O(1) at both ends. The minimum and maximum
+     * values are updated incrementally.
+     */
+    @Override
+    public boolean removeEntry(int index) {
+
+        EntryDeque<Entry> deque = getDeque();
+
+        if (index < 0 || index >= deque.size())
+            return false;
+
+        long version = getVersion();
+        boolean atEnd = index == 0 || index == deque.size() - 1;
+
+        Entry removed = deque.remove(index);
+        incrementVersion();
+
+        if (mYRangeIndex != null)
+            mYRangeIndex.remove(index);
+
+        if (mLodPyramid != null)
+            mLodPyramid.invalidate();
+
+        if (atEnd)
+            keepSortedEntryLookup(version);
+
+        if (deque.isEmpty()) {
+            calcMinMaxOfAllEntries();
+            return true;
+        }
+
+        mXMin = getXForIndex(0);
+        mXMax = getXForIndex(deque.size() - 1);
+
+        if (isYExtreme(removed))
+            calcYMinMax();
+
+        return true;
+    }
+
+    /**
+     * Returns true if the y-value of the given Entry reaches the current minimum or
+     * maximum y-value.
+     */
+    private boolean isYExtreme(Entry entry) {
+        return entry.getY() <= mYMin || entry.getY() >= mYMax;
+    }
+
+    /**
+     * Recalculates the minimum and maximum y-value of all entries from the y-range index,
+     * or by a scan if the deque was modified without notifyDataSetChanged().
+     */
+    private void calcYMinMax() {
+
+        mYMin = Float.MAX_VALUE;
+        mYMax = -Float.MAX_VALUE;
+
+        if (mYRangeIndex != null && mYRangeIndex.size() == mEntries.size()) {
+            mYMin = mYRangeIndex.getMin(0, mEntries.size() - 1);
+            mYMax = mYRangeIndex.getMax(0, mEntries.size() - 1);
+            return;
+        }
+
+        for (int i = 0; i < mEntries.size(); i++) {
+            calcMinMaxY(mEntries.get(i));
+        }
+    }
+
+    @Override
+    public DataSet<Entry> copy() {
+        List<Entry> entries = new ArrayList<>(mEntries.size());
+        for (int i = 0; i < mEntries.size(); i++) {
+            entries.add(mEntries.get(i).copy());
+        }
+        DequeLineDataSet copied = new DequeLineDataSet(entries, getLabel());
+        copy(copied);
+        return copied;
+    }
+}
@@ -0,0 +1,283 @@
+
+package com.github.mikephil.charting.data;
+
+import java.io.Serializable;
+import java.nio.FloatBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * List of entries that stores the x- and y-values in two growable primitive float
+ * columns instead of holding one Entry object per value. This needs 8 bytes per
+ * value, compared to an Entry object (with its data and icon fields) plus the
+ * reference inside an ArrayList.
+ * <p/>
+ * Entry objects are only created on demand by get(...), they carry neither data
+ * nor icon, and changes made to a returned Entry are not written back. Use
+ * getX(...) and getY(...) to read values without creating objects.
+ */
+public class EntryColumns extends AbstractList<Entry> implements EntryValues, RandomAccess, Serializable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * the x-values, only the first mSize values are valid
+     */
+    protected float[] mXValues;
+
+    /**
+     * the y-values, only the first mSize values are valid
+     */
+    protected float[] mYValues;
+
+    /**
+     * the number of values in the columns
+     */
+    protected int mSize = 0;
+
+    public EntryColumns() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public EntryColumns(int initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Capacity must be >= 0: " + initialCapacity);
+
+        mXValues = new float[initialCapacity];
+        mYValues = new float[initialCapacity];
+    }
+
+    /**
+     * Creates the columns from a copy of the first count values of the given arrays.
+     */
+    public EntryColumns(float[] xValues, float[] yValues, int count) {
+        if (count > xValues.length || count > yValues.length)
+            throw new IllegalArgumentException("count " + count + " exceeds the length of the given values");
+
+        mXValues = Arrays.copyOf(xValues, Math.max(count, DEFAULT_CAPACITY));
+        mYValues = Arrays.copyOf(yValues, Math.max(count, DEFAULT_CAPACITY));
+        mSize = count;
+    }
+
+    /**
+     * Creates columns that take over the given arrays instead of copying them, the first
+     * count values of which are valid. The arrays must not be used by the caller afterwards.
+     */
+    public static EntryColumns wrap(float[] xValues, float[] yValues, int count) {
+        if (count < 0 || count > xValues.length || count > yValues.length)
+            throw new IllegalArgumentException("count " + count + " exceeds the length of the given values");
+
+        EntryColumns columns = new EntryColumns(0);
+        columns.mXValues = xValues;
+        columns.mYValues = yValues;
+        columns.mSize = count;
+        return columns;
+    }
+
+    /**
+     * Creates the columns from the x- and y-values of the given entries.
+     */
+    public EntryColumns(Collection<? extends Entry> entries) {
+        this(Math.max(entries.size(), DEFAULT_CAPACITY));
+        addAll(entries);
+    }
+
+    @Override
+    public float getX(int index) {
+        return mXValues[index];
+    }
+
+    @Override
+    public float getY(int index) {
+        return mYValues[index];
+    }
+
+    /**
+     * Returns the backing x-column. Only the first size() values are valid, and the
+     * array is replaced when the columns grow, so do not hold on to it.
+     */
+    public float[] getXValues() {
+        return mXValues;
+    }
+
+    /**
+     * Returns the backing y-column. Only the first size() values are valid, and the
+     * array is replaced when the columns grow, so do not hold on to it.
+     */
+    public float[] getYValues() {
+        return mYValues;
+    }
+
+    /**
+     * Appends the given values to the end of the columns.
+     */
+    public void add(float x, float y) {
+        ensureCapacity(mSize + 1);
+        mXValues[mSize] = x;
+        mYValues[mSize] = y;
+        mSize++;
+        modCount++;
+    }
+
+    /**
+     * Inserts the given values at the given index, shifting all following values.
+     */
+    public void add(int index, float x, float y) {
+        if (index < 0 || index > mSize)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+
+        ensureCapacity(mSize + 1);
+        System.arraycopy(mXValues, index, mXValues, index + 1, mSize - index);
+        System.arraycopy(mYValues, index, mYValues, index + 1, mSize - index);
+        mXValues[index] = x;
+        mYValues[index] = y;
+        mSize++;
+        modCount++;
+    }
+
+    /**
+     * Appends len values of the given arrays, starting at off, growing the columns once.
+     */
+    public void addAll(float[] xValues, float[] yValues, int off, int len) {
+        ensureCapacity(mSize + len);
+        System.arraycopy(xValues, off, mXValues, mSize, len);
+        System.arraycopy(yValues, off, mYValues, mSize, len);
+        mSize += len;
+        modCount++;
+    }
+
+    /**
+     * Appends len values of the given buffers, starting at their positions, growing the
+     * columns once. The positions of the buffers are advanced by len.
+     */
+    public void addAll(FloatBuffer xValues, FloatBuffer yValues, int len) {
+        ensureCapacity(mSize + len);
+        xValues.get(mXValues, mSize, len);
+        yValues.get(mYValues, mSize, len);
+        mSize += len;
+        modCount++;
+    }
+
+    /**
+     * Makes sure the columns can hold at least the given number of values without
+     * growing again.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity <= mXValues.length)
+            return;
+
+        int newCapacity = Math.max(minCapacity, mXValues.length + (mXValues.length >> 1));
+        mXValues = Arrays.copyOf(mXValues, newCapacity);
+        mYValues = Arrays.copyOf(mYValues, newCapacity);
+    }
+
+    /**
+     * Shrinks the columns to the number of values they hold.
+     */
+    public void trimToSize() {
+        if (mXValues.length == mSize)
+            return;
+
+        mXValues = Arrays.copyOf(mXValues, mSize);
+        mYValues = Arrays.copyOf(mYValues, mSize);
+    }
+
+    @Override
+    public Entry get(int index) {
+        rangeCheck(index);
+        return new Entry(mXValues[index], mYValues[index]);
+    }
+
+    @Override
+    public Entry set(int index, Entry entry) {
+        rangeCheck(index);
+        Entry old = new Entry(mXValues[index], mYValues[index]);
+        mXValues[index] = entry.getX();
+        mYValues[index] = entry.getY();
+        return old;
+    }
+
+    @Override
+    public void add(int index, Entry entry) {
+        add(index, entry.getX(), entry.getY());
+    }
+
+    @Override
+    public Entry remove(int index) {
+        rangeCheck(index);
+        Entry old = new Entry(mXValues[index], mYValues[index]);
+        removeRange(index, index + 1);
+        return old;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        System.arraycopy(mXValues, toIndex, mXValues, fromIndex, mSize - toIndex);
+        System.arraycopy(mYValues, toIndex, mYValues, fromIndex, mSize - toIndex);
+        mSize -= toIndex - fromIndex;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        mSize = 0;
+        modCount++;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof Entry))
+            return -1;
+
+        final float x = ((Entry) o).getX();
+        final float y = ((Entry) o).getY();
+
+        for (int i = 0; i < mSize; i++) {
+            if (mXValues[i] == x && mYValues[i] == y)
+                return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) > -1;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0)
+            return false;
+
+        removeRange(index, index + 1);
+        return true;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        if (!(o instanceof Entry))
+            return -1;
+
+        final float x = ((Entry) o).getX();
+        final float y = ((Entry) o).getY();
+
+        for (int i = mSize - 1; i >= 0; i--) {
+            if (mXValues[i] == x && mYValues[i] == y)
+                return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+
+    private void rangeCheck(int index) {
+        if (index < 0 || index >= mSize)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+    }
+}
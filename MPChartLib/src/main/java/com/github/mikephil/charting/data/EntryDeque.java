@@ -0,0 +1,269 @@
+package com.github.mikephil.charting.data;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * List of entries in a growable circular array. Like an ArrayList it gives constant time
+ * access by index (so getEntryIndex(...) stays a binary search), but adding and removing
+ * at both ends is O(1), and inserting or removing in between only moves the entries on
+ * the shorter side.
+ * <p/>
+ * It is the storage of the {@link DequeLineDataSet}, which removes its first and last
+ * entries in O(1) and updates its minimum and maximum values incrementally, for
+ * sliding-window charts that append new entries and trim the oldest ones with
+ * removeFirst() or removeEntryByXValue(...).
+ */
+public class EntryDeque<T extends Entry> extends AbstractList<T> implements RandomAccess, Serializable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * the entries, indexed physically, the length is always a power of two
+     */
+    private Object[] mElements;
+
+    /**
+     * physical index of the first entry
+     */
+    private int mHead = 0;
+
+    private int mSize = 0;
+
+    public EntryDeque() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public EntryDeque(int initialCapacity) {
+        mElements = new Object[capacityFor(initialCapacity)];
+    }
+
+    public EntryDeque(Collection<? extends T> entries) {
+        this(entries.size());
+        addAll(entries);
+    }
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        rangeCheck(index);
+        return (T) mElements[slot(index)];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T set(int index, T entry) {
+        rangeCheck(index);
+        int slot = slot(index);
+        T old = (T) mElements[slot];
+        mElements[slot] = entry;
+        return old;
+    }
+
+    @Override
+    public boolean add(T entry) {
+        addLast(entry);
+        return true;
+    }
+
+    /**
+     * Adds the given entry at the end in O(1).
+     */
+    public void addLast(T entry) {
+        ensureCapacity(mSize + 1);
+        mElements[slot(mSize)] = entry;
+        mSize++;
+        modCount++;
+    }
+
+    /**
+     * Adds the given entry at the front in O(1).
+     */
+    public void addFirst(T entry) {
+        ensureCapacity(mSize + 1);
+        mHead = (mHead - 1) & (mElements.length - 1);
+        mElements[mHead] = entry;
+        mSize++;
+        modCount++;
+    }
+
+    @Override
+    public void add(int index, T entry) {
+        if (index < 0 || index > mSize)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+
+        if (index == mSize) {
+            addLast(entry);
+            return;
+        }
+
+        if (index == 0) {
+            addFirst(entry);
+            return;
+        }
+
+        ensureCapacity(mSize + 1);
+        final int mask = mElements.length - 1;
+
+        if (index < mSize / 2) {
+            // move the entries before the index one slot to the front
+            mHead = (mHead - 1) & mask;
+            for (int i = 0; i < index; i++) {
+                mElements[(mHead + i) & mask] = mElements[(mHead + i + 1) & mask];
+            }
+        } else {
+            // move the entries from the index on one slot to the back
+            for (int i = mSize; i > index; i--) {
+                mElements[(mHead + i) & mask] = mElements[(mHead + i - 1) & mask];
+            }
+        }
+
+        mElements[slot(index)] = entry;
+        mSize++;
+        modCount++;
+    }
+
+    /**
+     * Removes and returns the first entry in O(1), or returns null if the list is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T removeFirst() {
+        if (mSize == 0)
+            return null;
+
+        T old = (T) mElements[mHead];
+        mElements[mHead] = null;
+        mHead = (mHead + 1) & (mElements.length - 1);
+        mSize--;
+        modCount++;
+        return old;
+    }
+
+    /**
+     * Removes and returns the last entry in O(1), or returns null if the list is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T removeLast() {
+        if (mSize == 0)
+            return null;
+
+        int slot = slot(mSize - 1);
+        T old = (T) mElements[slot];
+        mElements[slot] = null;
+        mSize--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public T remove(int index) {
+        rangeCheck(index);
+
+        if (index == 0)
+            return removeFirst();
+
+        if (index == mSize - 1)
+            return removeLast();
+
+        T old = get(index);
+        removeRange(index, index + 1);
+        return old;
+    }
+
+    /**
+     * Removes the entries [fromIndex, toIndex), moving the entries on the shorter side.
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        final int count = toIndex - fromIndex;
+
+        if (count <= 0)
+            return;
+
+        final int mask = mElements.length - 1;
+
+        if (fromIndex < mSize - toIndex) {
+            // move the entries before the range to the back
+            for (int i = fromIndex - 1; i >= 0; i--) {
+                mElements[(mHead + i + count) & mask] = mElements[(mHead + i) & mask];
+            }
+            for (int i = 0; i < count; i++) {
+                mElements[(mHead + i) & mask] = null;
+            }
+            mHead = (mHead + count) & mask;
+        } else {
+            // move the entries behind the range to the front
+            for (int i = toIndex; i < mSize; i++) {
+                mElements[(mHead + i - count) & mask] = mElements[(mHead + i) & mask];
+            }
+            for (int i = mSize - count; i < mSize; i++) {
+                mElements[(mHead + i) & mask] = null;
+            }
+        }
+
+        mSize -= count;
+        modCount++;
+    }
+
+    /**
+     * Removes the first count entries in O(count), e.g. to trim a sliding window.
+     */
+    public void removeFirst(int count) {
+        removeRange(0, Math.min(count, mSize));
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < mSize; i++) {
+            mElements[slot(i)] = null;
+        }
+        mHead = 0;
+        mSize = 0;
+        modCount++;
+    }
+
+    /**
+     * Makes sure the list can hold at least the given number of entries without growing
+     * again.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity <= mElements.length)
+            return;
+
+        Object[] elements = new Object[capacityFor(minCapacity)];
+
+        // unwrap the entries to the start of the new array
+        int firstPart = Math.min(mSize, mElements.length - mHead);
+        System.arraycopy(mElements, mHead, elements, 0, firstPart);
+        System.arraycopy(mElements, 0, elements, firstPart, mSize - firstPart);
+
+        mElements = elements;
+        mHead = 0;
+    }
+
+    private int slot(int index) {
+        return (mHead + index) & (mElements.length - 1);
+    }
+
+    private static int capacityFor(int minCapacity) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < minCapacity) {
+            if (capacity >= 1 << 30)
+                throw new OutOfMemoryError("EntryDeque too large");
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private void rangeCheck(int index) {
+        if (index < 0 || index >= mSize)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+    }
+}
@@ -0,0 +1,260 @@
+
+package com.github.mikephil.charting.data;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Fixed-capacity list of entries that stores the x- and y-values in primitive float
+ * columns used as a ring buffer. Appending to a full buffer overwrites the oldest
+ * value, and removing at either end is O(1), so nothing is shifted while streaming.
+ * <p/>
+ * Indices are logical: index 0 is always the oldest value, no matter where it is
+ * stored physically. Like {@link EntryColumns}, Entry objects are only created on
+ * demand by get(...), and changes made to them are not written back.
+ */
+public class EntryRingBuffer extends AbstractList<Entry> implements EntryValues, RandomAccess, Serializable {
+
+    /**
+     * the x-values, indexed physically
+     */
+    protected final float[] mXValues;
+
+    /**
+     * the y-values, indexed physically
+     */
+    protected final float[] mYValues;
+
+    /**
+     * physical index of the oldest value
+     */
+    protected int mHead = 0;
+
+    /**
+     * the number of values in the buffer
+     */
+    protected int mSize = 0;
+
+    public EntryRingBuffer(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Capacity must be > 0: " + capacity);
+
+        mXValues = new float[capacity];
+        mYValues = new float[capacity];
+    }
+
+    /**
+     * Returns the maximum number of values this buffer holds.
+     */
+    public int getCapacity() {
+        return mXValues.length;
+    }
+
+    /**
+     * Returns true if the next append overwrites the oldest value.
+     */
+    public boolean isFull() {
+        return mSize == mXValues.length;
+    }
+
+    /**
+     * Returns the physical index of the value at the given logical index. The
+     * physical index is stable for as long as the value stays in the buffer.
+     */
+    public int getSlot(int index) {
+        int slot = mHead + index;
+        return slot >= mXValues.length ? slot - mXValues.length : slot;
+    }
+
+    /**
+     * Returns the x-value at the given logical index without creating an Entry.
+     */
+    @Override
+    public float getX(int index) {
+        return mXValues[getSlot(index)];
+    }
+
+    /**
+     * Returns the y-value at the given logical index without creating an Entry.
+     */
+    @Override
+    public float getY(int index) {
+        return mYValues[getSlot(index)];
+    }
+
+    /**
+     * Returns the y-value at the given physical index, see getSlot(...).
+     */
+    public float getYAtSlot(int slot) {
+        return mYValues[slot];
+    }
+
+    /**
+     * Appends the given values. If the buffer is full, the oldest value is
+     * overwritten. Returns the physical index the values were written to.
+     */
+    public int add(float x, float y) {
+        int slot = getSlot(mSize);
+
+        if (mSize == mXValues.length) {
+            // the oldest value is at the slot we write to
+            mHead = mHead + 1 == mXValues.length ? 0 : mHead + 1;
+        } else {
+            mSize++;
+        }
+
+        mXValues[slot] = x;
+        mYValues[slot] = y;
+        modCount++;
+        return slot;
+    }
+
+    /**
+     * Removes the oldest value in O(1). Returns false if the buffer is empty.
+     */
+    public boolean removeOldest() {
+        if (mSize == 0)
+            return false;
+
+        mHead = mHead + 1 == mXValues.length ? 0 : mHead + 1;
+        mSize--;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Removes the newest value in O(1). Returns false if the buffer is empty.
+     */
+    public boolean removeNewest() {
+        if (mSize == 0)
+            return false;
+
+        mSize--;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public Entry get(int index) {
+        rangeCheck(index);
+        int slot = getSlot(index);
+        return new Entry(mXValues[slot], mYValues[slot]);
+    }
+
+    @Override
+    public Entry set(int index, Entry entry) {
+        rangeCheck(index);
+        int slot = getSlot(index);
+        Entry old = new Entry(mXValues[slot], mYValues[slot]);
+        mXValues[slot] = entry.getX();
+        mYValues[slot] = entry.getY();
+        return old;
+    }
+
+    /**
+     * Inserts the entry at the given logical index. Appending is O(1), inserting in
+     * between shifts the newer values. If the buffer is full, the oldest value is
+     * dropped to make room.
+     */
+    @Override
+    public void add(int index, Entry entry) {
+        if (index < 0 || index > mSize)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+
+        if (index == mSize) {
+            add(entry.getX(), entry.getY());
+            return;
+        }
+
+        if (mSize == mXValues.length) {
+            removeOldest();
+            if (index == 0) {
+                // the entry would be older than everything the buffer keeps
+                return;
+            }
+            index--;
+        }
+
+        mSize++;
+        for (int i = mSize - 1; i > index; i--) {
+            int to = getSlot(i);
+            int from = getSlot(i - 1);
+            mXValues[to] = mXValues[from];
+            mYValues[to] = mYValues[from];
+        }
+
+        int slot = getSlot(index);
+        mXValues[slot] = entry.getX();
+        mYValues[slot] = entry.getY();
+        modCount++;
+    }
+
+    @Override
+    public Entry remove(int index) {
+        rangeCheck(index);
+        int slot = getSlot(index);
+        Entry old = new Entry(mXValues[slot], mYValues[slot]);
+
+        if (index == 0) {
+            removeOldest();
+        } else {
+            for (int i = index; i < mSize - 1; i++) {
+                int to = getSlot(i);
+                int from = getSlot(i + 1);
+                mXValues[to] = mXValues[from];
+                mYValues[to] = mYValues[from];
+            }
+            removeNewest();
+        }
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        mHead = 0;
+        mSize = 0;
+        modCount++;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof Entry))
+            return -1;
+
+        final float x = ((Entry) o).getX();
+        final float y = ((Entry) o).getY();
+
+        for (int i = 0; i < mSize; i++) {
+            int slot = getSlot(i);
+            if (mXValues[slot] == x && mYValues[slot] == y)
+                return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) > -1;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0)
+            return false;
+
+        remove(index);
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+
+    private void rangeCheck(int index) {
+        if (index < 0 || index >= mSize)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+    }
+}
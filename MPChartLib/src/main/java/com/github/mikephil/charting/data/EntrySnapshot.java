@@ -0,0 +1,286 @@
+
+package com.github.mikephil.charting.data;
+
+import java.util.Arrays;
+
+/**
+ * Immutable state of the values of a {@link SnapshotLineDataSet} at one point in time.
+ * The x- and y-values are stored in chunks of CHUNK_SIZE floats that are shared between
+ * the snapshots of a DataSet: a new snapshot only ever writes behind the end of the
+ * newest snapshot or into chunks of its own, so the values a published snapshot covers
+ * never change and it can be read from any thread without locking.
+ * <p/>
+ * The modifying methods return a new snapshot and leave this one untouched. They must
+ * only be called on the newest snapshot of a DataSet, by one thread at a time.
+ */
+public final class EntrySnapshot {
+
+    static final int CHUNK_SHIFT = 12;
+
+    /**
+     * number of values per chunk
+     */
+    public static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    public static final EntrySnapshot EMPTY = empty(0L);
+
+    private final float[][] mXChunks;
+    private final float[][] mYChunks;
+
+    /**
+     * position of the first value in the first chunk
+     */
+    private final int mStart;
+
+    private final int mSize;
+
+    /**
+     * minimum and maximum y-value, null if they still need to be calculated
+     */
+    private volatile float[] mYBounds;
+
+    private final long mVersion;
+
+    private EntrySnapshot(float[][] xChunks, float[][] yChunks, int start, int size,
+                          float[] yBounds, long version) {
+        mXChunks = xChunks;
+        mYChunks = yChunks;
+        mStart = start;
+        mSize = size;
+        mYBounds = yBounds;
+        mVersion = version;
+    }
+
+    private static EntrySnapshot empty(long version) {
+        return new EntrySnapshot(new float[0][], new float[0][], 0, 0,
+                new float[]{Float.MAX_VALUE, -Float.MAX_VALUE}, version);
+    }
+
+    /**
+     * Creates a snapshot that holds a copy of the first count values of the given arrays,
+     * which must be sorted by x, and replaces a snapshot with the given version.
+     */
+    static EntrySnapshot of(float[] xs, float[] ys, int count, long previousVersion) {
+        if (count == 0)
+            return empty(previousVersion + 1);
+
+        return empty(previousVersion).append(xs, ys, 0, count);
+    }
+
+    /**
+     * Returns the number of values in this snapshot.
+     */
+    public int size() {
+        return mSize;
+    }
+
+    public float getX(int index) {
+        rangeCheck(index);
+        int position = mStart + index;
+        return mXChunks[position >> CHUNK_SHIFT][position & CHUNK_MASK];
+    }
+
+    public float getY(int index) {
+        rangeCheck(index);
+        int position = mStart + index;
+        return mYChunks[position >> CHUNK_SHIFT][position & CHUNK_MASK];
+    }
+
+    public float getXMin() {
+        return mSize > 0 ? getX(0) : Float.MAX_VALUE;
+    }
+
+    public float getXMax() {
+        return mSize > 0 ? getX(mSize - 1) : -Float.MAX_VALUE;
+    }
+
+    public float getYMin() {
+        return getYBounds()[0];
+    }
+
+    public float getYMax() {
+        return getYBounds()[1];
+    }
+
+    /**
+     * Returns the minimum and maximum y-value, calculated on first use if a modification
+     * removed one of them. Racing threads calculate the same values, so no lock is needed.
+     */
+    private float[] getYBounds() {
+        float[] bounds = mYBounds;
+
+        if (bounds != null)
+            return bounds;
+
+        float yMin = Float.MAX_VALUE;
+        float yMax = -Float.MAX_VALUE;
+
+        for (int i = 0; i < mSize; i++) {
+            float y = getY(i);
+            yMin = Math.min(yMin, y);
+            yMax = Math.max(yMax, y);
+        }
+
+        bounds = new float[]{yMin, yMax};
+        mYBounds = bounds;
+        return bounds;
+    }
+
+    /**
+     * Returns the version of this snapshot, every modification increments it by one.
+     */
+    public long getVersion() {
+        return mVersion;
+    }
+
+    /**
+     * Copies count values starting at the given index into the given arrays.
+     */
+    public void copyValues(int from, int count, float[] xs, float[] ys, int off) {
+        if (count == 0)
+            return;
+
+        rangeCheck(from);
+        rangeCheck(from + count - 1);
+
+        int copied = 0;
+
+        while (copied < count) {
+            int position = mStart + from + copied;
+            int chunk = position >> CHUNK_SHIFT;
+            int inChunk = position & CHUNK_MASK;
+            int run = Math.min(count - copied, CHUNK_SIZE - inChunk);
+
+            System.arraycopy(mXChunks[chunk], inChunk, xs, off + copied, run);
+            System.arraycopy(mYChunks[chunk], inChunk, ys, off + copied, run);
+            copied += run;
+        }
+    }
+
+    /**
+     * Returns a snapshot with len values of the given arrays appended, starting at off.
+     * The values must be sorted by x and must not be smaller than getXMax().
+     */
+    EntrySnapshot append(float[] xs, float[] ys, int off, int len) {
+        if (len == 0)
+            return this;
+
+        float[][] xChunks = mXChunks;
+        float[][] yChunks = mYChunks;
+
+        int end = mStart + mSize;
+        int chunkCount = (end + len + CHUNK_MASK) >> CHUNK_SHIFT;
+
+        if (chunkCount > xChunks.length) {
+            int oldCount = xChunks.length;
+            xChunks = Arrays.copyOf(xChunks, chunkCount);
+            yChunks = Arrays.copyOf(yChunks, chunkCount);
+
+            for (int i = oldCount; i < chunkCount; i++) {
+                xChunks[i] = new float[CHUNK_SIZE];
+                yChunks[i] = new float[CHUNK_SIZE];
+            }
+        }
+
+        int copied = 0;
+
+        // the positions behind the end are not covered by any published snapshot
+        while (copied < len) {
+            int position = end + copied;
+            int chunk = position >> CHUNK_SHIFT;
+            int inChunk = position & CHUNK_MASK;
+            int run = Math.min(len - copied, CHUNK_SIZE - inChunk);
+
+            System.arraycopy(xs, off + copied, xChunks[chunk], inChunk, run);
+            System.arraycopy(ys, off + copied, yChunks[chunk], inChunk, run);
+            copied += run;
+        }
+
+        float[] bounds = mYBounds;
+
+        // unknown bounds stay unknown, so that writers never scan all values
+        if (bounds != null) {
+            float yMin = bounds[0];
+            float yMax = bounds[1];
+
+            for (int i = off, last = off + len; i < last; i++) {
+                yMin = Math.min(yMin, ys[i]);
+                yMax = Math.max(yMax, ys[i]);
+            }
+
+            bounds = new float[]{yMin, yMax};
+        }
+
+        return new EntrySnapshot(xChunks, yChunks, mStart, mSize + len, bounds, mVersion + 1);
+    }
+
+    /**
+     * Returns a snapshot without the first count values. Chunks that are no longer needed
+     * are dropped. If a removed value was an extreme, the bounds of the new snapshot are
+     * calculated when they are first needed.
+     */
+    EntrySnapshot removeFirst(int count) {
+        if (count <= 0)
+            return this;
+
+        if (count >= mSize)
+            return empty(mVersion + 1);
+
+        float[] bounds = mYBounds;
+
+        for (int i = 0; i < count && bounds != null; i++) {
+            if (isExtreme(getY(i), bounds))
+                bounds = null;
+        }
+
+        int start = mStart + count;
+        int dropped = start >> CHUNK_SHIFT;
+
+        float[][] xChunks = mXChunks;
+        float[][] yChunks = mYChunks;
+
+        if (dropped > 0) {
+            xChunks = Arrays.copyOfRange(xChunks, dropped, xChunks.length);
+            yChunks = Arrays.copyOfRange(yChunks, dropped, yChunks.length);
+            start -= dropped << CHUNK_SHIFT;
+        }
+
+        return new EntrySnapshot(xChunks, yChunks, start, mSize - count, bounds, mVersion + 1);
+    }
+
+    /**
+     * Returns a snapshot without the last value.
+     */
+    EntrySnapshot removeLast() {
+        if (mSize <= 1)
+            return empty(mVersion + 1);
+
+        float[] bounds = mYBounds;
+
+        if (bounds != null && isExtreme(getY(mSize - 1), bounds))
+            bounds = null;
+
+        int size = mSize - 1;
+        int lastChunk = (mStart + size - 1) >> CHUNK_SHIFT;
+
+        // the chunk of the new last value is copied, appending to it later would
+        // overwrite the removed value, which older snapshots still cover
+        float[][] xChunks = Arrays.copyOf(mXChunks, lastChunk + 1);
+        float[][] yChunks = Arrays.copyOf(mYChunks, lastChunk + 1);
+        xChunks[lastChunk] = xChunks[lastChunk].clone();
+        yChunks[lastChunk] = yChunks[lastChunk].clone();
+
+        return new EntrySnapshot(xChunks, yChunks, mStart, size, bounds, mVersion + 1);
+    }
+
+    private static boolean isExtreme(float y, float[] bounds) {
+        return y <= bounds[0] || y >= bounds[1];
+    }
+
+    private void rangeCheck(int index) {
+        if (index < 0 || index >= mSize)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+    }
+}
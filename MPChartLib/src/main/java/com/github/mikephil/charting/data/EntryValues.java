@@ -0,0 +1,22 @@
+package com.github.mikephil.charting.data;
+
+/**
+ * Implemented by the entry lists that store plain x- and y-values instead of holding
+ * Entry objects, like {@link EntryColumns} and {@link DataSet.EntriesView}. Their get(...) creates a new Entry on every
+ * call, so DataSet reads the values through this interface instead, and entries of such
+ * a list can only be matched by their values, not by their identity. Entry lists that
+ * create their entries on demand must implement it, DataSet relies on it to tell them
+ * apart from lists that hold Entry objects.
+ */
+public interface EntryValues {
+
+    /**
+     * Returns the x-value at the given index without creating an Entry.
+     */
+    float getX(int index);
+
+    /**
+     * Returns the y-value at the given index without creating an Entry.
+     */
+    float getY(int index);
+}
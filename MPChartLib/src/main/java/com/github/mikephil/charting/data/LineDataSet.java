@@ -8,6 +8,7 @@ import android.util.Log;
 
 import com.github.mikephil.charting.formatter.DefaultFillFormatter;
 import com.github.mikephil.charting.formatter.IFillFormatter;
+import com.github.mikephil.charting.interfaces.datasets.IBatchDataSet;
 import com.github.mikephil.charting.interfaces.datasets.ILineDataSet;
 import com.github.mikephil.charting.utils.ColorTemplate;
 import com.github.mikephil.charting.utils.Utils;
@@ -15,7 +16,7 @@ import com.github.mikephil.charting.utils.Utils;
 import java.util.ArrayList;
 import java.util.List;
 
-public class LineDataSet extends LineRadarDataSet<Entry> implements ILineDataSet {
+public class LineDataSet extends LineRadarDataSet<Entry> implements ILineDataSet, IBatchDataSet<Entry> {
 
     /**
      * Drawing mode for this line dataset
@@ -64,6 +65,10 @@ public class LineDataSet extends LineRadarDataSet<Entry> implements ILineDataSet
 
     private boolean mDrawCircleHole = true;
 
+    /**
+     * if true, the visible entries are reduced to first, min, max and last per pixel column
+     */
+    private boolean mM4AggregationEnabled = false;
 
     public LineDataSet(List<Entry> yVals, String label) {
         super(yVals, label);
@@ -82,6 +87,11 @@ public class LineDataSet extends LineRadarDataSet<Entry> implements ILineDataSet
         mCircleColors.add(Color.rgb(140, 234, 255));
     }
 
+    @Override
+    public void addEntries(float[] xs, float[] ys, int off, int len) {
+        super.addEntries(xs, ys, off, len);
+    }
+
     @Override
     public DataSet<Entry> copy() {
         List<Entry> entries = new ArrayList<>();
@@ -105,6 +115,7 @@ public class LineDataSet extends LineRadarDataSet<Entry> implements ILineDataSet
         lineDataSet.mDrawCircles = mDrawCircleHole;
         lineDataSet.mFillFormatter = mFillFormatter;
         lineDataSet.mMode = mMode;
+        lineDataSet.mM4AggregationEnabled = mM4AggregationEnabled;
     }
 
     /**
@@ -119,6 +130,7 @@ public class LineDataSet extends LineRadarDataSet<Entry> implements ILineDataSet
      * Returns the drawing mode for this LineDataSet
      */
     public void setMode(LineDataSet.Mode mode) {
+        incrementVersion();
         mMode = mode;
     }
 
@@ -127,6 +139,7 @@ public class LineDataSet extends LineRadarDataSet<Entry> implements ILineDataSet
      * Min = 0.05f = low cubic effect, Default: 0.2f
      */
     public void setCubicIntensity(float intensity) {
+        incrementVersion();
 
         if (intensity > 1f)
             intensity = 1f;
@@ -147,6 +160,7 @@ public class LineDataSet extends LineRadarDataSet<Entry> implements ILineDataSet
      * Default radius = 4f, Min = 1f
      */
     public void setCircleRadius(float radius) {
+        incrementVersion();
 
         if (radius >= 1f) {
             mCircleRadius = Utils.convertDpToPixel(radius);
@@ -165,6 +179,7 @@ public class LineDataSet extends LineRadarDataSet<Entry> implements ILineDataSet
      * Default radius = 2f, Min = 0.5f
      */
     public void setCircleHoleRadius(float holeRadius) {
+        incrementVersion();
 
         if (holeRadius >= 0.5f) {
             mCircleHoleRadius = Utils.convertDpToPixel(holeRadius);
@@ -186,6 +201,7 @@ public class LineDataSet extends LineRadarDataSet<Entry> implements ILineDataSet
      */
     @Deprecated
     public void setCircleSize(float size) {
+        incrementVersion();
         setCircleRadius(size);
     }
 
@@ -207,6 +223,7 @@ public class LineDataSet extends LineRadarDataSet<Entry> implements ILineDataSet
      * @param phase       offset, in degrees (normally, use 0)
      */
     public void enableDashedLine(float lineLength, float spaceLength, float phase) {
+        incrementVersion();
         mDashPathEffect = new DashPathEffect(new float[]{
                 lineLength, spaceLength
         }, phase);
@@ -216,6 +233,7 @@ public class LineDataSet extends LineRadarDataSet<Entry> implements ILineDataSet
      * Disables the line to be drawn in dashed mode.
      */
     public void disableDashedLine() {
+        incrementVersion();
         mDashPathEffect = null;
     }
 
@@ -234,6 +252,7 @@ public class LineDataSet extends LineRadarDataSet<Entry> implements ILineDataSet
      * DataSet, default true
      */
     public void setDrawCircles(boolean enabled) {
+        incrementVersion();
         this.mDrawCircles = enabled;
     }
 
@@ -279,6 +298,7 @@ public class LineDataSet extends LineRadarDataSet<Entry> implements ILineDataSet
      * adding them to the DataSet.
      */
     public void setCircleColors(List<Integer> colors) {
+        incrementVersion();
         mCircleColors = colors;
     }
 
@@ -290,6 +310,7 @@ public class LineDataSet extends LineRadarDataSet<Entry> implements ILineDataSet
      * adding them to the DataSet.
      */
     public void setCircleColors(int... colors) {
+        incrementVersion();
         this.mCircleColors = ColorTemplate.createColors(colors);
     }
 
@@ -302,6 +323,7 @@ public class LineDataSet extends LineRadarDataSet<Entry> implements ILineDataSet
      * getResources().getColor(...)
      */
     public void setCircleColors(int[] colors, Context c) {
+        incrementVersion();
 
         List<Integer> clrs = mCircleColors;
         if (clrs == null) {
@@ -321,6 +343,7 @@ public class LineDataSet extends LineRadarDataSet<Entry> implements ILineDataSet
      * Internally, this recreates the colors array and adds the specified color.
      */
     public void setCircleColor(int color) {
+        incrementVersion();
         resetCircleColors();
         mCircleColors.add(color);
     }
@@ -329,6 +352,7 @@ public class LineDataSet extends LineRadarDataSet<Entry> implements ILineDataSet
      * resets the circle-colors array and creates a new one
      */
     public void resetCircleColors() {
+        incrementVersion();
         if (mCircleColors == null) {
             mCircleColors = new ArrayList<>();
         }
@@ -339,6 +363,7 @@ public class LineDataSet extends LineRadarDataSet<Entry> implements ILineDataSet
      * Sets the color of the inner circle of the line-circles.
      */
     public void setCircleHoleColor(int color) {
+        incrementVersion();
         mCircleHoleColor = color;
     }
 
@@ -351,6 +376,7 @@ public class LineDataSet extends LineRadarDataSet<Entry> implements ILineDataSet
      * Set this to true to allow drawing a hole in each data circle.
      */
     public void setDrawCircleHole(boolean enabled) {
+        incrementVersion();
         mDrawCircleHole = enabled;
     }
 
@@ -359,11 +385,31 @@ public class LineDataSet extends LineRadarDataSet<Entry> implements ILineDataSet
         return mDrawCircleHole;
     }
 
+    /**
+     * Enables / disables M4 aggregation for this DataSet: before drawing, the visible
+     * entries are reduced to the first, minimum, maximum and last entry of every pixel
+     * column, which draws the same polyline as all entries would. The aggregation of all
+     * DataSets that have it enabled runs in parallel before the chart is drawn.
+     * Default: disabled
+     *
+     * @param enabled
+     */
+    public void setM4AggregationEnabled(boolean enabled) {
+        incrementVersion();
+        mM4AggregationEnabled = enabled;
+    }
+
+    @Override
+    public boolean isM4AggregationEnabled() {
+        return mM4AggregationEnabled;
+    }
+
     /**
      * Sets a custom IFillFormatter to the chart that handles the position of the
      * filled-line for each DataSet. Set this to null to use the default logic.
      */
     public void setFillFormatter(IFillFormatter formatter) {
+        incrementVersion();
 
         if (formatter == null)
             mFillFormatter = new DefaultFillFormatter();
@@ -60,6 +60,7 @@ public abstract class LineRadarDataSet<T extends Entry> extends LineScatterCandl
      * @param color
      */
     public void setFillColor(int color) {
+        incrementVersion();
         mFillColor = color;
         mFillDrawable = null;
     }
@@ -76,6 +77,7 @@ public abstract class LineRadarDataSet<T extends Entry> extends LineScatterCandl
      */
     @TargetApi(18)
     public void setFillDrawable(Drawable drawable) {
+        incrementVersion();
         this.mFillDrawable = drawable;
     }
 
@@ -91,6 +93,7 @@ public abstract class LineRadarDataSet<T extends Entry> extends LineScatterCandl
      * @param alpha
      */
     public void setFillAlpha(int alpha) {
+        incrementVersion();
         mFillAlpha = alpha;
     }
 
@@ -101,6 +104,7 @@ public abstract class LineRadarDataSet<T extends Entry> extends LineScatterCandl
      * @param width
      */
     public void setLineWidth(float width) {
+        incrementVersion();
 
         if (width < 0.0f)
             width = 0.0f;
@@ -116,6 +120,7 @@ public abstract class LineRadarDataSet<T extends Entry> extends LineScatterCandl
 
     @Override
     public void setDrawFilled(boolean filled) {
+        incrementVersion();
         mDrawFilled = filled;
     }
 
@@ -31,6 +31,7 @@ public abstract class LineScatterCandleRadarDataSet<T extends Entry> extends Bar
      * Enables / disables the horizontal highlight-indicator. If disabled, the indicator is not drawn.
      */
     public void setDrawHorizontalHighlightIndicator(boolean enabled) {
+        incrementVersion();
         this.mDrawHorizontalHighlightIndicator = enabled;
     }
 
@@ -38,6 +39,7 @@ public abstract class LineScatterCandleRadarDataSet<T extends Entry> extends Bar
      * Enables / disables the vertical highlight-indicator. If disabled, the indicator is not drawn.
      */
     public void setDrawVerticalHighlightIndicator(boolean enabled) {
+        incrementVersion();
         this.mDrawVerticalHighlightIndicator = enabled;
     }
 
@@ -45,6 +47,7 @@ public abstract class LineScatterCandleRadarDataSet<T extends Entry> extends Bar
      * Enables / disables both vertical and horizontal highlight-indicators.
      */
     public void setDrawHighlightIndicators(boolean enabled) {
+        incrementVersion();
         setDrawVerticalHighlightIndicator(enabled);
         setDrawHorizontalHighlightIndicator(enabled);
     }
@@ -63,6 +66,7 @@ public abstract class LineScatterCandleRadarDataSet<T extends Entry> extends Bar
      * Sets the width of the highlight line in dp.
      */
     public void setHighlightLineWidth(float width) {
+        incrementVersion();
         mHighlightLineWidth = Utils.convertDpToPixel(width);
     }
 
@@ -79,6 +83,7 @@ public abstract class LineScatterCandleRadarDataSet<T extends Entry> extends Bar
      * @param phase offset, in degrees (normally, use 0)
      */
     public void enableDashedHighlightLine(float lineLength, float spaceLength, float phase) {
+        incrementVersion();
         mHighlightDashPathEffect = new DashPathEffect(new float[] {
                 lineLength, spaceLength
         }, phase);
@@ -88,6 +93,7 @@ public abstract class LineScatterCandleRadarDataSet<T extends Entry> extends Bar
      * Disables the highlight-line to be drawn in dashed mode.
      */
     public void disableDashedHighlightLine() {
+        incrementVersion();
         mHighlightDashPathEffect = null;
     }
 
@@ -0,0 +1,270 @@
+
+package com.github.mikephil.charting.data;
+
+import com.github.mikephil.charting.interfaces.datasets.IDataSet;
+
+import java.util.Arrays;
+
+/**
+ * Multi-resolution level-of-detail pyramid over the y-values of a DataSet. Level k
+ * splits the entries into buckets of 2^k consecutive entries and stores the index of
+ * the minimum and the maximum y-value of every bucket; the first and the last entry of
+ * a bucket follow from its position. Drawing first, min, max and last of each bucket
+ * keeps every spike of a zoomed out line while touching only a few points per pixel.
+ * <p/>
+ * The pyramid is built once and extended incrementally when entries are appended, see
+ * update(...). Any other change to the entries requires invalidate().
+ */
+public class LodPyramid {
+
+    /**
+     * the finest level that is stored, buckets of 8 entries, since up to 4 entries per
+     * pixel are drawn directly anyway
+     */
+    public static final int MIN_LEVEL = 3;
+
+    /**
+     * indices of the minimum y-value per bucket, mMinIndices[k - MIN_LEVEL] holds level k
+     */
+    private int[][] mMinIndices = new int[0][];
+
+    /**
+     * indices of the maximum y-value per bucket, laid out like mMinIndices
+     */
+    private int[][] mMaxIndices = new int[0][];
+
+    /**
+     * the number of entries that are covered by the pyramid
+     */
+    private int mEntryCount = 0;
+
+    /**
+     * Discards the pyramid, the next update(...) rebuilds it from scratch.
+     */
+    public void invalidate() {
+        mEntryCount = 0;
+    }
+
+    /**
+     * Returns the number of entries the pyramid covers.
+     */
+    public int getEntryCount() {
+        return mEntryCount;
+    }
+
+    /**
+     * Returns the coarsest level that is available, or MIN_LEVEL - 1 if the DataSet is too
+     * small for any level.
+     */
+    public int getMaxLevel() {
+        return MIN_LEVEL + mMinIndices.length - 1;
+    }
+
+    /**
+     * Brings the pyramid up to date with the given DataSet. Entries that were appended
+     * since the last update are added in amortized O(1) each, if the DataSet got smaller
+     * the pyramid is rebuilt.
+     */
+    public void update(IDataSet<?> set) {
+        int count = set.getEntryCount();
+
+        if (count < mEntryCount)
+            mEntryCount = 0;
+
+        while (mEntryCount < count) {
+            append(set, mEntryCount);
+        }
+    }
+
+    /**
+     * Returns the level to draw the given number of visible entries on the given number
+     * of pixels, so that every pixel column gets one bucket (up to 4 points), or 0 if the
+     * entries should be drawn directly.
+     */
+    public int getLevel(int visibleEntryCount, float pixels) {
+        if (pixels < 1f || visibleEntryCount <= pixels * 4f)
+            return 0;
+
+        int entriesPerPixel = (int) Math.ceil(visibleEntryCount / pixels);
+        int level = 32 - Integer.numberOfLeadingZeros(entriesPerPixel - 1);
+
+        if (level < MIN_LEVEL)
+            return 0;
+
+        return Math.min(level, getMaxLevel());
+    }
+
+    /**
+     * Returns the size of the array collect(...) needs for the given level and range.
+     */
+    public int getCollectCapacity(int level, int from, int to) {
+        int buckets = (to >> level) - (from >> level) + 1;
+        return buckets * 4 + 2 * (1 << level);
+    }
+
+    /**
+     * Writes the indices of the entries to draw for the range [from, to] at the given
+     * level into out, in ascending order, and returns their number. Buckets that are fully
+     * inside the range contribute their first, minimum, maximum and last entry, buckets
+     * that are cut by the range contribute all of their entries inside it.
+     */
+    public int collect(IDataSet<?> set, int level, int from, int to, int[] out) {
+        to = Math.min(to, getEntryCount() - 1);
+
+        if (from > to)
+            return 0;
+
+        int bucketSize = 1 << level;
+
+        int count = 0;
+        int index = from;
+
+        while (index <= to) {
+            int bucket = index >> level;
+            int bucketStart = bucket << level;
+            int bucketEnd = bucketStart + bucketSize - 1;
+
+            if (bucketStart < from || bucketEnd > to) {
+                // partially visible bucket, take the entries directly
+                int end = Math.min(bucketEnd, to);
+                for (; index <= end; index++) {
+                    out[count++] = index;
+                }
+                continue;
+            }
+
+            int minIndex = getMinIndex(level, bucket);
+            int maxIndex = getMaxIndex(level, bucket);
+
+            out[count++] = bucketStart;
+
+            int first = Math.min(minIndex, maxIndex);
+            int second = Math.max(minIndex, maxIndex);
+
+            if (first > out[count - 1])
+                out[count++] = first;
+
+            if (second > out[count - 1])
+                out[count++] = second;
+
+            if (bucketEnd > out[count - 1])
+                out[count++] = bucketEnd;
+
+            index = bucketEnd + 1;
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the index of the minimum y-value of the given bucket of the given level.
+     */
+    protected int getMinIndex(int level, int bucket) {
+        return mMinIndices[level - MIN_LEVEL][bucket];
+    }
+
+    /**
+     * Returns the index of the maximum y-value of the given bucket of the given level.
+     */
+    protected int getMaxIndex(int level, int bucket) {
+        return mMaxIndices[level - MIN_LEVEL][bucket];
+    }
+
+    private void append(IDataSet<?> set, int index) {
+        int count = index + 1;
+
+        // add a level as soon as it has more than one bucket
+        if (count > 1 << (getMaxLevel() + 1))
+            addLevel(set);
+
+        float y = set.getYForIndex(index);
+
+        for (int i = 0; i < mMinIndices.length; i++) {
+            int level = i + MIN_LEVEL;
+            int bucket = index >> level;
+
+            if (bucket >= mMinIndices[i].length) {
+                mMinIndices[i] = Arrays.copyOf(mMinIndices[i], Math.max(16, bucket * 2));
+                mMaxIndices[i] = Arrays.copyOf(mMaxIndices[i], Math.max(16, bucket * 2));
+            }
+
+            if ((index & ((1 << level) - 1)) == 0) {
+                // first entry of a new bucket
+                mMinIndices[i][bucket] = index;
+                mMaxIndices[i][bucket] = index;
+                continue;
+            }
+
+            boolean changed = false;
+
+            if (y < set.getYForIndex(mMinIndices[i][bucket])) {
+                mMinIndices[i][bucket] = index;
+                changed = true;
+            }
+
+            if (y > set.getYForIndex(mMaxIndices[i][bucket])) {
+                mMaxIndices[i][bucket] = index;
+                changed = true;
+            }
+
+            // the buckets of the coarser levels contain this one, so they cannot change either
+            if (!changed)
+                break;
+        }
+
+        mEntryCount = count;
+    }
+
+    /**
+     * Adds the next coarser level, built from the current coarsest level (or from the
+     * entries if there is none yet).
+     */
+    private void addLevel(IDataSet<?> set) {
+        int levels = mMinIndices.length;
+        int level = MIN_LEVEL + levels;
+        int buckets = (mEntryCount + (1 << level) - 1) >> level;
+
+        int[] minIndices = new int[Math.max(16, buckets * 2)];
+        int[] maxIndices = new int[minIndices.length];
+
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            int start = bucket << level;
+            int end = Math.min(start + (1 << level), mEntryCount);
+
+            int minIndex = start;
+            int maxIndex = start;
+
+            if (levels == 0) {
+                for (int j = start + 1; j < end; j++) {
+                    float y = set.getYForIndex(j);
+                    if (y < set.getYForIndex(minIndex))
+                        minIndex = j;
+                    if (y > set.getYForIndex(maxIndex))
+                        maxIndex = j;
+                }
+            } else {
+                int[] childMin = mMinIndices[levels - 1];
+                int[] childMax = mMaxIndices[levels - 1];
+                int left = bucket * 2;
+
+                minIndex = childMin[left];
+                maxIndex = childMax[left];
+
+                if ((left + 1) << (level - 1) < mEntryCount) {
+                    if (set.getYForIndex(childMin[left + 1]) < set.getYForIndex(minIndex))
+                        minIndex = childMin[left + 1];
+                    if (set.getYForIndex(childMax[left + 1]) > set.getYForIndex(maxIndex))
+                        maxIndex = childMax[left + 1];
+                }
+            }
+
+            minIndices[bucket] = minIndex;
+            maxIndices[bucket] = maxIndex;
+        }
+
+        mMinIndices = Arrays.copyOf(mMinIndices, levels + 1);
+        mMaxIndices = Arrays.copyOf(mMaxIndices, levels + 1);
+        mMinIndices[levels] = minIndices;
+        mMaxIndices[levels] = maxIndices;
+    }
+}
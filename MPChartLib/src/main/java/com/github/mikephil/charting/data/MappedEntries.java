@@ -0,0 +1,175 @@
+package com.github.mikephil.charting.data;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list of entries backed by a memory mapped file of packed x/y float pairs
+ * (8 bytes per entry, little endian, sorted by x). Only the pages that are read are
+ * loaded from the file, and the operating system can drop them again at any time, so
+ * files of several gigabytes can be shown with a small heap.
+ * <p/>
+ * Entry objects are only created on demand by get(...), they carry neither data nor
+ * icon. Use getX(...) and getY(...) to read values without creating objects, and
+ * write(...) to create or extend a file.
+ */
+public class MappedEntries extends AbstractList<Entry> implements EntryValues, RandomAccess, Closeable {
+
+    /**
+     * the number of bytes of one entry in the file
+     */
+    public static final int BYTES_PER_ENTRY = 8;
+
+    private final File mFile;
+
+    private final MappedRegions mRegions;
+
+    private final int mSize;
+
+    /**
+     * Maps the given file, which must consist of packed x/y float pairs.
+     */
+    public MappedEntries(File file) throws IOException {
+        this(file, (int) MappedRegions.REGION_SIZE);
+    }
+
+    /**
+     * Maps the given file in regions of the given number of bytes, a power of two between
+     * BYTES_PER_ENTRY and 1 GB (the default). Smaller regions are only useful to test the
+     * region boundaries without a file of several gigabytes.
+     */
+    public MappedEntries(File file, int regionSize) throws IOException {
+        if (regionSize < BYTES_PER_ENTRY || Integer.bitCount(regionSize) != 1 || regionSize > MappedRegions.REGION_SIZE)
+            throw new IllegalArgumentException("Region size must be a power of two between "
+                    + BYTES_PER_ENTRY + " and " + MappedRegions.REGION_SIZE + ": " + regionSize);
+
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+
+        try {
+            long length = raf.length();
+
+            if (length % BYTES_PER_ENTRY != 0)
+                throw new IOException(file + " is not a file of x/y float pairs, length: " + length);
+
+            if (length / BYTES_PER_ENTRY > Integer.MAX_VALUE)
+                throw new IOException(file + " holds more than " + Integer.MAX_VALUE + " entries");
+
+            mFile = file;
+            mSize = (int) (length / BYTES_PER_ENTRY);
+            mRegions = new MappedRegions(raf.getChannel(), FileChannel.MapMode.READ_ONLY, length,
+                    Integer.numberOfTrailingZeros(regionSize));
+        } catch (IOException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the mapped file.
+     */
+    public File getFile() {
+        return mFile;
+    }
+
+    /**
+     * Returns the x-value at the given index without creating an Entry.
+     */
+    @Override
+    public float getX(int index) {
+        return mRegions.getFloat((long) index * BYTES_PER_ENTRY);
+    }
+
+    /**
+     * Returns the y-value at the given index without creating an Entry.
+     */
+    @Override
+    public float getY(int index) {
+        return mRegions.getFloat((long) index * BYTES_PER_ENTRY + 4);
+    }
+
+    @Override
+    public Entry get(int index) {
+        rangeCheck(index);
+        return new Entry(getX(index), getY(index));
+    }
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof Entry))
+            return -1;
+
+        final float x = ((Entry) o).getX();
+        final float y = ((Entry) o).getY();
+
+        for (int i = 0; i < mSize; i++) {
+            if (getX(i) == x && getY(i) == y)
+                return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) > -1;
+    }
+
+    /**
+     * Closes the file. Pages that were already mapped can still be read.
+     */
+    @Override
+    public void close() throws IOException {
+        mRegions.close();
+    }
+
+    private void rangeCheck(int index) {
+        if (index < 0 || index >= mSize)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+    }
+
+    /**
+     * Writes len values of the given arrays, starting at off, as packed x/y float pairs to
+     * the given file, either replacing its content or appending to it. The values have to
+     * be sorted by x, and appended values must not be smaller than the last x-value of the
+     * file.
+     */
+    public static void write(File file, float[] xs, float[] ys, int off, int len, boolean append)
+            throws IOException {
+
+        if (off < 0 || len < 0 || off + len > xs.length || off + len > ys.length)
+            throw new IndexOutOfBoundsException("off: " + off + ", len: " + len
+                    + ", xs: " + xs.length + ", ys: " + ys.length);
+
+        ByteBuffer buffer = ByteBuffer.allocate(Math.min(len, 8192) * BYTES_PER_ENTRY)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        try (FileOutputStream out = new FileOutputStream(file, append)) {
+            FileChannel channel = out.getChannel();
+
+            for (int i = off, end = off + len; i < end; i++) {
+                buffer.putFloat(xs[i]);
+                buffer.putFloat(ys[i]);
+
+                if (!buffer.hasRemaining() || i == end - 1) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.github.mikephil.charting.data;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Read-only LineDataSet that shows a file of packed x/y float pairs without loading it
+ * onto the heap (see {@link MappedEntries}), meant for histories of hundreds of millions
+ * of values. The lookups binary search the mapped file directly, so drawing only reads
+ * the pages around the visible range. Its level-of-detail pyramid lives in a sidecar file
+ * (see {@link MappedLodPyramid}), which is built once from the entry file, is enabled by
+ * default and also answers the minimum and maximum y-values of any range.
+ * <p/>
+ * All methods that would modify the entries throw an UnsupportedOperationException,
+ * write a new file with MappedEntries.write(...) and create a new DataSet instead.
+ * Call close() once the DataSet is no longer used.
+ */
+public class MappedLineDataSet extends LineDataSet implements Closeable {
+
+    private final MappedLodPyramid mMappedPyramid;
+
+    private final float[] mYRange = new float[2];
+
+    /**
+     * Maps the given file, with the sidecar of the pyramid next to it ("[file].lod").
+     */
+    public MappedLineDataSet(File file, String label) throws IOException {
+        this(new MappedEntries(file), new File(file.getPath() + ".lod"), label);
+    }
+
+    /**
+     * Shows the given entries, with the sidecar of the pyramid at the given location. The
+     * sidecar is built if it is missing or outdated, which reads the whole entry file.
+     */
+    public MappedLineDataSet(MappedEntries entries, File sidecar, String label) throws IOException {
+        this(entries, MappedLodPyramid.open(entries, sidecar), label);
+    }
+
+    private MappedLineDataSet(MappedEntries entries, MappedLodPyramid pyramid, String label) {
+        super(entries, label);
+        mMappedPyramid = pyramid;
+        mLodPyramid = pyramid;
+        calcMinMax();
+    }
+
+    /**
+     * Returns the entries of the mapped file.
+     */
+    public MappedEntries getMappedEntries() {
+        return (MappedEntries) mEntries;
+    }
+
+    @Override
+    public float getXForIndex(int index) {
+        return ((MappedEntries) mEntries).getX(index);
+    }
+
+    @Override
+    public float getYForIndex(int index) {
+        return ((MappedEntries) mEntries).getY(index);
+    }
+
+    /**
+     * The x-range follows from the first and the last entry, the y-range is read from
+     * the pyramid, so no pass over the file is needed.
+     */
+    @Override
+    protected void calcMinMaxOfAllEntries() {
+
+        mYMax = -Float.MAX_VALUE;
+        mYMin = Float.MAX_VALUE;
+        mXMax = -Float.MAX_VALUE;
+        mXMin = Float.MAX_VALUE;
+
+        int count = mEntries.size();
+
+        // called by the super constructor, before the pyramid is opened
+        if (mMappedPyramid == null || count == 0)
+            return;
+
+        mXMin = getXForIndex(0);
+        mXMax = getXForIndex(count - 1);
+
+        mMappedPyramid.getYRange(this, 0, count - 1, mYRange);
+        mYMin = mYRange[0];
+        mYMax = mYRange[1];
+    }
+
+    @Override
+    public void calcMinMaxY(float fromX, float toX) {
+        mYMax = -Float.MAX_VALUE;
+        mYMin = Float.MAX_VALUE;
+
+        if (mEntries.isEmpty())
+            return;
+
+        int indexFrom = getEntryIndex(fromX, Float.NaN, Rounding.DOWN);
+        int indexTo = getEntryIndex(toX, Float.NaN, Rounding.UP);
+
+        mMappedPyramid.getYRange(this, indexFrom, indexTo, mYRange);
+        mYMin = mYRange[0];
+        mYMax = mYRange[1];
+    }
+
+    /**
+     * Not supported, the pyramid already answers the y-range of any range of entries
+     * without holding anything on the heap.
+     *
+     * @throws IllegalStateException if enabled is true
+     */
+    @Override
+    public void setYRangeIndexEnabled(boolean enabled) {
+        if (enabled)
+            throw new IllegalStateException("MappedLineDataSet does not support the y-range index");
+    }
+
+    /**
+     * Enables / disables drawing with the pyramid of the sidecar. Default: enabled
+     */
+    @Override
+    public void setLodEnabled(boolean enabled) {
+        mLodPyramid = enabled ? mMappedPyramid : null;
+    }
+
+    @Override
+    public boolean addEntry(Entry entry) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addEntryOrdered(Entry entry) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addEntries(float[] xs, float[] ys, int off, int len) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeEntry(Entry entry) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeEntry(int index) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeFirst() {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeLast() {
+        throw readOnly();
+    }
+
+    @Override
+    public void clear() {
+        throw readOnly();
+    }
+
+    @Override
+    public void setEntries(List<Entry> entries) {
+        throw readOnly();
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("MappedLineDataSet is read-only");
+    }
+
+    /**
+     * Returns a DataSet that shares the mapped file and sidecar with this one.
+     */
+    @Override
+    public DataSet<Entry> copy() {
+        MappedLineDataSet copied = new MappedLineDataSet(getMappedEntries(), mMappedPyramid, getLabel());
+        copy(copied);
+        copied.setLodEnabled(isLodEnabled());
+        return copied;
+    }
+
+    /**
+     * Closes the entry file and the sidecar, also for all copies of this DataSet.
+     */
+    @Override
+    public void close() throws IOException {
+        getMappedEntries().close();
+        mMappedPyramid.close();
+    }
+}
@@ -0,0 +1,272 @@
+package com.github.mikephil.charting.data;
+
+import com.github.mikephil.charting.interfaces.datasets.IDataSet;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+
+/**
+ * Level-of-detail pyramid over the entries of a {@link MappedEntries} file, stored in a
+ * sidecar file next to it instead of on the heap. The levels and buckets are the same
+ * as the ones of a LodPyramid that is built in memory. The sidecar is built with one
+ * sequential pass over the entries, and rebuilt when it does not match the length or
+ * the modification time of the entry file any more.
+ * <p/>
+ * Layout of the sidecar, little endian: magic, format version (ints), length and
+ * modification time of the entry file (longs), entry count and level count (ints),
+ * followed by the buckets of every level from MIN_LEVEL up, as pairs of the index of the
+ * minimum and the index of the maximum y-value (ints).
+ */
+public class MappedLodPyramid extends LodPyramid implements Closeable {
+
+    private static final int MAGIC = 0x4D504C44;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_SIZE = 32;
+
+    private static final int BYTES_PER_BUCKET = 8;
+
+    private final MappedRegions mRegions;
+
+    private final int mEntryCount;
+
+    private final int mLevelCount;
+
+    /**
+     * the position of the first bucket of every level in the sidecar
+     */
+    private final long[] mLevelOffsets;
+
+    private MappedLodPyramid(MappedRegions regions, int entryCount) {
+        mRegions = regions;
+        mEntryCount = entryCount;
+        mLevelCount = levelCount(entryCount);
+        mLevelOffsets = levelOffsets(entryCount, mLevelCount);
+    }
+
+    /**
+     * Opens the sidecar of the given entries, building it first if it does not exist or
+     * does not belong to the current content of the entry file.
+     */
+    public static MappedLodPyramid open(MappedEntries entries, File sidecar) throws IOException {
+        if (!isUpToDate(entries, sidecar))
+            build(entries, sidecar);
+
+        RandomAccessFile raf = new RandomAccessFile(sidecar, "r");
+        MappedRegions regions = new MappedRegions(raf.getChannel(), FileChannel.MapMode.READ_ONLY, raf.length());
+        return new MappedLodPyramid(regions, entries.size());
+    }
+
+    /**
+     * Returns true if the given sidecar exists and was built from the current content of
+     * the file of the given entries.
+     */
+    public static boolean isUpToDate(MappedEntries entries, File sidecar) throws IOException {
+        if (!sidecar.isFile() || sidecar.length() < HEADER_SIZE)
+            return false;
+
+        File file = entries.getFile();
+
+        try (RandomAccessFile raf = new RandomAccessFile(sidecar, "r")) {
+            return raf.readInt() == Integer.reverseBytes(MAGIC)
+                    && raf.readInt() == Integer.reverseBytes(FORMAT_VERSION)
+                    && raf.readLong() == Long.reverseBytes(file.length())
+                    && raf.readLong() == Long.reverseBytes(file.lastModified())
+                    && raf.readInt() == Integer.reverseBytes(entries.size())
+                    && raf.readInt() == Integer.reverseBytes(levelCount(entries.size()))
+                    && raf.length() == levelOffsets(entries.size(), levelCount(entries.size()))[levelCount(entries.size())];
+        }
+    }
+
+    /**
+     * Builds the sidecar of the given entries with one sequential pass over them. The
+     * finest level is fed with every entry, a coarser level only with the finished
+     * buckets of the level below, so it takes O(1) per entry.
+     */
+    public static void build(MappedEntries entries, File sidecar) throws IOException {
+        int count = entries.size();
+        int levels = levelCount(count);
+        long[] offsets = levelOffsets(count, levels);
+
+        int[] minIndices = new int[levels];
+        int[] maxIndices = new int[levels];
+        float[] minValues = new float[levels];
+        float[] maxValues = new float[levels];
+        boolean[] open = new boolean[levels];
+
+        try (RandomAccessFile raf = new RandomAccessFile(sidecar, "rw")) {
+            raf.setLength(0);
+            raf.setLength(offsets[levels]);
+
+            MappedRegions out = new MappedRegions(raf.getChannel(), FileChannel.MapMode.READ_WRITE, offsets[levels]);
+
+            for (int i = 0; i < count && levels > 0; i++) {
+                int minIndex = i;
+                int maxIndex = i;
+                float min = entries.getY(i);
+                float max = min;
+
+                for (int l = 0; l < levels; l++) {
+
+                    // merge the entry, or the finished bucket of the level below
+                    if (!open[l]) {
+                        open[l] = true;
+                        minIndices[l] = minIndex;
+                        maxIndices[l] = maxIndex;
+                        minValues[l] = min;
+                        maxValues[l] = max;
+                    } else {
+                        if (min < minValues[l]) {
+                            minIndices[l] = minIndex;
+                            minValues[l] = min;
+                        }
+                        if (max > maxValues[l]) {
+                            maxIndices[l] = maxIndex;
+                            maxValues[l] = max;
+                        }
+                    }
+
+                    int level = MIN_LEVEL + l;
+                    int mask = (1 << level) - 1;
+
+                    if ((i & mask) != mask && i != count - 1)
+                        break;
+
+                    long position = offsets[l] + (long) (i >> level) * BYTES_PER_BUCKET;
+                    out.putInt(position, minIndices[l]);
+                    out.putInt(position + 4, maxIndices[l]);
+                    open[l] = false;
+
+                    minIndex = minIndices[l];
+                    maxIndex = maxIndices[l];
+                    min = minValues[l];
+                    max = maxValues[l];
+                }
+            }
+
+            // the header comes last, an interrupted build is never taken as up to date
+            File file = entries.getFile();
+            out.putInt(0, MAGIC);
+            out.putInt(4, FORMAT_VERSION);
+            out.putLong(8, file.length());
+            out.putLong(16, file.lastModified());
+            out.putInt(24, count);
+            out.putInt(28, levels);
+            out.force();
+        }
+    }
+
+    /**
+     * Returns the number of levels a pyramid over the given number of entries has, the
+     * same as a LodPyramid: a level is added as soon as it has more than one bucket.
+     */
+    private static int levelCount(int entryCount) {
+        int levels = 0;
+
+        while (MIN_LEVEL + levels < 31 && entryCount > 1 << (MIN_LEVEL + levels)) {
+            levels++;
+        }
+
+        return levels;
+    }
+
+    /**
+     * Returns the position of the first bucket of every level, followed by the size of
+     * the sidecar.
+     */
+    private static long[] levelOffsets(int entryCount, int levels) {
+        long[] offsets = new long[levels + 1];
+        long offset = HEADER_SIZE;
+
+        for (int l = 0; l < levels; l++) {
+            int level = MIN_LEVEL + l;
+            offsets[l] = offset;
+            offset += (((long) entryCount + (1L << level) - 1) >> level) * BYTES_PER_BUCKET;
+        }
+
+        offsets[levels] = offset;
+        return offsets;
+    }
+
+    @Override
+    public int getEntryCount() {
+        return mEntryCount;
+    }
+
+    @Override
+    public int getMaxLevel() {
+        return MIN_LEVEL + mLevelCount - 1;
+    }
+
+    @Override
+    protected int getMinIndex(int level, int bucket) {
+        return mRegions.getInt(mLevelOffsets[level - MIN_LEVEL] + (long) bucket * BYTES_PER_BUCKET);
+    }
+
+    @Override
+    protected int getMaxIndex(int level, int bucket) {
+        return mRegions.getInt(mLevelOffsets[level - MIN_LEVEL] + (long) bucket * BYTES_PER_BUCKET + 4);
+    }
+
+    /**
+     * Does nothing, the entries of the file cannot change.
+     */
+    @Override
+    public void update(IDataSet<?> set) {
+    }
+
+    /**
+     * Does nothing, the entries of the file cannot change.
+     */
+    @Override
+    public void invalidate() {
+    }
+
+    /**
+     * Writes the minimum and the maximum y-value of the entries [from, to] of the given
+     * DataSet into out[0] and out[1]. The range is covered with the biggest buckets that
+     * fit into it, so only O(log n) buckets and up to 2 * 2^MIN_LEVEL entries are read.
+     */
+    public void getYRange(IDataSet<?> set, int from, int to, float[] out) {
+        float min = Float.MAX_VALUE;
+        float max = -Float.MAX_VALUE;
+        int maxLevel = getMaxLevel();
+        int index = from;
+
+        while (index <= to) {
+
+            // the biggest bucket that starts at index and ends inside the range
+            int level = Math.min(Integer.numberOfTrailingZeros(index),
+                    31 - Integer.numberOfLeadingZeros(to - index + 1));
+            level = Math.min(level, maxLevel);
+
+            if (level < MIN_LEVEL) {
+                float y = set.getYForIndex(index);
+                min = Math.min(min, y);
+                max = Math.max(max, y);
+                index++;
+                continue;
+            }
+
+            int bucket = index >> level;
+            min = Math.min(min, set.getYForIndex(getMinIndex(level, bucket)));
+            max = Math.max(max, set.getYForIndex(getMaxIndex(level, bucket)));
+            index += 1 << level;
+        }
+
+        out[0] = min;
+        out[1] = max;
+    }
+
+    /**
+     * Closes the sidecar. Pages that were already mapped can still be read.
+     */
+    @Override
+    public void close() throws IOException {
+        mRegions.close();
+    }
+}
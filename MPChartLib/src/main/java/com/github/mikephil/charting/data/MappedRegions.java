@@ -0,0 +1,126 @@
+package com.github.mikephil.charting.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Maps a file of any size into memory in regions of REGION_SIZE bytes by default, since
+ * a single MappedByteBuffer cannot cover more than 2 GB. A region is only mapped when it
+ * is first accessed, and the pages of a mapped region are only read from the file when
+ * they are touched, so the heap never holds the contents of the file. All values are
+ * little endian and must be aligned to their size, so that none of them spans two regions.
+ */
+final class MappedRegions implements Closeable {
+
+    static final int REGION_SHIFT = 30;
+
+    static final long REGION_SIZE = 1L << REGION_SHIFT;
+
+    private final int mRegionShift;
+
+    private final long mRegionMask;
+
+    private final FileChannel mChannel;
+
+    private final FileChannel.MapMode mMode;
+
+    private final long mSize;
+
+    /**
+     * the regions that are mapped so far, null for the others
+     */
+    private final MappedByteBuffer[] mRegions;
+
+    MappedRegions(FileChannel channel, FileChannel.MapMode mode, long size) {
+        this(channel, mode, size, REGION_SHIFT);
+    }
+
+    /**
+     * Maps in regions of 2^regionShift bytes instead of REGION_SIZE. Smaller regions only
+     * make sense to cover the region boundaries with small files.
+     */
+    MappedRegions(FileChannel channel, FileChannel.MapMode mode, long size, int regionShift) {
+        if (regionShift < 3 || regionShift > REGION_SHIFT)
+            throw new IllegalArgumentException("Region shift must be between 3 and " + REGION_SHIFT + ": " + regionShift);
+
+        mChannel = channel;
+        mMode = mode;
+        mSize = size;
+        mRegionShift = regionShift;
+        mRegionMask = (1L << regionShift) - 1;
+        mRegions = new MappedByteBuffer[(int) ((size + mRegionMask) >>> regionShift)];
+    }
+
+    /**
+     * Returns the number of bytes that are mapped.
+     */
+    long size() {
+        return mSize;
+    }
+
+    float getFloat(long position) {
+        return region(position).getFloat((int) (position & mRegionMask));
+    }
+
+    int getInt(long position) {
+        return region(position).getInt((int) (position & mRegionMask));
+    }
+
+    long getLong(long position) {
+        return region(position).getLong((int) (position & mRegionMask));
+    }
+
+    void putInt(long position, int value) {
+        region(position).putInt((int) (position & mRegionMask), value);
+    }
+
+    void putLong(long position, long value) {
+        region(position).putLong((int) (position & mRegionMask), value);
+    }
+
+    /**
+     * Writes the changes of all mapped regions to the file.
+     */
+    void force() {
+        for (MappedByteBuffer region : mRegions) {
+            if (region != null)
+                region.force();
+        }
+    }
+
+    /**
+     * Closes the file channel. Regions that are already mapped stay valid until they are
+     * garbage collected, mapping further regions fails.
+     */
+    @Override
+    public void close() throws IOException {
+        mChannel.close();
+    }
+
+    /**
+     * Returns the region that contains the given position, mapping it on first use. Racing
+     * threads may map a region twice, which is harmless.
+     */
+    private MappedByteBuffer region(long position) {
+        int index = (int) (position >>> mRegionShift);
+        MappedByteBuffer region = mRegions[index];
+
+        if (region != null)
+            return region;
+
+        long start = (long) index << mRegionShift;
+
+        try {
+            region = mChannel.map(mMode, start, Math.min(mRegionMask + 1, mSize - start));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not map bytes " + start + " and following", e);
+        }
+
+        region.order(ByteOrder.LITTLE_ENDIAN);
+        mRegions[index] = region;
+        return region;
+    }
+}
@@ -0,0 +1,213 @@
+
+package com.github.mikephil.charting.data;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Segment tree over a list of [min, max] value pairs that answers the minimum and
+ * maximum over any index range in O(log n). DataSets use it to find the y-range of
+ * the visible entries without scanning them (see DataSet.setYRangeIndexEnabled(...)).
+ * <p/>
+ * Appending and setting a value are O(log n), removing the first or the last value is
+ * O(1). Inserting or removing in between shifts the following values and rebuilds the
+ * tree in O(n).
+ */
+public class MinMaxRangeIndex implements Serializable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * number of leaves, always a power of two
+     */
+    private int mCapacity;
+
+    /**
+     * the tree of minimum values, node i has the children 2i and 2i + 1, the leaves
+     * start at mCapacity
+     */
+    private float[] mMin;
+
+    /**
+     * the tree of maximum values, laid out like mMin
+     */
+    private float[] mMax;
+
+    /**
+     * leaf offset of index 0, values removed at the front just move this forward
+     */
+    private int mStart = 0;
+
+    private int mSize = 0;
+
+    public MinMaxRangeIndex() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MinMaxRangeIndex(int initialCapacity) {
+        allocate(initialCapacity);
+    }
+
+    /**
+     * Returns the number of value pairs in the index.
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Removes all values from the index.
+     */
+    public void clear() {
+        mStart = 0;
+        mSize = 0;
+    }
+
+    /**
+     * Appends a value pair in amortized O(log n).
+     */
+    public void add(float min, float max) {
+        if (mStart + mSize == mCapacity) {
+            // compact if at least half of the leaves were freed at the front, grow otherwise
+            relocate(mSize * 2 > mCapacity ? mCapacity * 2 : mCapacity);
+        }
+
+        update(mStart + mSize, min, max);
+        mSize++;
+    }
+
+    /**
+     * Replaces the value pair at the given index in O(log n).
+     */
+    public void set(int index, float min, float max) {
+        rangeCheck(index);
+        update(mStart + index, min, max);
+    }
+
+    /**
+     * Inserts a value pair at the given index, shifting all following values.
+     */
+    public void insert(int index, float min, float max) {
+        if (index < 0 || index > mSize)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+
+        if (index == mSize) {
+            add(min, max);
+            return;
+        }
+
+        if (mStart + mSize == mCapacity) {
+            relocate(mSize * 2 > mCapacity ? mCapacity * 2 : mCapacity);
+        }
+
+        int node = mCapacity + mStart + index;
+        System.arraycopy(mMin, node, mMin, node + 1, mSize - index);
+        System.arraycopy(mMax, node, mMax, node + 1, mSize - index);
+        mMin[node] = min;
+        mMax[node] = max;
+        mSize++;
+        rebuildNodes();
+    }
+
+    /**
+     * Removes the value pair at the given index.
+     */
+    public void remove(int index) {
+        rangeCheck(index);
+
+        if (index == 0) {
+            mStart++;
+        } else if (index < mSize - 1) {
+            int node = mCapacity + mStart + index;
+            System.arraycopy(mMin, node + 1, mMin, node, mSize - index - 1);
+            System.arraycopy(mMax, node + 1, mMax, node, mSize - index - 1);
+            mSize--;
+            rebuildNodes();
+            return;
+        }
+
+        mSize--;
+        if (mSize == 0)
+            mStart = 0;
+    }
+
+    /**
+     * Returns the minimum over the indices from (inclusive) to (inclusive).
+     */
+    public float getMin(int from, int to) {
+        float result = Float.MAX_VALUE;
+
+        for (int l = mCapacity + mStart + from, r = mCapacity + mStart + to + 1; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                result = Math.min(result, mMin[l++]);
+            }
+            if ((r & 1) == 1) {
+                result = Math.min(result, mMin[--r]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the maximum over the indices from (inclusive) to (inclusive).
+     */
+    public float getMax(int from, int to) {
+        float result = -Float.MAX_VALUE;
+
+        for (int l = mCapacity + mStart + from, r = mCapacity + mStart + to + 1; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                result = Math.max(result, mMax[l++]);
+            }
+            if ((r & 1) == 1) {
+                result = Math.max(result, mMax[--r]);
+            }
+        }
+        return result;
+    }
+
+    private void update(int leaf, float min, float max) {
+        int node = mCapacity + leaf;
+        mMin[node] = min;
+        mMax[node] = max;
+
+        for (node >>= 1; node > 0; node >>= 1) {
+            mMin[node] = Math.min(mMin[2 * node], mMin[2 * node + 1]);
+            mMax[node] = Math.max(mMax[2 * node], mMax[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Moves the values to the front of a tree with the given number of leaves.
+     */
+    private void relocate(int capacity) {
+        float[] min = mMin;
+        float[] max = mMax;
+        int from = mCapacity + mStart;
+
+        allocate(capacity);
+        System.arraycopy(min, from, mMin, mCapacity, mSize);
+        System.arraycopy(max, from, mMax, mCapacity, mSize);
+        mStart = 0;
+        rebuildNodes();
+    }
+
+    private void allocate(int capacity) {
+        mCapacity = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        mMin = new float[2 * mCapacity];
+        mMax = new float[2 * mCapacity];
+        Arrays.fill(mMin, Float.MAX_VALUE);
+        Arrays.fill(mMax, -Float.MAX_VALUE);
+    }
+
+    private void rebuildNodes() {
+        for (int node = mCapacity - 1; node > 0; node--) {
+            mMin[node] = Math.min(mMin[2 * node], mMin[2 * node + 1]);
+            mMax[node] = Math.max(mMax[2 * node], mMax[2 * node + 1]);
+        }
+    }
+
+    private void rangeCheck(int index) {
+        if (index < 0 || index >= mSize)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+    }
+}
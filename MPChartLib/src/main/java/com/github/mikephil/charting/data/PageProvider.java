@@ -0,0 +1,39 @@
+package com.github.mikephil.charting.data;
+
+import java.io.IOException;
+
+/**
+ * Source of the values of a {@link PagedLineDataSet}, e.g. a local database or a file
+ * that holds far more values than fit into memory. The values are sorted by x and split
+ * into pages of getPageSize() values, only the last page may hold less.
+ * <p/>
+ * loadPage(...) is called on a background thread of the DataSet, possibly while the
+ * chart calls the other methods on the UI thread, so implementations must be thread-safe.
+ */
+public interface PageProvider {
+
+    /**
+     * Returns the total number of values.
+     */
+    int getEntryCount();
+
+    /**
+     * Returns the number of values per page.
+     */
+    int getPageSize();
+
+    /**
+     * Fills the summary of every page, which the DataSet keeps in memory: the first and
+     * the last x-value and the minimum and maximum y-value of the page. The arrays have
+     * one element per page. Called when the DataSet is created and by reload(), it should
+     * be cheap compared to loading the pages, e.g. a precomputed index or an aggregate
+     * query.
+     */
+    void loadSummary(float[] firstX, float[] lastX, float[] minY, float[] maxY) throws IOException;
+
+    /**
+     * Loads the values of the given page into the given arrays (which hold getPageSize()
+     * values) and returns their number. Called on a background thread.
+     */
+    int loadPage(int page, float[] xs, float[] ys) throws IOException;
+}
@@ -0,0 +1,688 @@
+package com.github.mikephil.charting.data;
+
+import com.github.mikephil.charting.utils.ChartExecutors;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
+/**
+ * Read-only LineDataSet for histories that do not fit into memory. The values are loaded
+ * in pages from a {@link PageProvider} on a background thread, and at most
+ * getMaxCachedPages() pages are kept, the least recently visible ones are dropped first.
+ * <p/>
+ * A summary of every page (its x-range and y-range) is loaded up front. A page that is
+ * not loaded is represented by two entries in the middle of its x-range, its minimum and
+ * its maximum y-value, so the chart draws a coarse outline of the page until its values
+ * arrive, and a zoomed out chart that shows more pages than the cache holds draws the
+ * outline of all of them without loading any. The entry indices change whenever a page
+ * is loaded or dropped, the x-values and the minimum and maximum values do not.
+ * <p/>
+ * The chart calls prefetch(...) through onBeginDraw(...) before every frame with the
+ * visible range and the fling velocity. It requests the visible pages and the pages ahead
+ * of the pan or fling direction, and applies the pages that were loaded since the last
+ * frame, so drawing never waits for the provider.
+ */
+public class PagedLineDataSet extends LineDataSet {
+
+    /**
+     * the default number of pages kept in memory
+     */
+    public static final int DEFAULT_MAX_CACHED_PAGES = 32;
+
+    /**
+     * the seconds of a fling whose distance is prefetched ahead of the visible range
+     */
+    private static final float FLING_LOOKAHEAD_SECONDS = 0.5f;
+
+    private final PageProvider mProvider;
+
+    private final int mPageSize;
+
+    private int mPageCount;
+
+    /**
+     * the summary of every page
+     */
+    private float[] mFirstX;
+    private float[] mLastX;
+    private float[] mMinY;
+    private float[] mMaxY;
+
+    /**
+     * the loaded pages by their index, null for pages that are not loaded
+     */
+    private Page[] mPages;
+
+    /**
+     * the index of the first entry of every page, and the entry count at the end
+     */
+    private int[] mPageStarts;
+
+    /**
+     * the loaded pages in the order they were last visible, the eldest first
+     */
+    private final LinkedHashMap<Integer, Page> mCache = new LinkedHashMap<Integer, Page>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Page> eldest) {
+            if (size() <= mMaxCachedPages)
+                return false;
+
+            mPages[eldest.getKey()] = null;
+            return true;
+        }
+    };
+
+    private int mMaxCachedPages = DEFAULT_MAX_CACHED_PAGES;
+
+    private int mPrefetchPageCount = 2;
+
+    /**
+     * the page of the last lookup by entry index
+     */
+    private int mLastPage = 0;
+
+    /**
+     * the pages requested from the loader and not applied yet
+     */
+    private final HashSet<Integer> mInFlight = new HashSet<>();
+
+    /**
+     * the pages the loader finished, applied on the UI thread by prefetch(...)
+     */
+    private final ConcurrentLinkedQueue<Page> mLoaded = new ConcurrentLinkedQueue<>();
+
+    /**
+     * the pages that are still wanted, the loader skips requests outside of them
+     */
+    private volatile int mWantedFrom = 0;
+    private volatile int mWantedTo = -1;
+
+    /**
+     * incremented by reload(), pages of older generations are dropped
+     */
+    private volatile int mGeneration = 0;
+
+    private volatile Runnable mOnPageLoaded;
+
+    private volatile IOException mLoadError;
+
+    private Executor mExecutor;
+
+    /**
+     * the lowest visible x-value of the last prefetch(...), NaN before the first one
+     */
+    private float mLastFromX = Float.NaN;
+
+    /**
+     * Creates the DataSet and loads the summary of the pages of the given provider.
+     */
+    public PagedLineDataSet(PageProvider provider, String label) throws IOException {
+        super(null, label);
+
+        if (provider.getPageSize() < 1)
+            throw new IllegalArgumentException("The page size must be > 0");
+
+        mProvider = provider;
+        mPageSize = provider.getPageSize();
+        mEntries = new EntriesView();
+        loadSummary();
+        calcMinMax();
+    }
+
+    /**
+     * Creates a copy that shares the provider and the summary, without loaded pages.
+     */
+    private PagedLineDataSet(PagedLineDataSet set) {
+        super(null, set.getLabel());
+        mProvider = set.mProvider;
+        mPageSize = set.mPageSize;
+        mPageCount = set.mPageCount;
+        mFirstX = set.mFirstX;
+        mLastX = set.mLastX;
+        mMinY = set.mMinY;
+        mMaxY = set.mMaxY;
+        mPages = new Page[mPageCount];
+        mPageStarts = new int[mPageCount + 1];
+        mMaxCachedPages = set.mMaxCachedPages;
+        mPrefetchPageCount = set.mPrefetchPageCount;
+        mExecutor = set.mExecutor;
+        mEntries = new EntriesView();
+        updatePageStarts();
+        calcMinMax();
+    }
+
+    private void loadSummary() throws IOException {
+        int entryCount = mProvider.getEntryCount();
+        int pageCount = (int) ((entryCount + (long) mPageSize - 1) / mPageSize);
+
+        float[] firstX = new float[pageCount];
+        float[] lastX = new float[pageCount];
+        float[] minY = new float[pageCount];
+        float[] maxY = new float[pageCount];
+        mProvider.loadSummary(firstX, lastX, minY, maxY);
+
+        mPageCount = pageCount;
+        mFirstX = firstX;
+        mLastX = lastX;
+        mMinY = minY;
+        mMaxY = maxY;
+        mPages = new Page[pageCount];
+        mPageStarts = new int[pageCount + 1];
+        mCache.clear();
+        mInFlight.clear();
+        mLoaded.clear();
+        mLastPage = 0;
+        updatePageStarts();
+    }
+
+    /**
+     * Loads the summary of the provider again, e.g. after values were appended to it, and
+     * drops all loaded pages.
+     */
+    public void reload() throws IOException {
+        mGeneration++;
+        loadSummary();
+        notifyDataSetChanged();
+    }
+
+    public PageProvider getProvider() {
+        return mProvider;
+    }
+
+    public int getPageSize() {
+        return mPageSize;
+    }
+
+    public int getPageCount() {
+        return mPageCount;
+    }
+
+    /**
+     * Returns true if the values of the given page are loaded.
+     */
+    public boolean isPageLoaded(int page) {
+        return mPages[page] != null;
+    }
+
+    /**
+     * Returns the number of loaded pages.
+     */
+    public int getLoadedPageCount() {
+        return mCache.size();
+    }
+
+    /**
+     * Sets the maximum number of pages kept in memory, it should be a few pages more than
+     * the chart shows at once. Default: DEFAULT_MAX_CACHED_PAGES
+     */
+    public void setMaxCachedPages(int count) {
+        if (count < 1)
+            throw new IllegalArgumentException("At least one page must be cached");
+
+        mMaxCachedPages = count;
+
+        // drop the eldest pages that no longer fit
+        while (mCache.size() > count) {
+            Integer eldest = mCache.keySet().iterator().next();
+            mPages[eldest] = null;
+            mCache.remove(eldest);
+        }
+
+        updatePageStarts();
+        incrementVersion();
+    }
+
+    public int getMaxCachedPages() {
+        return mMaxCachedPages;
+    }
+
+    /**
+     * Sets the number of pages that are prefetched ahead of the visible range in the
+     * direction of a pan or fling, in addition to the distance the fling covers in half a
+     * second. Default: 2
+     */
+    public void setPrefetchPageCount(int count) {
+        mPrefetchPageCount = Math.max(0, count);
+    }
+
+    public int getPrefetchPageCount() {
+        return mPrefetchPageCount;
+    }
+
+    /**
+     * Sets the executor the pages are loaded on, null to use the background thread that is
+     * shared by all charts, see ChartExecutors. A provider that blocks for long should be
+     * given an executor of its own.
+     */
+    public void setExecutor(Executor executor) {
+        mExecutor = executor;
+    }
+
+    /**
+     * Returns the exception of the last page that could not be loaded, or null. The page
+     * is requested again by the next prefetch(...) that needs it.
+     */
+    public IOException getLoadError() {
+        return mLoadError;
+    }
+
+    /**
+     * Applies the pages that were loaded since the last call, and requests the pages of
+     * the given visible range that are not loaded yet, followed by the pages ahead of it.
+     * Called by the chart on the UI thread before every frame, it never waits for a page.
+     *
+     * @param fromX        the lowest visible x-value
+     * @param toX          the highest visible x-value
+     * @param velocityX    the x-values per second the visible range moves by because of a
+     *                     fling, 0 if there is none. Without it, the direction of the pan
+     *                     since the last call is used.
+     * @param onPageLoaded run on the loader thread after a page was loaded, e.g. to
+     *                     invalidate the chart, or null
+     */
+    public void prefetch(float fromX, float toX, float velocityX, Runnable onPageLoaded) {
+        mOnPageLoaded = onPageLoaded;
+        applyLoadedPages();
+
+        if (mPageCount == 0)
+            return;
+
+        float direction = velocityX;
+
+        if (direction == 0f && !Float.isNaN(mLastFromX))
+            direction = fromX - mLastFromX;
+
+        mLastFromX = fromX;
+
+        int first = getPageForX(fromX);
+        int last = getPageForX(toX);
+        int visible = last - first + 1;
+
+        // too many pages to load, the summary of all of them is drawn instead
+        if (visible > mMaxCachedPages) {
+            mWantedFrom = 0;
+            mWantedTo = -1;
+            return;
+        }
+
+        int aheadFrom = first;
+        int aheadTo = last;
+        float flingDistance = Math.abs(velocityX) * FLING_LOOKAHEAD_SECONDS;
+
+        if (direction > 0f) {
+            aheadTo = getPageForX(toX + flingDistance) + mPrefetchPageCount;
+        } else if (direction < 0f) {
+            aheadFrom = getPageForX(fromX - flingDistance) - mPrefetchPageCount;
+        }
+
+        // the pages ahead and one page behind, as far as the cache holds them
+        int room = mMaxCachedPages - visible;
+        aheadFrom = Math.max(Math.max(0, aheadFrom), first - room);
+        aheadTo = Math.min(Math.min(mPageCount - 1, aheadTo), last + room);
+        room -= (first - aheadFrom) + (aheadTo - last);
+
+        int behindFrom = first;
+        int behindTo = last;
+
+        if (room > 0) {
+            if (direction > 0f)
+                behindFrom = Math.max(0, first - 1);
+            else if (direction < 0f)
+                behindTo = Math.min(mPageCount - 1, last + 1);
+        }
+
+        mWantedFrom = Math.min(aheadFrom, behindFrom);
+        mWantedTo = Math.max(aheadTo, behindTo);
+
+        // the loader works through the requests in order: visible pages first, then
+        // the pages ahead from the visible range outwards, then the page behind
+        for (int p = first; p <= last; p++) {
+            request(p);
+        }
+
+        for (int p = last + 1; p <= aheadTo; p++) {
+            request(p);
+        }
+
+        for (int p = first - 1; p >= aheadFrom; p--) {
+            request(p);
+        }
+
+        request(behindFrom);
+        request(behindTo);
+
+        // the visible pages are the most recently used ones
+        for (int p = first; p <= last; p++) {
+            if (mPages[p] != null)
+                mCache.get(p);
+        }
+    }
+
+    /**
+     * Prefetches the pages of the visible range, see prefetch(...).
+     */
+    @Override
+    public void onBeginDraw(float fromX, float toX, float velocityX, Runnable invalidate) {
+        prefetch(fromX, toX, velocityX, invalidate);
+    }
+
+    /**
+     * Requests the given page from the loader, unless it is loaded or requested already.
+     */
+    private void request(int page) {
+        if (mPages[page] != null || mInFlight.contains(page))
+            return;
+
+        mInFlight.add(page);
+
+        Executor executor = mExecutor != null ? mExecutor : ChartExecutors.getBackgroundExecutor();
+        executor.execute(new LoadTask(page, mGeneration));
+    }
+
+    /**
+     * Moves the pages the loader finished into the cache, on the UI thread.
+     */
+    private void applyLoadedPages() {
+        boolean changed = false;
+        Page page;
+
+        while ((page = mLoaded.poll()) != null) {
+
+            if (page.mGeneration != mGeneration)
+                continue;
+
+            mInFlight.remove(page.mIndex);
+
+            if (page.mCount < 0)
+                continue;
+
+            mPages[page.mIndex] = page;
+            mCache.put(page.mIndex, page);
+            changed = true;
+        }
+
+        if (changed) {
+            updatePageStarts();
+            incrementVersion();
+        }
+    }
+
+    private void updatePageStarts() {
+        int start = 0;
+
+        for (int p = 0; p < mPageCount; p++) {
+            mPageStarts[p] = start;
+            start += mPages[p] != null ? mPages[p].mCount : 2;
+        }
+
+        mPageStarts[mPageCount] = start;
+    }
+
+    /**
+     * Returns the page whose x-range is closest to the given x-value.
+     */
+    public int getPageForX(float x) {
+        int low = 0;
+        int high = mPageCount - 1;
+
+        // the last page that starts at or before x
+        while (low < high) {
+            int m = (low + high + 1) >>> 1;
+
+            if (mFirstX[m] <= x)
+                low = m;
+            else
+                high = m - 1;
+        }
+
+        if (low + 1 < mPageCount && x > mLastX[low] && mFirstX[low + 1] - x < x - mLastX[low])
+            low++;
+
+        return low;
+    }
+
+    /**
+     * Returns the page that holds the entry at the given index.
+     */
+    private int getPageForIndex(int index) {
+        if (index < 0 || index >= mPageStarts[mPageCount])
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + getEntryCount());
+
+        // sequential reads stay within one page most of the time
+        if (index >= mPageStarts[mLastPage] && index < mPageStarts[mLastPage + 1])
+            return mLastPage;
+
+        int low = 0;
+        int high = mPageCount - 1;
+
+        while (low < high) {
+            int m = (low + high + 1) >>> 1;
+
+            if (mPageStarts[m] <= index)
+                low = m;
+            else
+                high = m - 1;
+        }
+
+        mLastPage = low;
+        return low;
+    }
+
+    @Override
+    public int getEntryCount() {
+        // called from the super constructor
+        if (mPageStarts == null)
+            return 0;
+
+        return mPageStarts[mPageCount];
+    }
+
+    @Override
+    public float getXForIndex(int index) {
+        int p = getPageForIndex(index);
+        Page page = mPages[p];
+
+        if (page != null)
+            return page.mXs[index - mPageStarts[p]];
+
+        return (mFirstX[p] + mLastX[p]) / 2f;
+    }
+
+    @Override
+    public float getYForIndex(int index) {
+        int p = getPageForIndex(index);
+        Page page = mPages[p];
+
+        if (page != null)
+            return page.mYs[index - mPageStarts[p]];
+
+        return index == mPageStarts[p] ? mMinY[p] : mMaxY[p];
+    }
+
+    @Override
+    protected void calcMinMaxOfAllEntries() {
+
+        mYMax = -Float.MAX_VALUE;
+        mYMin = Float.MAX_VALUE;
+        mXMax = -Float.MAX_VALUE;
+        mXMin = Float.MAX_VALUE;
+
+        // called from the super constructor
+        if (mFirstX == null || mPageCount == 0)
+            return;
+
+        mXMin = mFirstX[0];
+        mXMax = mLastX[mPageCount - 1];
+
+        for (int p = 0; p < mPageCount; p++) {
+            mYMin = Math.min(mYMin, mMinY[p]);
+            mYMax = Math.max(mYMax, mMaxY[p]);
+        }
+    }
+
+    /**
+     * Takes the y-range of the pages that are covered completely from their summary, and
+     * only scans the values of the loaded pages at both ends.
+     */
+    @Override
+    public void calcMinMaxY(float fromX, float toX) {
+        mYMax = -Float.MAX_VALUE;
+        mYMin = Float.MAX_VALUE;
+
+        if (getEntryCount() == 0)
+            return;
+
+        int indexFrom = getEntryIndex(fromX, Float.NaN, Rounding.DOWN);
+        int indexTo = getEntryIndex(toX, Float.NaN, Rounding.UP);
+
+        int i = indexFrom;
+
+        while (i <= indexTo) {
+            int p = getPageForIndex(i);
+
+            if (i == mPageStarts[p] && mPageStarts[p + 1] - 1 <= indexTo) {
+                mYMin = Math.min(mYMin, mMinY[p]);
+                mYMax = Math.max(mYMax, mMaxY[p]);
+                i = mPageStarts[p + 1];
+                continue;
+            }
+
+            float y = getYForIndex(i);
+
+            if (y < mYMin)
+                mYMin = y;
+
+            if (y > mYMax)
+                mYMax = y;
+
+            i++;
+        }
+    }
+
+    @Override
+    public boolean addEntry(Entry entry) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addEntryOrdered(Entry entry) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addEntries(float[] xs, float[] ys, int off, int len) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeEntry(Entry entry) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeEntry(int index) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeFirst() {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeLast() {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeEntryByXValue(float xValue) {
+        throw readOnly();
+    }
+
+    @Override
+    public void clear() {
+        throw readOnly();
+    }
+
+    @Override
+    public void setEntries(List<Entry> entries) {
+        throw readOnly();
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("PagedLineDataSet is read-only");
+    }
+
+    /**
+     * Returns a DataSet that shares the provider and the summary with this one, and loads
+     * its own pages.
+     */
+    @Override
+    public DataSet<Entry> copy() {
+        PagedLineDataSet copied = new PagedLineDataSet(this);
+        copy(copied);
+        return copied;
+    }
+
+    /**
+     * The values of a loaded page, or a request that was skipped or failed (count -1).
+     */
+    private static final class Page {
+
+        final int mIndex;
+        final int mGeneration;
+        float[] mXs;
+        float[] mYs;
+        int mCount = -1;
+
+        Page(int index, int generation) {
+            mIndex = index;
+            mGeneration = generation;
+        }
+    }
+
+    /**
+     * Loads one page on the loader thread.
+     */
+    private final class LoadTask implements Runnable {
+
+        private final int mPage;
+        private final int mTaskGeneration;
+
+        LoadTask(int page, int generation) {
+            mPage = page;
+            mTaskGeneration = generation;
+        }
+
+        @Override
+        public void run() {
+            Page page = new Page(mPage, mTaskGeneration);
+
+            // the chart moved on, the page is requested again if it is needed
+            if (mTaskGeneration != mGeneration || mPage < mWantedFrom || mPage > mWantedTo) {
+                mLoaded.add(page);
+                return;
+            }
+
+            try {
+                page.mXs = new float[mPageSize];
+                page.mYs = new float[mPageSize];
+                page.mCount = Math.min(mProvider.loadPage(mPage, page.mXs, page.mYs), mPageSize);
+            } catch (IOException e) {
+                mLoadError = e;
+                page.mCount = -1;
+            }
+
+            mLoaded.add(page);
+
+            Runnable onPageLoaded = mOnPageLoaded;
+
+            if (onPageLoaded != null && page.mCount >= 0)
+                onPageLoaded.run();
+        }
+    }
+}
@@ -33,6 +33,9 @@ public class PieData extends ChartData<IPieDataSet> {
      * @param dataSet
      */
     public void setDataSet(IPieDataSet dataSet) {
+        for (IPieDataSet set : mDataSets) {
+            mVersion += set.getVersion();
+        }
         mDataSets.clear();
         mDataSets.add(dataSet);
         notifyDataChanged();
@@ -67,6 +67,7 @@ public class PieDataSet extends DataSet<PieEntry> implements IPieDataSet {
      * Default: 0 --> no space, maximum 20f
      */
     public void setSliceSpace(float spaceDp) {
+        incrementVersion();
 
         if (spaceDp > 20)
             spaceDp = 20f;
@@ -86,6 +87,7 @@ public class PieDataSet extends DataSet<PieEntry> implements IPieDataSet {
      * smaller than the slice spacing itself.
      */
     public void setAutomaticallyDisableSliceSpacing(boolean autoDisable) {
+        incrementVersion();
         mAutomaticallyDisableSliceSpacing = autoDisable;
     }
 
@@ -103,6 +105,7 @@ public class PieDataSet extends DataSet<PieEntry> implements IPieDataSet {
      * "shifted" away from the center of the chart, default 12f
      */
     public void setSelectionShift(float shift) {
+        incrementVersion();
         mShift = Utils.convertDpToPixel(shift);
     }
 
@@ -117,6 +120,7 @@ public class PieDataSet extends DataSet<PieEntry> implements IPieDataSet {
     }
 
     public void setXValuePosition(ValuePosition xValuePosition) {
+        incrementVersion();
         this.mXValuePosition = xValuePosition;
     }
 
@@ -126,6 +130,7 @@ public class PieDataSet extends DataSet<PieEntry> implements IPieDataSet {
     }
 
     public void setYValuePosition(ValuePosition yValuePosition) {
+        incrementVersion();
         this.mYValuePosition = yValuePosition;
     }
 
@@ -144,6 +149,7 @@ public class PieDataSet extends DataSet<PieEntry> implements IPieDataSet {
      */
     @Deprecated
     public void setUsingSliceColorAsValueLineColor(boolean enabled) {
+        incrementVersion();
         setUseValueColorForLine(enabled);
     }
 
@@ -156,6 +162,7 @@ public class PieDataSet extends DataSet<PieEntry> implements IPieDataSet {
     }
 
     public void setValueLineColor(int valueLineColor) {
+        incrementVersion();
         this.mValueLineColor = valueLineColor;
     }
 
@@ -167,6 +174,7 @@ public class PieDataSet extends DataSet<PieEntry> implements IPieDataSet {
 
     public void setUseValueColorForLine(boolean enabled)
     {
+        incrementVersion();
         mUseValueColorForLine = enabled;
     }
 
@@ -179,6 +187,7 @@ public class PieDataSet extends DataSet<PieEntry> implements IPieDataSet {
     }
 
     public void setValueLineWidth(float valueLineWidth) {
+        incrementVersion();
         this.mValueLineWidth = valueLineWidth;
     }
 
@@ -191,6 +200,7 @@ public class PieDataSet extends DataSet<PieEntry> implements IPieDataSet {
     }
 
     public void setValueLinePart1OffsetPercentage(float valueLinePart1OffsetPercentage) {
+        incrementVersion();
         this.mValueLinePart1OffsetPercentage = valueLinePart1OffsetPercentage;
     }
 
@@ -203,6 +213,7 @@ public class PieDataSet extends DataSet<PieEntry> implements IPieDataSet {
     }
 
     public void setValueLinePart1Length(float valueLinePart1Length) {
+        incrementVersion();
         this.mValueLinePart1Length = valueLinePart1Length;
     }
 
@@ -215,6 +226,7 @@ public class PieDataSet extends DataSet<PieEntry> implements IPieDataSet {
     }
 
     public void setValueLinePart2Length(float valueLinePart2Length) {
+        incrementVersion();
         this.mValueLinePart2Length = valueLinePart2Length;
     }
 
@@ -227,6 +239,7 @@ public class PieDataSet extends DataSet<PieEntry> implements IPieDataSet {
     }
 
     public void setValueLineVariableLength(boolean valueLineVariableLength) {
+        incrementVersion();
         this.mValueLineVariableLength = valueLineVariableLength;
     }
 
@@ -241,6 +254,7 @@ public class PieDataSet extends DataSet<PieEntry> implements IPieDataSet {
     /** Sets the color for the highlighted sector (null for using entry color) */
     public void setHighlightColor(@Nullable Integer color)
     {
+        incrementVersion();
         this.mHighlightColor = color;
     }
 
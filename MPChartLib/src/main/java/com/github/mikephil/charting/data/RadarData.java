@@ -35,6 +35,7 @@ public class RadarData extends ChartData<IRadarDataSet> {
      * @param labels
      */
     public void setLabels(List<String> labels) {
+        mVersion++;
         this.mLabels = labels;
     }
 
@@ -44,6 +45,7 @@ public class RadarData extends ChartData<IRadarDataSet> {
      * @param labels
      */
     public void setLabels(String... labels) {
+        mVersion++;
         this.mLabels = Arrays.asList(labels);
     }
 
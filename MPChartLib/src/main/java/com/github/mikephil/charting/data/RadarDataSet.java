@@ -38,6 +38,7 @@ public class RadarDataSet extends LineRadarDataSet<RadarEntry> implements IRadar
     /// Sets whether highlight circle should be drawn or not
     @Override
     public void setDrawHighlightCircleEnabled(boolean enabled) {
+        incrementVersion();
         mDrawHighlightCircleEnabled = enabled;
     }
 
@@ -47,6 +48,7 @@ public class RadarDataSet extends LineRadarDataSet<RadarEntry> implements IRadar
     }
 
     public void setHighlightCircleFillColor(int color) {
+        incrementVersion();
         mHighlightCircleFillColor = color;
     }
 
@@ -60,6 +62,7 @@ public class RadarDataSet extends LineRadarDataSet<RadarEntry> implements IRadar
     /// Sets the stroke color for highlight circle.
     /// Set to Utils.COLOR_NONE in order to use the color of the dataset;
     public void setHighlightCircleStrokeColor(int color) {
+        incrementVersion();
         mHighlightCircleStrokeColor = color;
     }
 
@@ -69,6 +72,7 @@ public class RadarDataSet extends LineRadarDataSet<RadarEntry> implements IRadar
     }
 
     public void setHighlightCircleStrokeAlpha(int alpha) {
+        incrementVersion();
         mHighlightCircleStrokeAlpha = alpha;
     }
 
@@ -78,6 +82,7 @@ public class RadarDataSet extends LineRadarDataSet<RadarEntry> implements IRadar
     }
 
     public void setHighlightCircleInnerRadius(float radius) {
+        incrementVersion();
         mHighlightCircleInnerRadius = radius;
     }
 
@@ -87,6 +92,7 @@ public class RadarDataSet extends LineRadarDataSet<RadarEntry> implements IRadar
     }
 
     public void setHighlightCircleOuterRadius(float radius) {
+        incrementVersion();
         mHighlightCircleOuterRadius = radius;
     }
 
@@ -96,6 +102,7 @@ public class RadarDataSet extends LineRadarDataSet<RadarEntry> implements IRadar
     }
 
     public void setHighlightCircleStrokeWidth(float strokeWidth) {
+        incrementVersion();
         mHighlightCircleStrokeWidth = strokeWidth;
     }
 
@@ -0,0 +1,506 @@
+package com.github.mikephil.charting.data;
+
+import java.util.List;
+
+/**
+ * LineDataSet for always-on monitoring that keeps its values by a retention policy, like
+ * a round robin database: the newest values at full resolution, older values rolled up
+ * into {@link RollupTier}s of increasingly coarse buckets, e.g.
+ * <pre>
+ * new RetentionLineDataSet("cpu", HOUR, 3_600_000,
+ *         new RollupTier(MINUTE, DAY), new RollupTier(HOUR, 30 * DAY));
+ * </pre>
+ * keeps the last hour of values, the last day in 1-minute buckets and the last month in
+ * 1-hour buckets. Values that leave the span of the raw values (or do not fit into the
+ * raw capacity) are rolled up into the first tier, buckets that leave the span of a tier
+ * into the next one, and the last tier drops its oldest buckets. The spans are counted
+ * back from the newest value.
+ * <p/>
+ * The entries of the DataSet are the buckets of all tiers, oldest first, followed by the
+ * raw values, so the renderers and the lookups see one series sorted by time and draw the
+ * tiers that fall into the visible range without knowing about them. Every bucket is
+ * represented by two entries, its minimum and its maximum value at the times they
+ * occurred, which keeps the peaks of the rolled up values visible. The averages are
+ * available from the tiers, see getTier(...).
+ * <p/>
+ * Like in a {@link TimeSeriesLineDataSet}, the times are longs and the x-values are the
+ * times relative to an origin. All storage is allocated up front, getMemoryBound() reports
+ * its size. Values are expected in ascending time order. A value older than the newest one
+ * is inserted among the raw values, rolled up into the bucket that covers it, or dropped
+ * if it is older than all of them. Entries cannot be removed one by one, the values are
+ * removed by the tiers and the remove methods return false.
+ */
+public class RetentionLineDataSet extends LineDataSet {
+
+    private final long mRawSpan;
+
+    private final long[] mRawTimes;
+
+    private final float[] mRawYValues;
+
+    /**
+     * physical index of the oldest raw value
+     */
+    private int mRawHead = 0;
+
+    private int mRawSize = 0;
+
+    /**
+     * the tiers, finest first
+     */
+    private final RollupTier[] mTiers;
+
+    /**
+     * the newest time that was added, Long.MIN_VALUE if none
+     */
+    private long mNewestTime = Long.MIN_VALUE;
+
+    /**
+     * the number of values that were dropped without being rolled up
+     */
+    private long mDroppedCount = 0;
+
+    private long mOrigin = 0L;
+
+    /**
+     * true if the origin is fixed, either by setOrigin(...) or by the first time added
+     */
+    private boolean mOriginSet = false;
+
+    /**
+     * @param label         the label of the DataSet
+     * @param rawSpan       the time units the raw values are kept for, counted back from
+     *                      the newest value
+     * @param maxRawEntries the maximum number of raw values, values beyond it are rolled
+     *                      up before they leave the raw span
+     * @param tiers         the rollup tiers, finest first. The bucket width of each tier
+     *                      must be a multiple of the width of the tier before it.
+     */
+    public RetentionLineDataSet(String label, long rawSpan, int maxRawEntries, RollupTier... tiers) {
+        super(null, label);
+
+        if (rawSpan <= 0)
+            throw new IllegalArgumentException("The raw span must be > 0");
+
+        if (maxRawEntries < 1)
+            throw new IllegalArgumentException("The raw capacity must be > 0");
+
+        for (int i = 1; i < tiers.length; i++) {
+            if (tiers[i].getBucketWidth() % tiers[i - 1].getBucketWidth() != 0)
+                throw new IllegalArgumentException("The bucket width of tier " + i
+                        + " is not a multiple of the width of tier " + (i - 1));
+        }
+
+        mRawSpan = rawSpan;
+        mRawTimes = new long[maxRawEntries];
+        mRawYValues = new float[maxRawEntries];
+        mTiers = new RollupTier[tiers.length];
+
+        for (int i = 0; i < tiers.length; i++) {
+            mTiers[i] = new RollupTier(tiers[i]);
+        }
+
+        linkTiers();
+        mEntries = new EntriesView();
+    }
+
+    private void linkTiers() {
+        for (int i = 0; i < mTiers.length; i++) {
+            mTiers[i].mCoarser = i + 1 < mTiers.length ? mTiers[i + 1] : null;
+        }
+    }
+
+    /**
+     * Returns the tier with the given index, finest first.
+     */
+    public RollupTier getTier(int index) {
+        return mTiers[index];
+    }
+
+    public int getTierCount() {
+        return mTiers.length;
+    }
+
+    /**
+     * Returns the number of values held at full resolution.
+     */
+    public int getRawEntryCount() {
+        return mRawSize;
+    }
+
+    public long getRawSpan() {
+        return mRawSpan;
+    }
+
+    /**
+     * Returns the number of values that were dropped: rolled up values that left the span
+     * of the last tier (or raw values that left the raw span without any tier), and late
+     * values that were older than all kept values.
+     */
+    public long getDroppedCount() {
+        long dropped = mDroppedCount;
+
+        if (mTiers.length > 0)
+            dropped += mTiers[mTiers.length - 1].getDroppedCount();
+
+        return dropped;
+    }
+
+    /**
+     * Returns the bytes the values of this DataSet occupy at most: 12 bytes per raw value
+     * and RollupTier.BYTES_PER_BUCKET per bucket of each tier. All of it is allocated when
+     * the DataSet is created, it does not grow with the data.
+     */
+    public long getMemoryBound() {
+        long bytes = 12L * mRawTimes.length;
+
+        for (RollupTier tier : mTiers) {
+            bytes += (long) RollupTier.BYTES_PER_BUCKET * tier.getCapacity();
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Returns the maximum number of entries of this DataSet, two per bucket of each tier
+     * and one per raw value.
+     */
+    public int getMaxEntryCount() {
+        long count = mRawTimes.length;
+
+        for (RollupTier tier : mTiers) {
+            count += 2L * tier.getCapacity();
+        }
+
+        return (int) Math.min(Integer.MAX_VALUE, count);
+    }
+
+    /**
+     * Returns the time that has the x-value 0.
+     */
+    public long getOrigin() {
+        return mOrigin;
+    }
+
+    /**
+     * Sets the time that has the x-value 0, which moves the x-values of all entries and
+     * recalculates the minimum and maximum values. The origin of a ChartData object
+     * overrides it, see ChartData.setXOrigin(...).
+     */
+    public void setOrigin(long origin) {
+        mOriginSet = true;
+
+        if (origin == mOrigin)
+            return;
+
+        incrementVersion();
+        mOrigin = origin;
+        calcMinMax();
+    }
+
+    @Override
+    public long getFirstTime() {
+        return getEntryCount() > 0 ? getTimeForIndex(0) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Sets the origin of the ChartData object, see setOrigin(...).
+     */
+    @Override
+    public void applyXOrigin(long origin) {
+        setOrigin(origin);
+    }
+
+    /**
+     * Returns true if the origin is fixed, false if it is still taken from the first time
+     * that is added.
+     */
+    public boolean isOriginSet() {
+        return mOriginSet;
+    }
+
+    /**
+     * Returns the time the given x-value stands for, rounded to the unit of the times.
+     */
+    public long getTimeForX(float x) {
+        return mOrigin + Math.round((double) x);
+    }
+
+    /**
+     * Returns the x-value of the given time.
+     */
+    public float getXForTime(long time) {
+        return (float) (time - mOrigin);
+    }
+
+    /**
+     * Returns the full precision time at the given index.
+     */
+    public long getTimeForIndex(int index) {
+        for (int t = mTiers.length - 1; t >= 0; t--) {
+            int count = 2 * mTiers[t].size();
+
+            if (index < count)
+                return mTiers[t].getExtremeTime(index >> 1, index & 1);
+
+            index -= count;
+        }
+
+        return mRawTimes[rawSlot(index)];
+    }
+
+    @Override
+    public float getXForIndex(int index) {
+        return getXForTime(getTimeForIndex(index));
+    }
+
+    @Override
+    public float getYForIndex(int index) {
+        for (int t = mTiers.length - 1; t >= 0; t--) {
+            int count = 2 * mTiers[t].size();
+
+            if (index < count)
+                return mTiers[t].getExtreme(index >> 1, index & 1);
+
+            index -= count;
+        }
+
+        return mRawYValues[rawSlot(index)];
+    }
+
+    @Override
+    public int getEntryCount() {
+        int count = mRawSize;
+
+        for (RollupTier tier : mTiers) {
+            count += 2 * tier.size();
+        }
+
+        return count;
+    }
+
+    /**
+     * Adds the given value without creating an Entry, and rolls up the values that leave
+     * the raw span or the span of a tier. Appending is O(1) plus the rollups, which are
+     * O(1) per value and bucket.
+     */
+    public void addEntry(long time, float y) {
+        incrementVersion();
+
+        if (!mOriginSet) {
+            mOriginSet = true;
+            mOrigin = time;
+        }
+
+        long dropped = getDroppedCount();
+
+        if (mRawSize > 0 && time < mNewestTime) {
+            addLate(time, y);
+        } else {
+            if (mRawSize == mRawTimes.length)
+                rollUpOldestRaw();
+
+            int slot = rawSlot(mRawSize);
+            mRawTimes[slot] = time;
+            mRawYValues[slot] = y;
+            mRawSize++;
+            mNewestTime = Math.max(mNewestTime, time);
+        }
+
+        rollUp();
+
+        if (getDroppedCount() != dropped) {
+            // the minimum or maximum may have been dropped
+            calcMinMaxOfAllEntries();
+            return;
+        }
+
+        if (y < mYMin)
+            mYMin = y;
+
+        if (y > mYMax)
+            mYMax = y;
+
+        int count = getEntryCount();
+        mXMin = getXForIndex(0);
+        mXMax = getXForIndex(count - 1);
+    }
+
+    /**
+     * Inserts a value older than the newest one among the raw values, or rolls it up into
+     * the bucket that covers it.
+     */
+    private void addLate(long time, float y) {
+
+        if (time >= mRawTimes[mRawHead]) {
+            if (mRawSize == mRawTimes.length)
+                rollUpOldestRaw();
+
+            // behind all raw values with the same time
+            int index = mRawSize;
+            while (index > 0 && mRawTimes[rawSlot(index - 1)] > time) {
+                mRawTimes[rawSlot(index)] = mRawTimes[rawSlot(index - 1)];
+                mRawYValues[rawSlot(index)] = mRawYValues[rawSlot(index - 1)];
+                index--;
+            }
+
+            mRawTimes[rawSlot(index)] = time;
+            mRawYValues[rawSlot(index)] = y;
+            mRawSize++;
+            return;
+        }
+
+        for (RollupTier tier : mTiers) {
+            if (tier.addToExistingBucket(time, y))
+                return;
+        }
+
+        mDroppedCount++;
+    }
+
+    /**
+     * Rolls up the raw values and buckets that left their span.
+     */
+    private void rollUp() {
+
+        while (mRawSize > 0 && mRawTimes[mRawHead] <= mNewestTime - mRawSpan)
+            rollUpOldestRaw();
+
+        for (RollupTier tier : mTiers) {
+            tier.moveBucketsBefore(mNewestTime - tier.getSpan());
+        }
+    }
+
+    private void rollUpOldestRaw() {
+
+        if (mTiers.length > 0)
+            mTiers[0].add(mRawTimes[mRawHead], mRawYValues[mRawHead]);
+        else
+            mDroppedCount++;
+
+        mRawHead = rawSlot(1);
+        mRawSize--;
+    }
+
+    private int rawSlot(int index) {
+        int slot = mRawHead + index;
+        return slot >= mRawTimes.length ? slot - mRawTimes.length : slot;
+    }
+
+    /**
+     * Adds the time of the given entry: the time of a TimeEntry, the x-value relative to
+     * the origin otherwise.
+     */
+    @Override
+    public boolean addEntry(Entry entry) {
+        long time = entry instanceof TimeEntry
+                ? ((TimeEntry) entry).getTime()
+                : mOrigin + Math.round((double) entry.getX());
+
+        mOriginSet = true;
+        addEntry(time, entry.getY());
+        return true;
+    }
+
+    @Override
+    public void addEntryOrdered(Entry entry) {
+        addEntry(entry);
+    }
+
+    @Override
+    public void addEntries(float[] xs, float[] ys, int off, int len) {
+        checkBatchRange(xs, ys, off, len);
+        mOriginSet = true;
+
+        for (int i = off, end = off + len; i < end; i++) {
+            addEntry(getTimeForX(xs[i]), ys[i]);
+        }
+    }
+
+    /**
+     * Removes all values, including the rolled up ones, and calls notifyDataSetChanged()
+     */
+    @Override
+    public void clear() {
+        removeAll();
+        notifyDataSetChanged();
+    }
+
+    private void removeAll() {
+        mRawHead = 0;
+        mRawSize = 0;
+        mNewestTime = Long.MIN_VALUE;
+        mDroppedCount = 0;
+
+        for (RollupTier tier : mTiers) {
+            tier.clear();
+        }
+    }
+
+    /**
+     * Replaces the values with the given entries, which are added (and rolled up) one by
+     * one, and calls notifyDataSetChanged()
+     */
+    @Override
+    public void setEntries(List<Entry> entries) {
+        removeAll();
+
+        if (entries != null) {
+            for (Entry e : entries) {
+                addEntry(e);
+            }
+        }
+
+        notifyDataSetChanged();
+    }
+
+    @Override
+    public boolean removeEntry(Entry entry) {
+        return false;
+    }
+
+    @Override
+    public boolean removeEntry(int index) {
+        return false;
+    }
+
+    @Override
+    public boolean removeFirst() {
+        return false;
+    }
+
+    @Override
+    public boolean removeLast() {
+        return false;
+    }
+
+    @Override
+    public boolean removeEntryByXValue(float xValue) {
+        return false;
+    }
+
+    @Override
+    public DataSet<Entry> copy() {
+        RetentionLineDataSet copied = new RetentionLineDataSet(getLabel(), mRawSpan, mRawTimes.length, mTiers);
+        System.arraycopy(mRawTimes, 0, copied.mRawTimes, 0, mRawTimes.length);
+        System.arraycopy(mRawYValues, 0, copied.mRawYValues, 0, mRawYValues.length);
+        copied.mRawHead = mRawHead;
+        copied.mRawSize = mRawSize;
+        copied.mNewestTime = mNewestTime;
+        copied.mDroppedCount = mDroppedCount;
+        copied.mOrigin = mOrigin;
+        copied.mOriginSet = mOriginSet;
+        copied.calcMinMax();
+        copy(copied);
+        return copied;
+    }
+
+    /**
+     * The entries carry the full precision time of the bucket or raw value.
+     */
+    @Override
+    protected Entry createEntryForIndex(int index) {
+        long time = getTimeForIndex(index);
+        return new TimeEntry(time, getXForTime(time), getYForIndex(index));
+    }
+}
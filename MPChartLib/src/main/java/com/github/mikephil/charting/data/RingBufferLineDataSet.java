@@ -0,0 +1,394 @@
+
+package com.github.mikephil.charting.data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * LineDataSet for live streaming that holds at most a fixed number of values in an
+ * {@link EntryRingBuffer}. Appending to a full DataSet overwrites the oldest value,
+ * and addEntry(...) and removeFirst() are O(1), including the update of the minimum
+ * and maximum values: the y-extremes are tracked with two monotonic deques, so
+ * evicting a value never rescans the buffer.
+ * <p/>
+ * Values must be appended in ascending x-order (as required by getEntryIndex(...)
+ * anyway), the minimum and maximum x-value are taken from the oldest and the newest
+ * value. Removing anything else than the oldest value recalculates the deques.
+ */
+public class RingBufferLineDataSet extends LineDataSet {
+
+    /**
+     * slots of the values that can still become the minimum y-value, ascending by y
+     */
+    private SlotDeque mMinCandidates;
+
+    /**
+     * slots of the values that can still become the maximum y-value, descending by y
+     */
+    private SlotDeque mMaxCandidates;
+
+    public RingBufferLineDataSet(int capacity, String label) {
+        super(new EntryRingBuffer(capacity), label);
+    }
+
+    /**
+     * Returns the ring buffer that holds the values of this DataSet.
+     */
+    public EntryRingBuffer getBuffer() {
+        return (EntryRingBuffer) mEntries;
+    }
+
+    /**
+     * Returns the maximum number of values this DataSet holds.
+     */
+    public int getCapacity() {
+        return getBuffer().getCapacity();
+    }
+
+    @Override
+    public float getXForIndex(int index) {
+        return ((EntryRingBuffer) mEntries).getX(index);
+    }
+
+    @Override
+    public float getYForIndex(int index) {
+        return ((EntryRingBuffer) mEntries).getY(index);
+    }
+
+    /**
+     * Rebuilds the monotonic deques from all values in the buffer.
+     */
+    @Override
+    public void calcMinMax() {
+        EntryRingBuffer buffer = getBuffer();
+
+        if (mMinCandidates == null) {
+            // called from the super constructor
+            mMinCandidates = new SlotDeque(buffer.getCapacity());
+            mMaxCandidates = new SlotDeque(buffer.getCapacity());
+        }
+
+        mMinCandidates.clear();
+        mMaxCandidates.clear();
+
+        for (int i = 0, count = buffer.size(); i < count; i++) {
+            pushCandidate(buffer.getSlot(i), buffer.getY(i));
+        }
+
+        applyMinMax();
+    }
+
+    @Override
+    public void calcMinMaxY(float fromX, float toX) {
+        EntryRingBuffer buffer = getBuffer();
+
+        if (buffer.isEmpty()) {
+            mYMax = -Float.MAX_VALUE;
+            mYMin = Float.MAX_VALUE;
+            return;
+        }
+
+        int indexFrom = getEntryIndex(fromX, Float.NaN, Rounding.DOWN);
+        int indexTo = getEntryIndex(toX, Float.NaN, Rounding.UP);
+
+        if (indexFrom == 0 && indexTo == buffer.size() - 1) {
+            // the whole buffer is visible, the deques already know the answer
+            applyMinMax();
+            return;
+        }
+
+        mYMax = -Float.MAX_VALUE;
+        mYMin = Float.MAX_VALUE;
+
+        for (int i = indexFrom; i <= indexTo; i++) {
+            float y = buffer.getY(i);
+
+            if (y < mYMin)
+                mYMin = y;
+
+            if (y > mYMax)
+                mYMax = y;
+        }
+    }
+
+    /**
+     * Not supported, the monotonic deques already answer the y-range of the whole buffer,
+     * and partial ranges are scanned.
+     *
+     * @throws IllegalStateException if enabled is true
+     */
+    @Override
+    public void setYRangeIndexEnabled(boolean enabled) {
+        if (enabled)
+            throw new IllegalStateException("RingBufferLineDataSet does not support the y-range index");
+    }
+
+    /**
+     * Not supported, appending to a full buffer shifts the index of every value, which
+     * would rebuild the pyramid on every append.
+     *
+     * @throws IllegalStateException if enabled is true
+     */
+    @Override
+    public void setLodEnabled(boolean enabled) {
+        if (enabled)
+            throw new IllegalStateException("RingBufferLineDataSet does not support the level-of-detail pyramid");
+    }
+
+    /**
+     * Appends the given values in O(1) without creating an Entry. If the DataSet is
+     * full, the oldest value is overwritten.
+     */
+    public void addEntry(float x, float y) {
+        EntryRingBuffer buffer = getBuffer();
+        incrementVersion();
+
+        if (buffer.isFull()) {
+            evictCandidates(buffer.getSlot(0));
+        }
+
+        int slot = buffer.add(x, y);
+        pushCandidate(slot, y);
+        applyMinMax();
+    }
+
+    @Override
+    public boolean addEntry(Entry entry) {
+        addEntry(entry.getX(), entry.getY());
+        return true;
+    }
+
+    /**
+     * Appends the values of a batch in O(1) each and applies the new minimum and maximum
+     * once. Values older than the newest value of the buffer are inserted in order, which
+     * recalculates the deques after the batch.
+     */
+    @Override
+    public void addEntries(float[] xs, float[] ys, int off, int len) {
+        checkBatchRange(xs, ys, off, len);
+
+        if (len == 0)
+            return;
+
+        EntryRingBuffer buffer = getBuffer();
+        incrementVersion();
+
+        boolean inserted = false;
+
+        for (int i = off, end = off + len; i < end; i++) {
+            float x = xs[i];
+            float y = ys[i];
+
+            if (!buffer.isEmpty() && buffer.getX(buffer.size() - 1) > x) {
+                buffer.add(getEntryIndex(x, y, Rounding.UP), new Entry(x, y));
+                inserted = true;
+                continue;
+            }
+
+            // the deques are rebuilt anyway once a value was inserted
+            if (inserted) {
+                buffer.add(x, y);
+                continue;
+            }
+
+            if (buffer.isFull()) {
+                evictCandidates(buffer.getSlot(0));
+            }
+
+            int slot = buffer.add(x, y);
+            pushCandidate(slot, y);
+        }
+
+        if (inserted) {
+            calcMinMax();
+        } else {
+            applyMinMax();
+        }
+    }
+
+    @Override
+    public void addEntryOrdered(Entry entry) {
+        EntryRingBuffer buffer = getBuffer();
+
+        if (buffer.isEmpty() || buffer.getX(buffer.size() - 1) <= entry.getX()) {
+            addEntry(entry.getX(), entry.getY());
+        } else {
+            int closestIndex = getEntryIndex(entry.getX(), entry.getY(), Rounding.UP);
+            buffer.add(closestIndex, entry);
+            incrementVersion();
+            calcMinMax();
+        }
+    }
+
+    /**
+     * Removes the oldest value in O(1).
+     */
+    @Override
+    public boolean removeFirst() {
+        EntryRingBuffer buffer = getBuffer();
+
+        if (buffer.isEmpty())
+            return false;
+
+        incrementVersion();
+        evictCandidates(buffer.getSlot(0));
+        buffer.removeOldest();
+        applyMinMax();
+        return true;
+    }
+
+    /**
+     * Removes the newest value. This recalculates the deques, since values that were
+     * dropped from them because of the newest value could become extremes again.
+     */
+    @Override
+    public boolean removeLast() {
+        if (!getBuffer().removeNewest())
+            return false;
+
+        incrementVersion();
+        calcMinMax();
+        return true;
+    }
+
+    @Override
+    public boolean removeEntry(int index) {
+        EntryRingBuffer buffer = getBuffer();
+
+        if (index < 0 || index >= buffer.size())
+            return false;
+
+        if (index == 0)
+            return removeFirst();
+
+        buffer.remove(index);
+        incrementVersion();
+        calcMinMax();
+        return true;
+    }
+
+    /**
+     * Copies the x- and y-values of the given entries into the buffer of this DataSet
+     * (keeping only the newest ones if there are more than the capacity), and calls
+     * notifyDataSetChanged()
+     */
+    @Override
+    public void setEntries(List<Entry> entries) {
+        EntryRingBuffer buffer = getBuffer();
+        buffer.clear();
+
+        if (entries != null) {
+            for (int i = Math.max(0, entries.size() - buffer.getCapacity()); i < entries.size(); i++) {
+                Entry e = entries.get(i);
+                buffer.add(e.getX(), e.getY());
+            }
+        }
+        notifyDataSetChanged();
+    }
+
+    @Override
+    public boolean contains(Entry entry) {
+        return mEntries.indexOf(entry) > -1;
+    }
+
+    @Override
+    public DataSet<Entry> copy() {
+        EntryRingBuffer buffer = getBuffer();
+        RingBufferLineDataSet copied = new RingBufferLineDataSet(buffer.getCapacity(), getLabel());
+        for (int i = 0; i < buffer.size(); i++) {
+            copied.addEntry(buffer.getX(i), buffer.getY(i));
+        }
+        copy(copied);
+        return copied;
+    }
+
+    private void pushCandidate(int slot, float y) {
+        EntryRingBuffer buffer = getBuffer();
+
+        while (!mMinCandidates.isEmpty() && buffer.getYAtSlot(mMinCandidates.peekLast()) >= y)
+            mMinCandidates.pollLast();
+        mMinCandidates.addLast(slot);
+
+        while (!mMaxCandidates.isEmpty() && buffer.getYAtSlot(mMaxCandidates.peekLast()) <= y)
+            mMaxCandidates.pollLast();
+        mMaxCandidates.addLast(slot);
+    }
+
+    /**
+     * Drops the value at the given slot from the deques, it must be the oldest value.
+     */
+    private void evictCandidates(int slot) {
+        if (!mMinCandidates.isEmpty() && mMinCandidates.peekFirst() == slot)
+            mMinCandidates.pollFirst();
+
+        if (!mMaxCandidates.isEmpty() && mMaxCandidates.peekFirst() == slot)
+            mMaxCandidates.pollFirst();
+    }
+
+    private void applyMinMax() {
+        EntryRingBuffer buffer = getBuffer();
+
+        if (buffer.isEmpty()) {
+            mYMax = -Float.MAX_VALUE;
+            mYMin = Float.MAX_VALUE;
+            mXMax = -Float.MAX_VALUE;
+            mXMin = Float.MAX_VALUE;
+            return;
+        }
+
+        mYMin = buffer.getYAtSlot(mMinCandidates.peekFirst());
+        mYMax = buffer.getYAtSlot(mMaxCandidates.peekFirst());
+        mXMin = buffer.getX(0);
+        mXMax = buffer.getX(buffer.size() - 1);
+    }
+
+    /**
+     * Fixed-capacity double ended queue of buffer slots.
+     */
+    private static final class SlotDeque implements Serializable {
+
+        private final int[] mSlots;
+        private int mHead = 0;
+        private int mSize = 0;
+
+        SlotDeque(int capacity) {
+            mSlots = new int[capacity];
+        }
+
+        boolean isEmpty() {
+            return mSize == 0;
+        }
+
+        int peekFirst() {
+            return mSlots[mHead];
+        }
+
+        int peekLast() {
+            return mSlots[index(mSize - 1)];
+        }
+
+        void pollFirst() {
+            mHead = index(1);
+            mSize--;
+        }
+
+        void pollLast() {
+            mSize--;
+        }
+
+        void addLast(int slot) {
+            mSlots[index(mSize)] = slot;
+            mSize++;
+        }
+
+        void clear() {
+            mHead = 0;
+            mSize = 0;
+        }
+
+        private int index(int offset) {
+            int index = mHead + offset;
+            return index >= mSlots.length ? index - mSlots.length : index;
+        }
+    }
+}
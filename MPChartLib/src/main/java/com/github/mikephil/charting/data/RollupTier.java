@@ -0,0 +1,331 @@
+package com.github.mikephil.charting.data;
+
+import java.io.Serializable;
+
+/**
+ * One tier of rolled up values of a {@link RetentionLineDataSet}: the values of the last
+ * span time units, combined into buckets of a fixed width (e.g. 1-minute buckets for
+ * the last day). Each bucket keeps the minimum and the maximum value together with their
+ * times, the sum and the number of values, so its average is known as well. The buckets
+ * are held in a ring whose capacity follows from the span and the width, which bounds
+ * the memory of the tier.
+ */
+public class RollupTier implements Serializable {
+
+    /**
+     * the bytes one bucket needs
+     */
+    public static final int BYTES_PER_BUCKET = 8 + 8 + 4 + 4 + 8 + 4;
+
+    private final long mBucketWidth;
+
+    private final long mSpan;
+
+    private final long[] mMinTimes;
+    private final long[] mMaxTimes;
+    private final float[] mMins;
+    private final float[] mMaxs;
+    private final double[] mSums;
+    private final int[] mCounts;
+
+    /**
+     * physical index of the oldest bucket
+     */
+    private int mHead = 0;
+
+    private int mSize = 0;
+
+    /**
+     * the tier the oldest buckets are moved to, null for the last tier
+     */
+    RollupTier mCoarser;
+
+    private long mDroppedCount = 0;
+
+    /**
+     * @param bucketWidth the time units one bucket covers, e.g. 60 000 for 1-minute
+     *                    buckets of millisecond times
+     * @param span        the time units the tier keeps, counted back from the newest value
+     *                    of the DataSet
+     */
+    public RollupTier(long bucketWidth, long span) {
+        if (bucketWidth <= 0)
+            throw new IllegalArgumentException("The bucket width must be > 0");
+
+        if (span < bucketWidth)
+            throw new IllegalArgumentException("The span must be >= the bucket width");
+
+        if (span / bucketWidth > Integer.MAX_VALUE - 2)
+            throw new IllegalArgumentException("Too many buckets: " + span / bucketWidth);
+
+        mBucketWidth = bucketWidth;
+        mSpan = span;
+
+        // a partial bucket at both ends of the span
+        int capacity = (int) (span / bucketWidth) + 2;
+        mMinTimes = new long[capacity];
+        mMaxTimes = new long[capacity];
+        mMins = new float[capacity];
+        mMaxs = new float[capacity];
+        mSums = new double[capacity];
+        mCounts = new int[capacity];
+    }
+
+    /**
+     * Creates a copy of the given tier, without its link to the next tier.
+     */
+    RollupTier(RollupTier tier) {
+        mBucketWidth = tier.mBucketWidth;
+        mSpan = tier.mSpan;
+        mMinTimes = tier.mMinTimes.clone();
+        mMaxTimes = tier.mMaxTimes.clone();
+        mMins = tier.mMins.clone();
+        mMaxs = tier.mMaxs.clone();
+        mSums = tier.mSums.clone();
+        mCounts = tier.mCounts.clone();
+        mHead = tier.mHead;
+        mSize = tier.mSize;
+        mDroppedCount = tier.mDroppedCount;
+    }
+
+    public long getBucketWidth() {
+        return mBucketWidth;
+    }
+
+    public long getSpan() {
+        return mSpan;
+    }
+
+    /**
+     * Returns the maximum number of buckets of this tier.
+     */
+    public int getCapacity() {
+        return mCounts.length;
+    }
+
+    /**
+     * Returns the number of buckets that hold values.
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Returns the time the bucket at the given index (0 is the oldest) starts at.
+     */
+    public long getStartTime(int index) {
+        return getBucket(mMinTimes[slot(index)]) * mBucketWidth;
+    }
+
+    public float getMin(int index) {
+        return mMins[slot(index)];
+    }
+
+    public float getMax(int index) {
+        return mMaxs[slot(index)];
+    }
+
+    public long getMinTime(int index) {
+        return mMinTimes[slot(index)];
+    }
+
+    public long getMaxTime(int index) {
+        return mMaxTimes[slot(index)];
+    }
+
+    public float getAverage(int index) {
+        int slot = slot(index);
+        return (float) (mSums[slot] / mCounts[slot]);
+    }
+
+    /**
+     * Returns the number of values that were rolled up into the bucket at the given index.
+     */
+    public int getCount(int index) {
+        return mCounts[slot(index)];
+    }
+
+    /**
+     * Returns the time of the first (j = 0) or the second (j = 1) extreme of the bucket at
+     * the given index, in the order they occurred.
+     */
+    long getExtremeTime(int index, int j) {
+        int slot = slot(index);
+        boolean minFirst = mMinTimes[slot] <= mMaxTimes[slot];
+        return minFirst == (j == 0) ? mMinTimes[slot] : mMaxTimes[slot];
+    }
+
+    /**
+     * Returns the value of the first (j = 0) or the second (j = 1) extreme of the bucket
+     * at the given index, in the order they occurred.
+     */
+    float getExtreme(int index, int j) {
+        int slot = slot(index);
+        boolean minFirst = mMinTimes[slot] <= mMaxTimes[slot];
+        return minFirst == (j == 0) ? mMins[slot] : mMaxs[slot];
+    }
+
+    boolean isFull() {
+        return mSize == mCounts.length;
+    }
+
+    /**
+     * Returns true if the newest bucket covers the given time.
+     */
+    boolean isInNewestBucket(long time) {
+        return mSize > 0 && getBucket(mMinTimes[slot(mSize - 1)]) == getBucket(time);
+    }
+
+    /**
+     * Returns the index of the bucket that covers the given time, or -1.
+     */
+    int indexOfBucket(long time) {
+        long bucket = getBucket(time);
+        int low = 0;
+        int high = mSize - 1;
+
+        while (low <= high) {
+            int m = (low + high) >>> 1;
+            long b = getBucket(mMinTimes[slot(m)]);
+
+            if (b < bucket)
+                low = m + 1;
+            else if (b > bucket)
+                high = m - 1;
+            else
+                return m;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns true if the oldest bucket ends at or before the given time.
+     */
+    boolean isOldestBucketBefore(long time) {
+        return mSize > 0 && (getBucket(mMinTimes[mHead]) + 1) * mBucketWidth <= time;
+    }
+
+    /**
+     * Rolls the given values up into the bucket at the given index.
+     */
+    private void merge(int index, long minTime, float min, long maxTime, float max, double sum, int count) {
+        int slot = slot(index);
+
+        if (min < mMins[slot] || (min == mMins[slot] && minTime < mMinTimes[slot])) {
+            mMins[slot] = min;
+            mMinTimes[slot] = minTime;
+        }
+
+        if (max > mMaxs[slot] || (max == mMaxs[slot] && maxTime < mMaxTimes[slot])) {
+            mMaxs[slot] = max;
+            mMaxTimes[slot] = maxTime;
+        }
+
+        mSums[slot] += sum;
+        mCounts[slot] += count;
+    }
+
+    /**
+     * Appends a new bucket with the given values, the tier must not be full.
+     */
+    private void append(long minTime, float min, long maxTime, float max, double sum, int count) {
+        int slot = slot(mSize);
+        mMinTimes[slot] = minTime;
+        mMaxTimes[slot] = maxTime;
+        mMins[slot] = min;
+        mMaxs[slot] = max;
+        mSums[slot] = sum;
+        mCounts[slot] = count;
+        mSize++;
+    }
+
+    /**
+     * Rolls a single value up into the newest bucket if it covers the value, or into a
+     * new bucket.
+     */
+    void add(long time, float y) {
+        add(time, y, time, y, y, 1);
+    }
+
+    /**
+     * Rolls a value that arrived late up into the existing bucket that covers it. Returns
+     * false if there is no such bucket.
+     */
+    boolean addToExistingBucket(long time, float y) {
+        int index = indexOfBucket(time);
+
+        if (index < 0)
+            return false;
+
+        merge(index, time, y, time, y, y, 1);
+        return true;
+    }
+
+    /**
+     * Moves the buckets that end at or before the given time to the next tier.
+     */
+    void moveBucketsBefore(long time) {
+        while (isOldestBucketBefore(time)) {
+            moveOldest();
+        }
+    }
+
+    /**
+     * Returns the number of values whose buckets were dropped because they are older than
+     * the span of the last tier (or did not fit into it).
+     */
+    public long getDroppedCount() {
+        return mDroppedCount;
+    }
+
+    private void add(long minTime, float min, long maxTime, float max, double sum, int count) {
+        long time = Math.min(minTime, maxTime);
+
+        if (isInNewestBucket(time)) {
+            merge(mSize - 1, minTime, min, maxTime, max, sum, count);
+            return;
+        }
+
+        if (isFull())
+            moveOldest();
+
+        append(minTime, min, maxTime, max, sum, count);
+    }
+
+    /**
+     * Rolls the oldest bucket up into the next tier, or drops it if this is the last tier,
+     * and removes it.
+     */
+    private void moveOldest() {
+        int slot = mHead;
+
+        if (mCoarser != null)
+            mCoarser.add(mMinTimes[slot], mMins[slot], mMaxTimes[slot], mMaxs[slot], mSums[slot], mCounts[slot]);
+        else
+            mDroppedCount += mCounts[slot];
+
+        mHead = slot(1);
+        mSize--;
+    }
+
+    void clear() {
+        mHead = 0;
+        mSize = 0;
+        mDroppedCount = 0;
+    }
+
+    private long getBucket(long time) {
+        long bucket = time / mBucketWidth;
+
+        // rounds towards negative infinity, like Math.floorDiv(...)
+        if (time % mBucketWidth != 0 && time < 0)
+            bucket--;
+
+        return bucket;
+    }
+
+    private int slot(int index) {
+        int slot = mHead + index;
+        return slot >= mCounts.length ? slot - mCounts.length : slot;
+    }
+}
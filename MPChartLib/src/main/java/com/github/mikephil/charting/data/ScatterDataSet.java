@@ -2,6 +2,7 @@
 package com.github.mikephil.charting.data;
 
 import com.github.mikephil.charting.charts.ScatterChart;
+import com.github.mikephil.charting.interfaces.datasets.IBatchDataSet;
 import com.github.mikephil.charting.interfaces.datasets.IScatterDataSet;
 import com.github.mikephil.charting.renderer.scatter.ChevronDownShapeRenderer;
 import com.github.mikephil.charting.renderer.scatter.ChevronUpShapeRenderer;
@@ -16,7 +17,7 @@ import com.github.mikephil.charting.utils.ColorTemplate;
 import java.util.ArrayList;
 import java.util.List;
 
-public class ScatterDataSet extends LineScatterCandleRadarDataSet<Entry> implements IScatterDataSet {
+public class ScatterDataSet extends LineScatterCandleRadarDataSet<Entry> implements IScatterDataSet, IBatchDataSet<Entry> {
 
     /**
      * the size the scattershape will have, in density pixels
@@ -41,10 +42,21 @@ public class ScatterDataSet extends LineScatterCandleRadarDataSet<Entry> impleme
      */
     private int mScatterShapeHoleColor = ColorTemplate.COLOR_NONE;
 
+    /**
+     * if true, the shape is rendered once per color into a bitmap that is drawn for every
+     * entry - default: false
+     */
+    private boolean mShapeSpritesEnabled = false;
+
     public ScatterDataSet(List<Entry> yVals, String label) {
         super(yVals, label);
     }
 
+    @Override
+    public void addEntries(float[] xs, float[] ys, int off, int len) {
+        super.addEntries(xs, ys, off, len);
+    }
+
     @Override
     public DataSet<Entry> copy() {
         List<Entry> entries = new ArrayList<Entry>();
@@ -62,6 +74,7 @@ public class ScatterDataSet extends LineScatterCandleRadarDataSet<Entry> impleme
         scatterDataSet.mShapeRenderer = mShapeRenderer;
         scatterDataSet.mScatterShapeHoleRadius = mScatterShapeHoleRadius;
         scatterDataSet.mScatterShapeHoleColor = mScatterShapeHoleColor;
+        scatterDataSet.mShapeSpritesEnabled = mShapeSpritesEnabled;
     }
 
     /**
@@ -71,6 +84,7 @@ public class ScatterDataSet extends LineScatterCandleRadarDataSet<Entry> impleme
      * @param size
      */
     public void setScatterShapeSize(float size) {
+        incrementVersion();
         mShapeSize = size;
     }
 
@@ -86,6 +100,7 @@ public class ScatterDataSet extends LineScatterCandleRadarDataSet<Entry> impleme
      * @param shape
      */
     public void setScatterShape(ScatterChart.ScatterShape shape) {
+        incrementVersion();
         mShapeRenderer = getRendererForShape(shape);
     }
 
@@ -96,6 +111,7 @@ public class ScatterDataSet extends LineScatterCandleRadarDataSet<Entry> impleme
      * @param shapeRenderer
      */
     public void setShapeRenderer(IShapeRenderer shapeRenderer) {
+        incrementVersion();
         mShapeRenderer = shapeRenderer;
     }
 
@@ -111,6 +127,7 @@ public class ScatterDataSet extends LineScatterCandleRadarDataSet<Entry> impleme
      * @param holeRadius
      */
     public void setScatterShapeHoleRadius(float holeRadius) {
+        incrementVersion();
         mScatterShapeHoleRadius = holeRadius;
     }
 
@@ -125,6 +142,7 @@ public class ScatterDataSet extends LineScatterCandleRadarDataSet<Entry> impleme
      * @param holeColor
      */
     public void setScatterShapeHoleColor(int holeColor) {
+        incrementVersion();
         mScatterShapeHoleColor = holeColor;
     }
 
@@ -133,6 +151,23 @@ public class ScatterDataSet extends LineScatterCandleRadarDataSet<Entry> impleme
         return mScatterShapeHoleColor;
     }
 
+    /**
+     * If set to true, the shape is rendered once per color into a bitmap, which is then
+     * drawn for every entry. This is much faster for many entries, but the shapes are
+     * drawn at whole pixels. Default: false
+     *
+     * @param enabled
+     */
+    public void setShapeSpritesEnabled(boolean enabled) {
+        incrementVersion();
+        mShapeSpritesEnabled = enabled;
+    }
+
+    @Override
+    public boolean isShapeSpritesEnabled() {
+        return mShapeSpritesEnabled;
+    }
+
     public static IShapeRenderer getRendererForShape(ScatterChart.ScatterShape shape) {
 
         switch (shape) {
@@ -0,0 +1,440 @@
+
+package com.github.mikephil.charting.data;
+
+import com.github.mikephil.charting.utils.EntryXComparator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * LineDataSet that can be modified from background threads while the chart draws it.
+ * Every modification publishes a new immutable {@link EntrySnapshot}, writers are
+ * serialized among each other but never block readers. The chart pins the newest
+ * snapshot at the beginning of each frame (see onBeginDraw(...)), so all
+ * reads of one frame see the same values, without any lock on the draw path.
+ * <p/>
+ * Appending and removing the oldest values share the chunks of the previous snapshot
+ * and are O(1) per value. Values with an x-value smaller than the newest one, and
+ * removing values in between, copy all values.
+ * <p/>
+ * Outside of a pinned frame every call reads the newest snapshot, so a sequence of
+ * calls (e.g. getEntryCount() followed by getEntryForIndex(...)) should use
+ * getSnapshot() instead. Modifying the styling of the DataSet is not thread-safe and
+ * must still happen on the UI thread. The chart does not notice new values by itself,
+ * writers have to call invalidate() (or notifyDataSetChanged() to adjust the axes)
+ * on the UI thread, e.g. with View.post(...).
+ */
+public class SnapshotLineDataSet extends LineDataSet {
+
+    private final Object mWriteLock = new Object();
+
+    /**
+     * the newest snapshot, replaced by the writers
+     */
+    private volatile EntrySnapshot mPublished = EntrySnapshot.EMPTY;
+
+    /**
+     * the snapshot that is read while pinned, only accessed on the UI thread
+     */
+    private EntrySnapshot mPinned;
+
+    /**
+     * the snapshot calcMinMaxY(...) calculated mYMin and mYMax for, only accessed on the
+     * UI thread
+     */
+    private EntrySnapshot mYRangeSnapshot;
+
+    public SnapshotLineDataSet(String label) {
+        super(null, label);
+        mEntries = new EntriesView();
+    }
+
+    /**
+     * Returns the newest snapshot of the values of this DataSet.
+     */
+    public EntrySnapshot getSnapshot() {
+        return mPublished;
+    }
+
+    /**
+     * Pins the newest snapshot: until unpinSnapshot() is called, all reads of this DataSet
+     * see the values of this snapshot, no matter what the writers do. Must be called on
+     * the UI thread.
+     */
+    public EntrySnapshot pinSnapshot() {
+        mPinned = mPublished;
+        return mPinned;
+    }
+
+    /**
+     * Releases the pinned snapshot, reads see the newest values again.
+     */
+    public void unpinSnapshot() {
+        mPinned = null;
+    }
+
+    /**
+     * Pins the newest snapshot for the frame, see pinSnapshot().
+     */
+    @Override
+    public void onBeginDraw(float fromX, float toX, float velocityX, Runnable invalidate) {
+        pinSnapshot();
+    }
+
+    @Override
+    public void onEndDraw() {
+        unpinSnapshot();
+    }
+
+    /**
+     * Returns the snapshot reads are answered from, the pinned one if there is one.
+     */
+    private EntrySnapshot readSnapshot() {
+        EntrySnapshot pinned = mPinned;
+
+        if (pinned != null)
+            return pinned;
+
+        // also called by the constructors of the super classes, before the fields are set
+        EntrySnapshot published = mPublished;
+        return published != null ? published : EntrySnapshot.EMPTY;
+    }
+
+    @Override
+    public long getVersion() {
+        return super.getVersion() + readSnapshot().getVersion();
+    }
+
+    @Override
+    public int getEntryCount() {
+        return readSnapshot().size();
+    }
+
+    @Override
+    public float getXForIndex(int index) {
+        return readSnapshot().getX(index);
+    }
+
+    @Override
+    public float getYForIndex(int index) {
+        return readSnapshot().getY(index);
+    }
+
+    /**
+     * Reads both values from the same snapshot.
+     */
+    @Override
+    protected Entry createEntryForIndex(int index) {
+        EntrySnapshot snapshot = readSnapshot();
+        return new Entry(snapshot.getX(index), snapshot.getY(index));
+    }
+
+    @Override
+    public float getXMin() {
+        return readSnapshot().getXMin();
+    }
+
+    @Override
+    public float getXMax() {
+        return readSnapshot().getXMax();
+    }
+
+    @Override
+    public float getYMin() {
+        EntrySnapshot snapshot = readSnapshot();
+        return snapshot == mYRangeSnapshot ? mYMin : snapshot.getYMin();
+    }
+
+    @Override
+    public float getYMax() {
+        EntrySnapshot snapshot = readSnapshot();
+        return snapshot == mYRangeSnapshot ? mYMax : snapshot.getYMax();
+    }
+
+    /**
+     * The minimum and maximum values are kept by the snapshots, there is nothing to
+     * calculate.
+     */
+    @Override
+    public void calcMinMax() {
+        mYRangeSnapshot = null;
+    }
+
+    @Override
+    public void calcMinMaxY(float fromX, float toX) {
+        EntrySnapshot snapshot = readSnapshot();
+
+        mYMax = -Float.MAX_VALUE;
+        mYMin = Float.MAX_VALUE;
+        mYRangeSnapshot = snapshot;
+
+        if (snapshot.size() == 0)
+            return;
+
+        // the lookups must see the same snapshot as the loop
+        int indexFrom = floorIndex(snapshot, fromX);
+        int indexTo = ceilIndex(snapshot, toX);
+
+        for (int i = indexFrom; i <= indexTo; i++) {
+            float y = snapshot.getY(i);
+
+            if (y < mYMin)
+                mYMin = y;
+
+            if (y > mYMax)
+                mYMax = y;
+        }
+    }
+
+    /**
+     * Returns the index of the last value of the given snapshot with an x-value not greater
+     * than the given one, 0 if there is none.
+     */
+    private static int floorIndex(EntrySnapshot snapshot, float x) {
+        int low = 0;
+        int high = snapshot.size() - 1;
+
+        while (low < high) {
+            int m = (low + high + 1) >>> 1;
+
+            if (snapshot.getX(m) <= x)
+                low = m;
+            else
+                high = m - 1;
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first value of the given snapshot with an x-value not
+     * smaller than the given one, the last index if there is none.
+     */
+    private static int ceilIndex(EntrySnapshot snapshot, float x) {
+        int low = 0;
+        int high = snapshot.size() - 1;
+
+        while (low < high) {
+            int m = (low + high) >>> 1;
+
+            if (snapshot.getX(m) >= x)
+                high = m;
+            else
+                low = m + 1;
+        }
+        return low;
+    }
+
+    /**
+     * Adds the given values, in O(1) if x is not smaller than the newest x-value. Can be
+     * called from any thread.
+     */
+    public void addEntry(float x, float y) {
+        addEntries(new float[]{x}, new float[]{y}, 0, 1);
+    }
+
+    @Override
+    public boolean addEntry(Entry entry) {
+        addEntry(entry.getX(), entry.getY());
+        return true;
+    }
+
+    @Override
+    public void addEntryOrdered(Entry entry) {
+        addEntry(entry.getX(), entry.getY());
+    }
+
+    /**
+     * Adds the values of the batch and publishes them with one snapshot. Can be called from
+     * any thread.
+     */
+    @Override
+    public void addEntries(float[] xs, float[] ys, int off, int len) {
+        checkBatchRange(xs, ys, off, len);
+
+        if (len == 0)
+            return;
+
+        synchronized (mWriteLock) {
+            EntrySnapshot snapshot = mPublished;
+            float lastX = snapshot.getXMax();
+            boolean ordered = true;
+
+            for (int i = off, end = off + len; i < end && ordered; i++) {
+                ordered = xs[i] >= lastX;
+                lastX = xs[i];
+            }
+
+            if (ordered) {
+                mPublished = snapshot.append(xs, ys, off, len);
+                return;
+            }
+
+            // merge the sorted batch into a copy of all values
+            List<Entry> batch = new ArrayList<>(len);
+
+            for (int i = off, end = off + len; i < end; i++) {
+                batch.add(new Entry(xs[i], ys[i]));
+            }
+            Collections.sort(batch, new EntryXComparator());
+
+            int count = snapshot.size();
+            float[] oldX = new float[count];
+            float[] oldY = new float[count];
+            snapshot.copyValues(0, count, oldX, oldY, 0);
+
+            float[] mergedX = new float[count + len];
+            float[] mergedY = new float[count + len];
+            int i = 0;
+            int j = 0;
+
+            for (int k = 0; k < mergedX.length; k++) {
+                if (j >= len || (i < count && oldX[i] <= batch.get(j).getX())) {
+                    mergedX[k] = oldX[i];
+                    mergedY[k] = oldY[i++];
+                } else {
+                    mergedX[k] = batch.get(j).getX();
+                    mergedY[k] = batch.get(j++).getY();
+                }
+            }
+
+            mPublished = EntrySnapshot.of(mergedX, mergedY, mergedX.length, snapshot.getVersion());
+        }
+    }
+
+    /**
+     * Removes the oldest value in O(1). Can be called from any thread.
+     */
+    @Override
+    public boolean removeFirst() {
+        return removeFirst(1) == 1;
+    }
+
+    /**
+     * Removes up to count of the oldest values in O(1) and returns the number of removed
+     * values. Can be called from any thread.
+     */
+    public int removeFirst(int count) {
+        synchronized (mWriteLock) {
+            EntrySnapshot snapshot = mPublished;
+            int removed = Math.max(0, Math.min(count, snapshot.size()));
+
+            if (removed > 0)
+                mPublished = snapshot.removeFirst(removed);
+
+            return removed;
+        }
+    }
+
+    /**
+     * Removes the newest value. Can be called from any thread.
+     */
+    @Override
+    public boolean removeLast() {
+        synchronized (mWriteLock) {
+            EntrySnapshot snapshot = mPublished;
+
+            if (snapshot.size() == 0)
+                return false;
+
+            mPublished = snapshot.removeLast();
+            return true;
+        }
+    }
+
+    /**
+     * Removes the value at the given index of the newest snapshot. Can be called from any
+     * thread.
+     */
+    @Override
+    public boolean removeEntry(int index) {
+        synchronized (mWriteLock) {
+            EntrySnapshot snapshot = mPublished;
+            int count = snapshot.size();
+
+            if (index < 0 || index >= count)
+                return false;
+
+            if (index == 0) {
+                mPublished = snapshot.removeFirst(1);
+            } else if (index == count - 1) {
+                mPublished = snapshot.removeLast();
+            } else {
+                float[] xs = new float[count];
+                float[] ys = new float[count];
+                snapshot.copyValues(0, index, xs, ys, 0);
+                snapshot.copyValues(index + 1, count - index - 1, xs, ys, index);
+                mPublished = EntrySnapshot.of(xs, ys, count - 1, snapshot.getVersion());
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Removes the first value with the x- and y-value of the given Entry. Can be called from
+     * any thread.
+     */
+    @Override
+    public boolean removeEntry(Entry entry) {
+        if (entry == null)
+            return false;
+
+        synchronized (mWriteLock) {
+            EntrySnapshot snapshot = mPublished;
+
+            for (int i = 0; i < snapshot.size(); i++) {
+                if (snapshot.getX(i) == entry.getX() && snapshot.getY(i) == entry.getY())
+                    return removeEntry(i);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Removes all values. Can be called from any thread. Like every modification, this
+     * only publishes a new snapshot, notifyDataSetChanged() has to be called on the UI
+     * thread to adjust the axes.
+     */
+    @Override
+    public void clear() {
+        synchronized (mWriteLock) {
+            mPublished = EntrySnapshot.of(new float[0], new float[0], 0, mPublished.getVersion());
+        }
+    }
+
+    /**
+     * Replaces the values with the x- and y-values of the given entries, which must be
+     * sorted by x. Can be called from any thread, see clear().
+     */
+    @Override
+    public void setEntries(List<Entry> entries) {
+        int count = entries == null ? 0 : entries.size();
+        float[] xs = new float[count];
+        float[] ys = new float[count];
+
+        for (int i = 0; i < count; i++) {
+            Entry e = entries.get(i);
+            xs[i] = e.getX();
+            ys[i] = e.getY();
+        }
+
+        synchronized (mWriteLock) {
+            mPublished = EntrySnapshot.of(xs, ys, count, mPublished.getVersion());
+        }
+    }
+
+    @Override
+    public DataSet<Entry> copy() {
+        EntrySnapshot snapshot = mPublished;
+        int count = snapshot.size();
+        float[] xs = new float[count];
+        float[] ys = new float[count];
+        snapshot.copyValues(0, count, xs, ys, 0);
+
+        // the copy gets chunks of its own, both DataSets append behind the same end
+        SnapshotLineDataSet copied = new SnapshotLineDataSet(getLabel());
+        copied.mPublished = EntrySnapshot.of(xs, ys, count, 0L);
+        copy(copied);
+        return copied;
+    }
+}
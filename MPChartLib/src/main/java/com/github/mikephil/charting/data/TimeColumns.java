@@ -0,0 +1,295 @@
+package com.github.mikephil.charting.data;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * List of entries that stores full precision timestamps in a long column and the
+ * y-values in a float column, like {@link EntryColumns} does for float x-values.
+ * The x-value of an entry is its time relative to the origin of the columns, so that
+ * it stays precise as a float as long as the data lies close to the origin.
+ * <p/>
+ * Entries are only created on demand by get(...) as {@link TimeEntry}, they carry
+ * neither data nor icon, and changes made to a returned entry are not written back.
+ * Entries that are added and are no TimeEntry have their x-value converted back to a
+ * time with the origin.
+ */
+public class TimeColumns extends AbstractList<Entry> implements EntryValues, RandomAccess, Serializable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * the timestamps, only the first mSize values are valid
+     */
+    protected long[] mTimes;
+
+    /**
+     * the y-values, only the first mSize values are valid
+     */
+    protected float[] mYValues;
+
+    /**
+     * the number of values in the columns
+     */
+    protected int mSize = 0;
+
+    /**
+     * the time that has the x-value 0
+     */
+    protected long mOrigin = 0L;
+
+    public TimeColumns() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TimeColumns(int initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Capacity must be >= 0: " + initialCapacity);
+
+        mTimes = new long[initialCapacity];
+        mYValues = new float[initialCapacity];
+    }
+
+    /**
+     * Creates the columns from a copy of the first count values of the given arrays. The
+     * origin is the first time, if there is one.
+     */
+    public TimeColumns(long[] times, float[] yValues, int count) {
+        if (count > times.length || count > yValues.length)
+            throw new IllegalArgumentException("count " + count + " exceeds the length of the given values");
+
+        mTimes = Arrays.copyOf(times, Math.max(count, DEFAULT_CAPACITY));
+        mYValues = Arrays.copyOf(yValues, Math.max(count, DEFAULT_CAPACITY));
+        mSize = count;
+
+        if (count > 0)
+            mOrigin = times[0];
+    }
+
+    /**
+     * Returns the time that has the x-value 0.
+     */
+    public long getOrigin() {
+        return mOrigin;
+    }
+
+    /**
+     * Sets the time that has the x-value 0. Changes the x-values of all entries.
+     */
+    public void setOrigin(long origin) {
+        mOrigin = origin;
+        modCount++;
+    }
+
+    /**
+     * Returns the time at the given index.
+     */
+    public long getTime(int index) {
+        return mTimes[index];
+    }
+
+    /**
+     * Returns the x-value at the given index, the time relative to the origin, without
+     * creating an Entry.
+     */
+    @Override
+    public float getX(int index) {
+        return (float) (mTimes[index] - mOrigin);
+    }
+
+    @Override
+    public float getY(int index) {
+        return mYValues[index];
+    }
+
+    /**
+     * Returns the backing time column. Only the first size() values are valid, and the
+     * array is replaced when the columns grow, so do not hold on to it.
+     */
+    public long[] getTimes() {
+        return mTimes;
+    }
+
+    /**
+     * Returns the backing y-column. Only the first size() values are valid, and the
+     * array is replaced when the columns grow, so do not hold on to it.
+     */
+    public float[] getYValues() {
+        return mYValues;
+    }
+
+    /**
+     * Returns the time of the given entry: the time of a TimeEntry, the x-value relative
+     * to the origin otherwise.
+     */
+    public long toTime(Entry entry) {
+        if (entry instanceof TimeEntry)
+            return ((TimeEntry) entry).getTime();
+
+        return mOrigin + Math.round((double) entry.getX());
+    }
+
+    /**
+     * Appends the given values to the end of the columns.
+     */
+    public void add(long time, float y) {
+        ensureCapacity(mSize + 1);
+        mTimes[mSize] = time;
+        mYValues[mSize] = y;
+        mSize++;
+        modCount++;
+    }
+
+    /**
+     * Inserts the given values at the given index, shifting all following values.
+     */
+    public void add(int index, long time, float y) {
+        if (index < 0 || index > mSize)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+
+        ensureCapacity(mSize + 1);
+        System.arraycopy(mTimes, index, mTimes, index + 1, mSize - index);
+        System.arraycopy(mYValues, index, mYValues, index + 1, mSize - index);
+        mTimes[index] = time;
+        mYValues[index] = y;
+        mSize++;
+        modCount++;
+    }
+
+    /**
+     * Appends len values of the given arrays, starting at off, growing the columns once.
+     */
+    public void addAll(long[] times, float[] yValues, int off, int len) {
+        ensureCapacity(mSize + len);
+        System.arraycopy(times, off, mTimes, mSize, len);
+        System.arraycopy(yValues, off, mYValues, mSize, len);
+        mSize += len;
+        modCount++;
+    }
+
+    /**
+     * Makes sure the columns can hold at least the given number of values without
+     * growing again.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity <= mTimes.length)
+            return;
+
+        int newCapacity = Math.max(minCapacity, mTimes.length + (mTimes.length >> 1));
+        mTimes = Arrays.copyOf(mTimes, newCapacity);
+        mYValues = Arrays.copyOf(mYValues, newCapacity);
+    }
+
+    /**
+     * Shrinks the columns to the number of values they hold.
+     */
+    public void trimToSize() {
+        if (mTimes.length == mSize)
+            return;
+
+        mTimes = Arrays.copyOf(mTimes, mSize);
+        mYValues = Arrays.copyOf(mYValues, mSize);
+    }
+
+    @Override
+    public Entry get(int index) {
+        rangeCheck(index);
+        return new TimeEntry(mTimes[index], getX(index), mYValues[index]);
+    }
+
+    @Override
+    public Entry set(int index, Entry entry) {
+        rangeCheck(index);
+        Entry old = get(index);
+        mTimes[index] = toTime(entry);
+        mYValues[index] = entry.getY();
+        return old;
+    }
+
+    @Override
+    public void add(int index, Entry entry) {
+        add(index, toTime(entry), entry.getY());
+    }
+
+    @Override
+    public Entry remove(int index) {
+        rangeCheck(index);
+        Entry old = get(index);
+        removeRange(index, index + 1);
+        return old;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        System.arraycopy(mTimes, toIndex, mTimes, fromIndex, mSize - toIndex);
+        System.arraycopy(mYValues, toIndex, mYValues, fromIndex, mSize - toIndex);
+        mSize -= toIndex - fromIndex;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        mSize = 0;
+        modCount++;
+    }
+
+    /**
+     * Entries are matched by their time instead of their x-value.
+     */
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof Entry))
+            return -1;
+
+        final long time = toTime((Entry) o);
+        final float y = ((Entry) o).getY();
+
+        for (int i = 0; i < mSize; i++) {
+            if (mTimes[i] == time && mYValues[i] == y)
+                return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) > -1;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0)
+            return false;
+
+        removeRange(index, index + 1);
+        return true;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        if (!(o instanceof Entry))
+            return -1;
+
+        final long time = toTime((Entry) o);
+        final float y = ((Entry) o).getY();
+
+        for (int i = mSize - 1; i >= 0; i--) {
+            if (mTimes[i] == time && mYValues[i] == y)
+                return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+
+    private void rangeCheck(int index) {
+        if (index < 0 || index >= mSize)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.mikephil.charting.data
+
+/**
+ * Entry of a [TimeSeriesLineDataSet]. Besides the x-value, which is relative to the
+ * origin of the DataSet and only as precise as a float, it carries the full precision
+ * timestamp it was created from. Use the time for anything that is shown to the user,
+ * e.g. in a marker.
+ */
+open class TimeEntry : Entry {
+
+    /**
+     * the timestamp of this entry, in the unit of the DataSet (e.g. milliseconds or
+     * nanoseconds since the epoch)
+     */
+    var time: Long = 0L
+
+    /**
+     * @param time the timestamp
+     * @param x    the x-value, the time relative to the origin of the DataSet
+     * @param y    the y value (the actual value of the entry)
+     */
+    constructor(time: Long, x: Float, y: Float) : super(x, y) {
+        this.time = time
+    }
+
+    /**
+     * @param time the timestamp
+     * @param x    the x-value, the time relative to the origin of the DataSet
+     * @param y    the y value (the actual value of the entry)
+     * @param data Spot for additional data this Entry represents.
+     */
+    constructor(time: Long, x: Float, y: Float, data: Any?) : super(x, y, data) {
+        this.time = time
+    }
+
+    override fun copy(): Entry {
+        return TimeEntry(time, x, y, data)
+    }
+
+    override fun toString(): String {
+        return "TimeEntry time=$time x=$x y=$y"
+    }
+}
@@ -0,0 +1,333 @@
+package com.github.mikephil.charting.data;
+
+import java.util.List;
+
+/**
+ * LineDataSet for time series whose x-values are timestamps that do not fit into a
+ * float, e.g. milliseconds (about 1.7e12) or nanoseconds (about 1.7e18) since the epoch.
+ * The timestamps are kept as longs in {@link TimeColumns}, the x-value the chart works
+ * with is the time relative to an origin. Axes, viewport and rendering stay on float
+ * math with the small relative values, while getTimeForIndex(...), the {@link TimeEntry}
+ * objects returned by the lookups and getEntryIndexForTime(...) have the full precision.
+ * <p/>
+ * Unless set explicitly, the origin is the first time that is added. If the DataSet is
+ * part of a ChartData object, the origin of the data object is used instead, so that all
+ * time series of a chart share their x-values (see ChartData.setXOrigin(...)). The
+ * further the data moves away from the origin, the less precise the float x-values get,
+ * so a chart that keeps streaming new values should move the origin now and then.
+ */
+public class TimeSeriesLineDataSet extends LineDataSet {
+
+    /**
+     * true if the origin is fixed, either by setOrigin(...) or by the first time added
+     */
+    private boolean mOriginSet;
+
+    public TimeSeriesLineDataSet(String label) {
+        this(new TimeColumns(), label);
+    }
+
+    /**
+     * Creates the DataSet from a copy of the given values, which must be sorted by time.
+     */
+    public TimeSeriesLineDataSet(long[] times, float[] yValues, String label) {
+        this(new TimeColumns(times, yValues, times.length), label);
+    }
+
+    public TimeSeriesLineDataSet(TimeColumns columns, String label) {
+        super(columns, label);
+        mOriginSet = !columns.isEmpty();
+    }
+
+    /**
+     * Returns the columns that hold the values of this DataSet.
+     */
+    public TimeColumns getColumns() {
+        return (TimeColumns) mEntries;
+    }
+
+    /**
+     * Returns the time that has the x-value 0.
+     */
+    public long getOrigin() {
+        return getColumns().getOrigin();
+    }
+
+    /**
+     * Sets the time that has the x-value 0, which moves the x-values of all entries and
+     * recalculates the minimum and maximum values. The origin of a ChartData object
+     * overrides it, see ChartData.setXOrigin(...).
+     */
+    public void setOrigin(long origin) {
+        mOriginSet = true;
+
+        if (origin == getOrigin())
+            return;
+
+        incrementVersion();
+        getColumns().setOrigin(origin);
+        calcMinMax();
+    }
+
+    @Override
+    public long getFirstTime() {
+        return getEntryCount() > 0 ? getTimeForIndex(0) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Sets the origin of the ChartData object, see setOrigin(...).
+     */
+    @Override
+    public void applyXOrigin(long origin) {
+        setOrigin(origin);
+    }
+
+    /**
+     * Returns true if the origin is fixed, false if it is still taken from the first time
+     * that is added.
+     */
+    public boolean isOriginSet() {
+        return mOriginSet;
+    }
+
+    private void ensureOrigin(long time) {
+        if (mOriginSet)
+            return;
+
+        mOriginSet = true;
+        getColumns().setOrigin(time);
+    }
+
+    /**
+     * Returns the full precision time at the given index.
+     */
+    public long getTimeForIndex(int index) {
+        return getColumns().getTime(index);
+    }
+
+    /**
+     * Returns the time the given x-value stands for, rounded to the unit of the times.
+     */
+    public long getTimeForX(float x) {
+        return getOrigin() + Math.round((double) x);
+    }
+
+    /**
+     * Returns the x-value of the given time.
+     */
+    public float getXForTime(long time) {
+        return (float) (time - getOrigin());
+    }
+
+    /**
+     * Returns the index of the entry with the given time, compared in full precision. If
+     * there is no such entry, the rounding decides between the next smaller and the next
+     * bigger time. Returns -1 if the DataSet is empty.
+     */
+    public int getEntryIndexForTime(long time, Rounding rounding) {
+
+        TimeColumns columns = getColumns();
+        int count = columns.size();
+
+        if (count == 0)
+            return -1;
+
+        long[] times = columns.getTimes();
+
+        // the first index with a time >= the given time
+        int low = 0;
+        int high = count;
+
+        while (low < high) {
+            int m = (low + high) >>> 1;
+
+            if (times[m] < time)
+                low = m + 1;
+            else
+                high = m;
+        }
+
+        if (low < count && times[low] == time)
+            return low;
+
+        if (low == count)
+            return count - 1;
+
+        if (low == 0)
+            return 0;
+
+        switch (rounding) {
+            case UP:
+                return low;
+            case DOWN:
+                return low - 1;
+            default:
+                return time - times[low - 1] <= times[low] - time ? low - 1 : low;
+        }
+    }
+
+    /**
+     * Returns the entry with the given time, see getEntryIndexForTime(...), or null if the
+     * DataSet is empty.
+     */
+    public TimeEntry getEntryForTime(long time, Rounding rounding) {
+        int index = getEntryIndexForTime(time, rounding);
+        return index > -1 ? (TimeEntry) mEntries.get(index) : null;
+    }
+
+    /**
+     * Adds the given values without creating an Entry and updates the minimum and
+     * maximum values. Appending is O(1), a time smaller than the newest one is inserted
+     * at its place.
+     */
+    public void addEntry(long time, float y) {
+        incrementVersion();
+        ensureOrigin(time);
+
+        TimeColumns columns = getColumns();
+        int count = columns.size();
+
+        calcMinMax(getXForTime(time), y);
+
+        if (count == 0 || columns.getTime(count - 1) <= time) {
+            columns.add(time, y);
+
+            if (mYRangeIndex != null)
+                mYRangeIndex.add(y, y);
+            return;
+        }
+
+        // behind all entries with the same time
+        int index = getEntryIndexForTime(time, Rounding.UP);
+        while (index < count && columns.getTime(index) <= time)
+            index++;
+
+        columns.add(index, time, y);
+
+        if (mYRangeIndex != null)
+            mYRangeIndex.insert(index, y, y);
+
+        if (mLodPyramid != null)
+            mLodPyramid.invalidate();
+    }
+
+    /**
+     * Adds len values of the given arrays, starting at off. A batch sorted by time that
+     * starts behind the newest time is copied into the columns at once.
+     */
+    public void addEntries(long[] times, float[] ys, int off, int len) {
+
+        if (off < 0 || len < 0 || off + len > times.length || off + len > ys.length)
+            throw new IndexOutOfBoundsException("off: " + off + ", len: " + len
+                    + ", times: " + times.length + ", ys: " + ys.length);
+
+        if (len == 0)
+            return;
+
+        TimeColumns columns = getColumns();
+        int count = columns.size();
+        long lastTime = count > 0 ? columns.getTime(count - 1) : Long.MIN_VALUE;
+        boolean ordered = true;
+
+        for (int i = off, end = off + len; i < end && ordered; i++) {
+            ordered = times[i] >= lastTime;
+            lastTime = times[i];
+        }
+
+        if (!ordered) {
+            for (int i = off, end = off + len; i < end; i++) {
+                addEntry(times[i], ys[i]);
+            }
+            return;
+        }
+
+        incrementVersion();
+        ensureOrigin(times[off]);
+        columns.addAll(times, ys, off, len);
+
+        for (int i = off, end = off + len; i < end; i++) {
+            calcMinMax(getXForTime(times[i]), ys[i]);
+
+            if (mYRangeIndex != null)
+                mYRangeIndex.add(ys[i], ys[i]);
+        }
+    }
+
+    /**
+     * Converts the x-values back to times with the origin and copies them into the
+     * columns directly, without creating entries.
+     */
+    @Override
+    protected void appendEntries(float[] xs, float[] ys, int off, int len) {
+        TimeColumns columns = getColumns();
+        columns.ensureCapacity(columns.size() + len);
+        mOriginSet = true;
+
+        for (int i = off, end = off + len; i < end; i++) {
+            columns.add(getTimeForX(xs[i]), ys[i]);
+
+            if (mYRangeIndex != null)
+                mYRangeIndex.add(ys[i], ys[i]);
+        }
+    }
+
+    @Override
+    protected Entry createEntry(float x, float y) {
+        return new TimeEntry(getTimeForX(x), x, y);
+    }
+
+    /**
+     * Adds the time of the given entry, see TimeColumns.toTime(...), at its place.
+     */
+    @Override
+    public boolean addEntry(Entry entry) {
+        mOriginSet = mOriginSet || !(entry instanceof TimeEntry);
+        addEntry(getColumns().toTime(entry), entry.getY());
+        return true;
+    }
+
+    @Override
+    public void addEntryOrdered(Entry entry) {
+        addEntry(entry);
+    }
+
+    /**
+     * Copies the times and y-values of the given entries into the columns of this
+     * DataSet, and calls notifyDataSetChanged()
+     */
+    @Override
+    public void setEntries(List<Entry> entries) {
+        if (entries instanceof TimeColumns) {
+            mEntries = entries;
+            mOriginSet = true;
+        } else {
+            TimeColumns columns = getColumns();
+            columns.clear();
+
+            if (entries != null) {
+                columns.ensureCapacity(entries.size());
+
+                for (Entry e : entries) {
+                    if (!mOriginSet && e instanceof TimeEntry)
+                        ensureOrigin(((TimeEntry) e).getTime());
+
+                    columns.add(columns.toTime(e), e.getY());
+                }
+            }
+        }
+        notifyDataSetChanged();
+    }
+
+    @Override
+    public DataSet<Entry> copy() {
+        TimeColumns columns = getColumns();
+        TimeColumns copiedColumns = new TimeColumns(columns.getTimes(), columns.getYValues(), columns.size());
+        copiedColumns.setOrigin(columns.getOrigin());
+
+        TimeSeriesLineDataSet copied = new TimeSeriesLineDataSet(copiedColumns, getLabel());
+        copied.mOriginSet = mOriginSet;
+        copied.calcMinMax();
+        copy(copied);
+        return copied;
+    }
+}
@@ -1,102 +1,129 @@
 
 package com.github.mikephil.charting.data.filter;
 
-import android.annotation.TargetApi;
-import android.os.Build;
-
 import java.util.Arrays;
 
 /**
  * Implemented according to Wiki-Pseudocode {@link}
  * http://en.wikipedia.org/wiki/Ramer�Douglas�Peucker_algorithm
+ * <p/>
+ * The reduction works iteratively on an explicit stack of index ranges. The stack and
+ * the flags of the kept points are reused between calls, so an Approximator does not
+ * allocate once its buffers are large enough, but it must not be shared between threads.
  *
  * @author Philipp Baldauf & Phliipp Jahoda
  */
 public class Approximator {
 
-    @TargetApi(Build.VERSION_CODES.GINGERBREAD)
-    public float[] reduceWithDouglasPeucker(float[] points, float tolerance) {
-
-        int greatestIndex = 0;
-        float greatestDistance = 0f;
-
-        Line line = new Line(points[0], points[1], points[points.length - 2], points[points.length - 1]);
-
-        for (int i = 2; i < points.length - 2; i += 2) {
-
-            float distance = line.distance(points[i], points[i + 1]);
-
-            if (distance > greatestDistance) {
-                greatestDistance = distance;
-                greatestIndex = i;
-            }
-        }
+    /**
+     * pairs of start and end index of the ranges that still have to be checked
+     */
+    private int[] mStack = new int[32];
 
-        if (greatestDistance > tolerance) {
+    /**
+     * flags of the points that are kept
+     */
+    private boolean[] mKeep = new boolean[0];
 
-            float[] reduced1 = reduceWithDouglasPeucker(Arrays.copyOfRange(points, 0, greatestIndex + 2), tolerance);
-            float[] reduced2 = reduceWithDouglasPeucker(Arrays.copyOfRange(points, greatestIndex, points.length),
-                    tolerance);
+    public float[] reduceWithDouglasPeucker(float[] points, float tolerance) {
 
-            float[] result1 = reduced1;
-            float[] result2 = Arrays.copyOfRange(reduced2, 2, reduced2.length);
+        float[] reduced = new float[points.length];
+        int count = reduceWithDouglasPeucker(points, points.length / 2, tolerance, reduced);
 
-            return concat(result1, result2);
-        } else {
-            return line.getPoints();
-        }
+        return Arrays.copyOf(reduced, count * 2);
     }
 
     /**
-     * Combine arrays.
+     * Reduces the polyline made of the first pointCount x/y pairs of points, and writes
+     * the points that are kept into out (which must hold pointCount * 2 values). Returns
+     * the number of points that are kept. The first and the last point are always kept.
      *
-     * @param arrays
+     * @param points    x/y pairs of the polyline
+     * @param pointCount number of points to use from the array
+     * @param tolerance points closer than this to the simplified line are dropped
+     * @param out       receives the x/y pairs of the kept points, may be points itself
      * @return
      */
-    float[] concat(float[]... arrays) {
-        int length = 0;
-        for (float[] array : arrays) {
-            length += array.length;
-        }
-        float[] result = new float[length];
-        int pos = 0;
-        for (float[] array : arrays) {
-            for (float element : array) {
-                result[pos] = element;
-                pos++;
-            }
+    public int reduceWithDouglasPeucker(float[] points, int pointCount, float tolerance, float[] out) {
+
+        if (pointCount < 3) {
+            System.arraycopy(points, 0, out, 0, pointCount * 2);
+            return pointCount;
         }
-        return result;
-    }
 
-    private class Line {
+        if (mKeep.length < pointCount)
+            mKeep = new boolean[pointCount * 2];
 
-        private float[] points;
+        boolean[] keep = mKeep;
+        Arrays.fill(keep, 0, pointCount, false);
+        keep[0] = true;
+        keep[pointCount - 1] = true;
 
-        private float sxey;
-        private float exsy;
+        int stackSize = 0;
+        mStack[stackSize++] = 0;
+        mStack[stackSize++] = pointCount - 1;
 
-        private float dx;
-        private float dy;
+        while (stackSize > 0) {
 
-        private float length;
+            int end = mStack[--stackSize];
+            int start = mStack[--stackSize];
 
-        public Line(float x1, float y1, float x2, float y2) {
-            dx = x1 - x2;
-            dy = y1 - y2;
-            sxey = x1 * y2;
-            exsy = x2 * y1;
-            length = (float) Math.sqrt(dx * dx + dy * dy);
+            float x1 = points[start * 2];
+            float y1 = points[start * 2 + 1];
+            float dx = x1 - points[end * 2];
+            float dy = y1 - points[end * 2 + 1];
+            float length = (float) Math.sqrt(dx * dx + dy * dy);
 
-            points = new float[]{x1, y1, x2, y2};
-        }
+            int greatestIndex = 0;
+            float greatestDistance = 0f;
+
+            for (int i = start + 1; i < end; i++) {
+
+                float px = points[i * 2] - x1;
+                float py = points[i * 2 + 1] - y1;
+
+                // distance to the line through start and end, or to start if both are the same
+                float distance = length > 0f
+                        ? Math.abs(dy * px - dx * py) / length
+                        : (float) Math.sqrt(px * px + py * py);
+
+                if (distance > greatestDistance) {
+                    greatestDistance = distance;
+                    greatestIndex = i;
+                }
+            }
+
+            if (greatestDistance > tolerance) {
 
-        public float distance(float x, float y) {
-            return Math.abs(dy * x - dx * y + sxey - exsy) / length;
+                keep[greatestIndex] = true;
+
+                if (stackSize + 4 > mStack.length)
+                    mStack = Arrays.copyOf(mStack, mStack.length * 2);
+
+                // the right part is pushed first, so the left part is handled first
+                if (end - greatestIndex > 1) {
+                    mStack[stackSize++] = greatestIndex;
+                    mStack[stackSize++] = end;
+                }
+
+                if (greatestIndex - start > 1) {
+                    mStack[stackSize++] = start;
+                    mStack[stackSize++] = greatestIndex;
+                }
+            }
         }
 
-        public float[] getPoints() {
-            return points;
+        int count = 0;
+
+        for (int i = 0; i < pointCount; i++) {
+
+            if (keep[i]) {
+                out[count * 2] = points[i * 2];
+                out[count * 2 + 1] = points[i * 2 + 1];
+                count++;
+            }
         }
+
+        return count;
     }
 }
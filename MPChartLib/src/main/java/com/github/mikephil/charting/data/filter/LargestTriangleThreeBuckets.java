@@ -0,0 +1,111 @@
+
+package com.github.mikephil.charting.data.filter;
+
+import com.github.mikephil.charting.interfaces.datasets.IDataSet;
+
+/**
+ * Downsamples a range of entries to a fixed number of points with the
+ * Largest-Triangle-Three-Buckets algorithm (Sveinn Steinarsson, 2013). The first and the
+ * last entry are always kept, the entries in between are split into buckets of equal
+ * size, and of every bucket the entry that forms the largest triangle with the entry
+ * kept from the previous bucket and the average of the next bucket is kept.
+ * <p/>
+ * Unlike Douglas-Peucker, the number of points is known in advance, which makes the
+ * drawing time of a line independent from the number of entries.
+ * {@link}
+ * https://skemman.is/bitstream/1946/15343/3/SS_MSthesis.pdf
+ */
+public class LargestTriangleThreeBuckets {
+
+    /**
+     * Selects threshold entries of the range [from, to] of the given DataSet and writes
+     * their indices into out, in ascending order. If the range holds no more than
+     * threshold entries, all of them are selected. Does not allocate.
+     *
+     * @param set       the DataSet to read the values from
+     * @param from      index of the first entry of the range
+     * @param to        index of the last entry of the range (inclusive)
+     * @param threshold number of entries to select, at least 2
+     * @param out       receives the selected indices, must hold min(threshold, to - from + 1) values
+     * @return the number of selected indices
+     */
+    public int downsample(IDataSet<?> set, int from, int to, int threshold, int[] out) {
+
+        int count = to - from + 1;
+
+        if (count <= 0)
+            return 0;
+
+        if (threshold >= count || count <= 2) {
+            for (int i = 0; i < count; i++) {
+                out[i] = from + i;
+            }
+            return count;
+        }
+
+        if (threshold < 2)
+            throw new IllegalArgumentException("threshold must be at least 2: " + threshold);
+
+        // the first and the last entry are buckets of their own
+        double bucketSize = (double) (count - 2) / (threshold - 2);
+
+        int selected = 0;
+        int a = from;
+        out[selected++] = a;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+
+            // average of the next bucket, the last entry for the last bucket
+            int nextStart = from + (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min(from + (int) Math.floor((bucket + 2) * bucketSize) + 1, to + 1);
+
+            float avgX;
+            float avgY;
+
+            if (nextStart >= nextEnd) {
+                avgX = set.getXForIndex(to);
+                avgY = set.getYForIndex(to);
+            } else {
+                double sumX = 0.0;
+                double sumY = 0.0;
+
+                for (int i = nextStart; i < nextEnd; i++) {
+                    sumX += set.getXForIndex(i);
+                    sumY += set.getYForIndex(i);
+                }
+
+                avgX = (float) (sumX / (nextEnd - nextStart));
+                avgY = (float) (sumY / (nextEnd - nextStart));
+            }
+
+            // the entry of this bucket that forms the largest triangle
+            int start = from + (int) Math.floor(bucket * bucketSize) + 1;
+            int end = Math.min(from + (int) Math.floor((bucket + 1) * bucketSize) + 1, to);
+
+            float ax = set.getXForIndex(a);
+            float ay = set.getYForIndex(a);
+
+            float maxArea = -1f;
+            int maxIndex = start;
+
+            for (int i = start; i < end; i++) {
+
+                // twice the area, only used for comparing
+                float area = Math.abs((ax - avgX) * (set.getYForIndex(i) - ay)
+                        - (ax - set.getXForIndex(i)) * (avgY - ay));
+
+                if (area > maxArea) {
+                    maxArea = area;
+                    maxIndex = i;
+                }
+            }
+
+            out[selected++] = maxIndex;
+            a = maxIndex;
+        }
+
+        out[selected++] = to;
+
+        return selected;
+    }
+}
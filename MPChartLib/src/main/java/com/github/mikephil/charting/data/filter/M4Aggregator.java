@@ -0,0 +1,122 @@
+
+package com.github.mikephil.charting.data.filter;
+
+import com.github.mikephil.charting.interfaces.datasets.IDataSet;
+
+/**
+ * M4 aggregation (Jugel et al., 2014): reduces a range of entries to the first, minimum,
+ * maximum and last entry of every pixel column. Drawn as a polyline, the result covers
+ * exactly the same pixels as all entries would, for a single pass over the entries.
+ * <p/>
+ * The aggregator has no state, so one instance can be used from several threads at
+ * once, as long as the DataSets are not modified meanwhile.
+ * {@link}
+ * http://www.vldb.org/pvldb/vol7/p797-jugel.pdf
+ */
+public class M4Aggregator {
+
+    /**
+     * Returns the size of the array aggregate(...) needs for the given range.
+     *
+     * @param set
+     * @param from   index of the first entry of the range
+     * @param to     index of the last entry of the range (inclusive)
+     * @param scaleX pixels per x-value
+     * @param transX pixel position of the x-value 0
+     * @return
+     */
+    public int getCapacity(IDataSet<?> set, int from, int to, float scaleX, float transX) {
+
+        if (to < from)
+            return 0;
+
+        double first = Math.floor(set.getXForIndex(from) * scaleX + transX);
+        double last = Math.floor(set.getXForIndex(to) * scaleX + transX);
+        double columns = Math.abs(last - first) + 1;
+
+        if (Double.isNaN(columns))
+            return to - from + 1;
+
+        return (int) Math.min(to - from + 1, columns * 4);
+    }
+
+    /**
+     * Aggregates the range [from, to] of the given DataSet per pixel column and writes the
+     * indices of the entries to draw into out, in ascending order. The pixel column of an
+     * entry is floor(x * scaleX + transX).
+     *
+     * @param set
+     * @param from   index of the first entry of the range
+     * @param to     index of the last entry of the range (inclusive)
+     * @param scaleX pixels per x-value
+     * @param transX pixel position of the x-value 0
+     * @param out    receives the indices, see getCapacity(...) for the needed size
+     * @return the number of indices written to out
+     */
+    public int aggregate(IDataSet<?> set, int from, int to, float scaleX, float transX, int[] out) {
+
+        if (to < from)
+            return 0;
+
+        int count = 0;
+
+        double column = Math.floor(set.getXForIndex(from) * scaleX + transX);
+        int first = from;
+        int minIndex = from;
+        int maxIndex = from;
+        float min = set.getYForIndex(from);
+        float max = min;
+
+        for (int i = from + 1; i <= to; i++) {
+
+            double c = Math.floor(set.getXForIndex(i) * scaleX + transX);
+            float y = set.getYForIndex(i);
+
+            if (c != column) {
+                count = flush(out, count, first, minIndex, maxIndex, i - 1);
+
+                column = c;
+                first = i;
+                minIndex = i;
+                maxIndex = i;
+                min = y;
+                max = y;
+                continue;
+            }
+
+            if (y < min) {
+                min = y;
+                minIndex = i;
+            }
+
+            if (y > max) {
+                max = y;
+                maxIndex = i;
+            }
+        }
+
+        return flush(out, count, first, minIndex, maxIndex, to);
+    }
+
+    /**
+     * Writes first, min, max and last of a column in ascending order, skipping duplicates.
+     */
+    private static int flush(int[] out, int count, int first, int minIndex, int maxIndex, int last) {
+
+        out[count++] = first;
+
+        int a = Math.min(minIndex, maxIndex);
+        int b = Math.max(minIndex, maxIndex);
+
+        if (a > out[count - 1])
+            out[count++] = a;
+
+        if (b > out[count - 1])
+            out[count++] = b;
+
+        if (last > out[count - 1])
+            out[count++] = last;
+
+        return count;
+    }
+}
@@ -0,0 +1,36 @@
+package com.github.mikephil.charting.formatter
+
+import com.github.mikephil.charting.charts.Chart
+import com.github.mikephil.charting.components.AxisBase
+import java.text.DateFormat
+import java.util.Date
+
+/**
+ * Formats the x-values of a chart with TimeSeriesLineDataSets as dates. The value of an
+ * axis label is relative to the origin of the data of the chart, it is turned back into
+ * a full precision time with ChartData.getTimeForX(...) before it is formatted.
+ *
+ * @param chart               the chart whose data holds the origin
+ * @param format              the format for the dates
+ * @param unitsPerMillisecond the number of time units per millisecond, e.g. 1 for times
+ * in milliseconds and 1000000 for times in nanoseconds
+ */
+open class TimeAxisValueFormatter(
+    private val chart: Chart<*>,
+    private val format: DateFormat,
+    private val unitsPerMillisecond: Long = 1L
+) : IAxisValueFormatter {
+
+    private val date = Date()
+
+    override fun getFormattedValue(value: Float, axis: AxisBase?): String? {
+        val time = chart.data?.getTimeForX(value) ?: Math.round(value.toDouble())
+
+        // rounds towards negative infinity, also for times before the epoch
+        var millis = time / unitsPerMillisecond
+        if (time % unitsPerMillisecond < 0) millis--
+
+        date.time = millis
+        return format.format(date)
+    }
+}
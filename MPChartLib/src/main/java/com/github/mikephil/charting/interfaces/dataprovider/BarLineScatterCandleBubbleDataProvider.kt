@@ -9,5 +9,17 @@ interface BarLineScatterCandleBubbleDataProvider : ChartInterface {
     fun isInverted(axis: AxisDependency?): Boolean
     val lowestVisibleX: Float
     val highestVisibleX: Float
+
+    /**
+     * tolerance in pixels for simplifying lines before they are drawn, 0 if disabled
+     */
+    val lineApproximationTolerance: Float
+        get() = 0f
+
+    /**
+     * number of points per pixel of the content width lines are downsampled to, 0 if disabled
+     */
+    val lineDownsamplingFactor: Float
+        get() = 0f
     override fun getData(): BarLineScatterCandleBubbleData<*>
 }
\ No newline at end of file
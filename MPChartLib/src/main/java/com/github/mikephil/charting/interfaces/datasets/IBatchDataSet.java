@@ -0,0 +1,24 @@
+package com.github.mikephil.charting.interfaces.datasets;
+
+import com.github.mikephil.charting.data.Entry;
+
+/**
+ * Implemented by the DataSets that can create their entries from plain x- and y-values,
+ * and therefore take whole batches of values at once.
+ */
+public interface IBatchDataSet<T extends Entry> extends IDataSet<T> {
+
+    /**
+     * Adds len values from the given x- and y-arrays, starting at off, in one batch.
+     * The capacity grows once and the minimum and maximum values are updated in a single
+     * pass. If the batch is sorted by x and starts at or after the last entry, it is
+     * appended, otherwise the entries are sorted by x afterwards. Call
+     * notifyDataChanged() on the ChartData that holds this DataSet afterwards.
+     *
+     * @param xs  the x-values
+     * @param ys  the y-values
+     * @param off index of the first value to add in both arrays
+     * @param len number of values to add
+     */
+    void addEntries(float[] xs, float[] ys, int off, int len);
+}
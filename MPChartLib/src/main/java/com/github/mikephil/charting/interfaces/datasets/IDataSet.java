@@ -7,6 +7,7 @@ import com.github.mikephil.charting.components.Legend;
 import com.github.mikephil.charting.components.YAxis;
 import com.github.mikephil.charting.data.DataSet;
 import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.data.LodPyramid;
 import com.github.mikephil.charting.formatter.IValueFormatter;
 import com.github.mikephil.charting.utils.MPPointF;
 
@@ -97,6 +98,88 @@ public interface IDataSet<T extends Entry> {
      */
     T getEntryForIndex(int index);
 
+    /**
+     * Returns the x-value of the Entry at the given index (NOT xIndex) in the values array.
+     * Unlike getEntryForIndex(...), implementations backed by primitive storage do not need
+     * to create an Entry object for this, so renderers should prefer it inside draw loops.
+     * The index must be in the range [0, getEntryCount()). The default implementation
+     * reads the value from getEntryForIndex(...).
+     */
+    default float getXForIndex(int index) {
+        return getEntryForIndex(index).getX();
+    }
+
+    /**
+     * Returns the y-value of the Entry at the given index (NOT xIndex) in the values array.
+     * Unlike getEntryForIndex(...), implementations backed by primitive storage do not need
+     * to create an Entry object for this, so renderers should prefer it inside draw loops.
+     * The index must be in the range [0, getEntryCount()). The default implementation
+     * reads the value from getEntryForIndex(...).
+     */
+    default float getYForIndex(int index) {
+        return getEntryForIndex(index).getY();
+    }
+
+    /**
+     * Returns the level-of-detail pyramid of this DataSet, brought up to date with the
+     * entries, or null if it is disabled. Renderers use it to draw zoomed out data sets
+     * with a few points per pixel column. The default implementation returns null.
+     */
+    default LodPyramid getLodPyramid() {
+        return null;
+    }
+
+    /**
+     * Returns the modification counter of this DataSet. It grows with every change of the
+     * entries or of the styling, so caches can compare it instead of the content.
+     * Changes made to Entry objects directly are only counted once
+     * notifyDataSetChanged() is called. The default implementation returns -1 for
+     * DataSets that do not count their modifications, caches never reuse anything they
+     * derived from such a DataSet.
+     */
+    default long getVersion() {
+        return -1;
+    }
+
+    /**
+     * Called by the chart on the UI thread before it draws a frame, with the visible
+     * x-range. DataSets that prepare their entries for drawing, e.g. pin a snapshot,
+     * decode or load the visible range, do it here. Every call is followed by
+     * onEndDraw(). Does nothing by default.
+     *
+     * @param fromX      the lowest visible x-value
+     * @param toX        the highest visible x-value
+     * @param velocityX  the x-values per second the visible range moves by because of a
+     *                   fling, 0 if there is none
+     * @param invalidate redraws the chart, for entries that become available later, e.g.
+     *                   on a background thread
+     */
+    default void onBeginDraw(float fromX, float toX, float velocityX, Runnable invalidate) {
+    }
+
+    /**
+     * Called by the chart after it has drawn a frame. Does nothing by default.
+     */
+    default void onEndDraw() {
+    }
+
+    /**
+     * Returns the full precision time of the first entry if the x-values of this DataSet
+     * are times relative to an origin (see applyXOrigin(...)), Long.MAX_VALUE if they are
+     * not or if the DataSet is empty.
+     */
+    default long getFirstTime() {
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Sets the time that has the x-value 0, if the x-values of this DataSet are times
+     * relative to an origin. The ChartData object gives all its DataSets the same origin,
+     * see ChartData.setXOrigin(...). Does nothing by default.
+     */
+    default void applyXOrigin(long origin) {
+    }
+
     /**
      * Returns the first Entry index found at the given x-value with binary
      * search.
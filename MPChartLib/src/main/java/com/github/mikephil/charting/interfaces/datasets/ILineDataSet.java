@@ -94,6 +94,16 @@ public interface ILineDataSet extends ILineRadarDataSet<Entry> {
      */
     boolean isDashedLineEnabled();
 
+    /**
+     * Returns true if the visible entries are reduced to first, min, max and last per
+     * pixel column (M4 aggregation) before drawing. Default: false
+     *
+     * @return
+     */
+    default boolean isM4AggregationEnabled() {
+        return false;
+    }
+
     /**
      * Returns the IFillFormatter that is set for this DataSet.
      *
@@ -35,4 +35,14 @@ public interface IScatterDataSet extends ILineScatterCandleRadarDataSet<Entry> {
      * @return
      */
     IShapeRenderer getShapeRenderer();
+
+    /**
+     * Returns true if the shape is rendered once per color into a bitmap, which is then
+     * drawn for every entry, instead of rendering the shape for every entry. Default: false
+     *
+     * @return
+     */
+    default boolean isShapeSpritesEnabled() {
+        return false;
+    }
 }
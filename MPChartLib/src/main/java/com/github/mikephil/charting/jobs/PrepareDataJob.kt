@@ -0,0 +1,73 @@
+package com.github.mikephil.charting.jobs
+
+import com.github.mikephil.charting.components.LegendEntry
+import com.github.mikephil.charting.data.ChartData
+import com.github.mikephil.charting.renderer.LegendRenderer
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Runnable that does the expensive part of setting a new data object on a chart on a
+ * background thread: the minimum and maximum values of all DataSets (which also rebuilds
+ * their y-range indices), their level-of-detail pyramids, the minimum and maximum values
+ * of the data object and the entries of the legend. The data object must not be set on
+ * a chart or modified while the job runs.
+ *
+ * Every job belongs to a generation of the data of a chart. As soon as the current
+ * generation of the chart moves on, the job stops between two DataSets and never calls
+ * the callback.
+ */
+class PrepareDataJob<T : ChartData<*>>(
+    val data: T,
+    private val generation: Long,
+    private val currentGeneration: AtomicLong,
+    private val legendRenderer: LegendRenderer?,
+    private val callback: Callback<T>
+) : Runnable {
+
+    fun interface Callback<T : ChartData<*>> {
+        /**
+         * Called on the background thread once the data object is prepared.
+         */
+        fun onDataPrepared(job: PrepareDataJob<T>)
+    }
+
+    /**
+     * the legend entries collected from the data, null if there is no legend renderer
+     */
+    var legendEntries: List<LegendEntry>? = null
+        private set
+
+    /**
+     * Returns true if the generation of the chart moved on since this job was created.
+     */
+    val isCancelled: Boolean
+        get() = currentGeneration.get() != generation
+
+    private val isStopped: Boolean
+        get() = isCancelled || Thread.currentThread().isInterrupted
+
+    override fun run() {
+        for (set in data.dataSets) {
+            if (isStopped) return
+
+            set.calcMinMax()
+
+            // builds the pyramid, if enabled
+            set.lodPyramid
+        }
+
+        if (isStopped) return
+
+        data.notifyDataChanged()
+
+        if (legendRenderer != null) {
+            val entries = ArrayList<LegendEntry>()
+            legendRenderer.collectLegendEntries(data, entries)
+            legendEntries = entries
+        }
+
+        if (isStopped) return
+
+        callback.onDataPrepared(this)
+    }
+}
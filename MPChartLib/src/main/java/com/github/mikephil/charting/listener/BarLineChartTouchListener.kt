@@ -65,6 +65,13 @@ class BarLineChartTouchListener(
     private val decelerationCurrentPoint: MPPointF = MPPointF.getInstance(0f, 0f)
     private val decelerationVelocity: MPPointF = MPPointF.getInstance(0f, 0f)
 
+    /**
+     * the horizontal velocity of the current fling in pixels per second, 0 if the chart is
+     * not decelerating
+     */
+    val decelerationVelocityX: Float
+        get() = decelerationVelocity.x
+
     /**
      * the distance of movement that will be counted as a drag
      */
@@ -6,6 +6,7 @@ import android.graphics.Paint
 import android.graphics.RectF
 import com.github.mikephil.charting.animation.ChartAnimator
 import com.github.mikephil.charting.buffer.BarBuffer
+import com.github.mikephil.charting.data.DataSet
 import com.github.mikephil.charting.highlight.Highlight
 import com.github.mikephil.charting.interfaces.dataprovider.BarDataProvider
 import com.github.mikephil.charting.interfaces.datasets.IBarDataSet
@@ -59,16 +60,23 @@ open class BarChartRenderer(
         val barData = chart.barData
         barBuffers = mutableListOf()
 
+        // the buffers grow to the number of visible bars when they are fed
         barData.dataSets.forEach {
-            barBuffers.add(
-                BarBuffer(
-                    it.entryCount * 4 * (if (it.isStacked) it.stackSize else 1),
-                    barData.dataSetCount, it.isStacked
-                )
-            )
+            barBuffers.add(BarBuffer(0, barData.dataSetCount, it.isStacked))
         }
     }
 
+    /**
+     * Limits the buffer to the entries of the DataSet whose bars are within the visible
+     * x-range, which are looked up by binary search.
+     */
+    protected fun limitToVisibleBars(buffer: BarBuffer, dataSet: IBarDataSet) {
+        val barWidthHalf = chart.barData.barWidth / 2f
+
+        buffer.limitFrom(dataSet.getEntryIndex(chart.lowestVisibleX - barWidthHalf, Float.NaN, DataSet.Rounding.DOWN))
+        buffer.limitTo(dataSet.getEntryIndex(chart.highestVisibleX + barWidthHalf, Float.NaN, DataSet.Rounding.UP))
+    }
+
     override fun drawData(canvas: Canvas) {
         if (barBuffers.isEmpty()) {
             initBuffers()
@@ -112,6 +120,9 @@ open class BarChartRenderer(
         val phaseX = animator.phaseX
         val phaseY = animator.phaseY
 
+        val buffer = barBuffers[index]!!
+        limitToVisibleBars(buffer, dataSet)
+
         // draw the bar shadow before the values
         if (chart.isDrawBarShadowEnabled) {
             shadowPaint.color = dataSet.barShadowColor
@@ -122,7 +133,7 @@ open class BarChartRenderer(
             val barWidthHalf = barWidth / 2.0f
             var x: Float
 
-            var i = 0
+            var i = buffer.from
             val count = min((ceil(((dataSet.entryCount).toFloat() * phaseX).toDouble())).toInt().toDouble(), dataSet.entryCount.toDouble()).toInt()
             while (i < count) {
                 val e = dataSet.getEntryForIndex(i)
@@ -156,14 +167,14 @@ open class BarChartRenderer(
         }
 
         // initialize the buffer
-        val buffer = barBuffers[index]!!.apply {
+        buffer.apply {
             setPhases(phaseX, phaseY)
             setDataSet(index)
             setInverted(chart.isInverted(dataSet.axisDependency))
             setBarWidth(chart.barData.barWidth)
             feed(dataSet)
         }
-        trans!!.pointValuesToPixel(buffer.buffer)
+        trans!!.pointValuesToPixel(buffer.buffer, 0, buffer.size())
 
         val isCustomFill = dataSet.fills != null && dataSet.fills.isNotEmpty()
         val isSingleColor = dataSet.colors.size == 1
@@ -174,7 +185,7 @@ open class BarChartRenderer(
         }
 
         var j = 0
-        var pos = 0
+        var pos = buffer.firstBarIndex
         while (j < buffer.size()) {
             if (!viewPortHandler.isInBoundsLeft(buffer.buffer[j + 2])) {
                 j += 4
@@ -296,7 +307,7 @@ open class BarChartRenderer(
                 // if only single values are drawn (sum)
                 if (!dataSet.isStacked) {
                     var j = 0
-                    while (j < buffer!!.buffer.size * animator.phaseX) {
+                    while (j < buffer!!.size()) {
                         val x = (buffer.buffer[j] + buffer.buffer[j + 2]) / 2f
 
                         if (!viewPortHandler.isInBoundsRight(x)) {
@@ -310,14 +321,15 @@ open class BarChartRenderer(
                             continue
                         }
 
-                        val entry = dataSet.getEntryForIndex(j / 4)
+                        val entryIndex = buffer.from + j / 4
+                        val entry = dataSet.getEntryForIndex(entryIndex)
                         val `val` = entry.y
 
                         if (dataSet.isDrawValuesEnabled) {
                             drawValue(
                                 canvas, dataSet.valueFormatter, `val`, entry, i, x,
                                 if (`val` >= 0) (buffer.buffer[j + 1] + posOffset) else (buffer.buffer[j + 3] + negOffset),
-                                dataSet.getValueTextColor(j / 4)
+                                dataSet.getValueTextColor(entryIndex)
                             )
                         }
 
@@ -347,13 +359,13 @@ open class BarChartRenderer(
                     val trans = chart.getTransformer(dataSet.axisDependency)
 
                     var bufferIndex = 0
-                    var index = 0
+                    var index = buffer!!.from
 
-                    while (index < dataSet.entryCount * animator.phaseX) {
+                    while (index < dataSet.entryCount * animator.phaseX && bufferIndex < buffer.size()) {
                         val entry = dataSet.getEntryForIndex(index)
 
                         val vals = entry.yVals
-                        val x = (buffer!!.buffer[bufferIndex] + buffer.buffer[bufferIndex + 2]) / 2f
+                        val x = (buffer.buffer[bufferIndex] + buffer.buffer[bufferIndex + 2]) / 2f
 
                         val color = dataSet.getValueTextColor(index)
 
@@ -368,6 +380,8 @@ open class BarChartRenderer(
                             if (!viewPortHandler.isInBoundsY(buffer.buffer[bufferIndex + 1])
                                 || !viewPortHandler.isInBoundsLeft(x)
                             ) {
+                                bufferIndex += 4
+                                index++
                                 continue
                             }
 
@@ -6,6 +6,7 @@ import com.github.mikephil.charting.data.Entry
 import com.github.mikephil.charting.interfaces.dataprovider.BarLineScatterCandleBubbleDataProvider
 import com.github.mikephil.charting.interfaces.datasets.IBarLineScatterCandleBubbleDataSet
 import com.github.mikephil.charting.interfaces.datasets.IDataSet
+import com.github.mikephil.charting.utils.Transformer
 import com.github.mikephil.charting.utils.ViewPortHandler
 import kotlin.math.max
 import kotlin.math.min
@@ -16,6 +17,43 @@ abstract class BarLineScatterCandleBubbleRenderer(animator: ChartAnimator, viewP
      */
     protected var xBounds: XBounds = XBounds()
 
+    /**
+     * buffer for the pixel positions (x, y, x, y, ...) of the entries in xBounds, reused
+     * for all DataSets and frames
+     */
+    @JvmField
+    protected var positionsBuffer: FloatArray = FloatArray(0)
+
+    /**
+     * Writes the x- and y-values (times phaseY) of the entries in xBounds, which must be
+     * set for the DataSet before, into positionsBuffer and transforms them to pixels in one
+     * pass. Returns the number of values written, the position of entry xBounds.min + i
+     * is at index 2 * i.
+     */
+    protected fun transformVisiblePoints(dataSet: IDataSet<*>, trans: Transformer, phaseY: Float): Int {
+        val pointCount = min(xBounds.range + 1, dataSet.getEntryCount() - xBounds.min)
+        if (pointCount <= 0) {
+            return 0
+        }
+
+        if (positionsBuffer.size < pointCount * 2) {
+            positionsBuffer = FloatArray(pointCount * 2)
+        }
+
+        val positions = positionsBuffer
+        var index = xBounds.min
+        var j = 0
+        while (j < pointCount * 2) {
+            positions[j] = dataSet.getXForIndex(index)
+            positions[j + 1] = dataSet.getYForIndex(index) * phaseY
+            index++
+            j += 2
+        }
+
+        trans.pointValuesToPixel(positions, 0, pointCount * 2)
+        return pointCount * 2
+    }
+
     /**
      * Returns true if the DataSet values should be drawn, false if not.
      */
@@ -64,11 +102,9 @@ abstract class BarLineScatterCandleBubbleRenderer(animator: ChartAnimator, viewP
             val low = chart.lowestVisibleX
             val high = chart.highestVisibleX
 
-            val entryFrom = dataSet.getEntryForXValue(low, Float.NaN, DataSet.Rounding.DOWN)
-            val entryTo = dataSet.getEntryForXValue(high, Float.NaN, DataSet.Rounding.UP)
-
-            min = if (entryFrom == null) 0 else dataSet.getEntryIndex(entryFrom)
-            max = if (entryTo == null) 0 else dataSet.getEntryIndex(entryTo)
+            // look up the indices directly, this does not need any Entry objects
+            min = max(0, dataSet.getEntryIndex(low, Float.NaN, DataSet.Rounding.DOWN))
+            max = max(0, dataSet.getEntryIndex(high, Float.NaN, DataSet.Rounding.UP))
             range = ((max - min) * phaseX).toInt()
         }
     }
@@ -29,12 +29,10 @@ open class HorizontalBarChartRenderer(
         val barData = chart.barData
         barBuffers = arrayOfNulls<HorizontalBarBuffer>(barData.dataSetCount).toMutableList()
 
+        // the buffers grow to the number of visible bars when they are fed
         for (i in barBuffers.indices) {
             val set = barData.getDataSetByIndex(i)
-            barBuffers[i] = HorizontalBarBuffer(
-                set.entryCount * 4 * (if (set.isStacked) set.stackSize else 1),
-                barData.dataSetCount, set.isStacked
-            )
+            barBuffers[i] = HorizontalBarBuffer(0, barData.dataSetCount, set.isStacked)
         }
     }
 
@@ -55,6 +53,9 @@ open class HorizontalBarChartRenderer(
         val phaseX = animator.phaseX
         val phaseY = animator.phaseY
 
+        val buffer = barBuffers[index]!!
+        limitToVisibleBars(buffer, dataSet)
+
         // draw the bar shadow before the values
         if (chart.isDrawBarShadowEnabled) {
             shadowPaint.color = dataSet.barShadowColor
@@ -65,7 +66,7 @@ open class HorizontalBarChartRenderer(
             val barWidthHalf = barWidth / 2.0f
             var x: Float
 
-            var i = 0
+            var i = buffer.from
             val count = min((ceil(((dataSet.entryCount).toFloat() * phaseX).toDouble())).toInt().toDouble(), dataSet.entryCount.toDouble()).toInt()
             while (i < count
             ) {
@@ -96,7 +97,6 @@ open class HorizontalBarChartRenderer(
         }
 
         // initialize the buffer
-        val buffer = barBuffers[index]!!
         buffer.setPhases(phaseX, phaseY)
         buffer.setDataSet(index)
         buffer.setInverted(chart.isInverted(dataSet.axisDependency))
@@ -104,7 +104,7 @@ open class HorizontalBarChartRenderer(
 
         buffer.feed(dataSet)
 
-        trans!!.pointValuesToPixel(buffer.buffer)
+        trans!!.pointValuesToPixel(buffer.buffer, 0, buffer.size())
 
         val isCustomFill = dataSet.fills != null && dataSet.fills.isNotEmpty()
         val isSingleColor = dataSet.colors.size == 1
@@ -115,7 +115,7 @@ open class HorizontalBarChartRenderer(
         }
 
         var j = 0
-        var pos = 0
+        var pos = buffer.firstBarIndex
         while (j < buffer.size()) {
             if (!viewPortHandler.isInBoundsTop(buffer.buffer[j + 3])) {
                 break
@@ -130,7 +130,7 @@ open class HorizontalBarChartRenderer(
             if (!isSingleColor) {
                 // Set the color for the currently drawn value. If the index
                 // is out of bounds, reuse colors.
-                paintRender.color = dataSet.getColorByIndex(j / 4)
+                paintRender.color = dataSet.getColorByIndex(pos)
             }
 
             if (isCustomFill) {
@@ -201,7 +201,7 @@ open class HorizontalBarChartRenderer(
                 // if only single values are drawn (sum)
                 if (!dataSet.isStacked) {
                     var j = 0
-                    while (j < buffer.buffer.size * animator.phaseX) {
+                    while (j < buffer.size()) {
                         val y = (buffer.buffer[j + 1] + buffer.buffer[j + 3]) / 2f
 
                         if (!viewPortHandler.isInBoundsTop(buffer.buffer[j + 1])) {
@@ -218,7 +218,8 @@ open class HorizontalBarChartRenderer(
                             continue
                         }
 
-                        val entry = dataSet.getEntryForIndex(j / 4)
+                        val entryIndex = buffer.from + j / 4
+                        val entry = dataSet.getEntryForIndex(entryIndex)
                         val `val` = entry.y
                         val formattedValue = formatter.getFormattedValue(`val`, entry, i, viewPortHandler)
 
@@ -239,7 +240,7 @@ open class HorizontalBarChartRenderer(
                                 formattedValue!!,
                                 buffer.buffer[j + 2] + (if (`val` >= 0) posOffset else negOffset),
                                 y + halfTextHeight,
-                                dataSet.getValueTextColor(j / 2)
+                                dataSet.getValueTextColor(entryIndex)
                             )
                         }
 
@@ -269,9 +270,9 @@ open class HorizontalBarChartRenderer(
                     val trans = chart.getTransformer(dataSet.axisDependency)
 
                     var bufferIndex = 0
-                    var index = 0
+                    var index = buffer.from
 
-                    while (index < dataSet.entryCount * animator.phaseX) {
+                    while (index < dataSet.entryCount * animator.phaseX && bufferIndex < buffer.size()) {
                         val entry = dataSet.getEntryForIndex(index)
 
                         val color = dataSet.getValueTextColor(index)
@@ -285,11 +286,11 @@ open class HorizontalBarChartRenderer(
                                 break
                             }
 
-                            if (!viewPortHandler.isInBoundsX(buffer.buffer[bufferIndex])) {
-                                continue
-                            }
-
-                            if (!viewPortHandler.isInBoundsBottom(buffer.buffer[bufferIndex + 1])) {
+                            if (!viewPortHandler.isInBoundsX(buffer.buffer[bufferIndex])
+                                || !viewPortHandler.isInBoundsBottom(buffer.buffer[bufferIndex + 1])
+                            ) {
+                                bufferIndex += 4
+                                index++
                                 continue
                             }
 
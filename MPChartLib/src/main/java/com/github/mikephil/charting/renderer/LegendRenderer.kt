@@ -42,157 +42,177 @@ open class LegendRenderer(
      * Prepares the legend and calculates all needed forms, labels and colors.
      */
     fun computeLegend(data: ChartData<*>) {
+        computeLegend(data, null)
+    }
+
+    /**
+     * Prepares the legend like computeLegend(data), but takes the forms, labels and colors
+     * from the given entries if they are not null, see collectLegendEntries(...).
+     */
+    fun computeLegend(data: ChartData<*>, preparedEntries: List<LegendEntry>?) {
         if (!legend.isLegendCustom) {
             computedEntries.clear()
 
-            // loop for building up the colors and labels used in the legend
-            for (i in 0..<data.dataSetCount) {
-                val dataSet = data.getDataSetByIndex(i) ?: continue
+            if (preparedEntries != null) {
+                computedEntries.addAll(preparedEntries)
+            } else {
+                collectLegendEntries(data, computedEntries)
+            }
 
-                val clrs = dataSet.colors
-                val entryCount = dataSet.entryCount
+            if (legend.extraEntries != null) {
+                Collections.addAll(computedEntries, *legend.extraEntries)
+            }
 
-                // if we have a barchart with stacked bars
-                if (dataSet is IBarDataSet && dataSet.isStacked) {
-                    val bds = dataSet
-                    val sLabels = bds.stackLabels
+            legend.setEntries(computedEntries)
+        }
 
-                    val minEntries = min(clrs.size.toDouble(), bds.stackSize.toDouble()).toInt()
+        val tf = legend.typeface
 
-                    for (j in 0..<minEntries) {
-                        val label: String?
-                        if (sLabels.isNotEmpty()) {
-                            val labelIndex = j % minEntries
-                            label = if (labelIndex < sLabels.size) sLabels[labelIndex] else null
-                        } else {
-                            label = null
-                        }
+        if (tf != null) labelPaint.typeface = tf
 
-                        computedEntries.add(
-                            LegendEntry(
-                                label,
-                                dataSet.getForm(),
-                                dataSet.getFormSize(),
-                                dataSet.getFormLineWidth(),
-                                dataSet.getFormLineDashEffect(),
-                                clrs[j]
-                            )
-                        )
-                    }
+        labelPaint.textSize = legend.textSize
+        labelPaint.color = legend.textColor
 
-                    if (bds.label != null) {
-                        // add the legend description label
-                        computedEntries.add(
-                            LegendEntry(
-                                dataSet.getLabel(),
-                                LegendForm.NONE,
-                                Float.NaN,
-                                Float.NaN,
-                                null,
-                                ColorTemplate.COLOR_NONE
-                            )
-                        )
-                    }
-                } else if (dataSet is IPieDataSet) {
-                    val pds = dataSet
-
-                    var j = 0
-                    while (j < clrs.size && j < entryCount) {
-                        computedEntries.add(
-                            LegendEntry(
-                                pds.getEntryForIndex(j).label,
-                                dataSet.getForm(),
-                                dataSet.getFormSize(),
-                                dataSet.getFormLineWidth(),
-                                dataSet.getFormLineDashEffect(),
-                                clrs[j]
-                            )
-                        )
-                        j++
-                    }
+        // calculate all dimensions of the mLegend
+        legend.calculateDimensions(labelPaint, viewPortHandler)
+    }
 
-                    if (pds.label != null) {
-                        // add the legend description label
-                        computedEntries.add(
-                            LegendEntry(
-                                dataSet.getLabel(),
-                                LegendForm.NONE,
-                                Float.NaN,
-                                Float.NaN,
-                                null,
-                                ColorTemplate.COLOR_NONE
-                            )
-                        )
+    /**
+     * Adds the forms, labels and colors of all DataSets of the given data to the given list.
+     * Only reads the data and the DataSets, so it can run on a background thread.
+     */
+    fun collectLegendEntries(data: ChartData<*>, entries: MutableList<LegendEntry>) {
+        // loop for building up the colors and labels used in the legend
+        for (i in 0..<data.dataSetCount) {
+            val dataSet = data.getDataSetByIndex(i) ?: continue
+
+            val clrs = dataSet.colors
+            val entryCount = dataSet.entryCount
+
+            // if we have a barchart with stacked bars
+            if (dataSet is IBarDataSet && dataSet.isStacked) {
+                val bds = dataSet
+                val sLabels = bds.stackLabels
+
+                val minEntries = min(clrs.size.toDouble(), bds.stackSize.toDouble()).toInt()
+
+                for (j in 0..<minEntries) {
+                    val label: String?
+                    if (sLabels.isNotEmpty()) {
+                        val labelIndex = j % minEntries
+                        label = if (labelIndex < sLabels.size) sLabels[labelIndex] else null
+                    } else {
+                        label = null
                     }
-                } else if (dataSet is ICandleDataSet && dataSet.decreasingColor !=
-                    ColorTemplate.COLOR_NONE
-                ) {
-                    val decreasingColor = dataSet.decreasingColor
-                    val increasingColor = dataSet.increasingColor
 
-                    computedEntries.add(
+                    entries.add(
                         LegendEntry(
-                            null,
+                            label,
                             dataSet.getForm(),
                             dataSet.getFormSize(),
                             dataSet.getFormLineWidth(),
                             dataSet.getFormLineDashEffect(),
-                            decreasingColor
+                            clrs[j]
                         )
                     )
+                }
 
-                    computedEntries.add(
+                if (bds.label != null) {
+                    // add the legend description label
+                    entries.add(
                         LegendEntry(
                             dataSet.getLabel(),
+                            LegendForm.NONE,
+                            Float.NaN,
+                            Float.NaN,
+                            null,
+                            ColorTemplate.COLOR_NONE
+                        )
+                    )
+                }
+            } else if (dataSet is IPieDataSet) {
+                val pds = dataSet
+
+                var j = 0
+                while (j < clrs.size && j < entryCount) {
+                    entries.add(
+                        LegendEntry(
+                            pds.getEntryForIndex(j).label,
                             dataSet.getForm(),
                             dataSet.getFormSize(),
                             dataSet.getFormLineWidth(),
                             dataSet.getFormLineDashEffect(),
-                            increasingColor
+                            clrs[j]
                         )
                     )
-                } else { // all others
-
-                    var j = 0
-                    while (j < clrs.size && j < entryCount) {
-                        // if multiple colors are set for a DataSet, group them
-                        val label = if (j < clrs.size - 1 && j < entryCount - 1) {
-                            null
-                        } else { // add label to the last entry
-                            data.getDataSetByIndex(i).label
-                        }
+                    j++
+                }
 
-                        computedEntries.add(
-                            LegendEntry(
-                                label,
-                                dataSet.form,
-                                dataSet.formSize,
-                                dataSet.formLineWidth,
-                                dataSet.formLineDashEffect,
-                                clrs[j]
-                            )
+                if (pds.label != null) {
+                    // add the legend description label
+                    entries.add(
+                        LegendEntry(
+                            dataSet.getLabel(),
+                            LegendForm.NONE,
+                            Float.NaN,
+                            Float.NaN,
+                            null,
+                            ColorTemplate.COLOR_NONE
                         )
-                        j++
-                    }
+                    )
                 }
-            }
+            } else if (dataSet is ICandleDataSet && dataSet.decreasingColor !=
+                ColorTemplate.COLOR_NONE
+            ) {
+                val decreasingColor = dataSet.decreasingColor
+                val increasingColor = dataSet.increasingColor
+
+                entries.add(
+                    LegendEntry(
+                        null,
+                        dataSet.getForm(),
+                        dataSet.getFormSize(),
+                        dataSet.getFormLineWidth(),
+                        dataSet.getFormLineDashEffect(),
+                        decreasingColor
+                    )
+                )
+
+                entries.add(
+                    LegendEntry(
+                        dataSet.getLabel(),
+                        dataSet.getForm(),
+                        dataSet.getFormSize(),
+                        dataSet.getFormLineWidth(),
+                        dataSet.getFormLineDashEffect(),
+                        increasingColor
+                    )
+                )
+            } else { // all others
+
+                var j = 0
+                while (j < clrs.size && j < entryCount) {
+                    // if multiple colors are set for a DataSet, group them
+                    val label = if (j < clrs.size - 1 && j < entryCount - 1) {
+                        null
+                    } else { // add label to the last entry
+                        data.getDataSetByIndex(i).label
+                    }
 
-            if (legend.extraEntries != null) {
-                Collections.addAll(computedEntries, *legend.extraEntries)
+                    entries.add(
+                        LegendEntry(
+                            label,
+                            dataSet.form,
+                            dataSet.formSize,
+                            dataSet.formLineWidth,
+                            dataSet.formLineDashEffect,
+                            clrs[j]
+                        )
+                    )
+                    j++
+                }
             }
-
-            legend.setEntries(computedEntries)
         }
-
-        val tf = legend.typeface
-
-        if (tf != null) labelPaint.typeface = tf
-
-        labelPaint.textSize = legend.textSize
-        labelPaint.color = legend.textColor
-
-        // calculate all dimensions of the mLegend
-        legend.calculateDimensions(labelPaint, viewPortHandler)
     }
 
     protected var legendFontMetrics: Paint.FontMetrics = Paint.FontMetrics()
@@ -4,21 +4,27 @@ import android.graphics.Bitmap
 import android.graphics.Bitmap.createBitmap
 import android.graphics.Canvas
 import android.graphics.Color
+import android.graphics.Matrix
 import android.graphics.Paint
 import android.graphics.Path
 import com.github.mikephil.charting.animation.ChartAnimator
-import com.github.mikephil.charting.data.Entry
 import com.github.mikephil.charting.data.LineDataSet
+import com.github.mikephil.charting.data.filter.Approximator
+import com.github.mikephil.charting.data.filter.LargestTriangleThreeBuckets
+import com.github.mikephil.charting.data.filter.M4Aggregator
 import com.github.mikephil.charting.highlight.Highlight
 import com.github.mikephil.charting.interfaces.dataprovider.LineDataProvider
 import com.github.mikephil.charting.interfaces.datasets.IDataSet
 import com.github.mikephil.charting.interfaces.datasets.ILineDataSet
+import com.github.mikephil.charting.utils.ChartExecutors
 import com.github.mikephil.charting.utils.ColorTemplate
 import com.github.mikephil.charting.utils.MPPointF
 import com.github.mikephil.charting.utils.Transformer
 import com.github.mikephil.charting.utils.Utils
 import com.github.mikephil.charting.utils.ViewPortHandler
 import java.lang.ref.WeakReference
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.RecursiveAction
 import kotlin.math.max
 import kotlin.math.min
 
@@ -32,6 +38,62 @@ open class LineChartRenderer(
     protected var circlePaintInner: Paint = Paint(Paint.ANTI_ALIAS_FLAG)
     private var lineBuffer = FloatArray(4)
 
+    /**
+     * indices of the entries to draw if not all entries inside xBounds are drawn, see selectEntries(...)
+     */
+    private var selectedIndices = IntArray(0)
+
+    /**
+     * the indices of the entries to draw, either selectedIndices or the result of an aggregation task
+     */
+    private var selection = selectedIndices
+
+    /**
+     * number of indices in selection, or -1 if all entries inside xBounds are drawn
+     */
+    private var selectedCount = -1
+
+    /**
+     * M4 aggregation of the datasets that have it enabled, run before drawing
+     */
+    private val aggregationTasks = HashMap<IDataSet<*>, AggregationTask>()
+
+    /**
+     * the aggregation tasks of the current frame
+     */
+    private val pendingAggregationTasks = ArrayList<AggregationTask>()
+
+    /**
+     * the pool the M4 aggregation of several datasets runs on in parallel, null for the pool that is shared by
+     * all charts, see ChartExecutors
+     */
+    var aggregationPool: ForkJoinPool? = null
+
+    /**
+     * downsamples lines if the chart has a line downsampling factor
+     */
+    private val downsampler = LargestTriangleThreeBuckets()
+
+    /**
+     * simplifies lines if the chart has a line approximation tolerance
+     */
+    private val approximator = Approximator()
+
+    /**
+     * buffer for the points of the line that is simplified
+     */
+    private var approximationPoints = FloatArray(0)
+
+    /**
+     * values of the value-to-pixel matrix of the line that is drawn
+     */
+    private val matrixValues = FloatArray(9)
+
+    /**
+     * cache for the simplified lines of all datasets
+     */
+    private val approximationCaches = HashMap<IDataSet<*>, ApproximationCache>()
+
     /**
      * Bitmap object used for drawing the paths (otherwise they are too long if
      * rendered directly on the canvas)
@@ -53,6 +115,9 @@ open class LineChartRenderer(
     protected var cubicFillPath: Path = Path()
 
     override fun initBuffers() {
+        // the data changed, simplified lines have to be computed again
+        approximationCaches.clear()
+        aggregationTasks.clear()
     }
 
     override fun drawData(canvas: Canvas) {
@@ -76,6 +141,8 @@ open class LineChartRenderer(
 
         val lineData = dataProvider.lineData
 
+        aggregateDataSets(lineData.dataSets)
+
         for (set in lineData.dataSets) {
             if (set.isVisible) drawDataSet(canvas, set)
         }
@@ -108,24 +175,29 @@ open class LineChartRenderer(
 
         cubicPath.reset()
 
-        if (xBounds.range >= 1) {
-            var prev = dataSet.getEntryForIndex(xBounds.min)
-            var cur = prev
+        val pointCount = selectEntries(dataSet)
+
+        if (pointCount >= 2) {
+            var curX = dataSet.getXForIndex(selectedIndex(0))
+            var curY = dataSet.getYForIndex(selectedIndex(0))
 
             // let the spline start
-            cubicPath.moveTo(cur.x, cur.y * phaseY)
+            cubicPath.moveTo(curX, curY * phaseY)
 
-            for (j in xBounds.min + 1..xBounds.range + xBounds.min) {
-                prev = cur
-                cur = dataSet.getEntryForIndex(j)
+            for (k in 1..<pointCount) {
+                val j = selectedIndex(k)
+                val prevX = curX
+                val prevY = curY
+                curX = dataSet.getXForIndex(j)
+                curY = dataSet.getYForIndex(j)
 
-                val cpx = ((prev.x)
-                        + (cur.x - prev.x) / 2.0f)
+                val cpx = ((prevX)
+                        + (curX - prevX) / 2.0f)
 
                 cubicPath.cubicTo(
-                    cpx, prev.y * phaseY,
-                    cpx, cur.y * phaseY,
-                    cur.x, cur.y * phaseY
+                    cpx, prevY * phaseY,
+                    cpx, curY * phaseY,
+                    curX, curY * phaseY
                 )
             }
         }
@@ -160,7 +232,9 @@ open class LineChartRenderer(
 
         cubicPath.reset()
 
-        if (xBounds.range >= 1) {
+        val pointCount = selectEntries(dataSet)
+
+        if (pointCount >= 2) {
             var prevDx: Float
             var prevDy: Float
             var curDx: Float
@@ -170,37 +244,47 @@ open class LineChartRenderer(
             // That's because we need 4 points for a cubic bezier (cubic=4), otherwise we get lines moving and doing weird stuff on the edges of the chart.
             // So in the starting `prev` and `cur`, go -2, -1
             // And in the `lastIndex`, add +1
-            val firstIndex = xBounds.min + 1
-            val lastIndex = xBounds.min + xBounds.range
-
-            var prevPrev: Entry?
-            var prev = dataSet.getEntryForIndex(max((firstIndex - 2).toDouble(), 0.0).toInt())
-            var cur = dataSet.getEntryForIndex(max((firstIndex - 1).toDouble(), 0.0).toInt())
-            var next = cur
-            var nextIndex = -1
+            val entryCount = dataSet.entryCount
 
-            if (cur == null) return
+            val curIndex = selectedIndex(0)
+            val prevIndex = max(curIndex - 1, 0)
 
-            // let the spline start
-            cubicPath.moveTo(cur.x, cur.y * phaseY)
-
-            for (j in xBounds.min + 1..xBounds.range + xBounds.min) {
-                prevPrev = prev
-                prev = cur
-                cur = if (nextIndex == j) next else dataSet.getEntryForIndex(j)
+            if (curIndex >= entryCount) return
 
-                nextIndex = if (j + 1 < dataSet.entryCount) j + 1 else j
-                next = dataSet.getEntryForIndex(nextIndex)
+            var prevPrevX: Float
+            var prevPrevY: Float
+            var prevX = dataSet.getXForIndex(prevIndex)
+            var prevY = dataSet.getYForIndex(prevIndex)
+            var curX = dataSet.getXForIndex(curIndex)
+            var curY = dataSet.getYForIndex(curIndex)
+            var nextX: Float
+            var nextY: Float
 
-                prevDx = (cur!!.x - prevPrev!!.x) * intensity
-                prevDy = (cur.y - prevPrev.y) * intensity
-                curDx = (next.x - prev!!.x) * intensity
-                curDy = (next.y - prev.y) * intensity
+            // let the spline start
+            cubicPath.moveTo(curX, curY * phaseY)
+
+            for (k in 1..<pointCount) {
+                val j = selectedIndex(k)
+                prevPrevX = prevX
+                prevPrevY = prevY
+                prevX = curX
+                prevY = curY
+                curX = dataSet.getXForIndex(j)
+                curY = dataSet.getYForIndex(j)
+
+                val nextIndex = if (k + 1 < pointCount) selectedIndex(k + 1) else if (j + 1 < entryCount) j + 1 else j
+                nextX = dataSet.getXForIndex(nextIndex)
+                nextY = dataSet.getYForIndex(nextIndex)
+
+                prevDx = (curX - prevPrevX) * intensity
+                prevDy = (curY - prevPrevY) * intensity
+                curDx = (nextX - prevX) * intensity
+                curDy = (nextY - prevY) * intensity
 
                 cubicPath.cubicTo(
-                    prev.x + prevDx, (prev.y + prevDy) * phaseY,
-                    cur.x - curDx,
-                    (cur.y - curDy) * phaseY, cur.x, cur.y * phaseY
+                    prevX + prevDx, (prevY + prevDy) * phaseY,
+                    curX - curDx,
+                    (curY - curDy) * phaseY, curX, curY * phaseY
                 )
             }
         }
@@ -227,8 +311,8 @@ open class LineChartRenderer(
     protected fun drawCubicFill(canvas: Canvas, dataSet: ILineDataSet, spline: Path, trans: Transformer, bounds: XBounds) {
         val fillMin = dataSet.fillFormatter.getFillLinePosition(dataSet, dataProvider)
 
-        spline.lineTo(dataSet.getEntryForIndex(bounds.min + bounds.range).x, fillMin)
-        spline.lineTo(dataSet.getEntryForIndex(bounds.min).x, fillMin)
+        spline.lineTo(dataSet.getXForIndex(bounds.min + bounds.range), fillMin)
+        spline.lineTo(dataSet.getXForIndex(bounds.min), fillMin)
         spline.close()
 
         trans.pathValueToPixel(spline)
@@ -265,7 +349,15 @@ open class LineChartRenderer(
 
         xBounds.set(dataProvider, dataSet)
 
-        // if drawing filled is enabled
+        // lines of more than one color are drawn through all visible entries, others through the selected ones
+        val pointCount = if (dataSet.colors.size > 1) {
+            selectedCount = -1
+            xBounds.range + 1
+        } else {
+            selectEntries(dataSet)
+        }
+
+        // if drawing filled is enabled, the fill follows the same entries as the line
         if (dataSet.isDrawFilledEnabled && entryCount > 0) {
             drawLinearFill(c, dataSet, trans!!, xBounds)
         }
@@ -280,24 +372,23 @@ open class LineChartRenderer(
             val max = xBounds.min + xBounds.range
 
             for (j in xBounds.min..<max) {
-                var entry: Entry = dataSet.getEntryForIndex(j) ?: continue
-
-                lineBuffer[0] = entry.x
-                lineBuffer[1] = entry.y * phaseY
+                lineBuffer[0] = dataSet.getXForIndex(j)
+                lineBuffer[1] = dataSet.getYForIndex(j) * phaseY
 
                 if (j < xBounds.max) {
-                    entry = dataSet.getEntryForIndex(j + 1)
+                    val nextX = dataSet.getXForIndex(j + 1)
+                    val nextY = dataSet.getYForIndex(j + 1)
 
                     if (isDrawSteppedEnabled) {
-                        lineBuffer[2] = entry.x
+                        lineBuffer[2] = nextX
                         lineBuffer[3] = lineBuffer[1]
                         lineBuffer[4] = lineBuffer[2]
                         lineBuffer[5] = lineBuffer[3]
-                        lineBuffer[6] = entry.x
-                        lineBuffer[7] = entry.y * phaseY
+                        lineBuffer[6] = nextX
+                        lineBuffer[7] = nextY * phaseY
                     } else {
-                        lineBuffer[2] = entry.x
-                        lineBuffer[3] = entry.y * phaseY
+                        lineBuffer[2] = nextX
+                        lineBuffer[3] = nextY * phaseY
                     }
                 } else {
                     lineBuffer[2] = lineBuffer[0]
@@ -314,7 +405,7 @@ open class LineChartRenderer(
                     firstCoordinateY == lastCoordinateY
                 ) continue
 
-                trans!!.pointValuesToPixel(lineBuffer)
+                trans!!.pointValuesToPixel(lineBuffer, 0, numberOfFloats)
 
                 if (!viewPortHandler.isInBoundsRight(firstCoordinateX)) break
 
@@ -337,56 +428,229 @@ open class LineChartRenderer(
             }
         } else { // only one color per dataset
 
-            if (lineBuffer.size < max(((entryCount) * pointsPerEntryPair).toDouble(), pointsPerEntryPair.toDouble()) * 2) lineBuffer = FloatArray(
-                (max(((entryCount) * pointsPerEntryPair).toDouble(), pointsPerEntryPair.toDouble()) * 4).toInt()
-            )
+            val approximationTolerance = dataProvider.lineApproximationTolerance
 
-            var e1: Entry?
-            var e2: Entry?
+            if (approximationTolerance > 0f && !isDrawSteppedEnabled) {
+                drawLinearApproximated(canvas!!, dataSet, trans!!, pointCount, approximationTolerance)
+            } else {
+                val pointCountForBuffer = if (selectedCount >= 0) pointCount else entryCount
 
-            e1 = dataSet.getEntryForIndex(xBounds.min)
+                if (lineBuffer.size < max(((pointCountForBuffer) * pointsPerEntryPair).toDouble(), pointsPerEntryPair.toDouble()) * 2) lineBuffer = FloatArray(
+                    (max(((pointCountForBuffer) * pointsPerEntryPair).toDouble(), pointsPerEntryPair.toDouble()) * 4).toInt()
+                )
 
-            if (e1 != null) {
-                var j = 0
-                for (x in xBounds.min..xBounds.range + xBounds.min) {
-                    e1 = dataSet.getEntryForIndex(if (x == 0) 0 else (x - 1))
-                    e2 = dataSet.getEntryForIndex(x)
+                if (xBounds.min < entryCount && pointCount > 0) {
+                    var j = 0
+                    for (k in 0..<pointCount) {
+                        val i = selectedIndex(k)
+                        val prevIndex = if (k > 0) selectedIndex(k - 1) else if (i == 0) 0 else (i - 1)
+                        val x1 = dataSet.getXForIndex(prevIndex)
+                        val y1 = dataSet.getYForIndex(prevIndex) * phaseY
+                        val x2 = dataSet.getXForIndex(i)
+                        val y2 = dataSet.getYForIndex(i) * phaseY
+
+                        lineBuffer[j++] = x1
+                        lineBuffer[j++] = y1
+
+                        if (isDrawSteppedEnabled) {
+                            lineBuffer[j++] = x2
+                            lineBuffer[j++] = y1
+                            lineBuffer[j++] = x2
+                            lineBuffer[j++] = y1
+                        }
 
-                    if (e1 == null || e2 == null) continue
+                        lineBuffer[j++] = x2
+                        lineBuffer[j++] = y2
+                    }
 
-                    lineBuffer[j++] = e1.x
-                    lineBuffer[j++] = e1.y * phaseY
+                    if (j > 0) {
+                        val size = (max((pointCount * pointsPerEntryPair).toDouble(), pointsPerEntryPair.toDouble()) * 2).toInt()
 
-                    if (isDrawSteppedEnabled) {
-                        lineBuffer[j++] = e2.x
-                        lineBuffer[j++] = e1.y * phaseY
-                        lineBuffer[j++] = e2.x
-                        lineBuffer[j++] = e1.y * phaseY
-                    }
+                        // only the points of this line, not the rest of the buffer
+                        trans!!.pointValuesToPixel(lineBuffer, 0, size)
+
+                        paintRender.color = dataSet.color
 
-                    lineBuffer[j++] = e2.x
-                    lineBuffer[j++] = e2.y * phaseY
+                        canvas!!.drawLines(lineBuffer, 0, size, paintRender)
+                    }
                 }
+            }
+        }
 
-                if (j > 0) {
-                    trans!!.pointValuesToPixel(lineBuffer)
+        paintRender.setPathEffect(null)
+    }
 
-                    val size = (max(((xBounds.range + 1) * pointsPerEntryPair).toDouble(), pointsPerEntryPair.toDouble()) * 2).toInt()
+    /**
+     * Selects the entries inside xBounds to draw for the given dataset. With a line downsampling factor
+     * on the chart, exactly factor * contentWidth entries are picked with LTTB. Otherwise, if the dataset
+     * has a level-of-detail pyramid and is zoomed out, the first, min, max and last entry per pixel column
+     * are picked. Call after xBounds.set(...).
+     *
+     * @param dataSet
+     * @return the number of entries to draw, their indices are returned by selectedIndex(...)
+     */
+    private fun selectEntries(dataSet: ILineDataSet): Int {
+        selectedCount = -1
+        selection = selectedIndices
+
+        val visibleCount = xBounds.range + 1
+        val to = xBounds.min + xBounds.range
+        val pixels = viewPortHandler.contentWidth()
+        val downsamplingFactor = dataProvider.lineDownsamplingFactor
+        val aggregationTask = if (dataSet.isM4AggregationEnabled) aggregationTasks[dataSet] else null
+
+        if (aggregationTask != null && aggregationTask.isDone) {
+            // aggregated before drawing, see aggregateDataSets(...)
+            selection = aggregationTask.indices
+            selectedCount = aggregationTask.count
+        } else if (downsamplingFactor > 0f) {
+            val threshold = max((downsamplingFactor * pixels).toInt(), 2)
+
+            if (visibleCount > threshold) {
+                if (selectedIndices.size < threshold)
+                    selectedIndices = IntArray(threshold)
+                selectedCount = downsampler.downsample(dataSet, xBounds.min, to, threshold, selectedIndices)
+                selection = selectedIndices
+            }
+        } else {
+            // when zoomed out, only draw first, min, max and last of the entries per pixel column
+            val lodPyramid = dataSet.lodPyramid
+            val lodLevel = lodPyramid?.getLevel(visibleCount, pixels) ?: 0
+
+            if (lodLevel > 0) {
+                val capacity = lodPyramid!!.getCollectCapacity(lodLevel, xBounds.min, to)
+                if (selectedIndices.size < capacity)
+                    selectedIndices = IntArray(capacity * 2)
+                selectedCount = lodPyramid.collect(dataSet, lodLevel, xBounds.min, to, selectedIndices)
+                selection = selectedIndices
+            }
+        }
 
-                    paintRender.color = dataSet.color
+        return if (selectedCount >= 0) selectedCount else visibleCount
+    }
 
-                    canvas!!.drawLines(lineBuffer, 0, size, paintRender)
-                }
+    /**
+     * Returns the index of the k-th entry to draw, see selectEntries(...)
+     */
+    private fun selectedIndex(k: Int): Int {
+        return if (selectedCount >= 0) selection[k] else xBounds.min + k
+    }
+
+    /**
+     * Runs the M4 aggregation of all visible datasets that have it enabled. The visible range and the
+     * pixel mapping are read on this thread, the aggregation itself runs in parallel on the aggregation
+     * pool, and this returns when all of them are done. A single dataset, or a few visible entries in
+     * total, are aggregated on this thread.
+     *
+     * @param dataSets
+     */
+    private fun aggregateDataSets(dataSets: List<ILineDataSet>) {
+        pendingAggregationTasks.clear()
+        var visibleEntries = 0L
+
+        for (set in dataSets) {
+            if (!set.isVisible || !set.isM4AggregationEnabled || set.entryCount < 1)
+                continue
+
+            val trans = dataProvider.getTransformer(set.axisDependency) ?: continue
+
+            trans.valueToPixelMatrix.getValues(matrixValues)
+            xBounds.set(dataProvider, set)
+
+            var task = aggregationTasks[set]
+
+            if (task == null) {
+                task = AggregationTask(set)
+                aggregationTasks[set] = task
             }
+
+            task.prepare(xBounds.min, xBounds.min + xBounds.range, matrixValues[Matrix.MSCALE_X], matrixValues[Matrix.MTRANS_X])
+            pendingAggregationTasks.add(task)
+            visibleEntries += xBounds.range + 1
         }
 
-        paintRender.setPathEffect(null)
+        if (pendingAggregationTasks.isEmpty())
+            return
+
+        if (pendingAggregationTasks.size == 1 || visibleEntries < MIN_PARALLEL_AGGREGATION_ENTRIES) {
+            for (task in pendingAggregationTasks) {
+                task.invoke()
+            }
+            return
+        }
+
+        val pool = aggregationPool ?: ChartExecutors.getParallelPool()
+
+        for (k in 1..<pendingAggregationTasks.size) {
+            pool.execute(pendingAggregationTasks[k])
+        }
+
+        // the first one runs on this thread while it waits anyway
+        pendingAggregationTasks[0].invoke()
+
+        for (k in 1..<pendingAggregationTasks.size) {
+            pendingAggregationTasks[k].join()
+        }
+    }
+
+    /**
+     * Draws the visible part of the line simplified with the Douglas-Peucker algorithm in pixel space.
+     * The simplified line is cached per dataset and only computed again when the data or the viewport changes.
+     */
+    private fun drawLinearApproximated(canvas: Canvas, dataSet: ILineDataSet, trans: Transformer, pointCount: Int, tolerance: Float) {
+        if (xBounds.min >= dataSet.entryCount || pointCount < 1)
+            return
+
+        val matrix = trans.valueToPixelMatrix
+        matrix.getValues(matrixValues)
+
+        var cache = approximationCaches[dataSet]
+
+        if (cache == null) {
+            cache = ApproximationCache()
+            approximationCaches[dataSet] = cache
+        }
+
+        if (!cache.isValid(dataSet, tolerance)) {
+            val floatCount = (pointCount + 1) * 2
+
+            if (approximationPoints.size < floatCount)
+                approximationPoints = FloatArray(floatCount * 2)
+
+            val points = approximationPoints
+            val phaseY = animator.phaseY
+
+            // the line starts at the entry before the first visible one, like the unsimplified line
+            val prevIndex = max(selectedIndex(0) - 1, 0)
+            var j = 0
+
+            points[j++] = dataSet.getXForIndex(prevIndex)
+            points[j++] = dataSet.getYForIndex(prevIndex) * phaseY
+
+            for (k in 0..<pointCount) {
+                val i = selectedIndex(k)
+                points[j++] = dataSet.getXForIndex(i)
+                points[j++] = dataSet.getYForIndex(i) * phaseY
+            }
+
+            matrix.mapPoints(points, 0, points, 0, pointCount + 1)
+
+            val reducedCount = approximator.reduceWithDouglasPeucker(points, pointCount + 1, tolerance, points)
+            cache.store(dataSet, tolerance, points, reducedCount)
+        }
+
+        if (cache.segmentFloatCount > 0) {
+            paintRender.color = dataSet.color
+            canvas.drawLines(cache.segments, 0, cache.segmentFloatCount, paintRender)
+        }
     }
 
     protected var mGenerateFilledPathBuffer: Path = Path()
 
     /**
-     * Draws a filled linear path on the canvas.
+     * Draws a filled linear path on the canvas, through the entries selected for the line (see
+     * selectEntries(...)), or through all entries inside the bounds if none are selected. A line that is
+     * simplified with a tolerance is filled without the simplification, which stays below the tolerance.
      *
      * @param canvas
      * @param dataSet
@@ -396,8 +660,9 @@ open class LineChartRenderer(
     protected fun drawLinearFill(canvas: Canvas, dataSet: ILineDataSet, trans: Transformer, bounds: XBounds) {
         val filled = mGenerateFilledPathBuffer
 
-        val startingIndex = bounds.min
-        val endingIndex = bounds.range + bounds.min
+        // positions in the selection, not entry indices
+        val startingIndex = 0
+        val endingIndex = (if (selectedCount >= 0) selectedCount else bounds.range + 1) - 1
         val indexInterval = 128
 
         var currentStartIndex: Int
@@ -422,7 +687,7 @@ open class LineChartRenderer(
                     endIndex = min(endingIndex.toDouble(), (currentEndIndex + 1).toDouble()).toInt()
                 }
 
-                generateFilledPath(dataSet, startIndex, endIndex, filled)
+                generateFilledPath(dataSet, bounds, startIndex, endIndex, filled)
 
                 trans.pathValueToPixel(filled)
 
@@ -441,12 +706,13 @@ open class LineChartRenderer(
      * Generates a path that is used for filled drawing.
      *
      * @param dataSet    The dataset from which to read the entries.
-     * @param startIndex The index from which to start reading the dataset
-     * @param endIndex   The index from which to stop reading the dataset
+     * @param bounds     The bounds the positions of entries that are not selected are relative to.
+     * @param startIndex The position in the selection from which to start reading the dataset
+     * @param endIndex   The position in the selection at which to stop reading the dataset
      * @param outputPath The path object that will be assigned the chart data.
      * @return
      */
-    private fun generateFilledPath(dataSet: ILineDataSet, startIndex: Int, endIndex: Int, outputPath: Path) {
+    private fun generateFilledPath(dataSet: ILineDataSet, bounds: XBounds, startIndex: Int, endIndex: Int, outputPath: Path) {
         val fillMin = dataSet.fillFormatter.getFillLinePosition(dataSet, dataProvider)
         val phaseY = animator.phaseY
         val isDrawSteppedEnabled = dataSet.mode == LineDataSet.Mode.STEPPED
@@ -454,31 +720,32 @@ open class LineChartRenderer(
         val filled = outputPath
         filled.reset()
 
-        val entry = dataSet.getEntryForIndex(startIndex)
+        val startEntry = if (selectedCount >= 0) selection[startIndex] else bounds.min + startIndex
+        val startX = dataSet.getXForIndex(startEntry)
+        var previousY = dataSet.getYForIndex(startEntry)
 
-        filled.moveTo(entry.x, fillMin)
-        filled.lineTo(entry.x, entry.y * phaseY)
+        filled.moveTo(startX, fillMin)
+        filled.lineTo(startX, previousY * phaseY)
 
         // create a new path
-        var currentEntry: Entry? = null
-        var previousEntry = entry
-        for (x in startIndex + 1..endIndex) {
-            currentEntry = dataSet.getEntryForIndex(x)
-
-            if (currentEntry != null) {
-                if (isDrawSteppedEnabled) {
-                    filled.lineTo(currentEntry.x, previousEntry.y * phaseY)
-                }
+        var currentX = startX
+        for (k in startIndex + 1..endIndex) {
+            val x = if (selectedCount >= 0) selection[k] else bounds.min + k
+            currentX = dataSet.getXForIndex(x)
+            val currentY = dataSet.getYForIndex(x)
+
+            if (isDrawSteppedEnabled) {
+                filled.lineTo(currentX, previousY * phaseY)
+            }
 
-                filled.lineTo(currentEntry.x, currentEntry.y * phaseY)
+            filled.lineTo(currentX, currentY * phaseY)
 
-                previousEntry = currentEntry
-            }
+            previousY = currentY
         }
 
         // close up
-        if (currentEntry != null) {
-            filled.lineTo(currentEntry.x, fillMin)
+        if (endIndex > startIndex) {
+            filled.lineTo(currentX, fillMin)
         }
 
         filled.close()
@@ -570,11 +837,6 @@ open class LineChartRenderer(
      */
     private val mImageCaches = HashMap<IDataSet<*>, DataSetImageCache>()
 
-    /**
-     * buffer for drawing the circles
-     */
-    private val mCirclesBuffer = FloatArray(2)
-
     init {
         circlePaintInner.style = Paint.Style.FILL
         circlePaintInner.color = Color.WHITE
@@ -585,9 +847,6 @@ open class LineChartRenderer(
 
         val phaseY = animator.phaseY
 
-        mCirclesBuffer[0] = 0f
-        mCirclesBuffer[1] = 0f
-
         val dataSets = dataProvider.lineData.dataSets
 
         for (i in dataSets.indices) {
@@ -623,27 +882,25 @@ open class LineChartRenderer(
                 imageCache.fill(dataSet, drawCircleHole, drawTransparentCircleHole)
             }
 
-            val boundsRangeCount = xBounds.range + xBounds.min
-
-            for (j in xBounds.min..boundsRangeCount) {
-                val e = dataSet.getEntryForIndex(j) ?: break
-
-                mCirclesBuffer[0] = e.x
-                mCirclesBuffer[1] = e.y * phaseY
-
-                trans!!.pointValuesToPixel(mCirclesBuffer)
+            // transform all visible entries at once, then cull and draw them
+            val count = transformVisiblePoints(dataSet, trans!!, phaseY)
+            val positions = positionsBuffer
 
-                if (!viewPortHandler.isInBoundsRight(mCirclesBuffer[0])) break
+            var j = 0
+            while (j < count) {
+                val x = positions[j]
+                val y = positions[j + 1]
 
-                if (!viewPortHandler.isInBoundsLeft(mCirclesBuffer[0]) ||
-                    !viewPortHandler.isInBoundsY(mCirclesBuffer[1])
-                ) continue
+                if (!viewPortHandler.isInBoundsRight(x)) break
 
-                val circleBitmap = imageCache.getBitmap(j)
+                if (viewPortHandler.isInBoundsLeft(x) && viewPortHandler.isInBoundsY(y)) {
+                    val circleBitmap = imageCache.getBitmap(xBounds.min + j / 2)
 
-                if (circleBitmap != null) {
-                    canvas.drawBitmap(circleBitmap, mCirclesBuffer[0] - circleRadius, mCirclesBuffer[1] - circleRadius, null)
+                    if (circleBitmap != null) {
+                        canvas.drawBitmap(circleBitmap, x - circleRadius, y - circleRadius, null)
+                    }
                 }
+                j += 2
             }
         }
     }
@@ -686,6 +943,103 @@ open class LineChartRenderer(
         }
     }
 
+    /**
+     * M4 aggregation of the visible range of one dataset, reused from frame to frame.
+     */
+    private class AggregationTask(private val dataSet: ILineDataSet) : RecursiveAction() {
+        /**
+         * indices of the entries to draw, the first count of them are valid
+         */
+        var indices = IntArray(0)
+        var count = 0
+
+        private var from = 0
+        private var to = -1
+        private var scaleX = 1f
+        private var transX = 0f
+
+        /**
+         * Sets the range and the pixel mapping for the next run, must not be called while running.
+         */
+        fun prepare(from: Int, to: Int, scaleX: Float, transX: Float) {
+            this.from = from
+            this.to = to
+            this.scaleX = scaleX
+            this.transX = transX
+
+            val capacity = aggregator.getCapacity(dataSet, from, to, scaleX, transX)
+
+            if (indices.size < capacity)
+                indices = IntArray(capacity)
+
+            count = 0
+            reinitialize()
+        }
+
+        override fun compute() {
+            count = aggregator.aggregate(dataSet, from, to, scaleX, transX, indices)
+        }
+    }
+
+    private inner class ApproximationCache {
+        /**
+         * the segments of the simplified line in pixels, as expected by Canvas.drawLines(...)
+         */
+        var segments = FloatArray(0)
+        var segmentFloatCount = 0
+
+        private var version = -1L
+        private var boundsMin = -1
+        private var boundsRange = -1
+        private var phaseY = Float.NaN
+        private var tolerance = Float.NaN
+        private val matrixValues = FloatArray(9)
+
+        /**
+         * Returns true if the cached line was simplified from the same version of the DataSet with the same viewport.
+         * DataSets that do not count their modifications are simplified again every time.
+         *
+         * @param set
+         * @param tolerance
+         * @return
+         */
+        fun isValid(set: ILineDataSet, tolerance: Float): Boolean {
+            return set.version >= 0
+                    && version == set.version
+                    && boundsMin == xBounds.min
+                    && boundsRange == xBounds.range
+                    && phaseY == animator.phaseY
+                    && this.tolerance == tolerance
+                    && matrixValues.contentEquals(this@LineChartRenderer.matrixValues)
+        }
+
+        /**
+         * Stores the simplified line given as x/y pairs.
+         */
+        fun store(set: ILineDataSet, tolerance: Float, points: FloatArray, pointCount: Int) {
+            version = set.version
+            boundsMin = xBounds.min
+            boundsRange = xBounds.range
+            phaseY = animator.phaseY
+            this.tolerance = tolerance
+            this@LineChartRenderer.matrixValues.copyInto(matrixValues)
+
+            val floatCount = max(pointCount - 1, 0) * 4
+
+            if (segments.size < floatCount)
+                segments = FloatArray(floatCount * 2)
+
+            for (i in 0..<pointCount - 1) {
+                segments[i * 4] = points[i * 2]
+                segments[i * 4 + 1] = points[i * 2 + 1]
+                segments[i * 4 + 2] = points[i * 2 + 2]
+                segments[i * 4 + 3] = points[i * 2 + 3]
+            }
+
+            segmentFloatCount = floatCount
+        }
+    }
+
     private inner class DataSetImageCache {
         private val mCirclePathBuffer = Path()
 
@@ -783,4 +1137,14 @@ open class LineChartRenderer(
             return circleBitmaps!![index % circleBitmaps!!.size]
         }
     }
+
+    companion object {
+        /**
+         * below this number of visible entries of all aggregated datasets, handing them to the pool costs more
+         * than it saves
+         */
+        private const val MIN_PARALLEL_AGGREGATION_ENTRIES = 100_000L
+
+        private val aggregator = M4Aggregator()
+    }
 }
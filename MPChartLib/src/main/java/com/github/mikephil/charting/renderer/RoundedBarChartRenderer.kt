@@ -45,13 +45,16 @@ class RoundedBarChartRenderer(chart: BarDataProvider, animator: ChartAnimator, v
         val phaseX = animator.phaseX
         val phaseY = animator.phaseY
 
+        val buffer = barBuffers[index]!!
+        limitToVisibleBars(buffer, dataSet)
+
         if (chart.isDrawBarShadowEnabled) {
             shadowPaint.color = dataSet.barShadowColor
             val barData = chart.barData
             val barWidth = barData.barWidth
             val barWidthHalf = barWidth / 2.0f
             var x: Float
-            var i = 0
+            var i = buffer.from
             val count = min((dataSet.entryCount.toFloat() * phaseX).toDouble().toInt().toDouble(), dataSet.entryCount.toDouble())
             while (i < count) {
                 val e = dataSet.getEntryForIndex(i)
@@ -79,13 +82,12 @@ class RoundedBarChartRenderer(chart: BarDataProvider, animator: ChartAnimator, v
             }
         }
 
-        val buffer = barBuffers!![index]!!
         buffer.setPhases(phaseX, phaseY)
         buffer.setDataSet(index)
         buffer.setInverted(chart.isInverted(dataSet.axisDependency))
         buffer.setBarWidth(chart.barData.barWidth)
         buffer.feed(dataSet)
-        trans!!.pointValuesToPixel(buffer.buffer)
+        trans!!.pointValuesToPixel(buffer.buffer, 0, buffer.size())
 
         // if multiple colors has been assigned to Bar Chart
         if (dataSet.colors.size > 1) {
@@ -119,7 +121,7 @@ class RoundedBarChartRenderer(chart: BarDataProvider, animator: ChartAnimator, v
                 }
 
                 // Set the color for the currently drawn value. If the index
-                paintRender.color = dataSet.getColorByIndex(j / 4)
+                paintRender.color = dataSet.getColorByIndex(buffer.firstBarIndex + j / 4)
 
                 if (roundedPositiveDataSetRadius > 0) {
                     canvas.drawRoundRect(
@@ -202,7 +204,7 @@ class RoundedBarChartRenderer(chart: BarDataProvider, animator: ChartAnimator, v
             }
 
             if (!isSingleColor) {
-                paintRender.color = dataSet.getColorByIndex(j / 4)
+                paintRender.color = dataSet.getColorByIndex(buffer.firstBarIndex + j / 4)
             }
 
             paintRender.setShader(
@@ -211,8 +213,8 @@ class RoundedBarChartRenderer(chart: BarDataProvider, animator: ChartAnimator, v
                     buffer.buffer[j + 3],
                     buffer.buffer[j],
                     buffer.buffer[j + 1],
-                    dataSet.getColorByIndex(j / 4),
-                    dataSet.getColorByIndex(j / 4),
+                    dataSet.getColorByIndex(buffer.firstBarIndex + j / 4),
+                    dataSet.getColorByIndex(buffer.firstBarIndex + j / 4),
                     Shader.TileMode.MIRROR
                 )
             )
@@ -223,14 +225,14 @@ class RoundedBarChartRenderer(chart: BarDataProvider, animator: ChartAnimator, v
                     buffer.buffer[j + 3],
                     buffer.buffer[j],
                     buffer.buffer[j + 1],
-                    dataSet.getColorByIndex(j / 4),
-                    dataSet.getColorByIndex(j / 4),
+                    dataSet.getColorByIndex(buffer.firstBarIndex + j / 4),
+                    dataSet.getColorByIndex(buffer.firstBarIndex + j / 4),
                     Shader.TileMode.MIRROR
                 )
             )
 
 
-            if ((dataSet.getEntryForIndex(j / 4).y < 0 && roundedNegativeDataSetRadius > 0)) {
+            if ((dataSet.getEntryForIndex(buffer.from + j / 4).y < 0 && roundedNegativeDataSetRadius > 0)) {
                 val path2 = roundRect(
                     RectF(
                         buffer.buffer[j], buffer.buffer[j + 1], buffer.buffer[j + 2],
@@ -238,7 +240,7 @@ class RoundedBarChartRenderer(chart: BarDataProvider, animator: ChartAnimator, v
                     ), roundedNegativeDataSetRadius, roundedNegativeDataSetRadius, true, true, true, true
                 )
                 canvas.drawPath(path2, paintRender)
-            } else if ((dataSet.getEntryForIndex(j / 4).y > 0 && roundedPositiveDataSetRadius > 0)) {
+            } else if ((dataSet.getEntryForIndex(buffer.from + j / 4).y > 0 && roundedPositiveDataSetRadius > 0)) {
                 val path2 = roundRect(
                     RectF(
                         buffer.buffer[j], buffer.buffer[j + 1], buffer.buffer[j + 2],
@@ -47,13 +47,16 @@ class RoundedHorizontalBarChartRenderer(chart: BarDataProvider, animator: ChartA
         val phaseX = animator.phaseX
         val phaseY = animator.phaseY
 
+        val buffer = barBuffers[index]!!
+        limitToVisibleBars(buffer, dataSet)
+
         if (chart.isDrawBarShadowEnabled) {
             shadowPaint.color = dataSet.barShadowColor
             val barData = chart.barData
             val barWidth = barData.barWidth
             val barWidthHalf = barWidth / 2.0f
             var x: Float
-            var i = 0
+            var i = buffer.from
             val count = min((dataSet.entryCount.toFloat() * phaseX).toDouble().toInt().toDouble(), dataSet.entryCount.toDouble())
             while (i < count) {
                 val e = dataSet.getEntryForIndex(i)
@@ -80,13 +83,12 @@ class RoundedHorizontalBarChartRenderer(chart: BarDataProvider, animator: ChartA
             }
         }
 
-        val buffer = barBuffers[index]!!
         buffer.setPhases(phaseX, phaseY)
         buffer.setDataSet(index)
         buffer.setInverted(chart.isInverted(dataSet.axisDependency))
         buffer.setBarWidth(chart.barData.barWidth)
         buffer.feed(dataSet)
-        trans!!.pointValuesToPixel(buffer.buffer)
+        trans!!.pointValuesToPixel(buffer.buffer, 0, buffer.size())
 
         // if multiple colors has been assigned to Bar Chart
         if (dataSet.colors.size > 1) {
@@ -120,7 +122,7 @@ class RoundedHorizontalBarChartRenderer(chart: BarDataProvider, animator: ChartA
                 }
 
                 // Set the color for the currently drawn value. If the index
-                paintRender.color = dataSet.getColorByIndex(j / 4)
+                paintRender.color = dataSet.getColorByIndex(buffer.firstBarIndex + j / 4)
 
                 if (roundedPositiveDataSetRadius > 0) {
                     canvas.drawRoundRect(
@@ -202,10 +204,10 @@ class RoundedHorizontalBarChartRenderer(chart: BarDataProvider, animator: ChartA
             }
 
             if (!isSingleColor) {
-                paintRender.color = dataSet.getColorByIndex(j / 4)
+                paintRender.color = dataSet.getColorByIndex(buffer.firstBarIndex + j / 4)
             }
 
-            if ((dataSet.getEntryForIndex(j / 4).y < 0 && roundedNegativeDataSetRadius > 0)) {
+            if ((dataSet.getEntryForIndex(buffer.from + j / 4).y < 0 && roundedNegativeDataSetRadius > 0)) {
                 val path2 = roundRect(
                     RectF(
                         buffer.buffer[j], buffer.buffer[j + 1], buffer.buffer[j + 2],
@@ -213,7 +215,7 @@ class RoundedHorizontalBarChartRenderer(chart: BarDataProvider, animator: ChartA
                     ), roundedNegativeDataSetRadius, roundedNegativeDataSetRadius, true, true, true, true
                 )
                 canvas.drawPath(path2, paintRender)
-            } else if ((dataSet.getEntryForIndex(j / 4).y > 0 && roundedPositiveDataSetRadius > 0)) {
+            } else if ((dataSet.getEntryForIndex(buffer.from + j / 4).y > 0 && roundedPositiveDataSetRadius > 0)) {
                 val path2 = roundRect(
                     RectF(
                         buffer.buffer[j], buffer.buffer[j + 1], buffer.buffer[j + 2],
@@ -1,16 +1,19 @@
 package com.github.mikephil.charting.renderer
 
+import android.graphics.Bitmap
+import android.graphics.Bitmap.createBitmap
 import android.graphics.Canvas
+import android.graphics.Paint
 import android.util.Log
 import com.github.mikephil.charting.animation.ChartAnimator
 import com.github.mikephil.charting.highlight.Highlight
 import com.github.mikephil.charting.interfaces.dataprovider.ScatterDataProvider
 import com.github.mikephil.charting.interfaces.datasets.IScatterDataSet
+import com.github.mikephil.charting.renderer.scatter.IShapeRenderer
 import com.github.mikephil.charting.utils.MPPointF
 import com.github.mikephil.charting.utils.Utils
 import com.github.mikephil.charting.utils.ViewPortHandler
 import kotlin.math.ceil
-import kotlin.math.min
 
 open class ScatterChartRenderer(@JvmField var dataProvider: ScatterDataProvider, animator: ChartAnimator, viewPortHandler: ViewPortHandler) :
     LineScatterCandleRadarRenderer(animator, viewPortHandler) {
@@ -20,12 +23,32 @@ open class ScatterChartRenderer(@JvmField var dataProvider: ScatterDataProvider,
     override fun drawData(canvas: Canvas) {
         val scatterData = dataProvider.scatterData
 
+        pruneSpriteCaches(scatterData.dataSets)
+
         for (set in scatterData.dataSets) {
             if (set.isVisible) drawDataSet(canvas, set)
         }
     }
 
-    var pixelBuffer: FloatArray = FloatArray(2)
+    /**
+     * Drops and recycles the sprites of DataSets that were removed from the data or no
+     * longer use sprites.
+     */
+    private fun pruneSpriteCaches(dataSets: List<IScatterDataSet>) {
+        if (spriteCaches.isEmpty())
+            return
+
+        val iterator = spriteCaches.entries.iterator()
+
+        while (iterator.hasNext()) {
+            val (set, cache) = iterator.next()
+
+            if (!set.isShapeSpritesEnabled || dataSets.none { it === set }) {
+                cache.recycle()
+                iterator.remove()
+            }
+        }
+    }
 
     protected fun drawDataSet(canvas: Canvas, dataSet: IScatterDataSet) {
         if (dataSet.entryCount < 1)
@@ -43,31 +66,58 @@ open class ScatterChartRenderer(@JvmField var dataProvider: ScatterDataProvider,
             return
         }
 
-        val max = min(
-            ceil((dataSet.entryCount.toFloat() * animator.phaseX).toDouble()),
-            dataSet.entryCount.toFloat().toDouble()
-        ).toInt()
+        var spriteCache: ShapeSpriteCache? = null
+
+        if (dataSet.isShapeSpritesEnabled) {
+            spriteCache = spriteCaches.getOrPut(dataSet) { ShapeSpriteCache() }
+            spriteCache.init(dataSet, renderer)
+        }
+
+        xBounds.set(dataProvider, dataSet)
 
-        for (i in 0..<max) {
-            val entry = dataSet.getEntryForIndex(i)
+        // transform all visible entries at once, then cull and draw them
+        val count = transformVisiblePoints(dataSet, trans!!, phaseY)
+        val positions = positionsBuffer
 
-            pixelBuffer[0] = entry.x
-            pixelBuffer[1] = entry.y * phaseY
+        // visible points of the same color are moved to the front of the buffer and
+        // rendered together, this never overwrites positions that were not read yet
+        var runCount = 0
+        var runColor = 0
 
-            trans!!.pointValuesToPixel(pixelBuffer)
+        var j = 0
+        while (j < count) {
+            val x = positions[j]
+            val y = positions[j + 1]
 
-            if (!viewPortHandler.isInBoundsRight(pixelBuffer[0]))
+            if (!viewPortHandler.isInBoundsRight(x))
                 break
 
-            if (!viewPortHandler.isInBoundsLeft(pixelBuffer[0]) || !viewPortHandler.isInBoundsY(pixelBuffer[1])
-            ) continue
+            if (viewPortHandler.isInBoundsLeft(x) && viewPortHandler.isInBoundsY(y)) {
+                val entryIndex = xBounds.min + j / 2
 
-            paintRender.color = dataSet.getColorByIndex(i / 2)
-            renderer.renderShape(
-                canvas, dataSet, this.viewPortHandler,
-                pixelBuffer[0], pixelBuffer[1],
-                paintRender
-            )
+                if (spriteCache != null) {
+                    spriteCache.draw(canvas, entryIndex / 2, x, y)
+                } else {
+                    val color = dataSet.getColorByIndex(entryIndex / 2)
+
+                    if (runCount > 0 && color != runColor) {
+                        paintRender.color = runColor
+                        renderer.renderShapes(canvas, dataSet, viewPortHandler, positions, runCount, paintRender)
+                        runCount = 0
+                    }
+
+                    runColor = color
+                    positions[runCount * 2] = x
+                    positions[runCount * 2 + 1] = y
+                    runCount++
+                }
+            }
+            j += 2
+        }
+
+        if (runCount > 0) {
+            paintRender.color = runColor
+            renderer.renderShapes(canvas, dataSet, viewPortHandler, positions, runCount, paintRender)
         }
     }
 
@@ -174,4 +224,88 @@ open class ScatterChartRenderer(@JvmField var dataProvider: ScatterDataProvider,
             drawHighlightLines(canvas, pix.x.toFloat(), pix.y.toFloat(), set)
         }
     }
+
+    /**
+     * cache for the shape sprites of all datasets that have them enabled
+     */
+    private val spriteCaches = HashMap<IScatterDataSet, ShapeSpriteCache>()
+
+    /**
+     * The shape of a DataSet rendered once per color into a bitmap, which is then drawn
+     * for every entry.
+     */
+    private inner class ShapeSpriteCache {
+        private val spritePaint = Paint(Paint.ANTI_ALIAS_FLAG)
+
+        private var sprites: Array<Bitmap?> = arrayOfNulls(0)
+
+        /**
+         * the distance of the shape position from the sprite borders, in pixels
+         */
+        private var spriteHalf = 0f
+
+        private var shapeRenderer: IShapeRenderer? = null
+        private var shapeSize = 0f
+        private var shapeHoleRadius = 0f
+        private var shapeHoleColor = 0
+        private val colors = ArrayList<Int>()
+
+        /**
+         * Sets up the cache, renders the sprites again if the shape or the colors of the
+         * DataSet changed.
+         */
+        fun init(set: IScatterDataSet, renderer: IShapeRenderer) {
+            if (renderer === shapeRenderer && set.scatterShapeSize == shapeSize
+                && set.scatterShapeHoleRadius == shapeHoleRadius
+                && set.scatterShapeHoleColor == shapeHoleColor && set.colors == colors
+            ) {
+                return
+            }
+
+            shapeRenderer = renderer
+            shapeSize = set.scatterShapeSize
+            shapeHoleRadius = set.scatterShapeHoleRadius
+            shapeHoleColor = set.scatterShapeHoleColor
+            colors.clear()
+            colors.addAll(set.colors)
+
+            // the chevrons reach up to the shape size away from the position, plus the
+            // stroke and a pixel for anti-aliasing
+            spriteHalf = ceil(Utils.convertDpToPixel(shapeSize) + Utils.convertDpToPixel(1f) + 1f)
+            val spriteSize = (spriteHalf * 2f).toInt().coerceAtLeast(1)
+
+            recycle()
+            sprites = arrayOfNulls(colors.size)
+
+            for (i in colors.indices) {
+                val sprite = createBitmap(spriteSize, spriteSize, Bitmap.Config.ARGB_8888)
+                sprites[i] = sprite
+
+                spritePaint.color = colors[i]
+                renderer.renderShape(Canvas(sprite), set, viewPortHandler, spriteHalf, spriteHalf, spritePaint)
+            }
+        }
+
+        /**
+         * Frees the bitmaps of the sprites.
+         */
+        fun recycle() {
+            for (sprite in sprites) {
+                sprite?.recycle()
+            }
+            sprites = arrayOfNulls(0)
+        }
+
+        /**
+         * Draws the sprite of the given color index centered at the given position.
+         */
+        fun draw(canvas: Canvas, colorIndex: Int, x: Float, y: Float) {
+            if (sprites.isEmpty()) {
+                return
+            }
+
+            val sprite = sprites[colorIndex % sprites.size] ?: return
+            canvas.drawBitmap(sprite, x - spriteHalf, y - spriteHalf, null)
+        }
+    }
 }
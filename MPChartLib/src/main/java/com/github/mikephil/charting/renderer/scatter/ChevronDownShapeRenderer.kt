@@ -7,6 +7,8 @@ import com.github.mikephil.charting.utils.Utils
 import com.github.mikephil.charting.utils.ViewPortHandler
 
 class ChevronDownShapeRenderer : IShapeRenderer {
+    private var linesBuffer = FloatArray(0)
+
     override fun renderShape(
         canvas: Canvas, dataSet: IScatterDataSet, viewPortHandler: ViewPortHandler?,
         posX: Float, posY: Float, renderPaint: Paint
@@ -32,4 +34,37 @@ class ChevronDownShapeRenderer : IShapeRenderer {
             renderPaint
         )
     }
+
+    override fun renderShapes(
+        canvas: Canvas, dataSet: IScatterDataSet, viewPortHandler: ViewPortHandler?,
+        positions: FloatArray, count: Int, renderPaint: Paint
+    ) {
+        val shapeSize = Utils.convertDpToPixel(dataSet.getScatterShapeSize())
+
+        renderPaint.style = Paint.Style.STROKE
+        renderPaint.strokeWidth = Utils.convertDpToPixel(1f)
+
+        // both lines of all shapes in one call
+        if (linesBuffer.size < count * 8) {
+            linesBuffer = FloatArray(count * 8)
+        }
+        val lines = linesBuffer
+
+        for (i in 0..<count) {
+            val posX = positions[2 * i]
+            val posY = positions[2 * i + 1]
+            val k = i * 8
+
+            lines[k] = posX
+            lines[k + 1] = posY + shapeSize
+            lines[k + 2] = posX + shapeSize
+            lines[k + 3] = posY
+            lines[k + 4] = posX
+            lines[k + 5] = posY + shapeSize
+            lines[k + 6] = posX - shapeSize
+            lines[k + 7] = posY
+        }
+
+        canvas.drawLines(lines, 0, count * 8, renderPaint)
+    }
 }
@@ -20,4 +20,28 @@ interface IShapeRenderer {
         canvas: Canvas, dataSet: IScatterDataSet, viewPortHandler: ViewPortHandler?,
         posX: Float, posY: Float, renderPaint: Paint
     )
+
+    /**
+     * Renders the shapes of count points of the provided ScatterDataSet at once, all in
+     * the color of the given Paint. Implementations may change the Paint while drawing,
+     * e.g. to the hole color. The default renders one shape after the other.
+     *
+     * @param canvas          Canvas object for drawing the shapes
+     * @param dataSet         The DataSet to be drawn
+     * @param viewPortHandler Contains information about the current state of the view
+     * @param positions       Positions to draw the shapes at, x and y of point i at 2 * i and 2 * i + 1
+     * @param count           Number of points to draw
+     * @param renderPaint     Paint object used for styling and drawing
+     */
+    fun renderShapes(
+        canvas: Canvas, dataSet: IScatterDataSet, viewPortHandler: ViewPortHandler?,
+        positions: FloatArray, count: Int, renderPaint: Paint
+    ) {
+        val color = renderPaint.color
+
+        for (i in 0..<count) {
+            renderPaint.color = color
+            renderShape(canvas, dataSet, viewPortHandler, positions[2 * i], positions[2 * i + 1], renderPaint)
+        }
+    }
 }
@@ -57,4 +57,58 @@ class SquareShapeRenderer : IShapeRenderer {
             )
         }
     }
+
+    override fun renderShapes(
+        canvas: Canvas, dataSet: IScatterDataSet, viewPortHandler: ViewPortHandler?,
+        positions: FloatArray, count: Int, renderPaint: Paint
+    ) {
+        val shapeSize = Utils.convertDpToPixel(dataSet.getScatterShapeSize())
+        val shapeHoleSizeHalf = Utils.convertDpToPixel(dataSet.getScatterShapeHoleRadius())
+        val shapeHoleSize = shapeHoleSizeHalf * 2f
+        val shapeStrokeSize = (shapeSize - shapeHoleSize) / 2f
+        val shapeStrokeSizeHalf = shapeStrokeSize / 2f
+
+        val shapeHoleColor = dataSet.getScatterShapeHoleColor()
+
+        if (shapeSize <= 0f) {
+            return
+        }
+
+        if (shapeHoleSizeHalf > 0f && shapeHoleColor == ColorTemplate.COLOR_NONE) {
+            // a transparent hole needs the outline of every square
+            renderPaint.style = Paint.Style.STROKE
+            renderPaint.strokeWidth = shapeStrokeSize
+
+            for (i in 0..<count) {
+                val posX = positions[2 * i]
+                val posY = positions[2 * i + 1]
+
+                canvas.drawRect(
+                    posX - shapeHoleSizeHalf - shapeStrokeSizeHalf,
+                    posY - shapeHoleSizeHalf - shapeStrokeSizeHalf,
+                    posX + shapeHoleSizeHalf + shapeStrokeSizeHalf,
+                    posY + shapeHoleSizeHalf + shapeStrokeSizeHalf,
+                    renderPaint
+                )
+            }
+            return
+        }
+
+        // all squares as square points in one call, the holes on top of them
+        val strokeCap = renderPaint.strokeCap
+        renderPaint.style = Paint.Style.STROKE
+        renderPaint.strokeCap = Paint.Cap.SQUARE
+        renderPaint.strokeWidth = shapeSize
+
+        canvas.drawPoints(positions, 0, count * 2, renderPaint)
+
+        if (shapeHoleSizeHalf > 0f) {
+            renderPaint.color = shapeHoleColor
+            renderPaint.strokeWidth = shapeHoleSize
+
+            canvas.drawPoints(positions, 0, count * 2, renderPaint)
+        }
+
+        renderPaint.strokeCap = strokeCap
+    }
 }
@@ -16,7 +16,6 @@ open class TriangleShapeRenderer : IShapeRenderer {
         posX: Float, posY: Float, renderPaint: Paint
     ) {
         val shapeSize = Utils.convertDpToPixel(dataSet.getScatterShapeSize())
-        val shapeHalf = shapeSize / 2f
         val shapeHoleSizeHalf = Utils.convertDpToPixel(dataSet.getScatterShapeHoleRadius())
         val shapeHoleSize = shapeHoleSizeHalf * 2f
         val shapeStrokeSize = (shapeSize - shapeHoleSize) / 2f
@@ -29,6 +28,68 @@ open class TriangleShapeRenderer : IShapeRenderer {
         val tri = trianglePathBuffer
         tri.reset()
 
+        addTriangle(tri, posX, posY, shapeSize, shapeStrokeSize)
+
+        canvas.drawPath(tri, renderPaint)
+        tri.reset()
+
+        if (shapeSize > 0.0 &&
+            shapeHoleColor != ColorTemplate.COLOR_NONE
+        ) {
+            renderPaint.color = shapeHoleColor
+
+            addHole(tri, posX, posY, shapeSize, shapeStrokeSize)
+
+            canvas.drawPath(tri, renderPaint)
+            tri.reset()
+        }
+    }
+
+    override fun renderShapes(
+        canvas: Canvas, dataSet: IScatterDataSet, viewPortHandler: ViewPortHandler?,
+        positions: FloatArray, count: Int, renderPaint: Paint
+    ) {
+        val shapeSize = Utils.convertDpToPixel(dataSet.getScatterShapeSize())
+        val shapeHoleSizeHalf = Utils.convertDpToPixel(dataSet.getScatterShapeHoleRadius())
+        val shapeHoleSize = shapeHoleSizeHalf * 2f
+        val shapeStrokeSize = (shapeSize - shapeHoleSize) / 2f
+
+        val shapeHoleColor = dataSet.getScatterShapeHoleColor()
+
+        renderPaint.style = Paint.Style.FILL
+
+        // all triangles in one path, the holes in a second one
+        val tri = trianglePathBuffer
+        tri.reset()
+
+        for (i in 0..<count) {
+            addTriangle(tri, positions[2 * i], positions[2 * i + 1], shapeSize, shapeStrokeSize)
+        }
+
+        canvas.drawPath(tri, renderPaint)
+        tri.reset()
+
+        if (shapeSize > 0.0 &&
+            shapeHoleColor != ColorTemplate.COLOR_NONE
+        ) {
+            renderPaint.color = shapeHoleColor
+
+            for (i in 0..<count) {
+                addHole(tri, positions[2 * i], positions[2 * i + 1], shapeSize, shapeStrokeSize)
+            }
+
+            canvas.drawPath(tri, renderPaint)
+            tri.reset()
+        }
+    }
+
+    /**
+     * Adds the triangle at the given position to the path, with the hole cut out if the
+     * shape size is positive.
+     */
+    private fun addTriangle(tri: Path, posX: Float, posY: Float, shapeSize: Float, shapeStrokeSize: Float) {
+        val shapeHalf = shapeSize / 2f
+
         tri.moveTo(posX, posY - shapeHalf)
         tri.lineTo(posX + shapeHalf, posY + shapeHalf)
         tri.lineTo(posX - shapeHalf, posY + shapeHalf)
@@ -55,31 +116,26 @@ open class TriangleShapeRenderer : IShapeRenderer {
         }
 
         tri.close()
+    }
 
-        canvas.drawPath(tri, renderPaint)
-        tri.reset()
-
-        if (shapeSize > 0.0 &&
-            shapeHoleColor != ColorTemplate.COLOR_NONE
-        ) {
-            renderPaint.color = shapeHoleColor
-
-            tri.moveTo(
-                posX,
-                posY - shapeHalf + shapeStrokeSize
-            )
-            tri.lineTo(
-                posX + shapeHalf - shapeStrokeSize,
-                posY + shapeHalf - shapeStrokeSize
-            )
-            tri.lineTo(
-                posX - shapeHalf + shapeStrokeSize,
-                posY + shapeHalf - shapeStrokeSize
-            )
-            tri.close()
+    /**
+     * Adds the hole of the triangle at the given position to the path.
+     */
+    private fun addHole(tri: Path, posX: Float, posY: Float, shapeSize: Float, shapeStrokeSize: Float) {
+        val shapeHalf = shapeSize / 2f
 
-            canvas.drawPath(tri, renderPaint)
-            tri.reset()
-        }
+        tri.moveTo(
+            posX,
+            posY - shapeHalf + shapeStrokeSize
+        )
+        tri.lineTo(
+            posX + shapeHalf - shapeStrokeSize,
+            posY + shapeHalf - shapeStrokeSize
+        )
+        tri.lineTo(
+            posX - shapeHalf + shapeStrokeSize,
+            posY + shapeHalf - shapeStrokeSize
+        )
+        tri.close()
     }
-}
\ No newline at end of file
+}
@@ -7,6 +7,8 @@ import com.github.mikephil.charting.utils.Utils
 import com.github.mikephil.charting.utils.ViewPortHandler
 
 class XShapeRenderer : IShapeRenderer {
+    private var linesBuffer = FloatArray(0)
+
     override fun renderShape(
         canvas: Canvas, dataSet: IScatterDataSet, viewPortHandler: ViewPortHandler?,
         posX: Float, posY: Float, renderPaint: Paint
@@ -31,4 +33,37 @@ class XShapeRenderer : IShapeRenderer {
             renderPaint
         )
     }
-}
\ No newline at end of file
+
+    override fun renderShapes(
+        canvas: Canvas, dataSet: IScatterDataSet, viewPortHandler: ViewPortHandler?,
+        positions: FloatArray, count: Int, renderPaint: Paint
+    ) {
+        val shapeHalf = Utils.convertDpToPixel(dataSet.getScatterShapeSize()) / 2f
+
+        renderPaint.style = Paint.Style.STROKE
+        renderPaint.strokeWidth = Utils.convertDpToPixel(1f)
+
+        // both lines of all shapes in one call
+        if (linesBuffer.size < count * 8) {
+            linesBuffer = FloatArray(count * 8)
+        }
+        val lines = linesBuffer
+
+        for (i in 0..<count) {
+            val posX = positions[2 * i]
+            val posY = positions[2 * i + 1]
+            val k = i * 8
+
+            lines[k] = posX - shapeHalf
+            lines[k + 1] = posY - shapeHalf
+            lines[k + 2] = posX + shapeHalf
+            lines[k + 3] = posY + shapeHalf
+            lines[k + 4] = posX + shapeHalf
+            lines[k + 5] = posY - shapeHalf
+            lines[k + 6] = posX - shapeHalf
+            lines[k + 7] = posY + shapeHalf
+        }
+
+        canvas.drawLines(lines, 0, count * 8, renderPaint)
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.mikephil.charting.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The background threads shared by all charts, DataSets and importers that are not given
+ * an executor of their own. Both executors are created on first use, their threads are
+ * daemon threads that end after being idle for a while, so they never have to be shut
+ * down and never keep the process alive.
+ */
+public final class ChartExecutors {
+
+    /**
+     * seconds an idle thread is kept before it ends
+     */
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private ChartExecutors() {
+    }
+
+    /**
+     * Returns the pool for work that is split up and run in parallel, like the M4
+     * aggregation of several DataSets and the chunks of a TextImporter. It has one thread
+     * per processor.
+     */
+    public static ForkJoinPool getParallelPool() {
+        return ParallelPool.INSTANCE;
+    }
+
+    /**
+     * Returns the executor for background jobs that run one at a time, like the data
+     * preparation of setDataAsync(...) and the page loading of a PagedLineDataSet. It has
+     * a single thread.
+     */
+    public static ExecutorService getBackgroundExecutor() {
+        return BackgroundExecutor.INSTANCE;
+    }
+
+    private static final class ParallelPool {
+
+        static final ForkJoinPool INSTANCE = new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
+                pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("MPAndroidChart-worker-" + thread.getPoolIndex());
+                    thread.setDaemon(true);
+                    return thread;
+                }, null, false);
+    }
+
+    private static final class BackgroundExecutor {
+
+        static final ExecutorService INSTANCE = create();
+
+        private static ExecutorService create() {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "MPAndroidChart-background");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+}
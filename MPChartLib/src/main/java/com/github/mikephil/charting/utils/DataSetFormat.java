@@ -0,0 +1,54 @@
+package com.github.mikephil.charting.utils;
+
+/**
+ * Constants of the binary, columnar file format for DataSets that is written by
+ * {@link DataSetWriter} and read by {@link DataSetReader}. All values are little endian
+ * and 4-byte aligned:
+ * <pre>
+ * file:     MAGIC, VERSION, data set*, TYPE_END
+ * data set: type, entry count, label length in bytes, UTF-8 label padded to 4 bytes,
+ *           the columns of the type, each one float per entry
+ * </pre>
+ * The columns are x, y for TYPE_LINE, x, y (the sum of the stack), stack value count
+ * for TYPE_BAR, followed by entry count + 1 int offsets into the stack values and the
+ * stack values if the count is not 0, x, high, low, open, close for TYPE_CANDLE and
+ * x, y, size for TYPE_BUBBLE. Styling, icons and data objects are not stored.
+ */
+public final class DataSetFormat {
+
+    /**
+     * "MPDS" in little endian
+     */
+    public static final int MAGIC = 0x5344504D;
+
+    /**
+     * the version of the format that is written, readers reject newer versions
+     */
+    public static final int VERSION = 1;
+
+    public static final int TYPE_END = 0;
+    public static final int TYPE_LINE = 1;
+    public static final int TYPE_BAR = 2;
+    public static final int TYPE_CANDLE = 3;
+    public static final int TYPE_BUBBLE = 4;
+
+    private DataSetFormat() {
+    }
+
+    /**
+     * Returns the number of float columns of the given type, without the stacks of bars.
+     */
+    static int getColumnCount(int type) {
+        switch (type) {
+            case TYPE_LINE:
+            case TYPE_BAR:
+                return 2;
+            case TYPE_CANDLE:
+                return 5;
+            case TYPE_BUBBLE:
+                return 3;
+            default:
+                throw new IllegalArgumentException("Unknown data set type " + type);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.github.mikephil.charting.utils;
+
+import com.github.mikephil.charting.data.BarDataSet;
+import com.github.mikephil.charting.data.BarEntry;
+import com.github.mikephil.charting.data.BubbleDataSet;
+import com.github.mikephil.charting.data.BubbleEntry;
+import com.github.mikephil.charting.data.CandleDataSet;
+import com.github.mikephil.charting.data.CandleEntry;
+import com.github.mikephil.charting.data.ColumnarLineDataSet;
+import com.github.mikephil.charting.data.DataSet;
+import com.github.mikephil.charting.data.EntryColumns;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the binary format described in {@link DataSetFormat} from a ByteBuffer, usually a
+ * memory mapped file (see open(...)) or a direct buffer. The columns of every data set
+ * are returned as views on the buffer, nothing is copied until a DataSet is created.
+ * Line data sets become ColumnarLineDataSets, which copy each column in bulk without
+ * creating entries.
+ */
+public class DataSetReader {
+
+    private final ByteBuffer mBuffer;
+
+    private boolean mEnd = false;
+
+    /**
+     * Reads from the remaining bytes of the given buffer.
+     *
+     * @throws IOException if the buffer does not start with the header of the format, or
+     *                     holds a newer version of it
+     */
+    public DataSetReader(ByteBuffer buffer) throws IOException {
+        mBuffer = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+
+        if (mBuffer.remaining() < 8 || mBuffer.getInt() != DataSetFormat.MAGIC)
+            throw new IOException("Not a DataSet file");
+
+        int version = mBuffer.getInt();
+
+        if (version > DataSetFormat.VERSION)
+            throw new IOException("Unsupported DataSet file version " + version);
+    }
+
+    /**
+     * Maps the given file into memory and reads from it.
+     */
+    public static DataSetReader open(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            return new DataSetReader(raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length()));
+        }
+    }
+
+    /**
+     * Returns the next data set of the file, or null at its end.
+     */
+    public Block next() throws IOException {
+        if (mEnd)
+            return null;
+
+        int type = getInt();
+
+        if (type == DataSetFormat.TYPE_END) {
+            mEnd = true;
+            return null;
+        }
+
+        if (type < DataSetFormat.TYPE_LINE || type > DataSetFormat.TYPE_BUBBLE)
+            throw new IOException("Unknown data set type " + type);
+
+        int count = getInt();
+        int labelLength = getInt();
+
+        if (count < 0 || labelLength < 0)
+            throw new IOException("Corrupt data set header");
+
+        byte[] label = new byte[labelLength];
+        ensureRemaining(((long) labelLength + 3) & ~3L);
+        mBuffer.get(label);
+        mBuffer.position((mBuffer.position() + 3) & ~3);
+
+        int columnCount = DataSetFormat.getColumnCount(type);
+        FloatBuffer[] columns = new FloatBuffer[columnCount];
+
+        for (int i = 0; i < columnCount; i++) {
+            columns[i] = floatView(count);
+        }
+
+        IntBuffer stackOffsets = null;
+        FloatBuffer stackValues = null;
+
+        if (type == DataSetFormat.TYPE_BAR) {
+            int stackValueCount = getInt();
+
+            if (stackValueCount < 0)
+                throw new IOException("Corrupt stack value count " + stackValueCount);
+
+            if (stackValueCount > 0) {
+                ensureRemaining(4L * (count + 1));
+                stackOffsets = mBuffer.slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+                stackOffsets.limit(count + 1);
+                mBuffer.position(mBuffer.position() + 4 * (count + 1));
+                stackValues = floatView(stackValueCount);
+            }
+        }
+
+        return new Block(type, new String(label, StandardCharsets.UTF_8), count, columns,
+                stackOffsets, stackValues);
+    }
+
+    /**
+     * Reads all remaining data sets and creates a DataSet for each of them.
+     */
+    public List<DataSet<?>> readAll() throws IOException {
+        List<DataSet<?>> sets = new ArrayList<>();
+
+        for (Block block = next(); block != null; block = next()) {
+            sets.add(block.toDataSet());
+        }
+
+        return sets;
+    }
+
+    private int getInt() throws IOException {
+        ensureRemaining(4);
+        return mBuffer.getInt();
+    }
+
+    /**
+     * Returns a view on the next count floats and skips them.
+     */
+    private FloatBuffer floatView(int count) throws IOException {
+        ensureRemaining(4L * count);
+        FloatBuffer view = mBuffer.slice().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+        view.limit(count);
+        mBuffer.position(mBuffer.position() + 4 * count);
+        return view;
+    }
+
+    private void ensureRemaining(long bytes) throws IOException {
+        if (mBuffer.remaining() < bytes)
+            throw new IOException("Unexpected end of DataSet file");
+    }
+
+    /**
+     * One data set of the file. The columns are read-only views on the buffer of the
+     * reader.
+     */
+    public static final class Block {
+
+        private final int mType;
+        private final String mLabel;
+        private final int mEntryCount;
+        private final FloatBuffer[] mColumns;
+        private final IntBuffer mStackOffsets;
+        private final FloatBuffer mStackValues;
+
+        Block(int type, String label, int entryCount, FloatBuffer[] columns,
+              IntBuffer stackOffsets, FloatBuffer stackValues) {
+            mType = type;
+            mLabel = label;
+            mEntryCount = entryCount;
+            mColumns = columns;
+            mStackOffsets = stackOffsets;
+            mStackValues = stackValues;
+        }
+
+        /**
+         * Returns one of the DataSetFormat.TYPE_... constants.
+         */
+        public int getType() {
+            return mType;
+        }
+
+        public String getLabel() {
+            return mLabel;
+        }
+
+        public int getEntryCount() {
+            return mEntryCount;
+        }
+
+        /**
+         * Returns a read-only view on the column with the given index, in the order the
+         * columns are listed in DataSetFormat.
+         */
+        public FloatBuffer getColumn(int index) {
+            return mColumns[index].asReadOnlyBuffer();
+        }
+
+        /**
+         * Creates a DataSet of the matching type from the values of this block.
+         */
+        public DataSet<?> toDataSet() throws IOException {
+            switch (mType) {
+                case DataSetFormat.TYPE_LINE: {
+                    EntryColumns columns = new EntryColumns(mEntryCount);
+                    columns.addAll(getColumn(0), getColumn(1), mEntryCount);
+                    return new ColumnarLineDataSet(columns, mLabel);
+                }
+                case DataSetFormat.TYPE_BAR:
+                    return new BarDataSet(createBarEntries(), mLabel);
+                case DataSetFormat.TYPE_CANDLE: {
+                    List<CandleEntry> entries = new ArrayList<>(mEntryCount);
+                    for (int i = 0; i < mEntryCount; i++) {
+                        entries.add(new CandleEntry(mColumns[0].get(i), mColumns[1].get(i),
+                                mColumns[2].get(i), mColumns[3].get(i), mColumns[4].get(i)));
+                    }
+                    return new CandleDataSet(entries, mLabel);
+                }
+                default: {
+                    List<BubbleEntry> entries = new ArrayList<>(mEntryCount);
+                    for (int i = 0; i < mEntryCount; i++) {
+                        entries.add(new BubbleEntry(mColumns[0].get(i), mColumns[1].get(i), mColumns[2].get(i)));
+                    }
+                    return new BubbleDataSet(entries, mLabel);
+                }
+            }
+        }
+
+        private List<BarEntry> createBarEntries() throws IOException {
+            List<BarEntry> entries = new ArrayList<>(mEntryCount);
+
+            for (int i = 0; i < mEntryCount; i++) {
+                float x = mColumns[0].get(i);
+
+                if (mStackOffsets == null) {
+                    entries.add(new BarEntry(x, mColumns[1].get(i)));
+                    continue;
+                }
+
+                int from = mStackOffsets.get(i);
+                int to = mStackOffsets.get(i + 1);
+
+                if (from < 0 || to < from || to > mStackValues.limit())
+                    throw new IOException("Corrupt stack offsets of entry " + i);
+
+                if (from == to) {
+                    entries.add(new BarEntry(x, mColumns[1].get(i)));
+                    continue;
+                }
+
+                float[] vals = new float[to - from];
+                for (int j = from; j < to; j++) {
+                    vals[j - from] = mStackValues.get(j);
+                }
+                entries.add(new BarEntry(x, vals));
+            }
+
+            return entries;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.github.mikephil.charting.utils;
+
+import com.github.mikephil.charting.data.BarEntry;
+import com.github.mikephil.charting.interfaces.datasets.IBarDataSet;
+import com.github.mikephil.charting.interfaces.datasets.IBubbleDataSet;
+import com.github.mikephil.charting.interfaces.datasets.ICandleDataSet;
+import com.github.mikephil.charting.interfaces.datasets.IDataSet;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes DataSets in the binary format described in {@link DataSetFormat}, one after the
+ * other, through a small buffer: the file is never held in memory as a whole, and line
+ * DataSets are read with getXForIndex(...) / getYForIndex(...), so columnar DataSets are
+ * written without creating entries. Bar, candle and bubble DataSets are written with
+ * their type, all other DataSets as lines. close() ends the file.
+ */
+public class DataSetWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final WritableByteChannel mChannel;
+
+    private final ByteBuffer mBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    private boolean mClosed = false;
+
+    public DataSetWriter(OutputStream out) throws IOException {
+        this(Channels.newChannel(out));
+    }
+
+    public DataSetWriter(WritableByteChannel channel) throws IOException {
+        mChannel = channel;
+        putInt(DataSetFormat.MAGIC);
+        putInt(DataSetFormat.VERSION);
+    }
+
+    /**
+     * Writes the values and the label of the given DataSet.
+     */
+    public void write(IDataSet<?> set) throws IOException {
+        if (mClosed)
+            throw new IOException("The writer is closed");
+
+        final int count = set.getEntryCount();
+        final int type;
+
+        if (set instanceof IBarDataSet)
+            type = DataSetFormat.TYPE_BAR;
+        else if (set instanceof ICandleDataSet)
+            type = DataSetFormat.TYPE_CANDLE;
+        else if (set instanceof IBubbleDataSet)
+            type = DataSetFormat.TYPE_BUBBLE;
+        else
+            type = DataSetFormat.TYPE_LINE;
+
+        byte[] label = set.getLabel() == null ? new byte[0] : set.getLabel().getBytes(StandardCharsets.UTF_8);
+
+        putInt(type);
+        putInt(count);
+        putInt(label.length);
+
+        for (byte b : label) {
+            ensureRemaining(1);
+            mBuffer.put(b);
+        }
+        for (int i = label.length; (i & 3) != 0; i++) {
+            ensureRemaining(1);
+            mBuffer.put((byte) 0);
+        }
+
+        for (int i = 0; i < count; i++) {
+            putFloat(set.getXForIndex(i));
+        }
+
+        switch (type) {
+            case DataSetFormat.TYPE_LINE:
+                for (int i = 0; i < count; i++) {
+                    putFloat(set.getYForIndex(i));
+                }
+                break;
+            case DataSetFormat.TYPE_BAR:
+                writeBars((IBarDataSet) set, count);
+                break;
+            case DataSetFormat.TYPE_CANDLE:
+                ICandleDataSet candles = (ICandleDataSet) set;
+                for (int i = 0; i < count; i++) {
+                    putFloat(candles.getEntryForIndex(i).getHigh());
+                }
+                for (int i = 0; i < count; i++) {
+                    putFloat(candles.getEntryForIndex(i).getLow());
+                }
+                for (int i = 0; i < count; i++) {
+                    putFloat(candles.getEntryForIndex(i).getOpen());
+                }
+                for (int i = 0; i < count; i++) {
+                    putFloat(candles.getEntryForIndex(i).getClose());
+                }
+                break;
+            case DataSetFormat.TYPE_BUBBLE:
+                IBubbleDataSet bubbles = (IBubbleDataSet) set;
+                for (int i = 0; i < count; i++) {
+                    putFloat(bubbles.getYForIndex(i));
+                }
+                for (int i = 0; i < count; i++) {
+                    putFloat(bubbles.getEntryForIndex(i).getSize());
+                }
+                break;
+        }
+    }
+
+    private void writeBars(IBarDataSet bars, int count) throws IOException {
+        int stackValueCount = 0;
+
+        for (int i = 0; i < count; i++) {
+            BarEntry e = bars.getEntryForIndex(i);
+            putFloat(e.getY());
+
+            if (e.getYVals() != null)
+                stackValueCount += e.getYVals().length;
+        }
+
+        putInt(stackValueCount);
+
+        if (stackValueCount == 0)
+            return;
+
+        int offset = 0;
+        putInt(offset);
+
+        for (int i = 0; i < count; i++) {
+            float[] vals = bars.getEntryForIndex(i).getYVals();
+            offset += vals == null ? 0 : vals.length;
+            putInt(offset);
+        }
+
+        for (int i = 0; i < count; i++) {
+            float[] vals = bars.getEntryForIndex(i).getYVals();
+
+            if (vals == null)
+                continue;
+
+            for (float val : vals) {
+                putFloat(val);
+            }
+        }
+    }
+
+    private void putInt(int value) throws IOException {
+        ensureRemaining(4);
+        mBuffer.putInt(value);
+    }
+
+    private void putFloat(float value) throws IOException {
+        ensureRemaining(4);
+        mBuffer.putFloat(value);
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (mBuffer.remaining() < bytes)
+            flush();
+    }
+
+    /**
+     * Writes the buffered values to the channel.
+     */
+    public void flush() throws IOException {
+        mBuffer.flip();
+
+        while (mBuffer.hasRemaining()) {
+            mChannel.write(mBuffer);
+        }
+
+        mBuffer.clear();
+    }
+
+    /**
+     * Ends the file and closes the channel.
+     */
+    @Override
+    public void close() throws IOException {
+        if (mClosed)
+            return;
+
+        try {
+            putInt(DataSetFormat.TYPE_END);
+            flush();
+        } finally {
+            mClosed = true;
+            mChannel.close();
+        }
+    }
+}
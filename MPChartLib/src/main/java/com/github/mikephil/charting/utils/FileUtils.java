@@ -6,22 +6,30 @@ import android.os.Environment;
 import android.util.Log;
 
 import com.github.mikephil.charting.data.BarEntry;
+import com.github.mikephil.charting.data.ColumnarLineDataSet;
+import com.github.mikephil.charting.data.DataSet;
 import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.interfaces.datasets.IDataSet;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Utilities class for interacting with the assets and the devices storage to
- * load and save DataSet objects from and to .txt files.
+ * load and save DataSet objects from and to .txt files, or much faster from and to
+ * binary files (see {@link DataSetFormat}).
  *
  * @author Philipp Jahoda
  */
@@ -266,4 +274,104 @@ public class FileUtils {
 		// DataSet ds = new DataSet(entries, label);
 		// return ds;
 	}
+
+	/**
+	 * Loads all DataSets of a binary file written by saveDataSets(...). The file is memory
+	 * mapped, line DataSets are read without creating entries.
+	 *
+	 * @param file the binary file
+	 */
+	public static List<DataSet<?>> loadDataSetsFromFile(File file) {
+
+		try {
+			return DataSetReader.open(file).readAll();
+		} catch (IOException e) {
+			Log.e(LOG, e.toString());
+		}
+
+		return new ArrayList<>();
+	}
+
+	/**
+	 * Loads all DataSets of a binary file written by saveDataSets(...) from the assets
+	 * folder.
+	 *
+	 * @param path the name of the file in the assets folder (+ path if needed)
+	 */
+	public static List<DataSet<?>> loadDataSetsFromAssets(AssetManager am, String path) {
+
+		try {
+			return new DataSetReader(ByteBuffer.wrap(readAsset(am, path))).readAll();
+		} catch (IOException e) {
+			Log.e(LOG, e.toString());
+		}
+
+		return new ArrayList<>();
+	}
+
+	/**
+	 * Saves the values and labels of the given DataSets to a binary file, replacing its
+	 * content. Styling is not saved.
+	 */
+	public static void saveDataSets(List<? extends IDataSet<?>> dataSets, File file) {
+
+		try (DataSetWriter writer = new DataSetWriter(new FileOutputStream(file))) {
+			for (IDataSet<?> set : dataSets) {
+				writer.write(set);
+			}
+		} catch (IOException e) {
+			Log.e(LOG, e.toString());
+		}
+	}
+
+	/**
+	 * Imports the entries of a large text file in the format of loadEntriesFromFile(...)
+	 * ("x#y" per line) in parallel, see {@link TextImporter}. Use a TextImporter directly
+	 * for other formats, progress and cancellation.
+	 *
+	 * @param file the text file
+	 */
+	public static ColumnarLineDataSet importEntriesFromFile(File file, String label) {
+
+		try {
+			return new TextImporter('#', 0, 1).importDataSet(file, label);
+		} catch (IOException e) {
+			Log.e(LOG, e.toString());
+		}
+
+		return new ColumnarLineDataSet(label);
+	}
+
+	/**
+	 * Imports the entries of a large text file in the format of loadEntriesFromAssets(...)
+	 * ("y#x" per line) from the assets folder in parallel, see {@link TextImporter}.
+	 *
+	 * @param path the name of the file in the assets folder (+ path if needed)
+	 */
+	public static ColumnarLineDataSet importEntriesFromAssets(AssetManager am, String path, String label) {
+
+		try {
+			byte[] bytes = readAsset(am, path);
+			return new TextImporter('#', 1, 0).importDataSet(bytes, 0, bytes.length, label);
+		} catch (IOException e) {
+			Log.e(LOG, e.toString());
+		}
+
+		return new ColumnarLineDataSet(label);
+	}
+
+	private static byte[] readAsset(AssetManager am, String path) throws IOException {
+
+		try (InputStream in = am.open(path)) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(in.available(), 8192));
+			byte[] chunk = new byte[8192];
+			int read;
+
+			while ((read = in.read(chunk)) != -1) {
+				bytes.write(chunk, 0, read);
+			}
+
+			return bytes.toByteArray();
+		}
+	}
 }
@@ -0,0 +1,149 @@
+package com.github.mikephil.charting.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses decimal float values directly from ASCII bytes, without creating a String. The
+ * usual forms ("-12", "3.25", "1.5e-3", up to 19 significant digits) are converted with
+ * exact float or double arithmetic and give the same result as Float.parseFloat(...);
+ * everything else (more digits, huge exponents, "NaN", "Infinity", hex values) is handed
+ * to Float.parseFloat(...), which allocates.
+ */
+public final class FloatParser {
+
+    private static final float[] FLOAT_POWERS_OF_TEN = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private FloatParser() {
+    }
+
+    /**
+     * Parses the bytes [from, to) of the given buffer, ignoring surrounding whitespace and
+     * double quotes.
+     *
+     * @throws NumberFormatException if the bytes are not a float value
+     */
+    public static float parse(ByteBuffer buffer, int from, int to) {
+
+        while (from < to && isIgnored(buffer.get(from)))
+            from++;
+
+        while (to > from && isIgnored(buffer.get(to - 1)))
+            to--;
+
+        int i = from;
+        boolean negative = false;
+
+        if (i < to && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i) == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int exponent = 0;
+        int digits = 0;
+        boolean truncated = false;
+        boolean point = false;
+
+        for (; i < to; i++) {
+            byte b = buffer.get(i);
+
+            if (b >= '0' && b <= '9') {
+                if (mantissa == 0 && b == '0') {
+                    // leading zeros are not significant
+                } else if (mantissa < 100_000_000_000_000_000L) {
+                    mantissa = mantissa * 10 + (b - '0');
+                } else {
+                    truncated = true;
+                    exponent++;
+                }
+
+                if (point)
+                    exponent--;
+
+                digits++;
+            } else if (b == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+
+        if (i < to && digits > 0 && (buffer.get(i) == 'e' || buffer.get(i) == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+
+            if (i < to && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+                negativeExponent = buffer.get(i) == '-';
+                i++;
+            }
+
+            int value = 0;
+            int exponentDigits = 0;
+
+            for (; i < to && buffer.get(i) >= '0' && buffer.get(i) <= '9'; i++) {
+                if (value < 10_000)
+                    value = value * 10 + (buffer.get(i) - '0');
+                exponentDigits++;
+            }
+
+            if (exponentDigits == 0)
+                return parseSlow(buffer, from, to);
+
+            exponent += negativeExponent ? -value : value;
+        }
+
+        if (i != to || digits == 0)
+            return parseSlow(buffer, from, to);
+
+        if (mantissa == 0)
+            return negative ? -0f : 0f;
+
+        float value;
+
+        if (!truncated && mantissa < 1L << 24 && Math.abs(exponent) <= 10) {
+            // both operands are exact floats, the operation rounds correctly
+            value = exponent >= 0
+                    ? (float) mantissa * FLOAT_POWERS_OF_TEN[exponent]
+                    : (float) mantissa / FLOAT_POWERS_OF_TEN[-exponent];
+        } else if (!truncated && mantissa < 1L << 53 && Math.abs(exponent) <= 22) {
+            double d = exponent >= 0
+                    ? (double) mantissa * DOUBLE_POWERS_OF_TEN[exponent]
+                    : (double) mantissa / DOUBLE_POWERS_OF_TEN[-exponent];
+            value = (float) d;
+
+            // rounding the rounded double can only go wrong if it is exactly halfway
+            // between two floats
+            if (value != d) {
+                double halfway = ((double) value + (double) Math.nextAfter(value, d)) / 2;
+                if (halfway == d)
+                    return parseSlow(buffer, from, to);
+            }
+        } else {
+            return parseSlow(buffer, from, to);
+        }
+
+        return negative ? -value : value;
+    }
+
+    private static boolean isIgnored(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '"';
+    }
+
+    private static float parseSlow(ByteBuffer buffer, int from, int to) {
+        byte[] bytes = new byte[to - from];
+
+        for (int i = from; i < to; i++) {
+            bytes[i - from] = buffer.get(i);
+        }
+
+        return Float.parseFloat(new String(bytes, StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,490 @@
+package com.github.mikephil.charting.utils;
+
+import com.github.mikephil.charting.data.ColumnarLineDataSet;
+import com.github.mikephil.charting.data.EntryColumns;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Imports x- and y-values from delimited text, like the "#"-separated files of FileUtils
+ * or CSV exports, in parallel. The text is split into chunks of whole lines, the chunks
+ * are parsed on a fork/join pool straight from the (memory mapped) bytes with
+ * {@link FloatParser}, without a String per line or value, and the values of all chunks
+ * are merged into primitive {@link EntryColumns} in the order of the lines.
+ * <p/>
+ * Lines that do not hold two parsable values in the configured columns (e.g. a CSV
+ * header) are skipped and counted, blank lines are ignored. An importer can be used for
+ * one import at a time.
+ */
+public class TextImporter {
+
+    /**
+     * Receives the progress of an import.
+     */
+    public interface ProgressListener {
+
+        /**
+         * Called on the threads of the pool whenever a part of the text is parsed, with the
+         * number of bytes that are parsed so far.
+         */
+        void onProgress(long parsedBytes, long totalBytes);
+    }
+
+    /**
+     * bytes a chunk should have at least, smaller texts are parsed in one piece
+     */
+    private static final int MIN_CHUNK_SIZE = 256 * 1024;
+
+    /**
+     * the number of values a chunk has room for before its arrays grow for the first time
+     */
+    private static final int INITIAL_CHUNK_CAPACITY = 1024;
+
+    /**
+     * bytes after which a chunk reports its progress and checks for cancellation
+     */
+    private static final int PROGRESS_INTERVAL = 64 * 1024;
+
+    private final byte mDelimiter;
+
+    private final int mXColumn;
+
+    private final int mYColumn;
+
+    private ForkJoinPool mPool;
+
+    private ProgressListener mProgressListener;
+
+    private volatile boolean mCancelled = false;
+
+    private final AtomicInteger mSkippedLines = new AtomicInteger();
+
+    /**
+     * @param delimiter the character between the values of a line, e.g. '#' or ','
+     * @param xColumn   the index of the x-value within a line
+     * @param yColumn   the index of the y-value within a line
+     */
+    public TextImporter(char delimiter, int xColumn, int yColumn) {
+        if (delimiter > 127)
+            throw new IllegalArgumentException("The delimiter must be an ASCII character");
+
+        if (xColumn < 0 || yColumn < 0)
+            throw new IllegalArgumentException("Column indices must be >= 0");
+
+        mDelimiter = (byte) delimiter;
+        mXColumn = xColumn;
+        mYColumn = yColumn;
+    }
+
+    /**
+     * Sets the pool the chunks are parsed on, null to use the pool that is shared by all
+     * charts, see ChartExecutors. Files of one chunk are parsed on the calling thread.
+     * Default: null
+     */
+    public void setPool(ForkJoinPool pool) {
+        mPool = pool;
+    }
+
+    /**
+     * Sets the listener that is told about the progress of the imports, or null.
+     */
+    public void setProgressListener(ProgressListener listener) {
+        mProgressListener = listener;
+    }
+
+    /**
+     * Cancels the running import, which then throws a CancellationException. Can be
+     * called from any thread.
+     */
+    public void cancel() {
+        mCancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return mCancelled;
+    }
+
+    /**
+     * Returns the number of lines the last import skipped because their values could not
+     * be parsed.
+     */
+    public int getSkippedLineCount() {
+        return mSkippedLines.get();
+    }
+
+    /**
+     * Imports the values of the given file, which is memory mapped chunk by chunk.
+     *
+     * @throws CancellationException if cancel() was called during the import
+     */
+    public EntryColumns importFile(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            return importText(new FileText(raf.getChannel()));
+        }
+    }
+
+    /**
+     * Imports the values of len bytes of the given array, starting at off.
+     *
+     * @throws CancellationException if cancel() was called during the import
+     */
+    public EntryColumns importBytes(byte[] bytes, int off, int len) throws IOException {
+        return importText(new ByteText(ByteBuffer.wrap(bytes, off, len).slice()));
+    }
+
+    /**
+     * Imports the values of the given file into a ColumnarLineDataSet. If the x-values
+     * of the file are not sorted, the values are sorted after the import.
+     */
+    public ColumnarLineDataSet importDataSet(File file, String label) throws IOException {
+        return createDataSet(importFile(file), label);
+    }
+
+    /**
+     * Imports the values of the given bytes into a ColumnarLineDataSet, see
+     * importDataSet(File, String).
+     */
+    public ColumnarLineDataSet importDataSet(byte[] bytes, int off, int len, String label) throws IOException {
+        return createDataSet(importBytes(bytes, off, len), label);
+    }
+
+    private static ColumnarLineDataSet createDataSet(EntryColumns columns, String label) {
+        float[] xValues = columns.getXValues();
+
+        for (int i = 1; i < columns.size(); i++) {
+            if (xValues[i] < xValues[i - 1]) {
+                Collections.sort(columns, new EntryXComparator());
+                break;
+            }
+        }
+
+        return new ColumnarLineDataSet(columns, label);
+    }
+
+    private EntryColumns importText(Text text) throws IOException {
+        mCancelled = false;
+        mSkippedLines.set(0);
+
+        long size = text.size();
+        ForkJoinPool pool = mPool != null ? mPool : ChartExecutors.getParallelPool();
+
+        // a few chunks per thread balance the load, a chunk is mapped as one buffer
+        long chunkCount = Math.max(1, Math.min(size / MIN_CHUNK_SIZE, pool.getParallelism() * 4L));
+        chunkCount = Math.max(chunkCount, (size >> 30) + 1);
+
+        long[] bounds = new long[(int) chunkCount + 1];
+        bounds[(int) chunkCount] = size;
+
+        for (int i = 1; i < chunkCount; i++) {
+            bounds[i] = text.findLineStart(Math.max(bounds[i - 1], size * i / chunkCount));
+        }
+
+        List<ChunkTask> tasks = new ArrayList<>();
+        AtomicLong parsed = new AtomicLong();
+
+        for (int i = 0; i < chunkCount; i++) {
+            if (bounds[i + 1] > bounds[i])
+                tasks.add(new ChunkTask(text, bounds[i], bounds[i + 1], size, parsed));
+        }
+
+        // a single chunk is parsed on this thread
+        if (tasks.size() == 1) {
+            tasks.get(0).invoke();
+        } else {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        }
+
+        int total = 0;
+
+        for (ChunkTask task : tasks) {
+            if (task.mFailure != null)
+                throw task.mFailure;
+
+            total += task.mCount;
+        }
+
+        if (mCancelled)
+            throw new CancellationException("The import was cancelled");
+
+        if (tasks.isEmpty())
+            return new EntryColumns();
+
+        // the arrays of the first chunk become the columns, the values of the others are
+        // appended to them and their arrays released one by one
+        ChunkTask first = tasks.get(0);
+        EntryColumns columns = EntryColumns.wrap(first.mXValues, first.mYValues, first.mCount);
+        first.release();
+        columns.ensureCapacity(total);
+
+        for (int i = 1; i < tasks.size(); i++) {
+            ChunkTask task = tasks.get(i);
+            columns.addAll(task.mXValues, task.mYValues, 0, task.mCount);
+            task.release();
+        }
+
+        return columns;
+    }
+
+    /**
+     * Parses the lines of one chunk into its own value arrays.
+     */
+    private class ChunkTask extends RecursiveAction {
+
+        private final Text mText;
+        private final long mStart;
+        private final long mEnd;
+        private final long mTotalSize;
+        private final AtomicLong mParsed;
+
+        private float[] mXValues;
+        private float[] mYValues;
+        private int mCount = 0;
+        private IOException mFailure;
+
+        ChunkTask(Text text, long start, long end, long totalSize, AtomicLong parsed) {
+            mText = text;
+            mStart = start;
+            mEnd = end;
+            mTotalSize = totalSize;
+            mParsed = parsed;
+
+            // the arrays grow with the values, a chunk of short lines would otherwise need
+            // a guess of its line count up front
+            int capacity = (int) Math.min(INITIAL_CHUNK_CAPACITY, end - start);
+            mXValues = new float[capacity];
+            mYValues = new float[capacity];
+        }
+
+        /**
+         * Drops the references to the value arrays once they were handed over or copied.
+         */
+        void release() {
+            mXValues = null;
+            mYValues = null;
+        }
+
+        @Override
+        protected void compute() {
+            ByteBuffer buffer;
+
+            try {
+                buffer = mText.map(mStart, mEnd);
+            } catch (IOException e) {
+                mFailure = e;
+                return;
+            }
+
+            int limit = buffer.limit();
+            int position = 0;
+            int reported = 0;
+
+            while (position < limit) {
+
+                if (position - reported >= PROGRESS_INTERVAL) {
+                    if (mCancelled || Thread.currentThread().isInterrupted()) {
+                        mCancelled = true;
+                        return;
+                    }
+
+                    report(position - reported);
+                    reported = position;
+                }
+
+                int lineEnd = position;
+                while (lineEnd < limit && buffer.get(lineEnd) != '\n')
+                    lineEnd++;
+
+                parseLine(buffer, position, lineEnd);
+                position = lineEnd + 1;
+            }
+
+            report(limit - reported);
+        }
+
+        private void report(int bytes) {
+            long parsed = mParsed.addAndGet(bytes);
+            ProgressListener listener = mProgressListener;
+
+            if (listener != null)
+                listener.onProgress(parsed, mTotalSize);
+        }
+
+        private void parseLine(ByteBuffer buffer, int from, int to) {
+            int xFrom = -1, xTo = -1, yFrom = -1, yTo = -1;
+            int column = 0;
+            int fieldStart = from;
+            boolean blank = true;
+
+            for (int i = from; i <= to; i++) {
+                byte b = i < to ? buffer.get(i) : mDelimiter;
+
+                if (b != mDelimiter) {
+                    if (b != ' ' && b != '\t' && b != '\r')
+                        blank = false;
+                    continue;
+                }
+
+                if (column == mXColumn) {
+                    xFrom = fieldStart;
+                    xTo = i;
+                }
+                if (column == mYColumn) {
+                    yFrom = fieldStart;
+                    yTo = i;
+                }
+
+                column++;
+                fieldStart = i + 1;
+
+                if (column > mXColumn && column > mYColumn)
+                    break;
+            }
+
+            if (blank)
+                return;
+
+            if (xFrom < 0 || yFrom < 0) {
+                mSkippedLines.incrementAndGet();
+                return;
+            }
+
+            float x;
+            float y;
+
+            try {
+                x = FloatParser.parse(buffer, xFrom, xTo);
+                y = FloatParser.parse(buffer, yFrom, yTo);
+            } catch (NumberFormatException e) {
+                mSkippedLines.incrementAndGet();
+                return;
+            }
+
+            if (mCount == mXValues.length) {
+                int capacity = (int) Math.min(Integer.MAX_VALUE - 8, mCount + (mCount >> 1) + 16L);
+                mXValues = Arrays.copyOf(mXValues, capacity);
+                mYValues = Arrays.copyOf(mYValues, capacity);
+            }
+
+            mXValues[mCount] = x;
+            mYValues[mCount] = y;
+            mCount++;
+        }
+    }
+
+    /**
+     * The text an import reads from.
+     */
+    private interface Text {
+
+        long size() throws IOException;
+
+        /**
+         * Returns the bytes [start, end) as a buffer whose position is 0.
+         */
+        ByteBuffer map(long start, long end) throws IOException;
+
+        /**
+         * Returns the first position >= the given one that starts a line, or the size.
+         */
+        long findLineStart(long position) throws IOException;
+    }
+
+    private static final class FileText implements Text {
+
+        private final FileChannel mChannel;
+
+        FileText(FileChannel channel) {
+            mChannel = channel;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return mChannel.size();
+        }
+
+        @Override
+        public ByteBuffer map(long start, long end) throws IOException {
+            return mChannel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        }
+
+        @Override
+        public long findLineStart(long position) throws IOException {
+            if (position == 0)
+                return 0;
+
+            ByteBuffer buffer = ByteBuffer.allocate(8192);
+            long size = mChannel.size();
+
+            // the line starts behind the first line feed at or after position - 1
+            for (long offset = position - 1; offset < size; ) {
+                buffer.clear();
+                int read = mChannel.read(buffer, offset);
+
+                if (read <= 0)
+                    break;
+
+                for (int i = 0; i < read; i++) {
+                    if (buffer.get(i) == '\n')
+                        return offset + i + 1;
+                }
+
+                offset += read;
+            }
+
+            return size;
+        }
+    }
+
+    private static final class ByteText implements Text {
+
+        private final ByteBuffer mBuffer;
+
+        ByteText(ByteBuffer buffer) {
+            mBuffer = buffer;
+        }
+
+        @Override
+        public long size() {
+            return mBuffer.limit();
+        }
+
+        @Override
+        public ByteBuffer map(long start, long end) {
+            ByteBuffer view = mBuffer.duplicate();
+            view.position((int) start);
+            view.limit((int) end);
+            return view.slice();
+        }
+
+        @Override
+        public long findLineStart(long position) {
+            if (position == 0)
+                return 0;
+
+            for (int i = (int) position - 1; i < mBuffer.limit(); i++) {
+                if (mBuffer.get(i) == '\n')
+                    return i + 1;
+            }
+
+            return mBuffer.limit();
+        }
+    }
+}
@@ -6,7 +6,6 @@ import android.graphics.Path;
 import android.graphics.RectF;
 
 import com.github.mikephil.charting.data.CandleEntry;
-import com.github.mikephil.charting.data.Entry;
 import com.github.mikephil.charting.interfaces.datasets.IBubbleDataSet;
 import com.github.mikephil.charting.interfaces.datasets.ICandleDataSet;
 import com.github.mikephil.charting.interfaces.datasets.ILineDataSet;
@@ -17,6 +16,10 @@ import java.util.List;
 /**
  * Transformer class that contains all matrices and is responsible for
  * transforming values into pixels on the screen and backwards.
+ * <p/>
+ * The value, touch and offset matrices are concatenated into one value-to-pixel matrix
+ * (and its inverse), which is cached until one of them changes, so every transformation
+ * is a single pass over the points.
  *
  * @author Philipp Jahoda
  */
@@ -34,6 +37,41 @@ public class Transformer {
 
     protected ViewPortHandler mViewPortHandler;
 
+    /**
+     * incremented whenever the value or the offset matrix changes
+     */
+    private long mMatrixVersion = 0;
+
+    /**
+     * the matrix and touch matrix versions the cached value-to-pixel matrix was built
+     * from, -1 if it needs to be built
+     */
+    private long mValueToPixelVersion = -1;
+    private long mValueToPixelTouchVersion = -1;
+
+    /**
+     * the versions the cached pixel-to-value matrix was built from
+     */
+    private long mPixelToValueVersion = -1;
+    private long mPixelToValueTouchVersion = -1;
+
+    /**
+     * false if the value-to-pixel matrix cannot be inverted, e.g. for an empty content rect
+     */
+    private boolean mPixelToValueInvertible = true;
+
+    /**
+     * the scale and translation of the cached value-to-pixel matrix, used by
+     * mapPoints(...) instead of the Matrix, true if the matrix has no other terms
+     */
+    private float mScaleX = 1f;
+    private float mScaleY = 1f;
+    private float mTransX = 0f;
+    private float mTransY = 0f;
+    private boolean mScaleTranslateOnly = false;
+
+    private final float[] mMatrixValues = new float[9];
+
     public Transformer(ViewPortHandler viewPortHandler) {
         this.mViewPortHandler = viewPortHandler;
     }
@@ -58,6 +96,7 @@ public class Transformer {
         mMatrixValueToPx.reset();
         mMatrixValueToPx.postTranslate(-xChartMin, -yChartMin);
         mMatrixValueToPx.postScale(scaleX, -scaleY);
+        invalidateMatrices();
     }
 
     /**
@@ -77,6 +116,17 @@ public class Transformer {
                     .setTranslate(mViewPortHandler.offsetLeft(), -mViewPortHandler.offsetTop());
             mMatrixOffset.postScale(1.0f, -1.0f);
         }
+
+        invalidateMatrices();
+    }
+
+    /**
+     * Call after modifying the value or the offset matrix directly, so that the cached
+     * value-to-pixel matrix is recalculated. Changes of the touch matrix of the
+     * ViewPortHandler are detected by its version.
+     */
+    public void invalidateMatrices() {
+        mMatrixVersion++;
     }
 
     protected float[] valuePointsForGenerateTransformedValuesScatter = new float[1];
@@ -95,13 +145,15 @@ public class Transformer {
         }
         float[] valuePoints = valuePointsForGenerateTransformedValuesScatter;
 
+        final int entryCount = data.getEntryCount();
+
         for (int j = 0; j < count; j += 2) {
 
-            Entry e = data.getEntryForIndex(j / 2 + from);
+            final int index = j / 2 + from;
 
-            if (e != null) {
-                valuePoints[j] = e.getX();
-                valuePoints[j + 1] = e.getY() * phaseY;
+            if (index >= 0 && index < entryCount) {
+                valuePoints[j] = data.getXForIndex(index);
+                valuePoints[j + 1] = data.getYForIndex(index) * phaseY;
             } else {
                 valuePoints[j] = 0;
                 valuePoints[j + 1] = 0;
@@ -128,13 +180,15 @@ public class Transformer {
         }
         float[] valuePoints = valuePointsForGenerateTransformedValuesBubble;
 
+        final int entryCount = data.getEntryCount();
+
         for (int j = 0; j < count; j += 2) {
 
-            Entry e = data.getEntryForIndex(j / 2 + from);
+            final int index = j / 2 + from;
 
-            if (e != null) {
-                valuePoints[j] = e.getX();
-                valuePoints[j + 1] = e.getY() * phaseY;
+            if (index >= 0 && index < entryCount) {
+                valuePoints[j] = data.getXForIndex(index);
+                valuePoints[j + 1] = data.getYForIndex(index) * phaseY;
             } else {
                 valuePoints[j] = 0;
                 valuePoints[j + 1] = 0;
@@ -165,13 +219,15 @@ public class Transformer {
         }
         float[] valuePoints = valuePointsForGenerateTransformedValuesLine;
 
+        final int entryCount = data.getEntryCount();
+
         for (int j = 0; j < count; j += 2) {
 
-            Entry e = data.getEntryForIndex(j / 2 + min);
+            final int index = j / 2 + min;
 
-            if (e != null) {
-                valuePoints[j] = e.getX();
-                valuePoints[j + 1] = e.getY() * phaseY;
+            if (index >= 0 && index < entryCount) {
+                valuePoints[j] = data.getXForIndex(index);
+                valuePoints[j + 1] = data.getYForIndex(index) * phaseY;
             } else {
                 valuePoints[j] = 0;
                 valuePoints[j + 1] = 0;
@@ -223,9 +279,7 @@ public class Transformer {
      */
     public void pathValueToPixel(Path path) {
 
-        path.transform(mMatrixValueToPx);
-        path.transform(mViewPortHandler.getMatrixTouch());
-        path.transform(mMatrixOffset);
+        path.transform(getValueToPixelMatrix());
     }
 
     /**
@@ -233,20 +287,56 @@ public class Transformer {
      */
     public void pathValuesToPixel(List<Path> paths) {
 
+        Matrix m = getValueToPixelMatrix();
+
         for (int i = 0; i < paths.size(); i++) {
-            pathValueToPixel(paths.get(i));
+            paths.get(i).transform(m);
         }
     }
 
     /**
      * Transform an array of points with all matrices. VERY IMPORTANT: Keep
-     * matrix order "value-touch-offset" when transforming.
+     * matrix order "value-touch-offset" when transforming. Like Matrix.mapPoints(...), a
+     * last value without a partner is left as it is.
      */
     public void pointValuesToPixel(float[] pts) {
 
-        mMatrixValueToPx.mapPoints(pts);
-        mViewPortHandler.getMatrixTouch().mapPoints(pts);
-        mMatrixOffset.mapPoints(pts);
+        pointValuesToPixel(pts, 0, pts.length & ~1);
+    }
+
+    /**
+     * Transforms length values (x, y, x, y, ...) of the given array, starting at offset,
+     * in place with all matrices. The charts only scale and translate, which is done in
+     * plain Java here instead of a native Matrix.mapPoints(...) call, so calling this for
+     * a few points at a time is cheap.
+     */
+    public void pointValuesToPixel(float[] pts, int offset, int length) {
+
+        Matrix m = getValueToPixelMatrix();
+
+        if (mScaleTranslateOnly)
+            mapPoints(pts, offset, length, mScaleX, mScaleY, mTransX, mTransY);
+        else
+            m.mapPoints(pts, offset, pts, offset, length / 2);
+    }
+
+    /**
+     * Transforms length values (x, y, x, y, ...) of the given array, starting at offset,
+     * in place: x' = x * scaleX + transX, y' = y * scaleY + transY.
+     */
+    public static void mapPoints(float[] pts, int offset, int length,
+                                 float scaleX, float scaleY, float transX, float transY) {
+
+        if (offset < 0 || length < 0 || (length & 1) != 0 || offset + length > pts.length)
+            throw new IllegalArgumentException("Invalid range " + offset + " + " + length
+                    + " for " + pts.length + " values.");
+
+        final int end = offset + length;
+
+        for (int i = offset; i < end; i += 2) {
+            pts[i] = pts[i] * scaleX + transX;
+            pts[i + 1] = pts[i + 1] * scaleY + transY;
+        }
     }
 
     /**
@@ -254,9 +344,7 @@ public class Transformer {
      */
     public void rectValueToPixel(RectF r) {
 
-        mMatrixValueToPx.mapRect(r);
-        mViewPortHandler.getMatrixTouch().mapRect(r);
-        mMatrixOffset.mapRect(r);
+        getValueToPixelMatrix().mapRect(r);
     }
 
     /**
@@ -268,9 +356,7 @@ public class Transformer {
         r.top *= phaseY;
         r.bottom *= phaseY;
 
-        mMatrixValueToPx.mapRect(r);
-        mViewPortHandler.getMatrixTouch().mapRect(r);
-        mMatrixOffset.mapRect(r);
+        getValueToPixelMatrix().mapRect(r);
     }
 
     public void rectToPixelPhaseHorizontal(RectF r, float phaseY) {
@@ -279,9 +365,7 @@ public class Transformer {
         r.left *= phaseY;
         r.right *= phaseY;
 
-        mMatrixValueToPx.mapRect(r);
-        mViewPortHandler.getMatrixTouch().mapRect(r);
-        mMatrixOffset.mapRect(r);
+        getValueToPixelMatrix().mapRect(r);
     }
 
     /**
@@ -289,9 +373,7 @@ public class Transformer {
      */
     public void rectValueToPixelHorizontal(RectF r) {
 
-        mMatrixValueToPx.mapRect(r);
-        mViewPortHandler.getMatrixTouch().mapRect(r);
-        mMatrixOffset.mapRect(r);
+        getValueToPixelMatrix().mapRect(r);
     }
 
     /**
@@ -303,9 +385,7 @@ public class Transformer {
         r.left *= phaseY;
         r.right *= phaseY;
 
-        mMatrixValueToPx.mapRect(r);
-        mViewPortHandler.getMatrixTouch().mapRect(r);
-        mMatrixOffset.mapRect(r);
+        getValueToPixelMatrix().mapRect(r);
     }
 
     /**
@@ -327,6 +407,14 @@ public class Transformer {
      */
     public void pixelsToValue(float[] pixels) {
 
+        Matrix inverse = getPixelToValueMatrix();
+
+        if (mPixelToValueInvertible) {
+            inverse.mapPoints(pixels);
+            return;
+        }
+
+        // fall back to the single matrices, which may be partially invertible
         Matrix tmp = mPixelToValueMatrixBuffer;
         tmp.reset();
 
@@ -398,17 +486,47 @@ public class Transformer {
 
     private final Matrix mMBuffer1 = new Matrix();
 
+    /**
+     * Returns the value, touch and offset matrix concatenated. The matrix is cached until
+     * one of them changes and must not be modified.
+     */
     public Matrix getValueToPixelMatrix() {
-        mMBuffer1.set(mMatrixValueToPx);
-        mMBuffer1.postConcat(mViewPortHandler.getMatrixTouch());
-        mMBuffer1.postConcat(mMatrixOffset);
+        long touchVersion = mViewPortHandler.getMatrixTouchVersion();
+
+        if (mValueToPixelVersion != mMatrixVersion || mValueToPixelTouchVersion != touchVersion) {
+            mMBuffer1.set(mMatrixValueToPx);
+            mMBuffer1.postConcat(mViewPortHandler.getMatrixTouch());
+            mMBuffer1.postConcat(mMatrixOffset);
+            mValueToPixelVersion = mMatrixVersion;
+            mValueToPixelTouchVersion = touchVersion;
+
+            float[] values = mMatrixValues;
+            mMBuffer1.getValues(values);
+            mScaleX = values[Matrix.MSCALE_X];
+            mScaleY = values[Matrix.MSCALE_Y];
+            mTransX = values[Matrix.MTRANS_X];
+            mTransY = values[Matrix.MTRANS_Y];
+            mScaleTranslateOnly = values[Matrix.MSKEW_X] == 0f && values[Matrix.MSKEW_Y] == 0f
+                    && values[Matrix.MPERSP_0] == 0f && values[Matrix.MPERSP_1] == 0f
+                    && values[Matrix.MPERSP_2] == 1f;
+        }
         return mMBuffer1;
     }
 
     private final Matrix mMBuffer2 = new Matrix();
 
+    /**
+     * Returns the inverse of getValueToPixelMatrix(), cached the same way. It must not be
+     * modified.
+     */
     public Matrix getPixelToValueMatrix() {
-        getValueToPixelMatrix().invert(mMBuffer2);
+        long touchVersion = mViewPortHandler.getMatrixTouchVersion();
+
+        if (mPixelToValueVersion != mMatrixVersion || mPixelToValueTouchVersion != touchVersion) {
+            mPixelToValueInvertible = getValueToPixelMatrix().invert(mMBuffer2);
+            mPixelToValueVersion = mMatrixVersion;
+            mPixelToValueTouchVersion = touchVersion;
+        }
         return mMBuffer2;
     }
 }
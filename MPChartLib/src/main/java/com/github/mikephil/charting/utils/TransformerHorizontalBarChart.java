@@ -29,5 +29,7 @@ public class TransformerHorizontalBarChart extends Transformer {
 					mViewPortHandler.getChartHeight() - mViewPortHandler.offsetBottom());
 			mMatrixOffset.postScale(-1.0f, 1.0f);
 		}
+
+		invalidateMatrices();
 	}
 }
@@ -17,6 +17,13 @@ open class ViewPortHandler {
      */
     val matrixTouch: Matrix = Matrix()
 
+    /**
+     * incremented whenever matrixTouch changes, so that Transformers can cache the matrices
+     * they derive from it
+     */
+    var matrixTouchVersion: Long = 0
+        private set
+
     /**
      * this rectangle defines the area in which graph values can be drawn
      */
@@ -404,6 +411,16 @@ open class ViewPortHandler {
         matrixBuffer[Matrix.MSCALE_Y] = scaleY
 
         matrix.setValues(matrixBuffer)
+
+        if (matrix === matrixTouch) invalidateMatrixTouch()
+    }
+
+    /**
+     * Call after modifying matrixTouch directly, so that the Transformers of the chart
+     * recalculate their matrices.
+     */
+    fun invalidateMatrixTouch() {
+        matrixTouchVersion++
     }
 
     /**
@@ -0,0 +1,92 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.data.ColumnarLineDataSet
+import com.github.mikephil.charting.data.Entry
+import com.github.mikephil.charting.data.LineData
+import com.github.mikephil.charting.data.LineDataSet
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * Compares ingesting batches of samples through ChartData.addEntry(...), one Entry per
+ * call, with LineDataSet.addEntries(...), for a LineDataSet and a ColumnarLineDataSet.
+ */
+class AddEntriesBenchmark {
+
+    @Before
+    fun assumeEnabled() = Benchmarks.assumeEnabled()
+
+    @Test
+    fun benchmarkBatchIngestion() {
+        val xs = FloatArray(BATCH)
+        val ys = FloatArray(BATCH)
+
+        val perEntryNanos = bestOf {
+            ingest({ LineDataSet(ArrayList(), "") }) { data, _, batch ->
+                fill(xs, ys, batch)
+                for (i in 0..<BATCH) {
+                    data.addEntry(Entry(xs[i], ys[i]), 0)
+                }
+            }
+        }
+
+        val batchNanos = bestOf {
+            ingest({ LineDataSet(ArrayList(), "") }) { data, set, batch ->
+                fill(xs, ys, batch)
+                set.addEntries(xs, ys, 0, BATCH)
+                data.notifyDataChanged()
+            }
+        }
+
+        val columnarNanos = bestOf {
+            ingest({ ColumnarLineDataSet("") }) { data, set, batch ->
+                fill(xs, ys, batch)
+                set.addEntries(xs, ys, 0, BATCH)
+                data.notifyDataChanged()
+            }
+        }
+
+        Benchmarks.report(
+            "%d batches of %d: addEntry %d ms, addEntries %d ms, addEntries (columnar) %d ms"
+                .format(
+                    BATCHES, BATCH, perEntryNanos / 1_000_000, batchNanos / 1_000_000,
+                    columnarNanos / 1_000_000
+                )
+        )
+    }
+
+    private fun ingest(createSet: () -> LineDataSet, addBatch: (LineData, LineDataSet, Int) -> Unit): LineData {
+        val set = createSet()
+        val data = LineData(set)
+        for (batch in 0..<BATCHES) {
+            addBatch(data, set, batch)
+        }
+        Assert.assertEquals(BATCHES * BATCH, data.entryCount)
+        Assert.assertEquals((BATCHES * BATCH - 1).toFloat(), data.xMax, 0.01f)
+        return data
+    }
+
+    private fun fill(xs: FloatArray, ys: FloatArray, batch: Int) {
+        for (i in 0..<BATCH) {
+            val x = batch * BATCH + i
+            xs[i] = x.toFloat()
+            ys[i] = (x % 1000).toFloat()
+        }
+    }
+
+    private fun bestOf(run: () -> Unit): Long {
+        var best = Long.MAX_VALUE
+        repeat(5) {
+            val start = System.nanoTime()
+            run()
+            best = minOf(best, System.nanoTime() - start)
+        }
+        return best
+    }
+
+    companion object {
+        private const val BATCH = 50_000
+        private const val BATCHES = 20
+    }
+}
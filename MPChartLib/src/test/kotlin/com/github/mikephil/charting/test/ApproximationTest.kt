@@ -17,4 +17,56 @@ class ApproximationTest {
 
         Assert.assertEquals(18, reduced.size)
     }
+
+    @Test
+    fun testReduceInPlace() {
+        val pointCount = 10_000
+        val points = FloatArray(pointCount * 2)
+        for (i in 0..<pointCount) {
+            points[i * 2] = i * 0.1f
+            points[i * 2 + 1] = (kotlin.math.sin(i * 0.01) * 100.0).toFloat()
+        }
+        val original = points.copyOf()
+
+        val reducedCount = Approximator().reduceWithDouglasPeucker(points, pointCount, 0.5f, points)
+
+        Assert.assertTrue(reducedCount in 3..<pointCount)
+        Assert.assertEquals(original[0], points[0], 0f)
+        Assert.assertEquals(original[original.size - 1], points[reducedCount * 2 - 1], 0f)
+
+        // every dropped point is within the tolerance of the segment that replaces it
+        var segment = 0
+        for (i in 0..<pointCount) {
+            val x = original[i * 2]
+            while (segment < reducedCount - 2 && points[segment * 2 + 2] < x) segment++
+
+            val x1 = points[segment * 2]
+            val y1 = points[segment * 2 + 1]
+            val x2 = points[segment * 2 + 2]
+            val y2 = points[segment * 2 + 3]
+            val y = y1 + (y2 - y1) * (x - x1) / (x2 - x1)
+            val length = kotlin.math.sqrt((x2 - x1) * (x2 - x1) + (y2 - y1) * (y2 - y1))
+            val distance = kotlin.math.abs(original[i * 2 + 1] - y) * (x2 - x1) / length
+
+            Assert.assertTrue(distance <= 0.5f + 1e-3f)
+        }
+    }
+
+    @Test
+    fun testNoRecursionLimit() {
+        // a convex curve splits next to one end every time, as deep as the number of points
+        val pointCount = 20_000
+        val points = FloatArray(pointCount * 2)
+        for (i in 0..<pointCount) {
+            points[i * 2] = i.toFloat()
+            points[i * 2 + 1] = i.toFloat() * i.toFloat() * 1e-3f
+        }
+
+        val a = Approximator()
+        val out = FloatArray(points.size)
+        val reducedCount = a.reduceWithDouglasPeucker(points, pointCount, 0.01f, out)
+
+        Assert.assertTrue(reducedCount > 2)
+        Assert.assertEquals(points[points.size - 2], out[reducedCount * 2 - 2], 0f)
+    }
 }
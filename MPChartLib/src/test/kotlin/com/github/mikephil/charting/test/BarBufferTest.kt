@@ -0,0 +1,104 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.buffer.BarBuffer
+import com.github.mikephil.charting.buffer.HorizontalBarBuffer
+import com.github.mikephil.charting.data.BarDataSet
+import com.github.mikephil.charting.data.BarEntry
+import org.junit.Assert
+import org.junit.Test
+
+class BarBufferTest {
+
+    @Test
+    fun testFeedAll() {
+        val set = BarDataSet((0..<10).map { BarEntry(it.toFloat(), it + 1f) }, "")
+        val buffer = BarBuffer(0, 1, false)
+        buffer.setBarWidth(0.5f)
+
+        buffer.feed(set)
+
+        Assert.assertEquals(40, buffer.size())
+        Assert.assertEquals(0, buffer.firstBarIndex)
+        Assert.assertArrayEquals(floatArrayOf(8.75f, 10f, 9.25f, 0f), buffer.buffer.copyOfRange(36, 40), 0.001f)
+    }
+
+    @Test
+    fun testFeedLimited() {
+        val set = BarDataSet((0..<200_000).map { BarEntry(it.toFloat(), it % 7f) }, "")
+        val buffer = BarBuffer(0, 1, false)
+        buffer.setBarWidth(0.5f)
+
+        buffer.limitFrom(1000)
+        buffer.limitTo(1006)
+        buffer.feed(set)
+
+        // only the 7 visible bars are built, the buffer fits them
+        Assert.assertEquals(28, buffer.size())
+        Assert.assertEquals(28, buffer.buffer.size)
+        Assert.assertEquals(1000, buffer.firstBarIndex)
+        Assert.assertArrayEquals(floatArrayOf(999.75f, 6f, 1000.25f, 0f), buffer.buffer.copyOfRange(0, 4), 0.001f)
+        Assert.assertEquals(1006.25f, buffer.buffer[26], 0.001f)
+
+        // the limits are clamped to the entries and the animation phase
+        buffer.limitFrom(199_998)
+        buffer.limitTo(300_000)
+        buffer.feed(set)
+        Assert.assertEquals(8, buffer.size())
+
+        buffer.setPhases(0.5f, 1f)
+        buffer.feed(set)
+        Assert.assertEquals(0, buffer.size())
+    }
+
+    @Test
+    fun testFeedStacked() {
+        val entries = (0..<10).map { BarEntry(it.toFloat(), floatArrayOf(1f, 2f, -3f)) }
+        val set = BarDataSet(entries, "")
+        val buffer = BarBuffer(0, 1, true)
+
+        buffer.limitFrom(4)
+        buffer.limitTo(5)
+        buffer.feed(set)
+
+        Assert.assertEquals(2 * 3 * 4, buffer.size())
+        Assert.assertEquals(12, buffer.firstBarIndex)
+
+        // top and bottom of the 2nd value of the stack of entry 4
+        Assert.assertEquals(3f, buffer.buffer[5], 0.001f)
+        Assert.assertEquals(1f, buffer.buffer[7], 0.001f)
+    }
+
+    @Test
+    fun testFeedMixedStacks() {
+        // plain entries and stacks of different sizes, 1 + 2 + 1 + 3 bars before entry 4
+        val entries = listOf(
+            BarEntry(0f, 1f),
+            BarEntry(1f, floatArrayOf(1f, 2f)),
+            BarEntry(2f, 3f),
+            BarEntry(3f, floatArrayOf(1f, 2f, 3f)),
+            BarEntry(4f, floatArrayOf(4f, 5f))
+        )
+        val buffer = BarBuffer(0, 1, true)
+
+        buffer.limitFrom(4)
+        buffer.limitTo(4)
+        buffer.feed(BarDataSet(entries, ""))
+
+        Assert.assertEquals(2 * 4, buffer.size())
+        Assert.assertEquals(7, buffer.firstBarIndex)
+    }
+
+    @Test
+    fun testFeedHorizontal() {
+        val set = BarDataSet((0..<10).map { BarEntry(it.toFloat(), -2f) }, "")
+        val buffer = HorizontalBarBuffer(0, 1, false)
+        buffer.setBarWidth(0.5f)
+
+        buffer.limitFrom(3)
+        buffer.limitTo(3)
+        buffer.feed(set)
+
+        Assert.assertEquals(4, buffer.size())
+        Assert.assertArrayEquals(floatArrayOf(-2f, 3.25f, 0f, 2.75f), buffer.buffer.copyOfRange(0, 4), 0.001f)
+    }
+}
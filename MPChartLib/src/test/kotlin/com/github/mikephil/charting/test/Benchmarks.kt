@@ -0,0 +1,22 @@
+package com.github.mikephil.charting.test
+
+import org.junit.Assume
+import java.util.logging.Logger
+
+/**
+ * The benchmarks only run if the system property "benchmarks" is true, which the build sets
+ * for ./gradlew :MPChartLib:testDebugUnitTest -Pbenchmarks. They report their timings
+ * through java.util.logging and only check their results, never a timing.
+ */
+object Benchmarks {
+
+    private val logger = Logger.getLogger("benchmarks")
+
+    fun assumeEnabled() {
+        Assume.assumeTrue("run with -Pbenchmarks", java.lang.Boolean.getBoolean("benchmarks"))
+    }
+
+    fun report(message: String) {
+        logger.info(message)
+    }
+}
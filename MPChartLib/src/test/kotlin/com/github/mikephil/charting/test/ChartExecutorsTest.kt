@@ -0,0 +1,24 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.utils.ChartExecutors
+import org.junit.Assert
+import org.junit.Test
+import java.util.concurrent.Callable
+import java.util.concurrent.TimeUnit
+
+class ChartExecutorsTest {
+
+    @Test
+    fun testSharedThreadsAreDaemons() {
+        val pool = ChartExecutors.getParallelPool()
+        val background = ChartExecutors.getBackgroundExecutor()
+
+        // created once and shared
+        Assert.assertSame(pool, ChartExecutors.getParallelPool())
+        Assert.assertSame(background, ChartExecutors.getBackgroundExecutor())
+
+        val daemon = Callable { Thread.currentThread().isDaemon }
+        Assert.assertTrue(pool.submit(daemon).get(10, TimeUnit.SECONDS))
+        Assert.assertTrue(background.submit(daemon).get(10, TimeUnit.SECONDS))
+    }
+}
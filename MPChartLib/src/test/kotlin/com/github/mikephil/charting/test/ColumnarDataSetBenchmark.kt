@@ -0,0 +1,77 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.data.ColumnarLineDataSet
+import com.github.mikephil.charting.data.Entry
+import com.github.mikephil.charting.data.LineDataSet
+import com.github.mikephil.charting.interfaces.datasets.ILineDataSet
+import com.github.mikephil.charting.utils.Transformer
+import com.github.mikephil.charting.utils.ViewPortHandler
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * Compares the heap needed per value and the time needed to feed a full draw pass
+ * (Transformer.generateTransformedValuesLine over all values) of a LineDataSet with
+ * a ColumnarLineDataSet. The matrices are stubbed on the JVM, so the draw time only
+ * covers reading the values out of the DataSet.
+ */
+class ColumnarDataSetBenchmark {
+
+    @Before
+    fun assumeEnabled() = Benchmarks.assumeEnabled()
+
+    @Test
+    fun benchmarkHeapAndDrawFeed() {
+        val before = usedHeap()
+        val entries: MutableList<Entry> = ArrayList(COUNT)
+        for (i in 0..<COUNT) {
+            entries.add(Entry(i.toFloat(), (i % 1000).toFloat()))
+        }
+        val entrySet = LineDataSet(entries, "entries")
+        val entryBytes = usedHeap() - before
+
+        val middle = usedHeap()
+        val xValues = FloatArray(COUNT) { it.toFloat() }
+        val yValues = FloatArray(COUNT) { (it % 1000).toFloat() }
+        val columnarSet = ColumnarLineDataSet(xValues, yValues, "columns")
+        val columnarBytes = usedHeap() - middle - 8L * COUNT // the source arrays are still referenced
+
+        val entryNanos = drawFeedNanos(entrySet)
+        val columnarNanos = drawFeedNanos(columnarSet)
+
+        Benchmarks.report(
+            "LineDataSet: %.1f bytes/value, %d ms per pass; ColumnarLineDataSet: %.1f bytes/value, %d ms per pass"
+                .format(
+                    entryBytes.toDouble() / COUNT, entryNanos / 1_000_000,
+                    columnarBytes.toDouble() / COUNT, columnarNanos / 1_000_000
+                )
+        )
+
+        Assert.assertEquals(entrySet.entryCount, columnarSet.entryCount)
+    }
+
+    private fun drawFeedNanos(set: ILineDataSet): Long {
+        val transformer = Transformer(ViewPortHandler())
+        var best = Long.MAX_VALUE
+        repeat(10) {
+            val start = System.nanoTime()
+            transformer.generateTransformedValuesLine(set, 1f, 1f, 0, set.entryCount - 1)
+            best = minOf(best, System.nanoTime() - start)
+        }
+        return best
+    }
+
+    private fun usedHeap(): Long {
+        val runtime = Runtime.getRuntime()
+        repeat(3) {
+            System.gc()
+            Thread.sleep(20)
+        }
+        return runtime.totalMemory() - runtime.freeMemory()
+    }
+
+    companion object {
+        private const val COUNT = 1_000_000
+    }
+}
@@ -0,0 +1,114 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.data.ColumnarLineDataSet
+import com.github.mikephil.charting.data.ColumnarScatterDataSet
+import com.github.mikephil.charting.data.DataSet
+import com.github.mikephil.charting.data.Entry
+import com.github.mikephil.charting.data.LineDataSet
+import com.github.mikephil.charting.utils.Transformer
+import com.github.mikephil.charting.utils.ViewPortHandler
+import org.junit.Assert
+import org.junit.Test
+
+class ColumnarDataSetTest {
+    @Test
+    fun testMatchesEntryDataSet() {
+        val xValues = floatArrayOf(0f, 1f, 2f, 3f, 3f, 4f, 4f, 5f, 6f, 7f, 8f, 8f)
+        val yValues = floatArrayOf(10f, 20f, -30f, 40f, 50f, 60f, 70f, 80f, 90f, 100f, 110f, 120f)
+
+        val entries: MutableList<Entry> = ArrayList()
+        for (i in xValues.indices) {
+            entries.add(Entry(xValues[i], yValues[i]))
+        }
+
+        val entrySet = LineDataSet(entries, "")
+        val columnarSet = ColumnarLineDataSet(xValues, yValues, "")
+
+        Assert.assertEquals(entrySet.entryCount, columnarSet.entryCount)
+        Assert.assertEquals(entrySet.xMin, columnarSet.xMin, 0.01f)
+        Assert.assertEquals(entrySet.xMax, columnarSet.xMax, 0.01f)
+        Assert.assertEquals(entrySet.yMin, columnarSet.yMin, 0.01f)
+        Assert.assertEquals(entrySet.yMax, columnarSet.yMax, 0.01f)
+
+        for (i in xValues.indices) {
+            Assert.assertEquals(entrySet.getXForIndex(i), columnarSet.getXForIndex(i), 0.01f)
+            Assert.assertEquals(entrySet.getYForIndex(i), columnarSet.getYForIndex(i), 0.01f)
+            Assert.assertEquals(entrySet.getEntryForIndex(i).y, columnarSet.getEntryForIndex(i).y, 0.01f)
+        }
+
+        for (rounding in DataSet.Rounding.entries) {
+            var x = -1f
+            while (x <= 9f) {
+                Assert.assertEquals(
+                    entrySet.getEntryIndex(x, Float.NaN, rounding),
+                    columnarSet.getEntryIndex(x, Float.NaN, rounding)
+                )
+                Assert.assertEquals(
+                    entrySet.getEntryIndex(x, 65f, rounding),
+                    columnarSet.getEntryIndex(x, 65f, rounding)
+                )
+                x += 0.25f
+            }
+        }
+
+        Assert.assertEquals(2, columnarSet.getEntriesForXValue(4f).size)
+
+        entrySet.calcMinMaxY(2.5f, 4.5f)
+        columnarSet.calcMinMaxY(2.5f, 4.5f)
+        Assert.assertEquals(entrySet.yMin, columnarSet.yMin, 0.01f)
+        Assert.assertEquals(entrySet.yMax, columnarSet.yMax, 0.01f)
+
+        val transformer = Transformer(ViewPortHandler())
+        val expected = transformer.generateTransformedValuesLine(entrySet, 1f, 0.5f, 2, 9).copyOf()
+        val actual = transformer.generateTransformedValuesLine(columnarSet, 1f, 0.5f, 2, 9)
+        Assert.assertArrayEquals(expected, actual, 0.01f)
+    }
+
+    @Test
+    fun testAddRemoveEntry() {
+        val set = ColumnarScatterDataSet("")
+
+        for (i in 0..<100) {
+            set.addEntry(i.toFloat(), (i % 10).toFloat())
+        }
+
+        Assert.assertEquals(100, set.entryCount)
+        Assert.assertEquals(0f, set.xMin, 0.01f)
+        Assert.assertEquals(99f, set.xMax, 0.01f)
+        Assert.assertEquals(0f, set.yMin, 0.01f)
+        Assert.assertEquals(9f, set.yMax, 0.01f)
+
+        set.addEntry(Entry(100f, -5f))
+
+        Assert.assertEquals(101, set.entryCount)
+        Assert.assertEquals(-5f, set.yMin, 0.01f)
+
+        val entry = set.getEntryForIndex(50)
+        Assert.assertTrue(set.contains(entry))
+        Assert.assertEquals(50, set.getEntryIndex(entry))
+
+        Assert.assertTrue(set.removeEntry(entry))
+        Assert.assertEquals(100, set.entryCount)
+        Assert.assertEquals(51f, set.getXForIndex(50), 0.01f)
+        Assert.assertFalse(set.contains(entry))
+
+        Assert.assertTrue(set.removeFirst())
+        Assert.assertTrue(set.removeLast())
+        Assert.assertEquals(98, set.entryCount)
+        Assert.assertEquals(1f, set.xMin, 0.01f)
+        Assert.assertEquals(99f, set.xMax, 0.01f)
+        Assert.assertEquals(0f, set.yMin, 0.01f)
+
+        set.addEntryOrdered(Entry(50f, 20f))
+        Assert.assertEquals(50f, set.getXForIndex(49), 0.01f)
+        Assert.assertEquals(20f, set.getYForIndex(49), 0.01f)
+        Assert.assertEquals(20f, set.yMax, 0.01f)
+
+        val copy = set.copy()
+        set.clear()
+
+        Assert.assertEquals(0, set.entryCount)
+        Assert.assertEquals(99, copy.entryCount)
+        Assert.assertEquals(20f, copy.yMax, 0.01f)
+    }
+}
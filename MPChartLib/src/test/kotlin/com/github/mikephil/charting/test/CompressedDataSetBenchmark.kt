@@ -0,0 +1,62 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.data.CompressedLineDataSet
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import java.util.Random
+import kotlin.math.sin
+
+/**
+ * Compresses 5M slowly varying values, sampled at 100 Hz, with and without quantized
+ * y-values, and decodes a visible range of 100k values the way the LineChartRenderer
+ * does it while scrolling.
+ */
+class CompressedDataSetBenchmark {
+
+    @Before
+    fun assumeEnabled() = Benchmarks.assumeEnabled()
+
+    @Test
+    fun benchmarkCompression() {
+        for (quantizeY in booleanArrayOf(false, true)) {
+            val set = CompressedLineDataSet("", CompressedLineDataSet.DEFAULT_BLOCK_SIZE, quantizeY)
+            val random = Random(1)
+
+            var start = System.nanoTime()
+            for (i in 0..<COUNT) {
+                val y = sin(i / 20_000.0).toFloat() * 50f + random.nextFloat() * 0.1f
+                set.addEntry(i / 100f, y)
+            }
+            val encodeNanos = System.nanoTime() - start
+
+            // scroll the visible range over the whole DataSet
+            var sum = 0.0
+            start = System.nanoTime()
+            for (from in 0..<COUNT - VISIBLE step VISIBLE / 4) {
+                set.decodeRange(from, from + VISIBLE)
+                for (i in from..from + VISIBLE) {
+                    sum += set.getYForIndex(i)
+                }
+            }
+            val decodeNanos = System.nanoTime() - start
+            val decoded = (COUNT - VISIBLE) / (VISIBLE / 4) * (VISIBLE + 1L)
+
+            Benchmarks.report(
+                "%s y: %d bytes for %d values (ratio %.2f), encode %.1f M values/s, decode + read %.1f M values/s (%.0f)"
+                    .format(
+                        if (quantizeY) "quantized" else "lossless", set.compressedSizeInBytes, COUNT,
+                        set.compressionRatio, COUNT * 1e3 / encodeNanos, decoded * 1e3 / decodeNanos, sum
+                    )
+            )
+
+            Assert.assertEquals(COUNT, set.entryCount)
+            Assert.assertTrue(set.compressionRatio > 1.5f)
+        }
+    }
+
+    companion object {
+        private const val COUNT = 5_000_000
+        private const val VISIBLE = 100_000
+    }
+}
@@ -0,0 +1,206 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.data.CompressedLineDataSet
+import com.github.mikephil.charting.data.DataSet
+import com.github.mikephil.charting.data.Entry
+import com.github.mikephil.charting.data.LineDataSet
+import org.junit.Assert
+import org.junit.Test
+import java.util.Random
+import kotlin.math.abs
+import kotlin.math.sin
+
+class CompressedDataSetTest {
+
+    /**
+     * Sorted x-values with repeated values, regular steps and jumps, and y-values with
+     * NaN, -0, infinity and noise.
+     */
+    private fun createEntries(count: Int, random: Random): List<Entry> {
+        val entries = ArrayList<Entry>()
+        var x = -50f
+
+        for (i in 0..<count) {
+            when (random.nextInt(10)) {
+                0, 1 -> {}
+                in 2..6 -> x += 0.5f
+                else -> x += random.nextFloat() * 1e5f
+            }
+
+            val y = when (random.nextInt(12)) {
+                0 -> Float.NaN
+                1 -> -0f
+                2 -> Float.POSITIVE_INFINITY
+                in 3..5 -> random.nextInt(5).toFloat()
+                else -> sin(i / 50.0).toFloat() * 1_000f + random.nextFloat()
+            }
+            entries.add(Entry(x, y))
+        }
+        return entries
+    }
+
+    private fun createSet(entries: List<Entry>, blockSize: Int): CompressedLineDataSet {
+        val set = CompressedLineDataSet("", blockSize, false)
+        for (e in entries) {
+            set.addEntry(e.x, e.y)
+        }
+        return set
+    }
+
+    @Test
+    fun testLosslessRoundTrip() {
+        val random = Random(3)
+        val entries = createEntries(10_000, random)
+        val set = createSet(entries, 100)
+
+        Assert.assertEquals(10_000, set.entryCount)
+        Assert.assertEquals(100, set.blockCount)
+
+        for (i in entries.indices) {
+            Assert.assertEquals(entries[i].x.toRawBits(), set.getXForIndex(i).toRawBits())
+            Assert.assertEquals(entries[i].y.toRawBits(), set.getYForIndex(i).toRawBits())
+        }
+
+        // the scratch buffer holds the same values, also after scrolling
+        for (from in intArrayOf(0, 2_450, 2_900, 9_990)) {
+            set.decodeRange(from, from + 700)
+            for (i in maxOf(0, from - 100)..<minOf(entries.size, from + 800)) {
+                Assert.assertEquals(entries[i].y.toRawBits(), set.getYForIndex(i).toRawBits())
+            }
+        }
+    }
+
+    @Test
+    fun testEntryIndex() {
+        val random = Random(5)
+
+        for (blockSize in intArrayOf(2, 7, 64, 1_024)) {
+            val entries = createEntries(3_000, random)
+            val set = createSet(entries, blockSize)
+            val reference = LineDataSet(entries, "")
+            val first = entries.first().x
+            val last = entries.last().x
+
+            for (q in 0..<2_000) {
+                val x = if (q % 5 == 0) entries[random.nextInt(entries.size)].x
+                        else first - 10f + random.nextFloat() * (last - first + 20f)
+                val closestToY = if (q % 3 == 0) Float.NaN else random.nextInt(5).toFloat()
+
+                for (rounding in DataSet.Rounding.values()) {
+                    Assert.assertEquals(
+                        reference.getEntryIndex(x, closestToY, rounding),
+                        set.getEntryIndex(x, closestToY, rounding)
+                    )
+                }
+            }
+
+            val e = entries[random.nextInt(entries.size)]
+            Assert.assertTrue(e.y.isNaN() || set.contains(Entry(e.x, e.y)))
+        }
+    }
+
+    @Test
+    fun testMinMax() {
+        val random = Random(7)
+        val set = CompressedLineDataSet("", 64, false)
+        val ys = FloatArray(10_000) { sin(it / 300.0).toFloat() * 5f + random.nextFloat() }
+
+        for (i in ys.indices) {
+            set.addEntry(i.toFloat(), ys[i])
+        }
+
+        Assert.assertEquals(0f, set.xMin, 0f)
+        Assert.assertEquals(9_999f, set.xMax, 0f)
+        Assert.assertEquals(ys.min(), set.yMin, 0f)
+        Assert.assertEquals(ys.max(), set.yMax, 0f)
+
+        for (q in 0..<500) {
+            val from = random.nextFloat() * 10_000f
+            val to = from + random.nextFloat() * 3_000f
+            val indexFrom = set.getEntryIndex(from, Float.NaN, DataSet.Rounding.DOWN)
+            val indexTo = set.getEntryIndex(to, Float.NaN, DataSet.Rounding.UP)
+
+            set.calcMinMaxY(from, to)
+            Assert.assertEquals(ys.slice(indexFrom..indexTo).min(), set.yMin, 0f)
+            Assert.assertEquals(ys.slice(indexFrom..indexTo).max(), set.yMax, 0f)
+        }
+    }
+
+    @Test
+    fun testQuantizedY() {
+        val plain = CompressedLineDataSet("", 1_024, false)
+        val quantized = CompressedLineDataSet("", 1_024, true)
+
+        for (i in 0..<100_000) {
+            val y = sin(i / 5_000.0).toFloat() * 100f + sin(i / 37.0).toFloat()
+            plain.addEntry(i * 0.01f, y)
+            quantized.addEntry(i * 0.01f, y)
+
+            // 11 significant bits
+            Assert.assertEquals(y, quantized.getYForIndex(i), abs(y) / 2_048f)
+        }
+
+        Assert.assertTrue(quantized.compressionRatio > plain.compressionRatio)
+        Assert.assertTrue(plain.compressionRatio > 1.5f)
+    }
+
+    @Test
+    fun testAppendOnly() {
+        val set = CompressedLineDataSet("", 4, false)
+        set.addEntry(1f, 1f)
+        set.addEntry(1f, 2f)
+
+        try {
+            set.addEntry(0f, 3f)
+            Assert.fail()
+        } catch (e: IllegalArgumentException) {
+            // expected
+        }
+
+        Assert.assertFalse(set.removeFirst())
+        Assert.assertFalse(set.removeEntry(0))
+        Assert.assertEquals(2, set.entryCount)
+
+        set.clear()
+        Assert.assertEquals(0, set.entryCount)
+        Assert.assertEquals(-1, set.getEntryIndex(0f, Float.NaN, DataSet.Rounding.CLOSEST))
+    }
+
+    @Test
+    fun testRemoveLastAndFirstBlocks() {
+        val set = CompressedLineDataSet("", 4, false)
+        for (i in 0..<10) {
+            set.addEntry(i.toFloat(), (i * 10).toFloat())
+        }
+        set.decodeRange(0, 7)
+
+        // the tail holds 2 values, the third removal decodes the newest block back into it
+        for (i in 0..<3) {
+            Assert.assertTrue(set.removeLast())
+        }
+        Assert.assertEquals(1, set.blockCount)
+        Assert.assertEquals(7, set.entryCount)
+        Assert.assertEquals(6f, set.xMax, 0f)
+        Assert.assertEquals(60f, set.yMax, 0f)
+
+        // the values of the old block are not read from the scratch buffer any more
+        set.addEntry(6.5f, -5f)
+        Assert.assertEquals(6.5f, set.getXForIndex(7), 0f)
+        Assert.assertEquals(-5f, set.getYForIndex(7), 0f)
+        Assert.assertEquals(-5f, set.yMin, 0f)
+
+        // only whole blocks are removed from the front
+        Assert.assertEquals(0, set.removeFirst(3))
+        Assert.assertEquals(4, set.removeFirst(5))
+        Assert.assertEquals(4, set.entryCount)
+        Assert.assertEquals(4f, set.xMin, 0f)
+        Assert.assertEquals(4f, set.getXForIndex(0), 0f)
+        Assert.assertEquals(3, set.getEntryIndex(6.5f, Float.NaN, DataSet.Rounding.CLOSEST))
+
+        // the tail is never removed from the front
+        set.addEntry(8f, 0f)
+        Assert.assertEquals(4, set.removeFirst(100))
+        Assert.assertEquals(1, set.entryCount)
+        Assert.assertEquals(8f, set.xMin, 0f)
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.data.ColumnarLineDataSet
+import com.github.mikephil.charting.data.Entry
+import com.github.mikephil.charting.data.LineDataSet
+import com.github.mikephil.charting.utils.FileUtils
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import java.io.BufferedReader
+import java.io.BufferedWriter
+import java.io.File
+import java.io.FileReader
+import java.io.FileWriter
+
+/**
+ * Compares saving and loading 1M entries with the text format of FileUtils (one
+ * "y#x" line per entry, parsed with split(...) and Float.parseFloat(...)) with the
+ * binary format of saveDataSets(...) / loadDataSetsFromFile(...).
+ *
+ * This is a JUnit test like the other benchmarks, not a JMH benchmark: the JMH Gradle
+ * plugin needs a plain JVM module, and this is an Android library. The formats differ by
+ * a factor of 2 when saving and by far more when loading, so the best of a few runs after
+ * a warm-up run is precise enough to compare them.
+ */
+class DataSetFormatBenchmark {
+
+    @Before
+    fun assumeEnabled() = Benchmarks.assumeEnabled()
+
+    @get:Rule
+    val folder = TemporaryFolder()
+
+    @Test
+    fun benchmarkTextAndBinary() {
+        val xs = FloatArray(COUNT) { it.toFloat() }
+        val ys = FloatArray(COUNT) { (it % 1_000).toFloat() / 7f }
+        val entries = ArrayList<Entry>(COUNT)
+        for (i in 0..<COUNT) {
+            entries.add(Entry(xs[i], ys[i]))
+        }
+
+        val textFile = folder.newFile("entries.txt")
+        val binaryFile = folder.newFile("entries.bin")
+
+        val textSaveNanos = bestOf { saveText(entries, textFile) }
+        val textLoadNanos = bestOf { Assert.assertEquals(COUNT, loadText(textFile).size) }
+
+        val set = LineDataSet(entries, "")
+        val binarySaveNanos = bestOf { FileUtils.saveDataSets(listOf(set), binaryFile) }
+        var loaded: ColumnarLineDataSet? = null
+        val binaryLoadNanos = bestOf {
+            loaded = FileUtils.loadDataSetsFromFile(binaryFile)[0] as ColumnarLineDataSet
+        }
+
+        Benchmarks.report(
+            "%d entries: text save %d ms, load %d ms (%d KB), binary save %d ms, load %d ms (%d KB)".format(
+                COUNT, textSaveNanos / 1_000_000, textLoadNanos / 1_000_000, textFile.length() / 1024,
+                binarySaveNanos / 1_000_000, binaryLoadNanos / 1_000_000, binaryFile.length() / 1024
+            )
+        )
+
+        Assert.assertEquals(COUNT, loaded!!.entryCount)
+        for (i in 0..<COUNT step 997) {
+            Assert.assertEquals(xs[i], loaded!!.getXForIndex(i), 0f)
+            Assert.assertEquals(ys[i], loaded!!.getYForIndex(i), 0f)
+        }
+    }
+
+    /**
+     * The text format as written by FileUtils.saveToSdCard(...).
+     */
+    private fun saveText(entries: List<Entry>, file: File) {
+        BufferedWriter(FileWriter(file, false)).use { buf ->
+            for (e in entries) {
+                buf.append(e.y.toString() + "#" + e.x)
+                buf.newLine()
+            }
+        }
+    }
+
+    /**
+     * The text format as read by FileUtils.loadEntriesFromAssets(...).
+     */
+    private fun loadText(file: File): List<Entry> {
+        val entries = ArrayList<Entry>()
+        BufferedReader(FileReader(file)).use { reader ->
+            var line = reader.readLine()
+            while (line != null) {
+                val split = line.split("#")
+                entries.add(Entry(split[1].toFloat(), split[0].toFloat()))
+                line = reader.readLine()
+            }
+        }
+        return entries
+    }
+
+    /**
+     * Returns the nanoseconds of the fastest of 3 runs, after a run that warms up the JIT.
+     */
+    private fun bestOf(run: () -> Unit): Long {
+        run()
+
+        var best = Long.MAX_VALUE
+        repeat(3) {
+            val start = System.nanoTime()
+            run()
+            best = minOf(best, System.nanoTime() - start)
+        }
+        return best
+    }
+
+    companion object {
+        private const val COUNT = 1_000_000
+    }
+}
@@ -0,0 +1,125 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.data.BarDataSet
+import com.github.mikephil.charting.data.BarEntry
+import com.github.mikephil.charting.data.BubbleDataSet
+import com.github.mikephil.charting.data.BubbleEntry
+import com.github.mikephil.charting.data.CandleDataSet
+import com.github.mikephil.charting.data.CandleEntry
+import com.github.mikephil.charting.data.ColumnarLineDataSet
+import com.github.mikephil.charting.data.Entry
+import com.github.mikephil.charting.data.LineDataSet
+import com.github.mikephil.charting.utils.DataSetFormat
+import com.github.mikephil.charting.utils.DataSetReader
+import com.github.mikephil.charting.utils.DataSetWriter
+import com.github.mikephil.charting.utils.FileUtils
+import org.junit.Assert
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import java.io.ByteArrayOutputStream
+import java.io.IOException
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+
+class DataSetFormatTest {
+
+    @get:Rule
+    val folder = TemporaryFolder()
+
+    @Test
+    fun testRoundTrip() {
+        val line = LineDataSet(listOf(Entry(0f, 1f), Entry(1f, -2f), Entry(2.5f, 3f)), "line")
+        val columnar = ColumnarLineDataSet(floatArrayOf(1f, 2f), floatArrayOf(10f, 20f), "Zeitreihe äöü")
+        val bars = BarDataSet(
+            listOf(BarEntry(0f, 1f), BarEntry(1f, floatArrayOf(1f, -2f, 3f)), BarEntry(2f, 5f)), "bars"
+        )
+        val plainBars = BarDataSet(listOf(BarEntry(0f, 4f), BarEntry(1f, 5f)), "")
+        val candles = CandleDataSet(listOf(CandleEntry(0f, 10f, 1f, 2f, 8f), CandleEntry(1f, 9f, 3f, 7f, 4f)), "c")
+        val bubbles = BubbleDataSet(listOf(BubbleEntry(0f, 1f, 2f), BubbleEntry(3f, 4f, 5f)), "bubbles")
+
+        val file = folder.newFile("sets.bin")
+        FileUtils.saveDataSets(listOf(line, columnar, bars, plainBars, candles, bubbles), file)
+        val loaded = FileUtils.loadDataSetsFromFile(file)
+
+        Assert.assertEquals(6, loaded.size)
+
+        val loadedLine = loaded[0] as ColumnarLineDataSet
+        Assert.assertEquals("line", loadedLine.label)
+        Assert.assertEquals(3, loadedLine.entryCount)
+        Assert.assertEquals(2.5f, loadedLine.getXForIndex(2), 0f)
+        Assert.assertEquals(-2f, loadedLine.getYForIndex(1), 0f)
+        Assert.assertEquals(-2f, loadedLine.yMin, 0f)
+
+        Assert.assertEquals("Zeitreihe äöü", loaded[1].label)
+        Assert.assertEquals(20f, loaded[1].getYForIndex(1), 0f)
+
+        val loadedBars = loaded[2] as BarDataSet
+        Assert.assertEquals(3, loadedBars.entryCount)
+        Assert.assertFalse(loadedBars.getEntryForIndex(0).isStacked)
+        Assert.assertArrayEquals(floatArrayOf(1f, -2f, 3f), loadedBars.getEntryForIndex(1).yVals, 0f)
+        Assert.assertEquals(2f, loadedBars.getEntryForIndex(1).y, 0f)
+        Assert.assertEquals(5f, loadedBars.getEntryForIndex(2).y, 0f)
+        Assert.assertEquals(5f, (loaded[3] as BarDataSet).getEntryForIndex(1).y, 0f)
+
+        val loadedCandle = (loaded[4] as CandleDataSet).getEntryForIndex(1)
+        Assert.assertEquals(1f, loadedCandle.x, 0f)
+        Assert.assertEquals(9f, loadedCandle.high, 0f)
+        Assert.assertEquals(3f, loadedCandle.low, 0f)
+        Assert.assertEquals(7f, loadedCandle.open, 0f)
+        Assert.assertEquals(4f, loadedCandle.close, 0f)
+
+        val loadedBubble = (loaded[5] as BubbleDataSet).getEntryForIndex(1)
+        Assert.assertEquals(3f, loadedBubble.x, 0f)
+        Assert.assertEquals(4f, loadedBubble.y, 0f)
+        Assert.assertEquals(5f, loadedBubble.size, 0f)
+    }
+
+    @Test
+    fun testColumnsAreViews() {
+        val out = ByteArrayOutputStream()
+        DataSetWriter(out).use { writer ->
+            writer.write(ColumnarLineDataSet(FloatArray(100_000) { it.toFloat() }, FloatArray(100_000) { -it.toFloat() }, "a"))
+        }
+
+        val buffer = ByteBuffer.allocateDirect(out.size())
+        buffer.put(out.toByteArray()).flip()
+
+        val reader = DataSetReader(buffer)
+        val block = reader.next()!!
+        Assert.assertEquals(DataSetFormat.TYPE_LINE, block.type)
+        Assert.assertEquals(100_000, block.entryCount)
+        Assert.assertEquals(99_999f, block.getColumn(0).get(99_999), 0f)
+        Assert.assertEquals(-5f, block.getColumn(1).get(5), 0f)
+        Assert.assertTrue(block.getColumn(0).isDirect)
+        Assert.assertNull(reader.next())
+    }
+
+    @Test
+    fun testRejectsBrokenFiles() {
+        val out = ByteArrayOutputStream()
+        DataSetWriter(out).use { it.write(LineDataSet(listOf(Entry(0f, 1f), Entry(1f, 2f)), "line")) }
+        val bytes = out.toByteArray()
+
+        assertRejected(ByteBuffer.wrap(bytes, 0, bytes.size - 8))
+        assertRejected(ByteBuffer.wrap("0#1\n".toByteArray()))
+
+        val newer = ByteBuffer.wrap(bytes.copyOf()).order(ByteOrder.LITTLE_ENDIAN)
+        newer.putInt(4, DataSetFormat.VERSION + 1)
+        assertRejected(newer)
+
+        // broken files are logged, not thrown
+        val file = folder.newFile("broken.bin")
+        file.writeBytes(bytes.copyOf(bytes.size - 8))
+        Assert.assertTrue(FileUtils.loadDataSetsFromFile(file).isEmpty())
+    }
+
+    private fun assertRejected(buffer: ByteBuffer) {
+        try {
+            DataSetReader(buffer).readAll()
+            Assert.fail("the buffer must be rejected")
+        } catch (e: IOException) {
+            // expected
+        }
+    }
+}
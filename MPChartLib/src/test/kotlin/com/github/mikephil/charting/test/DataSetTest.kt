@@ -1,7 +1,11 @@
 package com.github.mikephil.charting.test
 
+import com.github.mikephil.charting.data.ColumnarLineDataSet
 import com.github.mikephil.charting.data.DataSet
 import com.github.mikephil.charting.data.Entry
+import com.github.mikephil.charting.data.LineData
+import com.github.mikephil.charting.data.LineDataSet
+import com.github.mikephil.charting.data.RingBufferLineDataSet
 import com.github.mikephil.charting.data.ScatterDataSet
 import org.junit.Assert
 import org.junit.Test
@@ -221,4 +225,71 @@ class DataSetTest {
         Assert.assertEquals(1, entries.size)
         Assert.assertEquals(30f, entries[0].y, 0.01f)
     }
+
+    @Test
+    fun testAddEntries() {
+        val set = ScatterDataSet(arrayListOf(Entry(0f, 5f)), "")
+        set.setYRangeIndexEnabled(true)
+
+        val xs = floatArrayOf(-1f, 1f, 2f, 3f, 4f)
+        val ys = floatArrayOf(0f, 10f, -3f, 7f, 1f)
+
+        // ordered batch, appended
+        set.addEntries(xs, ys, 1, 4)
+        Assert.assertEquals(5, set.entryCount)
+        Assert.assertEquals(4f, set.getEntryForIndex(4).x, 0.01f)
+        Assert.assertEquals(0f, set.xMin, 0.01f)
+        Assert.assertEquals(4f, set.xMax, 0.01f)
+        Assert.assertEquals(-3f, set.yMin, 0.01f)
+        Assert.assertEquals(10f, set.yMax, 0.01f)
+
+        set.calcMinMaxY(2f, 4f)
+        Assert.assertEquals(-3f, set.yMin, 0.01f)
+        Assert.assertEquals(7f, set.yMax, 0.01f)
+
+        // the batch starts before the last entry, the entries are sorted afterwards
+        set.addEntries(floatArrayOf(2.5f, -1f), floatArrayOf(20f, -20f), 0, 2)
+        Assert.assertEquals(7, set.entryCount)
+        Assert.assertEquals(-1f, set.getEntryForIndex(0).x, 0.01f)
+        Assert.assertEquals(2.5f, set.getEntryForIndex(4).x, 0.01f)
+        Assert.assertEquals(-20f, set.yMin, 0.01f)
+        Assert.assertEquals(20f, set.yMax, 0.01f)
+
+        set.calcMinMaxY(2f, 4f)
+        Assert.assertEquals(-3f, set.yMin, 0.01f)
+        Assert.assertEquals(20f, set.yMax, 0.01f)
+
+        val lineSet = LineDataSet(ArrayList(), "")
+        val data = LineData(lineSet)
+        lineSet.addEntries(xs, ys, 0, xs.size)
+        data.notifyDataChanged()
+        Assert.assertEquals(5, data.entryCount)
+        Assert.assertEquals(-1f, data.xMin, 0.01f)
+        Assert.assertEquals(10f, data.yMax, 0.01f)
+    }
+
+    @Test
+    fun testAddEntriesPrimitiveDataSets() {
+        val xs = FloatArray(20) { it.toFloat() }
+        val ys = FloatArray(20) { (it % 7).toFloat() }
+
+        val columnar = ColumnarLineDataSet("")
+        columnar.addEntries(xs, ys, 0, 10)
+        columnar.addEntries(xs, ys, 10, 10)
+        Assert.assertEquals(20, columnar.entryCount)
+        Assert.assertEquals(19f, columnar.getXForIndex(19), 0.01f)
+        Assert.assertEquals(6f, columnar.yMax, 0.01f)
+
+        columnar.addEntries(floatArrayOf(4.5f), floatArrayOf(-1f), 0, 1)
+        Assert.assertEquals(4.5f, columnar.getXForIndex(5), 0.01f)
+        Assert.assertEquals(-1f, columnar.yMin, 0.01f)
+
+        val ring = RingBufferLineDataSet(8, "")
+        ring.addEntries(xs, ys, 0, xs.size)
+        Assert.assertEquals(8, ring.entryCount)
+        Assert.assertEquals(12f, ring.xMin, 0.01f)
+        Assert.assertEquals(19f, ring.xMax, 0.01f)
+        Assert.assertEquals(0f, ring.yMin, 0.01f)
+        Assert.assertEquals(6f, ring.yMax, 0.01f)
+    }
 }
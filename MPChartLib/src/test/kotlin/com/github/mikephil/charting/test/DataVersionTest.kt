@@ -0,0 +1,168 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.components.Legend
+import com.github.mikephil.charting.components.YAxis
+import com.github.mikephil.charting.data.BarData
+import com.github.mikephil.charting.data.BarDataSet
+import com.github.mikephil.charting.data.BarEntry
+import com.github.mikephil.charting.data.ColumnarLineDataSet
+import com.github.mikephil.charting.data.CombinedData
+import com.github.mikephil.charting.data.Entry
+import com.github.mikephil.charting.data.LineData
+import com.github.mikephil.charting.data.LineDataSet
+import com.github.mikephil.charting.data.RingBufferLineDataSet
+import com.github.mikephil.charting.formatter.DefaultValueFormatter
+import com.github.mikephil.charting.interfaces.datasets.IDataSet
+import com.github.mikephil.charting.utils.MPPointF
+import org.junit.Assert
+import org.junit.Test
+
+class DataVersionTest {
+
+    private fun assertBumps(set: IDataSet<*>, name: String, change: () -> Unit) {
+        val before = set.getVersion()
+        change()
+        Assert.assertTrue("$name did not change the version", set.getVersion() > before)
+    }
+
+    private fun lineEntries(): MutableList<Entry> {
+        val entries = ArrayList<Entry>()
+        for (i in 0..<10) {
+            entries.add(Entry(i.toFloat(), i.toFloat() * 2f))
+        }
+        return entries
+    }
+
+    @Test
+    fun testLineDataSetMutators() {
+        val set = LineDataSet(lineEntries(), "")
+
+        assertBumps(set, "addEntry") { set.addEntry(Entry(10f, 1f)) }
+        assertBumps(set, "addEntryOrdered") { set.addEntryOrdered(Entry(2.5f, 1f)) }
+        assertBumps(set, "removeEntry") { set.removeEntry(set.getEntryForIndex(3)) }
+        assertBumps(set, "removeEntry(int)") { set.removeEntry(0) }
+        assertBumps(set, "removeFirst") { set.removeFirst() }
+        assertBumps(set, "removeLast") { set.removeLast() }
+        assertBumps(set, "removeEntryByXValue") { set.removeEntryByXValue(5f) }
+        assertBumps(set, "setEntries") { set.setEntries(lineEntries()) }
+        assertBumps(set, "notifyDataSetChanged") { set.notifyDataSetChanged() }
+
+        assertBumps(set, "setColor") { set.setColor(1) }
+        assertBumps(set, "setColors") { set.setColors(1, 2, 3) }
+        assertBumps(set, "addColor") { set.addColor(4) }
+        assertBumps(set, "resetColors") { set.resetColors() }
+        assertBumps(set, "setLabel") { set.setLabel("label") }
+        assertBumps(set, "setHighlightEnabled") { set.setHighlightEnabled(false) }
+        assertBumps(set, "setValueFormatter") { set.setValueFormatter(DefaultValueFormatter(2)) }
+        assertBumps(set, "setValueTextColor") { set.setValueTextColor(1) }
+        assertBumps(set, "setValueTextSize") { set.setValueTextSize(12f) }
+        assertBumps(set, "setForm") { set.setForm(Legend.LegendForm.LINE) }
+        assertBumps(set, "setFormSize") { set.setFormSize(10f) }
+        assertBumps(set, "setDrawValues") { set.setDrawValues(false) }
+        assertBumps(set, "setDrawIcons") { set.setDrawIcons(false) }
+        assertBumps(set, "setIconsOffset") { set.setIconsOffset(MPPointF(1f, 1f)) }
+        assertBumps(set, "setVisible") { set.setVisible(false) }
+        assertBumps(set, "setAxisDependency") { set.setAxisDependency(YAxis.AxisDependency.RIGHT) }
+
+        assertBumps(set, "setMode") { set.setMode(LineDataSet.Mode.CUBIC_BEZIER) }
+        assertBumps(set, "setCubicIntensity") { set.setCubicIntensity(0.1f) }
+        assertBumps(set, "setCircleRadius") { set.setCircleRadius(5f) }
+        assertBumps(set, "setCircleColor") { set.setCircleColor(1) }
+        assertBumps(set, "setDrawCircles") { set.setDrawCircles(false) }
+        assertBumps(set, "enableDashedLine") { set.enableDashedLine(1f, 1f, 0f) }
+        assertBumps(set, "disableDashedLine") { set.disableDashedLine() }
+        assertBumps(set, "setLineWidth") { set.setLineWidth(2f) }
+        assertBumps(set, "setFillColor") { set.setFillColor(1) }
+        assertBumps(set, "setDrawFilled") { set.setDrawFilled(true) }
+        assertBumps(set, "setHighLightColor") { set.setHighLightColor(1) }
+        assertBumps(set, "setHighlightLineWidth") { set.setHighlightLineWidth(2f) }
+        assertBumps(set, "setM4AggregationEnabled") { set.setM4AggregationEnabled(true) }
+    }
+
+    @Test
+    fun testBarDataSetMutators() {
+        val entries = ArrayList<BarEntry>()
+        for (i in 0..<10) {
+            entries.add(BarEntry(i.toFloat(), i.toFloat()))
+        }
+        val set = BarDataSet(entries, "")
+
+        assertBumps(set, "addEntry") { set.addEntry(BarEntry(10f, 1f)) }
+        assertBumps(set, "removeLast") { set.removeLast() }
+        assertBumps(set, "setBarShadowColor") { set.setBarShadowColor(1) }
+        assertBumps(set, "setBarBorderWidth") { set.setBarBorderWidth(1f) }
+        assertBumps(set, "setBarBorderColor") { set.setBarBorderColor(1) }
+        assertBumps(set, "setHighLightAlpha") { set.setHighLightAlpha(10) }
+        assertBumps(set, "setStackLabels") { set.setStackLabels(arrayOf("a")) }
+        assertBumps(set, "setGradientColor") { set.setGradientColor(1, 2) }
+    }
+
+    @Test
+    fun testPrimitiveDataSetMutators() {
+        val columnar = ColumnarLineDataSet("")
+        assertBumps(columnar, "addEntry(x, y)") { columnar.addEntry(0f, 1f) }
+        assertBumps(columnar, "addEntry(x, y)") { columnar.addEntry(1f, 2f) }
+        assertBumps(columnar, "removeEntry(int)") { columnar.removeEntry(0) }
+
+        val ring = RingBufferLineDataSet(3, "")
+        for (i in 0..<5) {
+            // overwriting keeps the entry count, but not the version
+            assertBumps(ring, "addEntry(x, y)") { ring.addEntry(i.toFloat(), i.toFloat()) }
+        }
+        assertBumps(ring, "addEntryOrdered") { ring.addEntryOrdered(Entry(2.5f, 1f)) }
+        assertBumps(ring, "removeFirst") { ring.removeFirst() }
+        assertBumps(ring, "removeLast") { ring.removeLast() }
+    }
+
+    @Test
+    fun testChartDataVersion() {
+        val set1 = LineDataSet(lineEntries(), "")
+        val set2 = LineDataSet(lineEntries(), "")
+        val data = LineData(set1)
+
+        var version = data.version
+
+        fun assertDataBumps(name: String, change: () -> Unit) {
+            change()
+            Assert.assertTrue("$name did not change the version", data.version > version)
+            version = data.version
+        }
+
+        assertDataBumps("addDataSet") { data.addDataSet(set2) }
+        assertDataBumps("addEntry") { data.addEntry(Entry(20f, 1f), 1) }
+        assertDataBumps("removeEntry") { data.removeEntry(20f, 1) }
+        assertDataBumps("set mutator") { set1.setLineWidth(3f) }
+        assertDataBumps("setValueTextSize") { data.setValueTextSize(9f) }
+        assertDataBumps("notifyDataChanged") { data.notifyDataChanged() }
+
+        // the removed DataSet was changed more often than the data object itself
+        for (i in 0..<10) {
+            set2.setLineWidth(i.toFloat())
+        }
+        version = data.version
+        assertDataBumps("removeDataSet") { data.removeDataSet(set2) }
+        assertDataBumps("clearValues") { data.clearValues() }
+
+        val bars = BarData(BarDataSet(ArrayList(), ""))
+        val barVersion = bars.version
+        bars.barWidth = 0.5f
+        Assert.assertTrue(bars.version > barVersion)
+    }
+
+    @Test
+    fun testUncountedDataSetVersion() {
+        val uncounted = object : LineDataSet(lineEntries(), "") {
+            override fun getVersion() = -1L
+        }
+        val data = LineData(LineDataSet(lineEntries(), ""))
+        val version = data.version
+
+        data.addDataSet(uncounted)
+        Assert.assertEquals(-1L, data.version)
+        Assert.assertEquals(-1L, CombinedData().apply { setData(data) }.version)
+
+        // removing it makes the data counted again, without going back in time
+        data.removeDataSet(uncounted)
+        Assert.assertTrue(data.version > version)
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.data.DequeLineDataSet
+import com.github.mikephil.charting.data.Entry
+import com.github.mikephil.charting.data.EntryDeque
+import org.junit.Assert
+import org.junit.Test
+import java.util.Random
+
+class EntryDequeTest {
+
+    @Test
+    fun testMatchesArrayList() {
+        val random = Random(3)
+        val deque = EntryDeque<Entry>()
+        val list = ArrayList<Entry>()
+
+        for (step in 0..<20_000) {
+            val e = Entry(step.toFloat(), random.nextFloat())
+
+            when (random.nextInt(8)) {
+                0, 1, 2 -> {
+                    deque.add(e)
+                    list.add(e)
+                }
+                3 -> {
+                    deque.addFirst(e)
+                    list.add(0, e)
+                }
+                4 -> {
+                    val index = random.nextInt(list.size + 1)
+                    deque.add(index, e)
+                    list.add(index, e)
+                }
+                5 -> if (list.isNotEmpty()) {
+                    Assert.assertSame(list.removeAt(0), deque.removeFirst())
+                }
+                6 -> if (list.isNotEmpty()) {
+                    Assert.assertSame(list.removeAt(list.size - 1), deque.removeLast())
+                }
+                else -> if (list.isNotEmpty()) {
+                    val index = random.nextInt(list.size)
+                    Assert.assertSame(list.removeAt(index), deque.removeAt(index))
+                }
+            }
+
+            Assert.assertEquals(list.size, deque.size)
+        }
+
+        Assert.assertEquals(list, deque)
+
+        deque.subList(10, 100).clear()
+        list.subList(10, 100).clear()
+        Assert.assertEquals(list, deque)
+
+        deque.clear()
+        Assert.assertNull(deque.removeFirst())
+        Assert.assertNull(deque.removeLast())
+    }
+
+    @Test
+    fun testSlidingWindow() {
+        val random = Random(8)
+        val set = DequeLineDataSet("")
+        set.setYRangeIndexEnabled(true)
+
+        val window = ArrayList<Entry>()
+
+        for (i in 0..<5_000) {
+            val e = Entry(i.toFloat(), random.nextFloat() * 100f)
+            set.addEntry(e)
+            window.add(e)
+
+            if (window.size > 500) {
+                Assert.assertTrue(set.removeFirst())
+                window.removeAt(0)
+            }
+
+            if (i % 7 == 6) {
+                // trim the newest entry from time to time as well
+                Assert.assertTrue(set.removeLast())
+                window.removeAt(window.size - 1)
+            }
+
+            Assert.assertEquals(window.size, set.entryCount)
+            Assert.assertEquals(window.minOf { it.y }, set.yMin, 0f)
+            Assert.assertEquals(window.maxOf { it.y }, set.yMax, 0f)
+            Assert.assertEquals(window.first().x, set.xMin, 0f)
+            Assert.assertEquals(window.last().x, set.xMax, 0f)
+        }
+
+        val oldest = window[0]
+        Assert.assertEquals(0, set.getEntryIndex(oldest))
+        Assert.assertTrue(set.removeEntryByXValue(oldest.x))
+        Assert.assertEquals(-1, set.getEntryIndex(oldest))
+
+        val middle = window[200]
+        Assert.assertTrue(set.removeEntry(middle))
+        Assert.assertEquals(window.size - 2, set.entryCount)
+        Assert.assertFalse(set.removeEntry(middle))
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.data.ColumnarLineDataSet
+import com.github.mikephil.charting.data.Entry
+import com.github.mikephil.charting.data.LineData
+import com.github.mikephil.charting.data.LineDataSet
+import com.github.mikephil.charting.data.ScatterDataSet
+import org.junit.Assert
+import org.junit.Test
+
+class EntryLookupTest {
+
+    @Test
+    fun testSortedLookup() {
+        val entries = ArrayList<Entry>()
+        for (i in 0..<1_000) {
+            // three entries per x-value
+            entries.add(Entry((i / 3).toFloat(), (i % 3).toFloat()))
+        }
+        val set = LineDataSet(ArrayList(entries), "")
+        set.isEntryLookupEnabled = true
+
+        for (i in entries.indices) {
+            Assert.assertEquals(i, set.getEntryIndex(entries[i]))
+        }
+
+        // entries with the same values are not the same entries
+        Assert.assertEquals(-1, set.getEntryIndex(Entry(10f, 1f)))
+        Assert.assertEquals(-1, set.getEntryIndex(Entry(-1f, 0f)))
+        Assert.assertEquals(-1, set.getEntryIndex(Entry(5_000f, 0f)))
+
+        // the lookup follows modifications, wherever addEntryOrdered(...) puts the entry
+        val inserted = Entry(100.5f, 7f)
+        set.addEntryOrdered(inserted)
+        val index = set.entries.indexOf(inserted)
+        Assert.assertEquals(index, set.getEntryIndex(inserted))
+        Assert.assertEquals(index + 1, set.getEntryIndex(set.entries[index + 1]))
+
+        set.removeEntry(entries[0])
+        Assert.assertEquals(-1, set.getEntryIndex(entries[0]))
+        Assert.assertEquals(0, set.getEntryIndex(entries[1]))
+
+        set.isEntryLookupEnabled = false
+        Assert.assertEquals(index - 1, set.getEntryIndex(inserted))
+    }
+
+    @Test
+    fun testUnsortedLookup() {
+        val entries = ArrayList<Entry>()
+        for (i in 0..<1_000) {
+            entries.add(Entry(((i * 7919) % 1_000).toFloat(), i.toFloat()))
+        }
+        val set = ScatterDataSet(ArrayList(entries), "")
+        set.isEntryLookupEnabled = true
+
+        for (i in entries.indices) {
+            Assert.assertEquals(i, set.getEntryIndex(entries[i]))
+        }
+        Assert.assertEquals(-1, set.getEntryIndex(Entry(entries[5].x, entries[5].y)))
+
+        val added = Entry(-3f, 1f)
+        set.addEntry(added)
+        Assert.assertEquals(1_000, set.getEntryIndex(added))
+    }
+
+    @Test
+    fun testColumnarLookup() {
+        val set = ColumnarLineDataSet(floatArrayOf(0f, 1f, 1f, 2f), floatArrayOf(5f, 6f, 7f, 8f), "")
+
+        // entries of columnar sets are matched by their values
+        Assert.assertEquals(2, set.getEntryIndex(Entry(1f, 7f)))
+        Assert.assertEquals(2, set.getEntryIndex(set.getEntryForIndex(2)))
+        Assert.assertEquals(-1, set.getEntryIndex(Entry(1f, 8f)))
+
+        set.addEntry(-1f, 9f)
+        Assert.assertEquals(4, set.getEntryIndex(Entry(-1f, 9f)))
+    }
+
+    @Test
+    fun testDataSetForEntry() {
+        val sets = ArrayList<LineDataSet>()
+        for (s in 0..<50) {
+            val entries = ArrayList<Entry>()
+            for (i in 0..<100_000) {
+                entries.add(Entry(i.toFloat(), (i % 100).toFloat()))
+            }
+            sets.add(LineDataSet(entries, "set $s").apply { isEntryLookupEnabled = true })
+        }
+        val data = LineData(sets.toList())
+
+        for (s in 0..<50) {
+            for (i in 0..<100) {
+                val e = sets[s].getEntryForIndex(i * 997)
+                Assert.assertSame(sets[s], data.getDataSetForEntry(e))
+            }
+        }
+
+        // an Entry that is not part of any set is found by its values
+        Assert.assertSame(sets[0], data.getDataSetForEntry(Entry(10f, 10f)))
+        Assert.assertNull(data.getDataSetForEntry(Entry(10f, 11f)))
+        Assert.assertNull(data.getDataSetForEntry(null))
+    }
+}
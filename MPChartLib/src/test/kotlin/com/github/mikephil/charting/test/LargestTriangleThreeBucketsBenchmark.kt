@@ -0,0 +1,46 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.data.ColumnarLineDataSet
+import com.github.mikephil.charting.data.filter.LargestTriangleThreeBuckets
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import java.util.Random
+
+/**
+ * Measures downsampling 10M values to the points of a 2000 px wide line (2 points per
+ * pixel), the work LineChartRenderer does per frame for a fully zoomed out DataSet.
+ */
+class LargestTriangleThreeBucketsBenchmark {
+
+    @Before
+    fun assumeEnabled() = Benchmarks.assumeEnabled()
+
+    @Test
+    fun benchmarkTenMillionPoints() {
+        val random = Random(1)
+        val xValues = FloatArray(COUNT) { it.toFloat() }
+        val yValues = FloatArray(COUNT) { random.nextFloat() * 100f }
+        val set = ColumnarLineDataSet(xValues, yValues, "")
+
+        val lttb = LargestTriangleThreeBuckets()
+        val out = IntArray(THRESHOLD)
+        var best = Long.MAX_VALUE
+        var selected = 0
+
+        repeat(5) {
+            val start = System.nanoTime()
+            selected = lttb.downsample(set, 0, COUNT - 1, THRESHOLD, out)
+            best = minOf(best, System.nanoTime() - start)
+        }
+
+        Benchmarks.report("LTTB %d -> %d points: %d ms".format(COUNT, THRESHOLD, best / 1_000_000))
+
+        Assert.assertEquals(THRESHOLD, selected)
+    }
+
+    companion object {
+        private const val COUNT = 10_000_000
+        private const val THRESHOLD = 4_000
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.data.ColumnarLineDataSet
+import com.github.mikephil.charting.data.filter.LargestTriangleThreeBuckets
+import org.junit.Assert
+import org.junit.Test
+import java.util.Random
+import kotlin.math.PI
+import kotlin.math.abs
+import kotlin.math.sin
+
+class LargestTriangleThreeBucketsTest {
+    @Test
+    fun testExactPointCount() {
+        val set = ColumnarLineDataSet(FloatArray(10_000) { it.toFloat() }, FloatArray(10_000) { (it % 7).toFloat() }, "")
+        val lttb = LargestTriangleThreeBuckets()
+        val out = IntArray(10_000)
+
+        for (threshold in intArrayOf(2, 3, 10, 999, 1000, 4321)) {
+            val count = lttb.downsample(set, 100, 8_099, threshold, out)
+
+            Assert.assertEquals(threshold, count)
+            Assert.assertEquals(100, out[0])
+            Assert.assertEquals(8_099, out[count - 1])
+            for (i in 1..<count) {
+                Assert.assertTrue(out[i] > out[i - 1])
+            }
+        }
+
+        // ranges that are not larger than the threshold are returned as they are
+        Assert.assertEquals(50, lttb.downsample(set, 0, 49, 100, out))
+        Assert.assertEquals(49, out[49])
+    }
+
+    @Test
+    fun testKeepsSpikes() {
+        val count = 1_000_000
+        val threshold = 2_000
+        val random = Random(5)
+
+        val xValues = FloatArray(count) { it.toFloat() }
+        val yValues = FloatArray(count) { (sin(it * 2.0 * PI / 100_000) * 100.0 + random.nextGaussian() * 2.0).toFloat() }
+
+        val spikes = IntArray(40) { it * count / 40 + random.nextInt(count / 80) }
+        for (spike in spikes) {
+            yValues[spike] += 1_000f
+        }
+
+        val set = ColumnarLineDataSet(xValues, yValues, "")
+        val out = IntArray(threshold)
+        val selected = LargestTriangleThreeBuckets().downsample(set, 0, count - 1, threshold, out)
+        val selectedSet = out.take(selected).toHashSet()
+
+        val keptByLttb = spikes.count { it in selectedSet }
+        val keptByStride = spikes.count { it % (count / threshold) == 0 }
+
+        Assert.assertEquals(spikes.size, keptByLttb)
+        Assert.assertTrue(keptByLttb > keptByStride)
+
+        // the drawn value range matches the original one
+        Assert.assertEquals(yValues.max(), out.take(selected).maxOf { yValues[it] }, 0f)
+        Assert.assertEquals(yValues.min(), out.take(selected).minOf { yValues[it] }, 2f)
+    }
+
+    @Test
+    fun testSmoothSignalError() {
+        val count = 500_000
+        val xValues = FloatArray(count) { it.toFloat() }
+        val yValues = FloatArray(count) { (sin(it * 2.0 * PI / 50_000) * 100.0).toFloat() }
+
+        val set = ColumnarLineDataSet(xValues, yValues, "")
+        val out = IntArray(1_000)
+        val selected = LargestTriangleThreeBuckets().downsample(set, 0, count - 1, 1_000, out)
+
+        // mean vertical distance between the original values and the downsampled line
+        var error = 0.0
+        var segment = 0
+        for (i in 0..<count) {
+            while (segment < selected - 2 && out[segment + 1] <= i) segment++
+
+            val x1 = xValues[out[segment]]
+            val x2 = xValues[out[segment + 1]]
+            val y1 = yValues[out[segment]]
+            val y2 = yValues[out[segment + 1]]
+            error += abs(y1 + (y2 - y1) * (xValues[i] - x1) / (x2 - x1) - yValues[i])
+        }
+        error /= count
+
+        Assert.assertTrue(error < 0.5)
+    }
+}
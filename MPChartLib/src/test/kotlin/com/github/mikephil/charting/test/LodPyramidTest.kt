@@ -0,0 +1,114 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.data.ColumnarLineDataSet
+import com.github.mikephil.charting.data.Entry
+import com.github.mikephil.charting.data.LineDataSet
+import com.github.mikephil.charting.data.LodPyramid
+import org.junit.Assert
+import org.junit.Test
+import java.util.Random
+
+class LodPyramidTest {
+    @Test
+    fun testCollectKeepsExtremes() {
+        val random = Random(11)
+        val set = ColumnarLineDataSet("")
+        set.setLodEnabled(true)
+
+        // append in chunks so the pyramid is extended incrementally
+        var x = 0
+        for (chunk in 0..<20) {
+            for (i in 0..<(random.nextInt(5_000) + 1)) {
+                set.addEntry(x.toFloat(), random.nextFloat() * 100f)
+                x++
+            }
+            Assert.assertEquals(set.entryCount, set.lodPyramid.entryCount)
+        }
+
+        val pyramid = set.lodPyramid
+        val count = set.entryCount
+
+        for (k in 0..<50) {
+            val from = random.nextInt(count)
+            val to = from + random.nextInt(count - from)
+            val level = pyramid.getLevel(to - from + 1, 300f)
+
+            if (level == 0)
+                continue
+
+            val out = IntArray(pyramid.getCollectCapacity(level, from, to))
+            val collected = pyramid.collect(set, level, from, to, out)
+
+            Assert.assertTrue(collected <= 4 * 300 + 2 * (1 shl level))
+            Assert.assertEquals(from, out[0])
+            Assert.assertEquals(to, out[collected - 1])
+
+            var min = Float.MAX_VALUE
+            var max = -Float.MAX_VALUE
+            for (i in from..to) {
+                min = minOf(min, set.getYForIndex(i))
+                max = maxOf(max, set.getYForIndex(i))
+            }
+
+            var collectedMin = Float.MAX_VALUE
+            var collectedMax = -Float.MAX_VALUE
+            for (j in 0..<collected) {
+                if (j > 0) Assert.assertTrue(out[j] > out[j - 1])
+                collectedMin = minOf(collectedMin, set.getYForIndex(out[j]))
+                collectedMax = maxOf(collectedMax, set.getYForIndex(out[j]))
+            }
+
+            Assert.assertEquals(min, collectedMin, 0f)
+            Assert.assertEquals(max, collectedMax, 0f)
+        }
+    }
+
+    @Test
+    fun testLevelForScale() {
+        val pyramid = LodPyramid()
+        val set = ColumnarLineDataSet("")
+        for (i in 0..<1_000_000) {
+            set.addEntry(i.toFloat(), (i % 1000).toFloat())
+        }
+        pyramid.update(set)
+
+        Assert.assertEquals(0, pyramid.getLevel(1_000, 1_000f))
+        Assert.assertEquals(0, pyramid.getLevel(4_000, 1_000f))
+        Assert.assertEquals(10, pyramid.getLevel(1_000_000, 1_000f))
+
+        val level = pyramid.getLevel(1_000_000, 1_000f)
+        val out = IntArray(pyramid.getCollectCapacity(level, 0, 999_999))
+        val collected = pyramid.collect(set, level, 0, 999_999, out)
+
+        // about 2 to 4 points per pixel column
+        Assert.assertTrue(collected in 1_000..4_000 + 2 * (1 shl level))
+    }
+
+    @Test
+    fun testInvalidatedOnChange() {
+        val entries = ArrayList<Entry>()
+        for (i in 0..<100) {
+            entries.add(Entry(i.toFloat() * 2f, i.toFloat()))
+        }
+
+        val set = LineDataSet(entries, "")
+        set.setLodEnabled(true)
+        Assert.assertEquals(100, set.lodPyramid.entryCount)
+
+        // inserted in between, the maximum of the first bucket moves
+        set.addEntryOrdered(Entry(3f, 500f))
+
+        val pyramid = set.lodPyramid
+        val out = IntArray(pyramid.getCollectCapacity(LodPyramid.MIN_LEVEL, 0, 100))
+        val collected = pyramid.collect(set, LodPyramid.MIN_LEVEL, 0, 100, out)
+
+        var max = -Float.MAX_VALUE
+        for (j in 0..<collected) {
+            max = maxOf(max, set.getYForIndex(out[j]))
+        }
+        Assert.assertEquals(500f, max, 0f)
+
+        set.removeLast()
+        Assert.assertEquals(100, set.lodPyramid.entryCount)
+    }
+}
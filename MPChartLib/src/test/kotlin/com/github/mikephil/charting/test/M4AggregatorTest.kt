@@ -0,0 +1,73 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.data.ColumnarLineDataSet
+import com.github.mikephil.charting.data.filter.M4Aggregator
+import org.junit.Assert
+import org.junit.Test
+import java.util.Random
+import kotlin.math.floor
+
+class M4AggregatorTest {
+    @Test
+    fun testKeepsFirstMinMaxLastPerColumn() {
+        val random = Random(17)
+        val count = 100_000
+        val xValues = FloatArray(count) { it * 0.5f }
+        val yValues = FloatArray(count) { random.nextFloat() * 100f - 50f }
+        val set = ColumnarLineDataSet(xValues, yValues, "")
+
+        val scaleX = 0.013f
+        val transX = 12.5f
+        val from = 1_234
+        val to = 98_765
+
+        val aggregator = M4Aggregator()
+        val out = IntArray(aggregator.getCapacity(set, from, to, scaleX, transX))
+        val selected = aggregator.aggregate(set, from, to, scaleX, transX, out)
+
+        Assert.assertTrue(selected <= out.size)
+        Assert.assertEquals(from, out[0])
+        Assert.assertEquals(to, out[selected - 1])
+
+        // group the original and the aggregated entries by pixel column
+        fun column(i: Int) = floor(xValues[i] * scaleX + transX).toInt()
+
+        val expected = HashMap<Int, FloatArray>()
+        for (i in from..to) {
+            val c = expected.getOrPut(column(i)) { floatArrayOf(yValues[i], Float.MAX_VALUE, -Float.MAX_VALUE, 0f) }
+            c[1] = minOf(c[1], yValues[i])
+            c[2] = maxOf(c[2], yValues[i])
+            c[3] = yValues[i]
+        }
+
+        val actual = HashMap<Int, FloatArray>()
+        for (k in 0..<selected) {
+            if (k > 0) Assert.assertTrue(out[k] > out[k - 1])
+
+            val i = out[k]
+            val c = actual.getOrPut(column(i)) { floatArrayOf(yValues[i], Float.MAX_VALUE, -Float.MAX_VALUE, 0f) }
+            c[1] = minOf(c[1], yValues[i])
+            c[2] = maxOf(c[2], yValues[i])
+            c[3] = yValues[i]
+        }
+
+        Assert.assertEquals(expected.keys, actual.keys)
+        for ((c, values) in expected) {
+            Assert.assertArrayEquals(values, actual[c], 0f)
+        }
+
+        // at most 4 entries per column
+        Assert.assertTrue(selected <= expected.size * 4)
+    }
+
+    @Test
+    fun testZoomedIn() {
+        val set = ColumnarLineDataSet(floatArrayOf(0f, 1f, 2f, 3f), floatArrayOf(1f, 5f, 2f, 4f), "")
+        val aggregator = M4Aggregator()
+        val out = IntArray(aggregator.getCapacity(set, 0, 3, 100f, 0f))
+
+        // every entry has its own column
+        Assert.assertEquals(4, aggregator.aggregate(set, 0, 3, 100f, 0f, out))
+        Assert.assertArrayEquals(intArrayOf(0, 1, 2, 3), out)
+    }
+}
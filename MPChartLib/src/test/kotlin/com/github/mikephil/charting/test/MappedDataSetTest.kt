@@ -0,0 +1,212 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.data.ColumnarLineDataSet
+import com.github.mikephil.charting.data.DataSet
+import com.github.mikephil.charting.data.Entry
+import com.github.mikephil.charting.data.LodPyramid
+import com.github.mikephil.charting.data.MappedEntries
+import com.github.mikephil.charting.data.MappedLineDataSet
+import com.github.mikephil.charting.data.MappedLodPyramid
+import org.junit.Assert
+import org.junit.Assume
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import java.io.File
+import java.util.Random
+
+class MappedDataSetTest {
+
+    @get:Rule
+    val folder = TemporaryFolder()
+
+    @Test
+    fun testMatchesInMemoryDataSet() {
+        val random = Random(3)
+        val count = 100_003
+        val xs = FloatArray(count) { it.toFloat() }
+        val ys = FloatArray(count) { random.nextInt(1_000).toFloat() }
+
+        val file = folder.newFile("values.bin")
+        MappedEntries.write(file, xs, ys, 0, count, false)
+
+        val mapped = MappedLineDataSet(file, "")
+        val inMemory = ColumnarLineDataSet(xs, ys, "")
+        inMemory.setLodEnabled(true)
+
+        Assert.assertEquals(count, mapped.entryCount)
+        Assert.assertEquals(inMemory.xMin, mapped.xMin, 0f)
+        Assert.assertEquals(inMemory.xMax, mapped.xMax, 0f)
+        Assert.assertEquals(inMemory.yMin, mapped.yMin, 0f)
+        Assert.assertEquals(inMemory.yMax, mapped.yMax, 0f)
+        Assert.assertEquals(50_000f, mapped.getEntryForXValue(50_000.2f, Float.NaN).x, 0f)
+        Assert.assertEquals(ys[777], mapped.getEntriesForXValue(777f)[0].y, 0f)
+
+        // the pyramid of the sidecar selects the same entries as the one in memory
+        val pyramid = mapped.lodPyramid
+        val expected = inMemory.lodPyramid
+        Assert.assertTrue(pyramid is MappedLodPyramid)
+        Assert.assertEquals(expected.maxLevel, pyramid.maxLevel)
+
+        for (level in LodPyramid.MIN_LEVEL..pyramid.maxLevel) {
+            val from = random.nextInt(count)
+            val to = from + random.nextInt(count - from)
+            val out = IntArray(pyramid.getCollectCapacity(level, from, to))
+            val expectedOut = IntArray(out.size)
+            val collected = pyramid.collect(mapped, level, from, to, out)
+
+            Assert.assertEquals(expected.collect(inMemory, level, from, to, expectedOut), collected)
+            Assert.assertArrayEquals(expectedOut.copyOf(collected), out.copyOf(collected))
+        }
+
+        // the y-range of any range comes from the pyramid
+        for (i in 0..<100) {
+            val from = random.nextInt(count)
+            val to = from + random.nextInt(count - from)
+            mapped.calcMinMaxY(from.toFloat(), to.toFloat())
+            inMemory.calcMinMaxY(from.toFloat(), to.toFloat())
+            Assert.assertEquals(inMemory.yMin, mapped.yMin, 0f)
+            Assert.assertEquals(inMemory.yMax, mapped.yMax, 0f)
+        }
+
+        mapped.setLodEnabled(false)
+        Assert.assertNull(mapped.lodPyramid)
+
+        try {
+            mapped.addEntry(Entry(1e9f, 0f))
+            Assert.fail("the DataSet must be read-only")
+        } catch (e: UnsupportedOperationException) {
+            // expected
+        }
+
+        mapped.close()
+    }
+
+    @Test
+    fun testSidecarIsRebuiltWhenOutdated() {
+        val file = folder.newFile("values.bin")
+        val sidecar = File(folder.root, "values.lod")
+        MappedEntries.write(file, floatArrayOf(0f, 1f, 2f), floatArrayOf(5f, 6f, 7f), 0, 3, false)
+
+        val entries = MappedEntries(file)
+        Assert.assertFalse(MappedLodPyramid.isUpToDate(entries, sidecar))
+        MappedLineDataSet(entries, sidecar, "").close()
+        Assert.assertTrue(MappedLodPyramid.isUpToDate(entries, sidecar))
+
+        MappedEntries.write(file, floatArrayOf(3f), floatArrayOf(-1f), 0, 1, true)
+        val appended = MappedEntries(file)
+        Assert.assertFalse(MappedLodPyramid.isUpToDate(appended, sidecar))
+
+        val set = MappedLineDataSet(appended, sidecar, "")
+        Assert.assertEquals(4, set.entryCount)
+        Assert.assertEquals(-1f, set.yMin, 0f)
+        set.close()
+    }
+
+    /**
+     * Small regions of 512 entries, so that reads, lookups and the pyramid cross many region
+     * boundaries without a file of several gigabytes.
+     */
+    @Test
+    fun testRegionBoundaries() {
+        val regionSize = 4_096
+        val perRegion = regionSize / MappedEntries.BYTES_PER_ENTRY
+        val count = perRegion * 20 + 17
+        val xs = FloatArray(count) { it.toFloat() }
+        val ys = FloatArray(count) { (it % 1_000).toFloat() }
+        ys[perRegion * 7] = 5_000f
+
+        val file = folder.newFile("regions.bin")
+        MappedEntries.write(file, xs, ys, 0, count, false)
+
+        val entries = MappedEntries(file, regionSize)
+        Assert.assertEquals(count, entries.size)
+        for (region in 1..count / perRegion) {
+            for (index in region * perRegion - 2..minOf(region * perRegion + 1, count - 1)) {
+                Assert.assertEquals(xs[index], entries.getX(index), 0f)
+                Assert.assertEquals(ys[index], entries.getY(index), 0f)
+            }
+        }
+
+        val set = MappedLineDataSet(entries, File(folder.root, "regions.lod"), "")
+        Assert.assertEquals(5_000f, set.yMax, 0f)
+        Assert.assertEquals((count - 1).toFloat(), set.xMax, 0f)
+        Assert.assertEquals(perRegion * 3, set.getEntryIndex((perRegion * 3).toFloat(), Float.NaN, DataSet.Rounding.CLOSEST))
+
+        set.calcMinMaxY((perRegion * 7 - 3).toFloat(), (perRegion * 7 + 3).toFloat())
+        Assert.assertEquals(5_000f, set.yMax, 0f)
+
+        Assert.assertThrows(IllegalArgumentException::class.java) { MappedEntries(file, 100) }
+        set.close()
+    }
+
+    /**
+     * A file of more than 2 GB, which needs more than one mapped region of the default size,
+     * with a small spike that the pyramid has to find. This writes a file of 2 GB, so it
+     * only runs with -PmappedLargeFile or MAPPED_LARGE_FILE=true, and if the temp
+     * directory is big enough.
+     */
+    @Test
+    fun testMultiGigabyteFile() {
+        Assume.assumeTrue(
+            java.lang.Boolean.getBoolean("mappedLargeFile") || System.getenv("MAPPED_LARGE_FILE") == "true"
+        )
+
+        val count = 270_000_000
+        val spike = 200_000_123
+        Assume.assumeTrue(folder.root.usableSpace > 4L * count * MappedEntries.BYTES_PER_ENTRY)
+
+        val file = folder.newFile("history.bin")
+        val batch = 1 shl 20
+        val xs = FloatArray(batch)
+        val ys = FloatArray(batch)
+
+        var written = 0
+        while (written < count) {
+            val len = minOf(batch, count - written)
+            for (i in 0..<len) {
+                val index = written + i
+                xs[i] = index.toFloat()
+                ys[i] = if (index == spike) 1_000_000f else (index % 1_000).toFloat()
+            }
+            MappedEntries.write(file, xs, ys, 0, len, true)
+            written += len
+        }
+        Assert.assertTrue(file.length() > Int.MAX_VALUE)
+
+        val set = MappedLineDataSet(file, "")
+
+        Assert.assertEquals(count, set.entryCount)
+        Assert.assertEquals(1_000_000f, set.yMax, 0f)
+        Assert.assertEquals(0f, set.yMin, 0f)
+
+        // around the end of the first mapped region
+        val regionEnd = (1 shl 30) / MappedEntries.BYTES_PER_ENTRY
+        for (index in regionEnd - 2..regionEnd + 2) {
+            Assert.assertEquals(index.toFloat(), set.getXForIndex(index), 0f)
+            Assert.assertEquals((index % 1_000).toFloat(), set.getYForIndex(index), 0f)
+        }
+
+        // x-values this big are not unique as floats, any entry with the x-value will do
+        val x = spike.toFloat()
+        val index = set.getEntryIndex(x, Float.NaN, DataSet.Rounding.CLOSEST)
+        Assert.assertEquals(x, set.getXForIndex(index), 0f)
+
+        set.calcMinMaxY(x - 10_000f, x + 10_000f)
+        Assert.assertEquals(1_000_000f, set.yMax, 0f)
+        set.calcMinMaxY(x + 10_000f, x + 20_000f)
+        Assert.assertEquals(999f, set.yMax, 0f)
+
+        // a zoomed out frame on a 1000 pixel wide chart only touches a few thousand entries,
+        // the range ends with a full bucket since a cut bucket contributes all of its entries
+        val pyramid = set.lodPyramid
+        val level = pyramid.getLevel(count, 1_000f)
+        val to = (count shr level shl level) - 1
+        val out = IntArray(pyramid.getCollectCapacity(level, 0, to))
+        val collected = pyramid.collect(set, level, 0, to, out)
+        Assert.assertTrue(collected <= 4_000)
+        Assert.assertTrue(out.copyOf(collected).any { set.getYForIndex(it) == 1_000_000f })
+
+        set.close()
+    }
+}
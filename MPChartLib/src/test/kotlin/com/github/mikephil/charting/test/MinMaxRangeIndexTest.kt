@@ -0,0 +1,125 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.data.CandleDataSet
+import com.github.mikephil.charting.data.CandleEntry
+import com.github.mikephil.charting.data.ColumnarLineDataSet
+import com.github.mikephil.charting.data.Entry
+import com.github.mikephil.charting.data.LineDataSet
+import com.github.mikephil.charting.data.MinMaxRangeIndex
+import org.junit.Assert
+import org.junit.Test
+import java.util.Random
+
+class MinMaxRangeIndexTest {
+    @Test
+    fun testMatchesBruteForce() {
+        val random = Random(7)
+        val index = MinMaxRangeIndex(4)
+        val values = ArrayList<Float>()
+
+        for (step in 0..<5_000) {
+            val value = random.nextFloat() * 100f
+            when (random.nextInt(6)) {
+                0, 1, 2 -> {
+                    index.add(value, value)
+                    values.add(value)
+                }
+                3 -> if (values.isNotEmpty()) {
+                    index.remove(0)
+                    values.removeAt(0)
+                }
+                4 -> if (values.isNotEmpty()) {
+                    val i = random.nextInt(values.size)
+                    index.remove(i)
+                    values.removeAt(i)
+                }
+                else -> {
+                    val i = random.nextInt(values.size + 1)
+                    index.insert(i, value, value)
+                    values.add(i, value)
+                }
+            }
+
+            Assert.assertEquals(values.size, index.size())
+
+            if (values.isNotEmpty()) {
+                val from = random.nextInt(values.size)
+                val to = from + random.nextInt(values.size - from)
+                val range = values.subList(from, to + 1)
+                Assert.assertEquals(range.min(), index.getMin(from, to), 0f)
+                Assert.assertEquals(range.max(), index.getMax(from, to), 0f)
+            }
+        }
+    }
+
+    @Test
+    fun testDataSetMinMaxY() {
+        val random = Random(3)
+        val entries = ArrayList<Entry>()
+        for (i in 0..<1_000) {
+            entries.add(Entry(i.toFloat(), random.nextFloat() * 50f - 25f))
+        }
+
+        val plain = LineDataSet(ArrayList(entries), "")
+        val indexed = LineDataSet(ArrayList(entries), "")
+        val columnar = ColumnarLineDataSet("")
+        for (e in entries) {
+            columnar.addEntry(e.x, e.y)
+        }
+        indexed.setYRangeIndexEnabled(true)
+        columnar.setYRangeIndexEnabled(true)
+
+        for (i in 1_000..<1_200) {
+            val y = random.nextFloat() * 50f - 25f
+            plain.addEntry(Entry(i.toFloat(), y))
+            indexed.addEntry(Entry(i.toFloat(), y))
+            columnar.addEntry(i.toFloat(), y)
+        }
+        plain.addEntryOrdered(Entry(500.5f, 99f))
+        indexed.addEntryOrdered(Entry(500.5f, 99f))
+        columnar.addEntryOrdered(Entry(500.5f, 99f))
+
+        Assert.assertTrue(plain.removeEntry(300))
+        Assert.assertTrue(indexed.removeEntry(300))
+        Assert.assertTrue(columnar.removeEntry(300))
+        plain.removeFirst()
+        indexed.removeFirst()
+        columnar.removeFirst()
+
+        for (k in 0..<200) {
+            val from = random.nextFloat() * 1_200f
+            val to = from + random.nextFloat() * (1_200f - from)
+
+            plain.calcMinMaxY(from, to)
+            indexed.calcMinMaxY(from, to)
+            columnar.calcMinMaxY(from, to)
+
+            Assert.assertEquals(plain.yMin, indexed.yMin, 0f)
+            Assert.assertEquals(plain.yMax, indexed.yMax, 0f)
+            Assert.assertEquals(plain.yMin, columnar.yMin, 0f)
+            Assert.assertEquals(plain.yMax, columnar.yMax, 0f)
+        }
+
+        plain.calcMinMax()
+        indexed.calcMinMax()
+        Assert.assertEquals(plain.yMin, indexed.yMin, 0f)
+        Assert.assertEquals(plain.yMax, indexed.yMax, 0f)
+        Assert.assertEquals(plain.xMin, indexed.xMin, 0f)
+        Assert.assertEquals(plain.xMax, indexed.xMax, 0f)
+    }
+
+    @Test
+    fun testCandleRange() {
+        val entries = ArrayList<CandleEntry>()
+        for (i in 0..<10) {
+            entries.add(CandleEntry(i.toFloat(), 10f + i, -i.toFloat(), 2f, 3f))
+        }
+
+        val set = CandleDataSet(entries, "")
+        set.setYRangeIndexEnabled(true)
+
+        set.calcMinMaxY(2f, 5f)
+        Assert.assertEquals(-5f, set.yMin, 0f)
+        Assert.assertEquals(15f, set.yMax, 0f)
+    }
+}
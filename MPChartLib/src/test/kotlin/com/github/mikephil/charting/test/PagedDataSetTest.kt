@@ -0,0 +1,189 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.data.DataSet
+import com.github.mikephil.charting.data.PageProvider
+import com.github.mikephil.charting.data.PagedLineDataSet
+import org.junit.Assert
+import org.junit.Test
+import java.io.IOException
+import java.util.ArrayDeque
+import kotlin.math.sin
+
+class PagedDataSetTest {
+
+    /**
+     * Stands in for a database of 100 000 values in pages of 1 000.
+     */
+    private class TestProvider : PageProvider {
+
+        var loads = 0
+        var failing = false
+
+        fun x(i: Int) = i * 0.5f
+
+        fun y(i: Int) = sin(i / 100.0).toFloat() * 10f + i % 7
+
+        override fun getEntryCount() = COUNT
+
+        override fun getPageSize() = PAGE_SIZE
+
+        override fun loadSummary(firstX: FloatArray, lastX: FloatArray, minY: FloatArray, maxY: FloatArray) {
+            for (p in firstX.indices) {
+                val range = p * PAGE_SIZE..<minOf(COUNT, (p + 1) * PAGE_SIZE)
+                firstX[p] = x(range.first)
+                lastX[p] = x(range.last)
+                minY[p] = range.minOf { y(it) }
+                maxY[p] = range.maxOf { y(it) }
+            }
+        }
+
+        override fun loadPage(page: Int, xs: FloatArray, ys: FloatArray): Int {
+            if (failing)
+                throw IOException("offline")
+
+            loads++
+            val from = page * PAGE_SIZE
+            val to = minOf(COUNT, from + PAGE_SIZE)
+            for (i in from..<to) {
+                xs[i - from] = x(i)
+                ys[i - from] = y(i)
+            }
+            return to - from
+        }
+    }
+
+    /**
+     * Runs the queued loads, like the loader thread between two frames.
+     */
+    private val queue = ArrayDeque<Runnable>()
+
+    private fun runLoads() {
+        while (queue.isNotEmpty()) {
+            queue.poll()!!.run()
+        }
+    }
+
+    private fun createSet(provider: TestProvider): PagedLineDataSet {
+        val set = PagedLineDataSet(provider, "")
+        set.setExecutor { queue.add(it) }
+        set.maxCachedPages = 8
+        return set
+    }
+
+    private fun loadedPages(set: PagedLineDataSet) = (0..<set.pageCount).filter { set.isPageLoaded(it) }
+
+    @Test
+    fun testPlaceholdersAndRefinement() {
+        val provider = TestProvider()
+        val set = createSet(provider)
+
+        // two summary entries per page until pages are loaded
+        Assert.assertEquals(100, set.pageCount)
+        Assert.assertEquals(200, set.entryCount)
+        Assert.assertEquals(0f, set.xMin, 0f)
+        Assert.assertEquals(49_999.5f, set.xMax, 0f)
+        Assert.assertEquals((0..<COUNT).minOf { provider.y(it) }, set.yMin, 0f)
+        Assert.assertEquals((0..<COUNT).maxOf { provider.y(it) }, set.yMax, 0f)
+
+        var invalidations = 0
+        set.prefetch(10_000f, 10_400f, 0f) { invalidations++ }
+
+        // nothing is applied while the page is in flight
+        Assert.assertEquals(200, set.entryCount)
+        runLoads()
+        Assert.assertEquals(1, invalidations)
+
+        set.prefetch(10_000f, 10_400f, 0f, null)
+        Assert.assertEquals(listOf(20), loadedPages(set))
+        Assert.assertEquals(99 * 2 + PAGE_SIZE, set.entryCount)
+
+        for (i in 1..<set.entryCount) {
+            Assert.assertTrue(set.getXForIndex(i) >= set.getXForIndex(i - 1))
+        }
+
+        val index = set.getEntryIndex(10_200f, Float.NaN, DataSet.Rounding.CLOSEST)
+        Assert.assertEquals(10_200f, set.getXForIndex(index), 0f)
+        Assert.assertEquals(provider.y(20_400), set.getYForIndex(index), 0f)
+
+        set.calcMinMaxY(10_050f, 10_150f)
+        Assert.assertEquals((20_100..20_300).minOf { provider.y(it) }, set.yMin, 0f)
+        Assert.assertEquals((20_100..20_300).maxOf { provider.y(it) }, set.yMax, 0f)
+    }
+
+    @Test
+    fun testPrefetchAheadOfFling() {
+        val provider = TestProvider()
+        val set = createSet(provider)
+
+        // 3 000 x-values per second cover 1 500 in half a second, pages 21 - 23 plus 2
+        set.prefetch(10_000f, 10_400f, 3_000f, null)
+        runLoads()
+        set.prefetch(10_000f, 10_400f, 3_000f, null)
+        Assert.assertEquals((19..25).toList(), loadedPages(set))
+
+        // panning to lower x-values prefetches to the left, the cache stays bounded
+        var fromX = 10_000f
+        while (fromX > 2_000f) {
+            set.prefetch(fromX, fromX + 400f, 0f, null)
+            runLoads()
+            fromX -= 300f
+        }
+        set.prefetch(2_000f, 2_400f, 0f, null)
+        Assert.assertEquals(8, set.loadedPageCount)
+        Assert.assertTrue(loadedPages(set).containsAll(listOf(2, 3, 4)))
+    }
+
+    @Test
+    fun testSkipsStaleRequests() {
+        val provider = TestProvider()
+        val set = createSet(provider)
+
+        set.prefetch(30_000f, 30_100f, 0f, null)
+        set.prefetch(40_000f, 40_100f, 0f, null)
+        runLoads()
+        set.prefetch(40_000f, 40_100f, 0f, null)
+
+        // page 60 is no longer wanted when the loader gets to it
+        Assert.assertEquals((79..82).toList(), loadedPages(set))
+        Assert.assertEquals(4, provider.loads)
+
+        // zoomed out beyond the cache, the summary is drawn and nothing is loaded
+        set.prefetch(0f, 49_999.5f, 0f, null)
+        Assert.assertTrue(queue.isEmpty())
+    }
+
+    @Test
+    fun testLoadErrorAndReload() {
+        val provider = TestProvider()
+        val set = createSet(provider)
+
+        provider.failing = true
+        set.prefetch(100f, 200f, 0f, null)
+        runLoads()
+        set.prefetch(100f, 200f, 0f, null)
+        Assert.assertNotNull(set.loadError)
+        Assert.assertEquals(0, set.loadedPageCount)
+
+        // requested again by the next frame
+        provider.failing = false
+        runLoads()
+        set.prefetch(100f, 200f, 0f, null)
+        Assert.assertEquals(listOf(0), loadedPages(set))
+
+        set.reload()
+        Assert.assertEquals(0, set.loadedPageCount)
+        Assert.assertEquals(200, set.entryCount)
+
+        try {
+            set.removeFirst()
+            Assert.fail()
+        } catch (e: UnsupportedOperationException) {
+            // expected
+        }
+    }
+
+    companion object {
+        private const val COUNT = 100_000
+        private const val PAGE_SIZE = 1_000
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.data.Entry
+import com.github.mikephil.charting.data.LineData
+import com.github.mikephil.charting.data.LineDataSet
+import com.github.mikephil.charting.jobs.PrepareDataJob
+import org.junit.Assert
+import org.junit.Test
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+class PrepareDataJobTest {
+
+    private fun createData(offset: Float): LineData {
+        val entries = ArrayList<Entry>()
+        for (i in 0..<1_000) {
+            entries.add(Entry(i.toFloat(), i.toFloat() + offset))
+        }
+        val set = LineDataSet(entries, "")
+        set.setLodEnabled(true)
+        return LineData(set)
+    }
+
+    @Test
+    fun testPreparesData() {
+        val data = createData(0f)
+        val set = data.getDataSetByIndex(0) as LineDataSet
+
+        // modified without notifying, the job has to recalculate
+        set.getEntryForIndex(500).y = 5_000f
+
+        val generation = AtomicLong(1)
+        var prepared: PrepareDataJob<LineData>? = null
+        val job = PrepareDataJob(data, 1, generation, null) { prepared = it }
+        job.run()
+
+        Assert.assertSame(job, prepared)
+        Assert.assertFalse(job.isCancelled)
+        Assert.assertEquals(5_000f, set.yMax, 0f)
+        Assert.assertEquals(5_000f, data.yMax, 0f)
+        Assert.assertEquals(1_000, set.lodPyramid.entryCount)
+        Assert.assertNull(job.legendEntries)
+    }
+
+    @Test
+    fun testStaleGenerationsAreDropped() {
+        val generation = AtomicLong()
+        val delivered = AtomicInteger(-1)
+        val executor = Executors.newSingleThreadExecutor()
+
+        // like a chart that gets new data faster than it can be prepared
+        for (i in 0..<20) {
+            val current = generation.incrementAndGet()
+            val data = createData(i.toFloat())
+            executor.submit(PrepareDataJob(data, current, generation, null) {
+                delivered.set(i)
+            })
+        }
+
+        executor.shutdown()
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS))
+
+        // only the newest generation may ever be delivered
+        Assert.assertEquals(19, delivered.get())
+
+        val stale = PrepareDataJob(createData(0f), 1, generation, null) {
+            Assert.fail("stale data must not be delivered")
+        }
+        stale.run()
+        Assert.assertTrue(stale.isCancelled)
+    }
+}
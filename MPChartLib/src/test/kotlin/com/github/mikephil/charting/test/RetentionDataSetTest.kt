@@ -0,0 +1,152 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.data.DataSet
+import com.github.mikephil.charting.data.Entry
+import com.github.mikephil.charting.data.LineData
+import com.github.mikephil.charting.data.RetentionLineDataSet
+import com.github.mikephil.charting.data.RollupTier
+import com.github.mikephil.charting.data.TimeEntry
+import org.junit.Assert
+import org.junit.Test
+
+class RetentionDataSetTest {
+
+    private fun createSet(): RetentionLineDataSet {
+        // 100 time units raw, 10-unit buckets for 1 000 units, 100-unit buckets for 10 000
+        return RetentionLineDataSet("", 100, 1_000, RollupTier(10, 1_000), RollupTier(100, 10_000))
+    }
+
+    private fun value(time: Int) = ((time * 31) % 97).toFloat()
+
+    @Test
+    fun testRollups() {
+        val set = createSet()
+        for (t in 0..<5_000) {
+            set.addEntry(t.toLong(), value(t))
+        }
+
+        // raw: (4899, 4999], tier 0: the buckets ending after 3999, tier 1: the rest
+        Assert.assertEquals(100, set.rawEntryCount)
+        Assert.assertEquals(91, set.getTier(0).size())
+        Assert.assertEquals(40, set.getTier(1).size())
+        Assert.assertEquals(2 * 40 + 2 * 91 + 100, set.entryCount)
+        Assert.assertEquals(0L, set.droppedCount)
+
+        var total = set.rawEntryCount.toLong()
+        for (t in 0..<set.tierCount) {
+            val tier = set.getTier(t)
+            for (i in 0..<tier.size()) {
+                total += tier.getCount(i)
+
+                // the newest bucket of a tier ends where the next finer one starts
+                val start = tier.getStartTime(i).toInt()
+                val end = minOf(start + tier.bucketWidth.toInt(), if (t == 0) 4_900 else 3_990)
+                val values = (start..<end).map { value(it) }
+                Assert.assertEquals(values.min(), tier.getMin(i), 0f)
+                Assert.assertEquals(values.max(), tier.getMax(i), 0f)
+                Assert.assertEquals(values.average().toFloat(), tier.getAverage(i), 1e-4f)
+            }
+        }
+        Assert.assertEquals(5_000L, total)
+
+        // all tiers form one series sorted by time
+        for (i in 1..<set.entryCount) {
+            Assert.assertTrue(set.getTimeForIndex(i) >= set.getTimeForIndex(i - 1))
+        }
+        Assert.assertEquals(0f, set.xMin, 0f)
+        Assert.assertEquals(4_999f, set.xMax, 0f)
+        Assert.assertEquals(0f, set.yMin, 0f)
+        Assert.assertEquals(96f, set.yMax, 0f)
+
+        // the visible range picks the matching tier
+        val index = set.getEntryIndex(250f, Float.NaN, DataSet.Rounding.CLOSEST)
+        Assert.assertEquals(200L, set.getTier(1).getStartTime(index / 2))
+
+        // the entries are created on demand and found by their values
+        val entry = set.getEntryForIndex(set.entryCount - 1) as TimeEntry
+        Assert.assertEquals(4_999L, entry.time)
+        Assert.assertTrue(set.contains(entry))
+        Assert.assertFalse(set.contains(Entry(entry.x, entry.y + 1f)))
+        Assert.assertThrows(IllegalStateException::class.java) { set.setYRangeIndexEnabled(true) }
+
+        Assert.assertEquals(12L * 1_000 + 2 * RollupTier.BYTES_PER_BUCKET * 102L, set.memoryBound)
+    }
+
+    @Test
+    fun testLateAndDroppedValues() {
+        val set = createSet()
+        for (t in 0..<5_000) {
+            set.addEntry(t.toLong(), value(t))
+        }
+
+        // among the raw values
+        set.addEntry(4_950, 200f)
+        Assert.assertEquals(101, set.rawEntryCount)
+        Assert.assertEquals(200f, set.yMax, 0f)
+
+        // into an existing bucket of the first tier
+        val bucket = set.getTier(0).size() - 1
+        val count = set.getTier(0).getCount(bucket)
+        set.addEntry(set.getTier(0).getStartTime(bucket), -1f)
+        Assert.assertEquals(count + 1, set.getTier(0).getCount(bucket))
+        Assert.assertEquals(-1f, set.yMin, 0f)
+
+        // older than everything
+        set.addEntry(-500, 0f)
+        Assert.assertEquals(1L, set.droppedCount)
+
+        // jump ahead, the last tier drops what is older than its span
+        set.addEntry(14_000, 5f)
+        Assert.assertTrue(set.droppedCount > 1)
+        Assert.assertEquals(1, set.rawEntryCount)
+        for (i in 1..<set.entryCount) {
+            Assert.assertTrue(set.getTimeForIndex(i) >= set.getTimeForIndex(i - 1))
+        }
+        Assert.assertTrue(set.getTimeForIndex(0) > 14_000 - 10_000 - 100)
+
+        set.clear()
+        Assert.assertEquals(0, set.entryCount)
+        Assert.assertEquals(0L, set.droppedCount)
+    }
+
+    @Test
+    fun testRawCapacity() {
+        val set = RetentionLineDataSet("", 1_000, 50, RollupTier(10, 1_000))
+        for (t in 0..<200) {
+            set.addEntry(t.toLong(), t.toFloat())
+        }
+
+        // the raw capacity rolls values up before they leave the raw span
+        Assert.assertEquals(50, set.rawEntryCount)
+        Assert.assertEquals(150L, (0..<set.getTier(0).size()).sumOf { set.getTier(0).getCount(it).toLong() })
+        Assert.assertEquals(set.maxEntryCount, 50 + 2 * set.getTier(0).capacity)
+
+        // values are only removed by the tiers
+        val count = set.entryCount
+        Assert.assertFalse(set.removeFirst())
+        Assert.assertFalse(set.removeLast())
+        Assert.assertFalse(set.removeEntry(0))
+        Assert.assertEquals(count, set.entryCount)
+    }
+
+    @Test
+    fun testOrigin() {
+        val start = 1_700_000_000_000L
+        val set = createSet()
+        for (t in 0..<300) {
+            set.addEntry(start + t, value(t))
+        }
+
+        val data = LineData(set)
+        Assert.assertEquals(start, data.xOrigin)
+        Assert.assertEquals(start, set.origin)
+        Assert.assertEquals(start + 299, data.getTimeForX(set.xMax))
+
+        val copy = set.copy() as RetentionLineDataSet
+        Assert.assertEquals(set.entryCount, copy.entryCount)
+        for (i in 0..<set.entryCount) {
+            Assert.assertEquals(set.getTimeForIndex(i), copy.getTimeForIndex(i))
+            Assert.assertEquals(set.getYForIndex(i), copy.getYForIndex(i), 0f)
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.data.RingBufferLineDataSet
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * One hour of data at 1 kHz through a RingBufferLineDataSet that holds one minute. Append
+ * and evict should be far cheaper than the 1 ms there is per sample.
+ */
+class RingBufferBenchmark {
+
+    @Before
+    fun assumeEnabled() = Benchmarks.assumeEnabled()
+
+    @Test
+    fun benchmarkIngestion() {
+        // one hour of data at 1 kHz through a window of one minute
+        val rate = 1_000
+        val samples = 3_600 * rate
+        val set = RingBufferLineDataSet(60 * rate, "")
+
+        val start = System.nanoTime()
+        for (i in 0..<samples) {
+            set.addEntry(i.toFloat() / rate, (i % 997).toFloat())
+        }
+        val seconds = (System.nanoTime() - start) / 1e9
+
+        val throughput = samples / seconds
+        Benchmarks.report("RingBufferLineDataSet: %.0f values/s (%.1f%% of one core at 1 kHz)".format(throughput, rate * 100 / throughput))
+
+        Assert.assertEquals(60 * rate, set.entryCount)
+        Assert.assertEquals(0f, set.yMin, 0f)
+        Assert.assertEquals(996f, set.yMax, 0f)
+    }
+}
@@ -0,0 +1,119 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.data.DataSet
+import com.github.mikephil.charting.data.Entry
+import com.github.mikephil.charting.data.RingBufferLineDataSet
+import org.junit.Assert
+import org.junit.Test
+import java.util.Random
+
+class RingBufferDataSetTest {
+    @Test
+    fun testOverwriteOldest() {
+        val set = RingBufferLineDataSet(5, "")
+
+        for (i in 0..<12) {
+            set.addEntry(i.toFloat(), i.toFloat() * 10f)
+        }
+
+        Assert.assertEquals(5, set.entryCount)
+        Assert.assertEquals(7f, set.getXForIndex(0), 0.01f)
+        Assert.assertEquals(11f, set.getXForIndex(4), 0.01f)
+        Assert.assertEquals(7f, set.xMin, 0.01f)
+        Assert.assertEquals(11f, set.xMax, 0.01f)
+        Assert.assertEquals(70f, set.yMin, 0.01f)
+        Assert.assertEquals(110f, set.yMax, 0.01f)
+
+        Assert.assertEquals(80f, set.getEntryForIndex(1).y, 0.01f)
+
+        Assert.assertTrue(set.removeFirst())
+        Assert.assertEquals(4, set.entryCount)
+        Assert.assertEquals(80f, set.yMin, 0.01f)
+
+        Assert.assertTrue(set.removeLast())
+        Assert.assertEquals(3, set.entryCount)
+        Assert.assertEquals(100f, set.yMax, 0.01f)
+        Assert.assertEquals(10f, set.xMax, 0.01f)
+
+        set.clear()
+        Assert.assertEquals(0, set.entryCount)
+        Assert.assertFalse(set.removeFirst())
+    }
+
+    @Test
+    fun testMinMaxMatchesRescan() {
+        val random = Random(42)
+        val capacity = 100
+        val set = RingBufferLineDataSet(capacity, "")
+        val all = ArrayList<Float>()
+
+        for (i in 0..<2_000) {
+            val y = random.nextFloat() * 200f - 100f
+            all.add(y)
+
+            if (i % 7 == 3) {
+                set.addEntry(Entry(i.toFloat(), y))
+            } else {
+                set.addEntry(i.toFloat(), y)
+            }
+
+            val window = all.subList(maxOf(0, all.size - capacity), all.size)
+            Assert.assertEquals(window.size, set.entryCount)
+            Assert.assertEquals(window.min(), set.yMin, 0f)
+            Assert.assertEquals(window.max(), set.yMax, 0f)
+        }
+
+        // evict from the front until empty, checking against a rescan every step
+        while (set.entryCount > 0) {
+            var min = Float.MAX_VALUE
+            var max = -Float.MAX_VALUE
+            for (i in 0..<set.entryCount) {
+                min = minOf(min, set.getYForIndex(i))
+                max = maxOf(max, set.getYForIndex(i))
+            }
+            Assert.assertEquals(min, set.yMin, 0f)
+            Assert.assertEquals(max, set.yMax, 0f)
+            Assert.assertTrue(set.removeFirst())
+        }
+    }
+
+    @Test
+    fun testGetEntryIndexOverWrappedRange() {
+        val set = RingBufferLineDataSet(8, "")
+
+        // 13 values in a buffer of 8, so the oldest value sits in the middle of the array
+        for (i in 0..<13) {
+            set.addEntry(i * 2f, i.toFloat())
+        }
+
+        // kept: x = 10, 12, ..., 24
+        Assert.assertEquals(0, set.getEntryIndex(10f, Float.NaN, DataSet.Rounding.CLOSEST))
+        Assert.assertEquals(0, set.getEntryIndex(0f, Float.NaN, DataSet.Rounding.CLOSEST))
+        Assert.assertEquals(7, set.getEntryIndex(24f, Float.NaN, DataSet.Rounding.CLOSEST))
+        Assert.assertEquals(7, set.getEntryIndex(100f, Float.NaN, DataSet.Rounding.CLOSEST))
+        Assert.assertEquals(3, set.getEntryIndex(17f, Float.NaN, DataSet.Rounding.DOWN))
+        Assert.assertEquals(4, set.getEntryIndex(17f, Float.NaN, DataSet.Rounding.UP))
+
+        for (i in 0..<set.entryCount) {
+            Assert.assertEquals(i, set.getEntryIndex(set.getXForIndex(i), Float.NaN, DataSet.Rounding.CLOSEST))
+        }
+
+        Assert.assertEquals(18f, set.getEntryForXValue(18.5f, Float.NaN).x, 0.01f)
+
+        set.calcMinMaxY(13f, 19f)
+        Assert.assertEquals(6f, set.yMin, 0.01f)
+        Assert.assertEquals(10f, set.yMax, 0.01f)
+    }
+
+    @Test
+    fun testUnsupportedOptions() {
+        val set = RingBufferLineDataSet(5, "")
+
+        set.setYRangeIndexEnabled(false)
+        set.setLodEnabled(false)
+        Assert.assertThrows(IllegalStateException::class.java) { set.setYRangeIndexEnabled(true) }
+        Assert.assertThrows(IllegalStateException::class.java) { set.setLodEnabled(true) }
+        Assert.assertFalse(set.isYRangeIndexEnabled)
+        Assert.assertFalse(set.isLodEnabled)
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.mikephil.charting.test
+
+import android.graphics.Canvas
+import android.graphics.Paint
+import com.github.mikephil.charting.animation.ChartAnimator
+import com.github.mikephil.charting.data.Entry
+import com.github.mikephil.charting.data.ScatterData
+import com.github.mikephil.charting.data.ScatterDataSet
+import com.github.mikephil.charting.interfaces.datasets.IScatterDataSet
+import com.github.mikephil.charting.charts.ScatterChart.ScatterShape
+import com.github.mikephil.charting.renderer.ScatterChartRenderer
+import com.github.mikephil.charting.renderer.scatter.IShapeRenderer
+import com.github.mikephil.charting.utils.ViewPortHandler
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import java.util.Random
+
+/**
+ * Draws a scatter DataSet of 100k points, fully zoomed out and zoomed to 1% of the
+ * values, through the ScatterChartRenderer. The unit tests see the stubbed
+ * android.graphics classes, so the Transformer leaves the values as they are and the
+ * content rect is set to the visible values; the shapes are counted instead of drawn.
+ * Also renders 100k shapes of every built-in shape one by one and batched, which only
+ * measures the work outside of the (stubbed) Canvas.
+ */
+class ScatterChartRendererBenchmark {
+
+    private class CountingShapeRenderer : IShapeRenderer {
+        var count = 0
+
+        override fun renderShape(
+            canvas: Canvas, dataSet: IScatterDataSet, viewPortHandler: ViewPortHandler?,
+            posX: Float, posY: Float, renderPaint: Paint
+        ) {
+            count++
+        }
+    }
+
+    @Before
+    fun assumeEnabled() = Benchmarks.assumeEnabled()
+
+    @Test
+    fun benchmarkDrawScatter() {
+        val random = Random(1)
+        val entries = (0..<COUNT).map { Entry(it.toFloat(), random.nextFloat() * 100f) }
+        val shapeRenderer = CountingShapeRenderer()
+        val dataSet = ScatterDataSet(entries, "").apply { this.shapeRenderer = shapeRenderer }
+
+        val viewPortHandler = ViewPortHandler()
+        val provider = ScatterDataProviderStub(ScatterData(dataSet), viewPortHandler)
+        val renderer = ScatterChartRenderer(provider, ChartAnimator(), viewPortHandler)
+        val canvas = Canvas()
+
+        for ((from, to) in arrayOf(0f to COUNT - 1f, COUNT / 2f to COUNT / 2f + COUNT / 100f)) {
+            provider.lowestVisibleX = from
+            provider.highestVisibleX = to
+            viewPortHandler.contentRect.left = from
+            viewPortHandler.contentRect.right = to
+            viewPortHandler.contentRect.top = 0f
+            viewPortHandler.contentRect.bottom = 100f
+
+            var nanos = Long.MAX_VALUE
+            for (round in 0..<ROUNDS) {
+                shapeRenderer.count = 0
+                val start = System.nanoTime()
+                renderer.drawData(canvas)
+                nanos = minOf(nanos, System.nanoTime() - start)
+            }
+
+            Benchmarks.report("%d points, %d visible: %.2f ms per frame".format(COUNT, shapeRenderer.count, nanos / 1e6))
+
+            // every visible point is drawn once, the ones outside the content rect are culled
+            Assert.assertTrue(shapeRenderer.count >= (to - from).toInt())
+            Assert.assertTrue(shapeRenderer.count <= (to - from).toInt() + 4)
+        }
+    }
+
+    @Test
+    fun benchmarkShapeRenderers() {
+        val random = Random(1)
+        val positions = FloatArray(COUNT * 2) { random.nextFloat() * 1000f }
+        val dataSet = ScatterDataSet(mutableListOf(Entry(0f, 0f)), "").apply { scatterShapeHoleRadius = 2f }
+        val canvas = Canvas()
+        val paint = Paint()
+
+        for (shape in ScatterShape.entries) {
+            val shapeRenderer = ScatterDataSet.getRendererForShape(shape)
+
+            var singleNanos = Long.MAX_VALUE
+            var batchNanos = Long.MAX_VALUE
+            for (round in 0..<ROUNDS) {
+                var start = System.nanoTime()
+                for (i in 0..<COUNT) {
+                    shapeRenderer.renderShape(canvas, dataSet, null, positions[2 * i], positions[2 * i + 1], paint)
+                }
+                singleNanos = minOf(singleNanos, System.nanoTime() - start)
+
+                start = System.nanoTime()
+                shapeRenderer.renderShapes(canvas, dataSet, null, positions, COUNT, paint)
+                batchNanos = minOf(batchNanos, System.nanoTime() - start)
+            }
+
+            Benchmarks.report("%s: one by one %.2f ms, batched %.2f ms".format(shape, singleNanos / 1e6, batchNanos / 1e6))
+        }
+    }
+
+    companion object {
+        private const val COUNT = 100_000
+        private const val ROUNDS = 20
+    }
+}
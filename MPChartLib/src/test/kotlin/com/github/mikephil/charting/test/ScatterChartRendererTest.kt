@@ -0,0 +1,82 @@
+package com.github.mikephil.charting.test
+
+import android.graphics.Canvas
+import android.graphics.Color
+import android.graphics.Paint
+import com.github.mikephil.charting.animation.ChartAnimator
+import com.github.mikephil.charting.data.Entry
+import com.github.mikephil.charting.data.ScatterData
+import com.github.mikephil.charting.data.ScatterDataSet
+import com.github.mikephil.charting.interfaces.datasets.IScatterDataSet
+import com.github.mikephil.charting.renderer.ScatterChartRenderer
+import com.github.mikephil.charting.renderer.scatter.IShapeRenderer
+import com.github.mikephil.charting.utils.ViewPortHandler
+import org.junit.Assert
+import org.junit.Test
+
+class ScatterChartRendererTest {
+
+    /**
+     * Records the x-positions of every batch.
+     */
+    private class RecordingShapeRenderer : IShapeRenderer {
+        val batches = ArrayList<List<Float>>()
+
+        override fun renderShape(
+            canvas: Canvas, dataSet: IScatterDataSet, viewPortHandler: ViewPortHandler?,
+            posX: Float, posY: Float, renderPaint: Paint
+        ) {
+            Assert.fail("Expected batched rendering")
+        }
+
+        override fun renderShapes(
+            canvas: Canvas, dataSet: IScatterDataSet, viewPortHandler: ViewPortHandler?,
+            positions: FloatArray, count: Int, renderPaint: Paint
+        ) {
+            batches.add((0..<count).map { positions[2 * it] })
+        }
+    }
+
+    private fun draw(dataSet: ScatterDataSet, from: Float, to: Float) {
+        val viewPortHandler = ViewPortHandler()
+        viewPortHandler.contentRect.left = from
+        viewPortHandler.contentRect.right = to
+        viewPortHandler.contentRect.top = 0f
+        viewPortHandler.contentRect.bottom = 100f
+
+        val provider = ScatterDataProviderStub(ScatterData(dataSet), viewPortHandler)
+        provider.lowestVisibleX = from
+        provider.highestVisibleX = to
+
+        ScatterChartRenderer(provider, ChartAnimator(), viewPortHandler).drawData(Canvas())
+    }
+
+    @Test
+    fun testSingleColorIsOneBatch() {
+        val shapeRenderer = RecordingShapeRenderer()
+        val dataSet = ScatterDataSet((0..<100).map { Entry(it.toFloat(), 50f) }, "")
+        dataSet.shapeRenderer = shapeRenderer
+
+        draw(dataSet, 20f, 29f)
+
+        Assert.assertEquals(1, shapeRenderer.batches.size)
+        Assert.assertEquals((20..29).map { it.toFloat() }, shapeRenderer.batches[0])
+    }
+
+    @Test
+    fun testBatchesPerColor() {
+        val shapeRenderer = RecordingShapeRenderer()
+        val entries = (0..<100).map { Entry(it.toFloat(), if (it == 24) 500f else 50f) }
+        val dataSet = ScatterDataSet(entries, "")
+        dataSet.shapeRenderer = shapeRenderer
+        dataSet.setColors(Color.RED, Color.BLUE)
+
+        draw(dataSet, 20f, 29f)
+
+        // entries 2n and 2n + 1 share a color, entry 24 is above the content rect
+        Assert.assertEquals(
+            listOf(listOf(20f, 21f), listOf(22f, 23f), listOf(25f), listOf(26f, 27f), listOf(28f, 29f)),
+            shapeRenderer.batches
+        )
+    }
+}
@@ -0,0 +1,41 @@
+package com.github.mikephil.charting.test
+
+import android.graphics.RectF
+import com.github.mikephil.charting.components.YAxis.AxisDependency
+import com.github.mikephil.charting.data.ScatterData
+import com.github.mikephil.charting.formatter.DefaultValueFormatter
+import com.github.mikephil.charting.formatter.IValueFormatter
+import com.github.mikephil.charting.interfaces.dataprovider.ScatterDataProvider
+import com.github.mikephil.charting.utils.MPPointF
+import com.github.mikephil.charting.utils.Transformer
+import com.github.mikephil.charting.utils.ViewPortHandler
+
+/**
+ * Provides the data and the visible range to a ScatterChartRenderer without a chart.
+ */
+internal class ScatterDataProviderStub(private val data: ScatterData, private val viewPortHandler: ViewPortHandler) : ScatterDataProvider {
+    private val transformer = Transformer(viewPortHandler)
+
+    override var lowestVisibleX = 0f
+    override var highestVisibleX = 0f
+    override val lineApproximationTolerance = 0f
+    override val lineDownsamplingFactor = 0f
+
+    override fun getScatterData() = data
+    override fun getData() = data
+    override fun getTransformer(axis: AxisDependency?) = transformer
+    override fun isInverted(axis: AxisDependency?) = false
+    override fun getXChartMin() = data.xMin
+    override fun getXChartMax() = data.xMax
+    override fun getXRange() = data.xMax - data.xMin
+    override fun getYChartMin() = data.yMin
+    override fun getYChartMax() = data.yMax
+    override fun getMaxHighlightDistance() = 0f
+    override fun getWidth() = 0
+    override fun getHeight() = 0
+    override fun getCenterOfView(): MPPointF = MPPointF.getInstance(0f, 0f)
+    override fun getCenterOffsets(): MPPointF = MPPointF.getInstance(0f, 0f)
+    override fun getContentRect(): RectF = viewPortHandler.contentRect
+    override fun getDefaultValueFormatter(): IValueFormatter = DefaultValueFormatter(1)
+    override fun getMaxVisibleCount() = 100
+}
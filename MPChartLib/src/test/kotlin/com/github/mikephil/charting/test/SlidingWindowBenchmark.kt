@@ -0,0 +1,69 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.data.DequeLineDataSet
+import com.github.mikephil.charting.data.Entry
+import com.github.mikephil.charting.data.LineDataSet
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import java.util.Random
+
+/**
+ * A sliding window of 1M entries fed at 500 Hz: each tick appends one entry and trims the
+ * oldest one with removeFirst(), once with the default ArrayList storage and once with
+ * a DequeLineDataSet, for random values and for a rising signal, where every removed
+ * entry is the minimum. A tick should finish well within the 2 ms between two samples.
+ */
+class SlidingWindowBenchmark {
+
+    @Before
+    fun assumeEnabled() = Benchmarks.assumeEnabled()
+
+    @Test
+    fun benchmarkSlidingWindow() {
+        val listNanos = slide(LineDataSet(ArrayList(), ""), 200, false)
+        val dequeNanos = slide(DequeLineDataSet(""), 100_000, false)
+        val risingNanos = slide(DequeLineDataSet(""), 100_000, true)
+
+        Benchmarks.report(
+            "window of %d at %d Hz: ArrayList %d µs per tick, EntryDeque %d ns per tick, rising signal %d ns per tick"
+                .format(WINDOW, RATE, listNanos / 1_000, dequeNanos, risingNanos)
+        )
+    }
+
+    /**
+     * Returns the average nanoseconds per tick.
+     */
+    private fun slide(set: LineDataSet, ticks: Int, rising: Boolean): Long {
+        val random = Random(1)
+        var x = 0f
+        var sample = 0
+
+        fun next() = if (rising) (sample++).toFloat() else random.nextFloat()
+
+        for (i in 0..<WINDOW) {
+            set.addEntry(Entry(x, next()))
+            x += 1f / RATE
+        }
+
+        val start = System.nanoTime()
+
+        for (tick in 0..<ticks) {
+            set.addEntry(Entry(x, next()))
+            set.removeFirst()
+            x += 1f / RATE
+        }
+
+        val nanos = (System.nanoTime() - start) / ticks
+
+        Assert.assertEquals(WINDOW, set.entryCount)
+        Assert.assertEquals(set.getEntryForIndex(0).x, set.xMin, 0f)
+        if (rising) Assert.assertEquals(set.getEntryForIndex(0).y, set.yMin, 0f)
+        return nanos
+    }
+
+    companion object {
+        private const val WINDOW = 1_000_000
+        private const val RATE = 500
+    }
+}
@@ -0,0 +1,243 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.data.DataSet
+import com.github.mikephil.charting.data.Entry
+import com.github.mikephil.charting.data.EntrySnapshot
+import com.github.mikephil.charting.data.LineData
+import com.github.mikephil.charting.data.SnapshotLineDataSet
+import org.junit.Assert
+import org.junit.Test
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicReference
+import kotlin.concurrent.thread
+
+class SnapshotDataSetTest {
+    @Test
+    fun testPinnedSnapshotIsStable() {
+        val set = SnapshotLineDataSet("")
+        for (i in 0..<10_000) {
+            set.addEntry(i.toFloat(), i.toFloat() * 2f)
+        }
+
+        val pinned = set.pinSnapshot()
+        Assert.assertEquals(10_000, set.entryCount)
+
+        // modifications after pinning are not visible until unpinned
+        set.removeFirst(5_000)
+        set.removeLast()
+        for (i in 10_000..<10_100) {
+            set.addEntry(i.toFloat(), -1f)
+        }
+        set.addEntry(7_000.5f, 1_000_000f)
+
+        Assert.assertEquals(10_000, set.entryCount)
+        Assert.assertEquals(0f, set.xMin, 0f)
+        Assert.assertEquals(9_999f, set.xMax, 0f)
+        Assert.assertEquals(19_998f, set.yMax, 0f)
+        Assert.assertEquals(9_999f, set.getEntryForIndex(9_999).x, 0f)
+        Assert.assertEquals(4_000f, set.getEntryForXValue(4_000f, Float.NaN).x, 0f)
+        for (i in 0..<pinned.size()) {
+            Assert.assertEquals(i * 2f, pinned.getY(i), 0f)
+        }
+
+        set.unpinSnapshot()
+
+        Assert.assertEquals(5_000 - 1 + 100 + 1, set.entryCount)
+        Assert.assertEquals(5_000f, set.xMin, 0f)
+        Assert.assertEquals(10_099f, set.xMax, 0f)
+        Assert.assertEquals(-1f, set.yMin, 0f)
+        Assert.assertEquals(1_000_000f, set.yMax, 0f)
+        Assert.assertEquals(7_000.5f, set.getEntryForIndex(2_001).x, 0f)
+    }
+
+    @Test
+    fun testModifications() {
+        val set = SnapshotLineDataSet("")
+        set.addEntries(floatArrayOf(0f, 1f, 2f, 3f, 4f), floatArrayOf(5f, 1f, 9f, 3f, 4f), 0, 5)
+
+        Assert.assertTrue(set.removeEntry(2))
+        Assert.assertEquals(4, set.entryCount)
+        Assert.assertEquals(3f, set.getXForIndex(2), 0f)
+        Assert.assertEquals(5f, set.yMax, 0f)
+
+        Assert.assertTrue(set.removeEntry(Entry(0f, 5f)))
+        Assert.assertEquals(4f, set.yMax, 0f)
+        Assert.assertFalse(set.removeEntry(Entry(0f, 5f)))
+
+        set.addEntries(floatArrayOf(3.5f, -1f), floatArrayOf(0f, 0f), 0, 2)
+        Assert.assertEquals(-1f, set.getXForIndex(0), 0f)
+        Assert.assertEquals(3.5f, set.getXForIndex(3), 0f)
+
+        set.calcMinMaxY(3f, 4f)
+        Assert.assertEquals(0f, set.yMin, 0f)
+        Assert.assertEquals(4f, set.yMax, 0f)
+
+        val version = set.version
+        set.clear()
+        Assert.assertEquals(0, set.entryCount)
+        Assert.assertTrue(set.version > version)
+
+        // removing from the front crosses several chunks
+        for (i in 0..<EntrySnapshot.CHUNK_SIZE * 3) {
+            set.addEntry(i.toFloat(), (i % 100).toFloat())
+        }
+        Assert.assertEquals(EntrySnapshot.CHUNK_SIZE * 2 + 10, set.removeFirst(EntrySnapshot.CHUNK_SIZE * 2 + 10))
+        Assert.assertEquals((EntrySnapshot.CHUNK_SIZE * 2 + 10).toFloat(), set.xMin, 0f)
+        Assert.assertEquals(0f, set.yMin, 0f)
+        Assert.assertEquals(99f, set.yMax, 0f)
+
+        val copy = set.copy() as SnapshotLineDataSet
+        set.addEntry(1e9f, 1f)
+        Assert.assertEquals(set.entryCount - 1, copy.entryCount)
+    }
+
+    @Test
+    fun testPinnedYRangeAndReplacedValues() {
+        val set = SnapshotLineDataSet("")
+        set.addEntries(floatArrayOf(0f, 1f, 2f, 3f), floatArrayOf(4f, 1f, 9f, 3f), 0, 4)
+
+        // the y-range of a range is calculated on the pinned snapshot, the pin is kept
+        val pinned = set.pinSnapshot()
+        set.addEntry(1.5f, 100f)
+        set.calcMinMaxY(1f, 2f)
+        Assert.assertEquals(pinned.size(), set.entryCount)
+        Assert.assertEquals(1f, set.yMin, 0f)
+        Assert.assertEquals(9f, set.yMax, 0f)
+        set.unpinSnapshot()
+
+        // replacing the values only publishes a snapshot, the y-range of the old one is not used
+        set.calcMinMaxY(0f, 3f)
+        val version = set.version
+        set.setEntries(listOf(Entry(0f, 1f), Entry(1f, 2f)))
+        Assert.assertEquals(2, set.entryCount)
+        Assert.assertTrue(set.version > version)
+        Assert.assertEquals(2f, set.yMax, 0f)
+
+        set.setYRangeIndexEnabled(false)
+        set.setLodEnabled(false)
+        Assert.assertThrows(IllegalStateException::class.java) { set.setYRangeIndexEnabled(true) }
+        Assert.assertThrows(IllegalStateException::class.java) { set.setLodEnabled(true) }
+        Assert.assertFalse(set.isYRangeIndexEnabled)
+        Assert.assertFalse(set.isLodEnabled)
+    }
+
+    @Test
+    fun testConcurrentWritersAndReader() {
+        val set = SnapshotLineDataSet("")
+        val data = LineData(set)
+
+        val writers = 4
+        val perWriter = 20_000
+        val next = AtomicInteger()
+        val failure = AtomicReference<Throwable>()
+        val done = CountDownLatch(writers)
+
+        val threads = (0..<writers).map { w ->
+            thread {
+                try {
+                    var i = 0
+                    while (i < perWriter) {
+                        // batches of varying size, x-values may arrive slightly out of order
+                        val len = minOf(1 + (i % 37), perWriter - i)
+                        val xs = FloatArray(len)
+                        val ys = FloatArray(len)
+                        for (k in 0..<len) {
+                            val x = next.getAndIncrement()
+                            xs[k] = x.toFloat()
+                            ys[k] = x.toFloat() * 2f
+                        }
+                        if (w == 0 && len == 1) set.addEntry(xs[0], ys[0]) else set.addEntries(xs, ys, 0, len)
+                        i += len
+                    }
+                } catch (t: Throwable) {
+                    failure.compareAndSet(null, t)
+                } finally {
+                    done.countDown()
+                }
+            }
+        }
+
+        // the reader plays the UI thread, pinning one snapshot per frame
+        var frames = 0
+        while (done.count > 0 || frames < 10) {
+            data.onBeginDraw(0f, Float.MAX_VALUE, 0f) {}
+            assertConsistent(set)
+            data.onEndDraw()
+            frames++
+        }
+        threads.forEach { it.join() }
+        failure.get()?.let { throw it }
+
+        data.onBeginDraw(0f, Float.MAX_VALUE, 0f) {}
+        Assert.assertEquals(writers * perWriter, set.entryCount)
+        assertConsistent(set)
+        for (i in 0..<set.entryCount) {
+            Assert.assertEquals(i.toFloat(), set.getXForIndex(i), 0f)
+        }
+        data.onEndDraw()
+    }
+
+    @Test
+    fun testSlidingWindowWithConcurrentReader() {
+        val set = SnapshotLineDataSet("")
+        val window = 5_000
+        val total = 200_000
+        val failure = AtomicReference<Throwable>()
+
+        val writer = thread {
+            try {
+                for (i in 0..<total) {
+                    set.addEntry(i.toFloat(), i.toFloat() * 2f)
+                    if (set.snapshot.size() > window) set.removeFirst()
+                }
+            } catch (t: Throwable) {
+                failure.compareAndSet(null, t)
+            }
+        }
+
+        while (writer.isAlive) {
+            set.pinSnapshot()
+            assertConsistent(set)
+            Assert.assertTrue(set.entryCount <= window + 1)
+            set.unpinSnapshot()
+        }
+        writer.join()
+        failure.get()?.let { throw it }
+
+        Assert.assertEquals(window, set.entryCount)
+        Assert.assertEquals((total - window).toFloat(), set.xMin, 0f)
+        Assert.assertEquals((total - 1).toFloat(), set.xMax, 0f)
+    }
+
+    /**
+     * Checks a frame's worth of reads against each other: sorted x-values, y == 2x, the
+     * bounds and the lookups all agree with the entry count read first.
+     */
+    private fun assertConsistent(set: SnapshotLineDataSet) {
+        val count = set.entryCount
+        if (count == 0) return
+
+        var previous = -Float.MAX_VALUE
+        var yMin = Float.MAX_VALUE
+        var yMax = -Float.MAX_VALUE
+        for (i in 0..<count) {
+            val x = set.getXForIndex(i)
+            val y = set.getYForIndex(i)
+            Assert.assertTrue(x >= previous)
+            Assert.assertEquals(x * 2f, y, 0f)
+            yMin = minOf(yMin, y)
+            yMax = maxOf(yMax, y)
+            previous = x
+        }
+
+        Assert.assertEquals(count, set.entryCount)
+        Assert.assertEquals(set.getXForIndex(0), set.xMin, 0f)
+        Assert.assertEquals(previous, set.xMax, 0f)
+        Assert.assertEquals(yMin, set.yMin, 0f)
+        Assert.assertEquals(yMax, set.yMax, 0f)
+
+        val last = set.getEntryForXValue(set.xMax, Float.NaN, DataSet.Rounding.CLOSEST)
+        Assert.assertEquals(previous, last.x, 0f)
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.utils.FileUtils
+import com.github.mikephil.charting.utils.FloatParser
+import com.github.mikephil.charting.utils.TextImporter
+import org.junit.Assert
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import java.nio.ByteBuffer
+import java.util.Random
+import java.util.concurrent.CancellationException
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.atomic.AtomicLong
+
+class TextImporterTest {
+
+    @get:Rule
+    val folder = TemporaryFolder()
+
+    @Test
+    fun testFloatParserMatchesParseFloat() {
+        val random = Random(11)
+        val values = ArrayList<String>()
+        repeat(200_000) {
+            values.add(java.lang.Float.intBitsToFloat(random.nextInt()).toString())
+            values.add((random.nextDouble() * Math.pow(10.0, random.nextInt(20) - 10.0)).toString())
+            values.add("%.${random.nextInt(8)}f".format((random.nextDouble() - 0.5) * 1e6))
+            values.add("${random.nextInt(2_000_000) - 1_000_000}e${random.nextInt(60) - 30}")
+        }
+        values.addAll(listOf("0", "-0", ".5", "1.", "16777217", "9007199254740993", "NaN", "-Infinity", "1e40"))
+
+        for (value in values) {
+            if (value.contains("NaN") && value != "NaN") continue
+            val bytes = " $value\r".toByteArray()
+            val parsed = FloatParser.parse(ByteBuffer.wrap(bytes), 0, bytes.size)
+            Assert.assertEquals(value, value.toFloat().toRawBits(), parsed.toRawBits())
+        }
+
+        try {
+            val bytes = "1.5x".toByteArray()
+            FloatParser.parse(ByteBuffer.wrap(bytes), 0, bytes.size)
+            Assert.fail("malformed values must be rejected")
+        } catch (e: NumberFormatException) {
+            // expected
+        }
+    }
+
+    @Test
+    fun testImportsInParallel() {
+        val random = Random(5)
+        val count = 200_000
+        val ys = FloatArray(count) { random.nextFloat() * 1_000f }
+
+        val file = folder.newFile("export.csv")
+        file.bufferedWriter().use { writer ->
+            writer.write("time,value,comment\n")
+            for (i in 0..<count) {
+                writer.write("$i,${ys[i]},\"ok\"\r\n")
+                if (i % 10_000 == 0) writer.write("\n")
+            }
+        }
+
+        val importer = TextImporter(',', 0, 1)
+        importer.setPool(ForkJoinPool(4))
+        val progress = AtomicLong()
+        importer.setProgressListener { parsed, total ->
+            Assert.assertEquals(file.length(), total)
+            progress.accumulateAndGet(parsed) { a, b -> maxOf(a, b) }
+        }
+
+        val columns = importer.importFile(file)
+
+        Assert.assertEquals(count, columns.size)
+        Assert.assertEquals(1, importer.skippedLineCount)
+        Assert.assertEquals(file.length(), progress.get())
+        for (i in 0..<count) {
+            Assert.assertEquals(i.toFloat(), columns.getX(i), 0f)
+            Assert.assertEquals(ys[i], columns.getY(i), 0f)
+        }
+
+        // the same text from memory, with the columns the other way around
+        val bytes = file.readBytes()
+        val swapped = TextImporter(',', 1, 0).importDataSet(bytes, 0, bytes.size, "swapped")
+        Assert.assertEquals(count, swapped.entryCount)
+        for (i in 1..<count) {
+            Assert.assertTrue(swapped.getXForIndex(i) >= swapped.getXForIndex(i - 1))
+        }
+        Assert.assertEquals((count - 1).toFloat(), swapped.yMax, 0f)
+    }
+
+    @Test
+    fun testCancellation() {
+        val file = folder.newFile("values.txt")
+        file.bufferedWriter().use { writer ->
+            for (i in 0..<300_000) {
+                writer.write("$i#${i * 0.5f}\n")
+            }
+        }
+
+        val importer = TextImporter('#', 0, 1)
+        importer.setProgressListener { parsed, total ->
+            if (parsed > total / 4) importer.cancel()
+        }
+
+        try {
+            importer.importFile(file)
+            Assert.fail("the import must be cancelled")
+        } catch (e: CancellationException) {
+            // expected
+        }
+        Assert.assertTrue(importer.isCancelled)
+
+        // a new import starts over
+        importer.setProgressListener(null)
+        Assert.assertEquals(300_000, importer.importFile(file).size)
+
+        val set = FileUtils.importEntriesFromFile(file, "values")
+        Assert.assertEquals(300_000, set.entryCount)
+        Assert.assertEquals(149_999.5f, set.yMax, 0f)
+    }
+
+    @Test
+    fun testSmallAndEmptyText() {
+        // a single chunk of a few thousand lines, parsed on this thread
+        val text = (0..<5_000).joinToString("\n") { "$it#${it * 0.5f}" }.toByteArray()
+        val importer = TextImporter('#', 1, 0)
+        val columns = importer.importBytes(text, 0, text.size)
+
+        Assert.assertEquals(5_000, columns.size)
+        Assert.assertEquals(2_499.5f, columns.getX(4_999), 0f)
+        Assert.assertEquals(4_999f, columns.getY(4_999), 0f)
+
+        Assert.assertEquals(0, importer.importBytes(ByteArray(0), 0, 0).size)
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.data.DataSet
+import com.github.mikephil.charting.data.LineData
+import com.github.mikephil.charting.data.TimeEntry
+import com.github.mikephil.charting.data.TimeSeriesLineDataSet
+import org.junit.Assert
+import org.junit.Test
+
+class TimeSeriesDataSetTest {
+
+    @Test
+    fun testMillisecondPrecision() {
+        val start = 1_700_000_000_123L
+        val set = TimeSeriesLineDataSet("")
+        for (i in 0..<100_000) {
+            set.addEntry(start + i, i.toFloat())
+        }
+
+        // a plain float cannot tell neighbouring milliseconds apart at this scale
+        Assert.assertEquals(start.toFloat(), (start + 1).toFloat(), 0f)
+
+        Assert.assertEquals(start, set.origin)
+        Assert.assertEquals(0f, set.xMin, 0f)
+        Assert.assertEquals(99_999f, set.xMax, 0f)
+
+        for (i in 0..<100_000) {
+            Assert.assertEquals(i.toFloat(), set.getXForIndex(i), 0f)
+            Assert.assertEquals(start + i, set.getTimeForIndex(i))
+            Assert.assertEquals(start + i, set.getTimeForX(set.getXForIndex(i)))
+        }
+
+        val entry = set.getEntryForXValue(42_000f, Float.NaN) as TimeEntry
+        Assert.assertEquals(start + 42_000, entry.time)
+        Assert.assertEquals(42_000, set.getEntryIndexForTime(start + 42_000, DataSet.Rounding.CLOSEST))
+    }
+
+    @Test
+    fun testNanosecondPrecision() {
+        val start = 1_700_000_000_000_000_123L
+        val times = LongArray(10_000) { start + it * 7L }
+        val ys = FloatArray(10_000) { it.toFloat() }
+        val set = TimeSeriesLineDataSet(times, ys, "")
+
+        // not even a double can tell neighbouring nanoseconds apart at this scale
+        Assert.assertEquals(start.toDouble(), (start + 1).toDouble(), 0.0)
+
+        for (i in times.indices) {
+            Assert.assertEquals(times[i], set.getTimeForIndex(i))
+            Assert.assertEquals(times[i], set.getTimeForX(set.getXForIndex(i)))
+            Assert.assertEquals(i, set.getEntryIndexForTime(times[i], DataSet.Rounding.CLOSEST))
+        }
+
+        // between two entries, 3 ns after the one at index 10
+        val between = times[10] + 3
+        Assert.assertEquals(11, set.getEntryIndexForTime(between, DataSet.Rounding.UP))
+        Assert.assertEquals(10, set.getEntryIndexForTime(between, DataSet.Rounding.DOWN))
+        Assert.assertEquals(10, set.getEntryIndexForTime(between, DataSet.Rounding.CLOSEST))
+        Assert.assertEquals(0, set.getEntryIndexForTime(0L, DataSet.Rounding.CLOSEST))
+        Assert.assertEquals(9_999, set.getEntryIndexForTime(Long.MAX_VALUE, DataSet.Rounding.CLOSEST))
+
+        // out of order values are inserted at their place
+        set.addEntry(between, -1f)
+        Assert.assertEquals(between, set.getTimeForIndex(11))
+        Assert.assertEquals(-1f, set.yMin, 0f)
+        Assert.assertTrue(set.removeEntry(11))
+        Assert.assertEquals(times[11], set.getTimeForIndex(11))
+
+        val copy = set.copy() as TimeSeriesLineDataSet
+        Assert.assertEquals(set.origin, copy.origin)
+        Assert.assertEquals(times[9_999], copy.getTimeForIndex(9_999))
+    }
+
+    @Test
+    fun testSharedOrigin() {
+        val first = TimeSeriesLineDataSet(longArrayOf(5_000L, 6_000L), floatArrayOf(1f, 2f), "")
+        val second = TimeSeriesLineDataSet(longArrayOf(2_000L, 3_000L), floatArrayOf(3f, 4f), "")
+        val data = LineData(first, second)
+
+        // the smallest first time becomes the origin of all time series
+        Assert.assertEquals(2_000L, data.xOrigin)
+        Assert.assertEquals(2_000L, first.origin)
+        Assert.assertEquals(3_000f, first.getXForIndex(0), 0f)
+        Assert.assertEquals(0f, data.xMin, 0f)
+        Assert.assertEquals(4_000f, data.xMax, 0f)
+        Assert.assertEquals(6_000L, data.getTimeForX(data.xMax))
+
+        val version = data.version
+        data.setXOrigin(6_000L)
+        Assert.assertTrue(data.version > version)
+        Assert.assertEquals(-4_000f, data.xMin, 0f)
+        Assert.assertEquals(0f, first.xMax, 0f)
+        Assert.assertEquals(3_000L, second.getTimeForIndex(1))
+
+        // a DataSet added later follows the origin of the data object
+        val third = TimeSeriesLineDataSet(longArrayOf(7_000L), floatArrayOf(5f), "")
+        data.addDataSet(third)
+        Assert.assertEquals(6_000L, third.origin)
+        Assert.assertEquals(1_000f, data.xMax, 0f)
+    }
+}
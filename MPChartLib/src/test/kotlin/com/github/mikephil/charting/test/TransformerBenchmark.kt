@@ -0,0 +1,79 @@
+package com.github.mikephil.charting.test
+
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import java.util.Random
+
+/**
+ * Maps 1M points the way the Transformer did it before caching the concatenated matrix
+ * (value, touch and offset matrix one after the other, three passes over the buffer)
+ * and the way it does it now (one pass with the concatenated matrix). The unit tests run
+ * against the stubbed android.graphics.Matrix, so the matrices are applied by hand with
+ * the same scale and translate terms.
+ */
+class TransformerBenchmark {
+
+    @Before
+    fun assumeEnabled() = Benchmarks.assumeEnabled()
+
+    @Test
+    fun benchmarkConcatenatedMatrix() {
+        val random = Random(1)
+        val values = FloatArray(COUNT * 2) { random.nextFloat() * 1000f }
+        val separate = FloatArray(values.size)
+        val concatenated = FloatArray(values.size)
+
+        // value matrix, touch matrix and offset matrix as (scaleX, scaleY, transX, transY)
+        val matrices = arrayOf(
+            floatArrayOf(1.08f, -0.6f, 0f, 600f),
+            floatArrayOf(4f, 1f, -1200f, 0f),
+            floatArrayOf(1f, 1f, 40f, 20f)
+        )
+        val combined = floatArrayOf(1f, 1f, 0f, 0f)
+        for (m in matrices) {
+            combined[0] *= m[0]
+            combined[1] *= m[1]
+            combined[2] = combined[2] * m[0] + m[2]
+            combined[3] = combined[3] * m[1] + m[3]
+        }
+
+        var separateNanos = Long.MAX_VALUE
+        var concatenatedNanos = Long.MAX_VALUE
+
+        for (round in 0..<ROUNDS) {
+            var start = System.nanoTime()
+            values.copyInto(separate)
+            for (m in matrices) {
+                map(separate, m)
+            }
+            separateNanos = minOf(separateNanos, System.nanoTime() - start)
+
+            start = System.nanoTime()
+            values.copyInto(concatenated)
+            map(concatenated, combined)
+            concatenatedNanos = minOf(concatenatedNanos, System.nanoTime() - start)
+        }
+
+        Benchmarks.report(
+            "%d points: separate matrices %.2f ms, concatenated matrix %.2f ms"
+                .format(COUNT, separateNanos / 1e6, concatenatedNanos / 1e6)
+        )
+
+        for (i in values.indices) {
+            Assert.assertEquals(separate[i], concatenated[i], 0.01f)
+        }
+    }
+
+    private fun map(pts: FloatArray, m: FloatArray) {
+        for (i in pts.indices step 2) {
+            pts[i] = pts[i] * m[0] + m[2]
+            pts[i + 1] = pts[i + 1] * m[1] + m[3]
+        }
+    }
+
+    companion object {
+        private const val COUNT = 1_000_000
+        private const val ROUNDS = 10
+    }
+}
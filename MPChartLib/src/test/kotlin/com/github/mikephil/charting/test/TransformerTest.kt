@@ -0,0 +1,45 @@
+package com.github.mikephil.charting.test
+
+import com.github.mikephil.charting.utils.Transformer
+import org.junit.Assert
+import org.junit.Test
+
+class TransformerTest {
+
+    @Test
+    fun testMapPoints() {
+        val pts = floatArrayOf(1f, 2f, 3f, 4f, 5f, 6f)
+
+        Transformer.mapPoints(pts, 0, pts.size, 2f, -1f, 10f, 100f)
+
+        Assert.assertArrayEquals(floatArrayOf(12f, 98f, 16f, 96f, 20f, 94f), pts, 0.0001f)
+    }
+
+    @Test
+    fun testMapPointsRange() {
+        val pts = floatArrayOf(1f, 2f, 3f, 4f, 5f, 6f, 7f, 8f)
+
+        // only the 2nd and 3rd point
+        Transformer.mapPoints(pts, 2, 4, 0.5f, 2f, -1f, 1f)
+
+        Assert.assertArrayEquals(floatArrayOf(1f, 2f, 0.5f, 9f, 1.5f, 13f, 7f, 8f), pts, 0.0001f)
+
+        // empty range
+        Transformer.mapPoints(pts, 8, 0, 0.5f, 2f, -1f, 1f)
+        Assert.assertEquals(7f, pts[6], 0.0001f)
+    }
+
+    @Test
+    fun testMapPointsInvalidRange() {
+        val pts = FloatArray(8)
+
+        for (range in arrayOf(intArrayOf(-2, 4), intArrayOf(0, 3), intArrayOf(6, 4), intArrayOf(0, -2))) {
+            try {
+                Transformer.mapPoints(pts, range[0], range[1], 1f, 1f, 0f, 0f)
+                Assert.fail("Expected an exception for " + range.contentToString())
+            } catch (e: IllegalArgumentException) {
+                // expected
+            }
+        }
+    }
+}